@@ -0,0 +1,60 @@
+// k6 load test for multi-node slot ownership: book + cancel across nodes
+//
+// The load balancer is simulated by picking a random node per request, so
+// most requests land on a non-owner and are forwarded (one hop at most).
+// Start the nodes with cluster.sh, run once per cluster size and compare
+// http_reqs and bookings_ok per second; gym_cluster_forwards_seconds on
+// /actuator/prometheus (management port, node port + 1000 with cluster.sh)
+// shows the forwarding share and its latency.
+//
+// Env: BASE_URLS (comma-separated node URLs, default http://localhost:8081)
+//      TOKENS    (comma-separated access tokens of distinct members; one per VU,
+//                 since POST /bookings is rate limited per member)
+//      SLOT_IDS  (comma-separated future slot ids, ideally many dates and times)
+//      DURATION  (default 60s)
+
+import http from 'k6/http';
+import { check, sleep } from 'k6';
+import { Counter } from 'k6/metrics';
+
+const baseUrls = (__ENV.BASE_URLS || 'http://localhost:8081').split(',');
+const tokens = (__ENV.TOKENS || '').split(',').filter((t) => t);
+const slotIds = (__ENV.SLOT_IDS || '').split(',').filter((s) => s);
+
+const bookingsOk = new Counter('bookings_ok');
+
+export const options = {
+  vus: tokens.length || 1,
+  duration: __ENV.DURATION || '60s',
+  summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+};
+
+function node() {
+  return baseUrls[Math.floor(Math.random() * baseUrls.length)];
+}
+
+export default function () {
+  const params = {
+    headers: {
+      Authorization: `Bearer ${tokens[(__VU - 1) % tokens.length]}`,
+      'Content-Type': 'application/json',
+    },
+  };
+
+  const slotId = slotIds[Math.floor(Math.random() * slotIds.length)];
+
+  const booked = http.post(`${node()}/bookings`, JSON.stringify({ slotId }), params);
+  check(booked, { 'booked or full/limited': (r) => [201, 409, 429].includes(r.status) });
+
+  if (booked.status !== 201) {
+    return;
+  }
+
+  bookingsOk.add(1);
+
+  // A booking created on another node is visible here once its writer has flushed (~20 ms)
+  sleep(0.1);
+
+  const cancelled = http.del(`${node()}/bookings/${booked.json('id')}`, null, params);
+  check(cancelled, { 'cancelled 200': (r) => r.status === 200 });
+}
@@ -0,0 +1,34 @@
+#!/usr/bin/env bash
+# Start N backend nodes on one machine as a slot-ownership cluster.
+#
+#   mvn -f backend/pom.xml package -DskipTests
+#   backend/load-test/cluster.sh 3          # nodes on 8081, 8082, 8083 (actuator on 9081, ...)
+#   BASE_URLS=http://localhost:8081,http://localhost:8082,http://localhost:8083 \
+#     TOKENS=... SLOT_IDS=... k6 run backend/load-test/cluster.js
+#
+# Repeat with 1, 2, 4 nodes and compare http_reqs/s and bookings_ok/s.
+# Each node gets JVM_OPTS (default -Xmx512m); Ctrl-C stops all of them.
+# Needs the same env as a single node (SUPABASE_DB_PASSWORD, ...).
+
+set -euo pipefail
+
+NODES=${1:-2}
+FIRST_PORT=${FIRST_PORT:-8081}
+JAR=${JAR:-$(dirname "$0")/../target/gym-backend-0.0.1-SNAPSHOT-exec.jar}
+JVM_OPTS=${JVM_OPTS:--Xmx512m}
+
+pids=()
+trap 'kill "${pids[@]}" 2>/dev/null; wait' INT TERM EXIT
+
+for ((i = 0; i < NODES; i++)); do
+  port=$((FIRST_PORT + i))
+  CLUSTER_ENABLED=true \
+  CLUSTER_NODE_ID="node-$port" \
+  CLUSTER_ADVERTISED_URL="http://localhost:$port" \
+    java $JVM_OPTS -jar "$JAR" --server.port="$port" --management.server.port=$((port + 1000)) \
+      > "node-$port.log" 2>&1 &
+  pids+=($!)
+  echo "node-$port started (pid $!, log node-$port.log)"
+done
+
+wait
@@ -0,0 +1,31 @@
+// k6 load test for the request hot path (JWT filter → role/slot caches → JSON)
+//
+// Compare platform vs virtual threads on the same JDK 21 build (-Pjdk21):
+//   VIRTUAL_THREADS_ENABLED=false mvn -Pjdk21 spring-boot:run   →  k6 run load-test/slots.js
+//   VIRTUAL_THREADS_ENABLED=true  mvn -Pjdk21 spring-boot:run   →  k6 run load-test/slots.js
+// and diff http_reqs (requests/sec) and http_req_duration p(99) from the summaries.
+//
+// Env: BASE_URL (default http://localhost:8080), TOKEN (a valid Supabase access token),
+//      VUS (default 200), DURATION (default 60s)
+
+import http from 'k6/http';
+import { check } from 'k6';
+
+const baseUrl = __ENV.BASE_URL || 'http://localhost:8080';
+const date = new Date().toISOString().slice(0, 10);
+
+export const options = {
+  vus: Number(__ENV.VUS || 200),
+  duration: __ENV.DURATION || '60s',
+  summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+};
+
+export default function () {
+  const params = { headers: { Authorization: `Bearer ${__ENV.TOKEN}` } };
+
+  const slots = http.get(`${baseUrl}/slots?date=${date}`, params);
+  check(slots, { 'slots 200': (r) => r.status === 200 });
+
+  const stats = http.get(`${baseUrl}/me/stats?range=30d`, params);
+  check(stats, { 'stats 200': (r) => r.status === 200 });
+}
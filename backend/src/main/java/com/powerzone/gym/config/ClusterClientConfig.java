@@ -0,0 +1,49 @@
+package com.powerzone.gym.config;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+
+/**
+ * Node-to-node client used to forward slot requests to their owner
+ */
+@Configuration
+public class ClusterClientConfig {
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider clusterConnectionProvider(
+            @Value("${cluster.forward.max-connections:200}") int maxConnections,
+            @Value("${cluster.forward.pending-acquire-timeout-ms:1000}") long pendingAcquireTimeoutMs,
+            @Value("${cluster.forward.max-idle-ms:30000}") long maxIdleMs
+    ) {
+        return ConnectionProvider.builder("cluster-forward")
+                .maxConnections(maxConnections)
+                .pendingAcquireTimeout(Duration.ofMillis(pendingAcquireTimeoutMs))
+                .maxIdleTime(Duration.ofMillis(maxIdleMs))
+                .evictInBackground(Duration.ofMillis(maxIdleMs))
+                .metrics(true)
+                .build();
+    }
+
+    @Bean
+    public WebClient clusterWebClient(
+            ConnectionProvider clusterConnectionProvider,
+            @Value("${cluster.forward.connect-timeout-ms:500}") int connectTimeoutMs,
+            @Value("${cluster.forward.response-timeout-ms:5000}") long responseTimeoutMs
+    ) {
+        HttpClient httpClient = HttpClient.create(clusterConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeoutMs)
+                .responseTimeout(Duration.ofMillis(responseTimeoutMs));
+
+        return WebClient.builder()
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+    }
+}
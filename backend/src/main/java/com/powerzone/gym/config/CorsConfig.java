@@ -32,7 +32,16 @@ public class CorsConfig {
         config.setAllowedHeaders(List.of(
                 "Authorization",
                 "Content-Type",
-                "X-Requested-With"
+                "X-Requested-With",
+                "Idempotency-Key",
+                "If-None-Match"
+        ));
+
+        // Readable by the client (retried request answered from the idempotency store,
+        // GET /slots validator sent back as If-None-Match)
+        config.setExposedHeaders(List.of(
+                "Idempotent-Replayed",
+                "ETag"
         ));
 
         // Allow JWT to be sent
@@ -0,0 +1,171 @@
+package com.powerzone.gym.config;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSVerifier;
+import com.nimbusds.jose.crypto.RSASSAVerifier;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URL;
+import java.text.ParseException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory cache of the Supabase JWKS, keyed by kid.
+ * Holds one pre-built verifier per RSA key so request threads never
+ * touch the network or rebuild public keys.
+ */
+@Component
+public class JwksKeyCache {
+
+    private static final Logger log = LoggerFactory.getLogger(JwksKeyCache.class);
+
+    private final String jwksUrl;
+    private final long minForcedRefreshIntervalMs;
+    private final int connectTimeoutMs;
+    private final int readTimeoutMs;
+
+    // Immutable snapshot, swapped atomically on refresh
+    private volatile Map<String, JWSVerifier> verifiers = Map.of();
+    private volatile long lastRefreshAttemptAt = 0L;
+
+    // Single-flight: only one thread fetches the JWKS at a time
+    private final ReentrantLock refreshLock = new ReentrantLock();
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter refreshSuccess;
+    private final Counter refreshFailure;
+    private final Counter forcedRefreshRateLimited;
+
+    public JwksKeyCache(
+            @Value("${supabase.jwt.jwks-url}") String jwksUrl,
+            @Value("${supabase.jwt.jwks-min-forced-refresh-ms:30000}") long minForcedRefreshIntervalMs,
+            @Value("${supabase.jwt.jwks-connect-timeout-ms:2000}") int connectTimeoutMs,
+            @Value("${supabase.jwt.jwks-read-timeout-ms:2000}") int readTimeoutMs,
+            MeterRegistry meterRegistry
+    ) {
+        this.jwksUrl = jwksUrl;
+        this.minForcedRefreshIntervalMs = minForcedRefreshIntervalMs;
+        this.connectTimeoutMs = connectTimeoutMs;
+        this.readTimeoutMs = readTimeoutMs;
+
+        this.hits = meterRegistry.counter("gym.jwks.lookups", "result", "hit");
+        this.misses = meterRegistry.counter("gym.jwks.lookups", "result", "miss");
+        this.refreshSuccess = meterRegistry.counter("gym.jwks.refreshes", "outcome", "success");
+        this.refreshFailure = meterRegistry.counter("gym.jwks.refreshes", "outcome", "failure");
+        this.forcedRefreshRateLimited = meterRegistry.counter("gym.jwks.refreshes", "outcome", "rate_limited");
+        meterRegistry.gauge("gym.jwks.keys", this, cache -> cache.verifiers.size());
+    }
+
+    /**
+     * Returns the verifier for a key ID.
+     * Unknown kid → one forced (rate-limited) refresh, then null if still unknown.
+     */
+    public JWSVerifier getVerifier(String kid) {
+
+        if (kid == null) {
+            return null;
+        }
+
+        JWSVerifier verifier = verifiers.get(kid);
+
+        if (verifier != null) {
+            hits.increment();
+            return verifier;
+        }
+
+        misses.increment();
+        return forceRefresh(kid);
+    }
+
+    /**
+     * Background refresh on a fixed TTL (first run right after startup)
+     */
+    @Scheduled(
+            initialDelay = 0,
+            fixedDelayString = "${supabase.jwt.jwks-ttl-ms:600000}"
+    )
+    public void scheduledRefresh() {
+        refreshLock.lock();
+        try {
+            refresh();
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    /* =========================
+       Internal helpers
+       ========================= */
+
+    private JWSVerifier forceRefresh(String kid) {
+
+        refreshLock.lock();
+        try {
+            // Another thread may have refreshed while we waited
+            JWSVerifier verifier = verifiers.get(kid);
+            if (verifier != null) {
+                return verifier;
+            }
+
+            long sinceLastAttempt = System.currentTimeMillis() - lastRefreshAttemptAt;
+            if (sinceLastAttempt < minForcedRefreshIntervalMs) {
+                forcedRefreshRateLimited.increment();
+                return null;
+            }
+
+            refresh();
+            return verifiers.get(kid);
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    /**
+     * Caller must hold refreshLock.
+     * On failure the previous key set is kept.
+     */
+    private void refresh() {
+
+        lastRefreshAttemptAt = System.currentTimeMillis();
+
+        try {
+            JWKSet jwkSet = JWKSet.load(
+                    new URL(jwksUrl),
+                    connectTimeoutMs,
+                    readTimeoutMs,
+                    0
+            );
+
+            Map<String, JWSVerifier> loaded = new HashMap<>();
+
+            for (JWK jwk : jwkSet.getKeys()) {
+                if (jwk instanceof RSAKey rsaKey && jwk.getKeyID() != null) {
+                    loaded.put(jwk.getKeyID(), new RSASSAVerifier(rsaKey.toRSAPublicKey()));
+                }
+            }
+
+            verifiers = Map.copyOf(loaded);
+            refreshSuccess.increment();
+
+            log.debug("JWKS refreshed, {} RSA key(s) cached", loaded.size());
+
+        } catch (IOException | ParseException | JOSEException ex) {
+            refreshFailure.increment();
+            log.warn("JWKS refresh failed, keeping {} cached key(s): {}",
+                    verifiers.size(), ex.getMessage());
+        }
+    }
+}
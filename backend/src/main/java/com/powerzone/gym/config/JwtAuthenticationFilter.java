@@ -1,5 +1,7 @@
 package com.powerzone.gym.config;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -18,10 +20,17 @@ import java.util.Collections;
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
-    private final JwtUtil jwtUtil;
+    private final VerifiedTokenCache verifiedTokenCache;
 
-    public JwtAuthenticationFilter(JwtUtil jwtUtil) {
-        this.jwtUtil = jwtUtil;
+    private final Counter anonymous;
+    private final Counter authenticated;
+    private final Counter rejected;
+
+    public JwtAuthenticationFilter(VerifiedTokenCache verifiedTokenCache, MeterRegistry meterRegistry) {
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.anonymous = meterRegistry.counter("gym.auth.requests", "result", "anonymous");
+        this.authenticated = meterRegistry.counter("gym.auth.requests", "result", "authenticated");
+        this.rejected = meterRegistry.counter("gym.auth.requests", "result", "rejected");
     }
 
     @Override
@@ -35,6 +44,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         // No Authorization header → continue
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            anonymous.increment();
             filterChain.doFilter(request, response);
             return;
         }
@@ -42,8 +52,10 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         final String token = authHeader.substring(7);
 
         try {
-            // Validate token & extract user id (sub)
-            String userId = jwtUtil.extractUserId(token);
+            // Validate token & extract user id (sub), cached per token digest
+            String userId = verifiedTokenCache.resolveUserId(token);
+
+            (userId != null ? authenticated : rejected).increment();
 
             if (userId != null && SecurityContextHolder.getContext().getAuthentication() == null) {
 
@@ -63,6 +75,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         } catch (Exception ex) {
             // Invalid token → clear context (acts like 401)
+            rejected.increment();
             SecurityContextHolder.clearContext();
         }
 
@@ -2,19 +2,18 @@ package com.powerzone.gym.config;
 
 import com.nimbusds.jose.JOSEException;
 import com.nimbusds.jose.JWSVerifier;
-import com.nimbusds.jose.crypto.RSASSAVerifier;
-import com.nimbusds.jose.jwk.JWK;
-import com.nimbusds.jose.jwk.JWKSet;
-import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.KeySourceException;
 import com.nimbusds.jwt.JWTClaimsSet;
 import com.nimbusds.jwt.SignedJWT;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import java.net.URL;
 import java.text.ParseException;
 import java.time.Instant;
 import java.util.Date;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class JwtUtil {
@@ -22,27 +21,79 @@ public class JwtUtil {
     @Value("${supabase.jwt.issuer}")
     private String issuer;
 
-    @Value("${supabase.jwt.jwks-url}")
-    private String jwksUrl;
+    private final JwksKeyCache jwksKeyCache;
+
+    // gym.jwt.verify{outcome}, registered up front to keep the hot path allocation-free
+    private final Timer validTimer;
+    private final Timer malformedTimer;
+    private final Timer badSignatureTimer;
+    private final Timer unknownKeyTimer;
+    private final Timer invalidClaimsTimer;
+
+    public JwtUtil(JwksKeyCache jwksKeyCache, MeterRegistry meterRegistry) {
+        this.jwksKeyCache = jwksKeyCache;
+        this.validTimer = verifyTimer(meterRegistry, "valid");
+        this.malformedTimer = verifyTimer(meterRegistry, "malformed");
+        this.badSignatureTimer = verifyTimer(meterRegistry, "bad_signature");
+        this.unknownKeyTimer = verifyTimer(meterRegistry, "unknown_key");
+        this.invalidClaimsTimer = verifyTimer(meterRegistry, "invalid_claims");
+    }
 
     /**
      * Validates Supabase JWT and returns user_id (sub)
      */
     public String extractUserId(String token)
             throws ParseException, JOSEException {
+        return verify(token).userId();
+    }
+
+    /**
+     * Validates Supabase JWT and returns user_id (sub) together with exp
+     *
+     * @throws KeySourceException if the kid is not (yet) in the JWKS; may pass after a refresh
+     */
+    public VerifiedToken verify(String token)
+            throws ParseException, JOSEException {
+
+        long started = System.nanoTime();
+        Timer outcome = invalidClaimsTimer;
+
+        try {
+            VerifiedToken result = verifyToken(token);
+            outcome = validTimer;
+            return result;
+        } catch (ParseException ex) {
+            outcome = malformedTimer;
+            throw ex;
+        } catch (KeySourceException ex) {
+            outcome = unknownKeyTimer;
+            throw ex;
+        } catch (JOSEException ex) {
+            outcome = badSignatureTimer;
+            throw ex;
+        } finally {
+            outcome.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private VerifiedToken verifyToken(String token)
+            throws ParseException, JOSEException {
 
         SignedJWT signedJWT = SignedJWT.parse(token);
 
-        // 1️⃣ Verify signature using Supabase public key (JWKS)
-        JWKSet jwkSet = JWKSet.load(new URL(jwksUrl));
-        JWK jwk = jwkSet.getKeyByKeyId(signedJWT.getHeader().getKeyID());
+        // 1️⃣ Verify signature using cached Supabase public key (JWKS)
+        String kid = signedJWT.getHeader().getKeyID();
 
-        if (jwk == null) {
-            throw new JOSEException("Invalid JWT key ID");
+        if (kid == null) {
+            throw new JOSEException("Missing JWT key ID");
         }
 
-        RSAKey rsaKey = jwk.toRSAKey();
-        JWSVerifier verifier = new RSASSAVerifier(rsaKey.toRSAPublicKey());
+        JWSVerifier verifier = jwksKeyCache.getVerifier(kid);
+
+        // Rotated key not fetched yet, refresh rate-limited or JWKS unreachable
+        if (verifier == null) {
+            throw new KeySourceException("Unknown JWT key ID");
+        }
 
         if (!signedJWT.verify(verifier)) {
             throw new JOSEException("JWT signature verification failed");
@@ -53,8 +104,17 @@ public class JwtUtil {
 
         validateClaims(claims);
 
-        // 3️⃣ Return Supabase user id (sub)
-        return claims.getSubject();
+        // 3️⃣ Return Supabase user id (sub) + expiry
+        return new VerifiedToken(
+                claims.getSubject(),
+                claims.getExpirationTime().toInstant()
+        );
+    }
+
+    private static Timer verifyTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("gym.jwt.verify")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
     }
 
     private void validateClaims(JWTClaimsSet claims) {
@@ -72,4 +132,12 @@ public class JwtUtil {
 
         // Optional: audience check (can be added later)
     }
+
+    /**
+     * Result of a successful verification
+     */
+    public record VerifiedToken(
+            String userId,
+            Instant expiresAt
+    ) {}
 }
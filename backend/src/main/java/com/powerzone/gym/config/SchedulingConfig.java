@@ -0,0 +1,13 @@
+package com.powerzone.gym.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables @Scheduled background jobs (JWKS refresh, ...)
+ * Pool size: spring.task.scheduling.pool.size (application.yml)
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
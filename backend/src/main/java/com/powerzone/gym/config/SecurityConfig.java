@@ -1,6 +1,7 @@
 package com.powerzone.gym.config;
 
 import com.powerzone.gym.config.JwtAuthenticationFilter;
+import jakarta.servlet.DispatcherType;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -34,7 +35,13 @@ public class SecurityConfig {
 
             // Authorization rules
             .authorizeHttpRequests(auth -> auth
+                // Async re-dispatch of an already authorized request (SSE, streaming)
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                 .requestMatchers("/health").permitAll()
+                // Probes on the public port; the rest of /actuator is only served on management.server.port
+                .requestMatchers("/livez", "/readyz").permitAll()
+                // Management port: scraped without a JWT
+                .requestMatchers("/actuator/health", "/actuator/health/**", "/actuator/prometheus").permitAll()
                 .requestMatchers("/admin/**").authenticated()
                 .anyRequest().authenticated()
             )
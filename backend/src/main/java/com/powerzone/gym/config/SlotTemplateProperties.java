@@ -0,0 +1,134 @@
+package com.powerzone.gym.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Daily slot layout used by SlotMaterializer.
+ *
+ * Defaults match the nine fixed 2-hour slots the frontend used to
+ * create (05:00 → 23:00, capacity 50). Any weekday can override them.
+ */
+@Component
+@ConfigurationProperties(prefix = "slots")
+public class SlotTemplateProperties {
+
+    /**
+     * How many days ahead (including today) slots are pre-created
+     */
+    private int daysAhead = 14;
+
+    /**
+     * Capacity used when a template does not set its own
+     */
+    private int defaultCapacity = 50;
+
+    /**
+     * Layout for days without an override
+     */
+    private List<SlotTemplate> defaultTemplates = defaultLayout();
+
+    /**
+     * Per-weekday layout, e.g. slots.weekdays.SUNDAY[0].start=08:00
+     */
+    private Map<DayOfWeek, List<SlotTemplate>> weekdays = new EnumMap<>(DayOfWeek.class);
+
+    public List<SlotTemplate> templatesFor(DayOfWeek dayOfWeek) {
+        return weekdays.getOrDefault(dayOfWeek, defaultTemplates);
+    }
+
+    public int capacityOf(SlotTemplate template) {
+        return template.getCapacity() != null ? template.getCapacity() : defaultCapacity;
+    }
+
+    private static List<SlotTemplate> defaultLayout() {
+        List<SlotTemplate> templates = new ArrayList<>();
+        for (int hour = 5; hour < 23; hour += 2) {
+            templates.add(new SlotTemplate(LocalTime.of(hour, 0), LocalTime.of(hour + 2, 0), null));
+        }
+        return templates;
+    }
+
+    public int getDaysAhead() {
+        return daysAhead;
+    }
+
+    public int getDefaultCapacity() {
+        return defaultCapacity;
+    }
+
+    public List<SlotTemplate> getDefaultTemplates() {
+        return defaultTemplates;
+    }
+
+    public Map<DayOfWeek, List<SlotTemplate>> getWeekdays() {
+        return weekdays;
+    }
+
+    public void setDaysAhead(int daysAhead) {
+        this.daysAhead = daysAhead;
+    }
+
+    public void setDefaultCapacity(int defaultCapacity) {
+        this.defaultCapacity = defaultCapacity;
+    }
+
+    public void setDefaultTemplates(List<SlotTemplate> defaultTemplates) {
+        this.defaultTemplates = defaultTemplates;
+    }
+
+    public void setWeekdays(Map<DayOfWeek, List<SlotTemplate>> weekdays) {
+        this.weekdays = weekdays;
+    }
+
+    /**
+     * One slot in a daily layout
+     */
+    public static class SlotTemplate {
+
+        private LocalTime start;
+        private LocalTime end;
+        private Integer capacity;
+
+        // Required by Spring binding
+        public SlotTemplate() {
+        }
+
+        public SlotTemplate(LocalTime start, LocalTime end, Integer capacity) {
+            this.start = start;
+            this.end = end;
+            this.capacity = capacity;
+        }
+
+        public LocalTime getStart() {
+            return start;
+        }
+
+        public LocalTime getEnd() {
+            return end;
+        }
+
+        public Integer getCapacity() {
+            return capacity;
+        }
+
+        public void setStart(LocalTime start) {
+            this.start = start;
+        }
+
+        public void setEnd(LocalTime end) {
+            this.end = end;
+        }
+
+        public void setCapacity(Integer capacity) {
+            this.capacity = capacity;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.powerzone.gym.config;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+
+/**
+ * Shared, tuned Reactor Netty client for the Supabase Admin REST API
+ */
+@Configuration
+public class SupabaseClientConfig {
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider supabaseConnectionProvider(
+            @Value("${supabase.admin-api.max-connections:50}") int maxConnections,
+            @Value("${supabase.admin-api.pending-acquire-timeout-ms:2000}") long pendingAcquireTimeoutMs,
+            @Value("${supabase.admin-api.max-idle-ms:30000}") long maxIdleMs
+    ) {
+        return ConnectionProvider.builder("supabase-admin")
+                .maxConnections(maxConnections)
+                .pendingAcquireTimeout(Duration.ofMillis(pendingAcquireTimeoutMs))
+                .maxIdleTime(Duration.ofMillis(maxIdleMs))
+                .evictInBackground(Duration.ofMillis(maxIdleMs))
+                .metrics(true)
+                .build();
+    }
+
+    @Bean
+    public WebClient supabaseAdminWebClient(
+            ConnectionProvider supabaseConnectionProvider,
+            @Value("${supabase.url}") String supabaseUrl,
+            @Value("${supabase.service-role-key}") String serviceRoleKey,
+            @Value("${supabase.admin-api.connect-timeout-ms:2000}") int connectTimeoutMs,
+            @Value("${supabase.admin-api.response-timeout-ms:5000}") long responseTimeoutMs
+    ) {
+        HttpClient httpClient = HttpClient.create(supabaseConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeoutMs)
+                .responseTimeout(Duration.ofMillis(responseTimeoutMs));
+
+        return WebClient.builder()
+                .baseUrl(supabaseUrl + "/auth/v1/admin")
+                .defaultHeader(HttpHeaders.AUTHORIZATION, "Bearer " + serviceRoleKey)
+                .defaultHeader("apikey", serviceRoleKey)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+    }
+}
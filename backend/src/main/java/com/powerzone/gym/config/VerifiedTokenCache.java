@@ -0,0 +1,153 @@
+package com.powerzone.gym.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.KeySourceException;
+import com.powerzone.gym.config.JwtUtil.VerifiedToken;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Caches verification results per token digest so repeat requests
+ * with the same access token skip parsing and the RSA check.
+ *
+ * Positive entries expire at the token's own exp.
+ * Definitively invalid tokens (malformed, bad signature, bad claims) are
+ * remembered briefly (negative cache); an unknown kid is not, as the next
+ * JWKS refresh may resolve it.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private final JwtUtil jwtUtil;
+    private final boolean enabled;
+
+    private final Cache<String, VerifiedToken> verified;
+    private final Cache<String, Boolean> rejected;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter negativeHits;
+
+    public VerifiedTokenCache(
+            JwtUtil jwtUtil,
+            @Value("${supabase.jwt.token-cache.enabled:true}") boolean enabled,
+            @Value("${supabase.jwt.token-cache.max-size:100000}") long maxSize,
+            @Value("${supabase.jwt.token-cache.negative-ttl-ms:30000}") long negativeTtlMs,
+            @Value("${supabase.jwt.token-cache.negative-max-size:10000}") long negativeMaxSize,
+            MeterRegistry meterRegistry
+    ) {
+        this.jwtUtil = jwtUtil;
+        this.enabled = enabled;
+
+        this.verified = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new UntilTokenExpiry())
+                .build();
+
+        this.rejected = Caffeine.newBuilder()
+                .maximumSize(negativeMaxSize)
+                .expireAfterWrite(Duration.ofMillis(negativeTtlMs))
+                .build();
+
+        this.hits = meterRegistry.counter("gym.jwt.token_cache", "result", "hit");
+        this.misses = meterRegistry.counter("gym.jwt.token_cache", "result", "miss");
+        this.negativeHits = meterRegistry.counter("gym.jwt.token_cache", "result", "negative_hit");
+    }
+
+    /**
+     * Returns the verified user_id (sub) for a token, or null if invalid
+     */
+    public String resolveUserId(String token) {
+
+        if (!enabled) {
+            return verifyUncached(token);
+        }
+
+        String digest = digest(token);
+
+        VerifiedToken cached = verified.getIfPresent(digest);
+
+        // Caffeine expiry is lazy, re-check exp to never accept an expired token
+        if (cached != null && cached.expiresAt().isAfter(Instant.now())) {
+            hits.increment();
+            return cached.userId();
+        }
+
+        if (rejected.getIfPresent(digest) != null) {
+            negativeHits.increment();
+            return null;
+        }
+
+        misses.increment();
+
+        try {
+            VerifiedToken result = jwtUtil.verify(token);
+            verified.put(digest, result);
+            return result.userId();
+        } catch (KeySourceException ex) {
+            return null;
+        } catch (ParseException | JOSEException | IllegalArgumentException ex) {
+            rejected.put(digest, Boolean.TRUE);
+            return null;
+        } catch (Exception ex) {
+            return null;
+        }
+    }
+
+    /* =========================
+       Internal helpers
+       ========================= */
+
+    private String verifyUncached(String token) {
+        try {
+            return jwtUtil.extractUserId(token);
+        } catch (Exception ex) {
+            return null;
+        }
+    }
+
+    private static String digest(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            byte[] hash = sha256.digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
+    }
+
+    /**
+     * Evicts each verified token exactly at its exp
+     */
+    private static final class UntilTokenExpiry implements Expiry<String, VerifiedToken> {
+
+        @Override
+        public long expireAfterCreate(String key, VerifiedToken value, long currentTime) {
+            long nanos = Duration.between(Instant.now(), value.expiresAt()).toNanos();
+            return Math.max(0L, nanos);
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.powerzone.gym.controller;
+
+import com.powerzone.gym.dto.OccupancyResponse;
+import com.powerzone.gym.service.OccupancyAnalytics;
+import com.powerzone.gym.service.RoleService;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/admin/analytics")
+public class AdminAnalyticsController {
+
+    private final OccupancyAnalytics occupancyAnalytics;
+    private final RoleService roleService;
+
+    public AdminAnalyticsController(
+            OccupancyAnalytics occupancyAnalytics,
+            RoleService roleService
+    ) {
+        this.occupancyAnalytics = occupancyAnalytics;
+        this.roleService = roleService;
+    }
+
+    /**
+     * Weekday × start time occupancy heatmap with utilization percentiles (admin-only)
+     *
+     * from / to filter on slot_date; omitted → the whole precomputed window
+     */
+    @GetMapping("/occupancy")
+    public ResponseEntity<OccupancyResponse> getOccupancy(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            Authentication authentication
+    ) {
+        String requestingUserId = (String) authentication.getPrincipal();
+        roleService.assertAdmin(requestingUserId);
+
+        return ResponseEntity.ok(occupancyAnalytics.occupancy(from, to));
+    }
+}
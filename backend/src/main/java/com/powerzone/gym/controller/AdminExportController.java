@@ -0,0 +1,87 @@
+package com.powerzone.gym.controller;
+
+import com.powerzone.gym.service.ExportService;
+import com.powerzone.gym.service.ExportService.Format;
+import com.powerzone.gym.service.RoleService;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
+
+@RestController
+@RequestMapping("/admin/exports")
+public class AdminExportController {
+
+    private final ExportService exportService;
+    private final RoleService roleService;
+
+    public AdminExportController(
+            ExportService exportService,
+            RoleService roleService
+    ) {
+        this.exportService = exportService;
+        this.roleService = roleService;
+    }
+
+    /**
+     * Full booking history with slot times and member names (admin-only)
+     * Replaces: loading all bookings through the Supabase JS client
+     *
+     * format: csv (default) or ndjson; from / to filter on slot_date
+     * gzip=true → Content-Encoding: gzip
+     */
+    @GetMapping("/bookings")
+    public ResponseEntity<StreamingResponseBody> exportBookings(
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "false") boolean gzip,
+            Authentication authentication
+    ) {
+        String requestingUserId = (String) authentication.getPrincipal();
+
+        // Fail fast with 403 before the response is committed
+        roleService.assertAdmin(requestingUserId);
+
+        Format exportFormat = switch (format.toLowerCase(Locale.ROOT)) {
+            case "csv" -> Format.CSV;
+            case "ndjson" -> Format.NDJSON;
+            default -> throw new IllegalArgumentException("format must be csv or ndjson");
+        };
+
+        StreamingResponseBody body = out -> {
+            if (gzip) {
+                try (GZIPOutputStream compressed = new GZIPOutputStream(out, 64 * 1024)) {
+                    exportService.exportBookings(requestingUserId, exportFormat, from, to, compressed);
+                }
+            } else {
+                exportService.exportBookings(requestingUserId, exportFormat, from, to, out);
+            }
+        };
+
+        String filename = "bookings." + (exportFormat == Format.CSV ? "csv" : "ndjson");
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(exportFormat == Format.CSV
+                        ? new MediaType("text", "csv", StandardCharsets.UTF_8)
+                        : MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(filename).build().toString());
+
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+
+        return response.body(body);
+    }
+}
@@ -1,21 +1,86 @@
 package com.powerzone.gym.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.powerzone.gym.dto.ApiResponse;
 import com.powerzone.gym.dto.CreateUserRequest;
+import com.powerzone.gym.dto.ImportJobResponse;
+import com.powerzone.gym.service.UserImportService;
 import com.powerzone.gym.service.UserService;
+import com.powerzone.gym.service.UserService.DirectoryPage;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
 
 @RestController
 @RequestMapping("/admin/users")
 public class AdminUserController {
 
     private final UserService userService;
+    private final UserImportService userImportService;
+    private final ObjectMapper objectMapper;
 
-    public AdminUserController(UserService userService) {
+    public AdminUserController(
+            UserService userService,
+            UserImportService userImportService,
+            ObjectMapper objectMapper
+    ) {
         this.userService = userService;
+        this.userImportService = userImportService;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Paged user directory with roles (admin-only)
+     * Replaces: profiles select + one user_roles query per profile in Admin.tsx
+     *
+     * Response: {"users": [...], "nextCursor": "..." | null}, written as rows are read
+     */
+    @GetMapping
+    public ResponseEntity<StreamingResponseBody> listUsers(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit,
+            Authentication authentication
+    ) {
+        String requestingUserId = (String) authentication.getPrincipal();
+
+        // Fail fast with 403/400 before the response is committed
+        DirectoryPage page = userService.directoryPage(requestingUserId, q, cursor, limit);
+
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator json = objectMapper.getFactory().createGenerator(out)) {
+
+                json.writeStartObject();
+                json.writeArrayFieldStart("users");
+
+                String nextCursor = userService.streamDirectory(page, row -> {
+                    try {
+                        json.writeObject(row);
+                    } catch (IOException ex) {
+                        throw new UncheckedIOException(ex);
+                    }
+                });
+
+                json.writeEndArray();
+                json.writeStringField("nextCursor", nextCursor);
+                json.writeEndObject();
+            }
+        };
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
     }
 
     /**
@@ -23,17 +88,16 @@ public class AdminUserController {
      * Replaces: create-user Edge Function
      */
     @PostMapping
-    public ResponseEntity<ApiResponse> createUser(
-            @RequestBody CreateUserRequest request,
+    public Mono<ResponseEntity<ApiResponse>> createUser(
+            @Valid @RequestBody CreateUserRequest request,
             Authentication authentication
     ) {
         String requestingUserId = (String) authentication.getPrincipal();
 
-        userService.createUser(requestingUserId, request);
-
-        return ResponseEntity.ok(
-                new ApiResponse(true, "User created successfully")
-        );
+        return userService.createUser(requestingUserId, request)
+                .thenReturn(ResponseEntity.ok(
+                        new ApiResponse(true, "User created successfully")
+                ));
     }
 
     /**
@@ -41,16 +105,48 @@ public class AdminUserController {
      * Replaces: delete-user Edge Function
      */
     @DeleteMapping("/{userId}")
-    public ResponseEntity<ApiResponse> deleteUser(
+    public Mono<ResponseEntity<ApiResponse>> deleteUser(
             @PathVariable String userId,
             Authentication authentication
     ) {
         String requestingUserId = (String) authentication.getPrincipal();
 
-        userService.deleteUser(requestingUserId, userId);
+        return userService.deleteUser(requestingUserId, userId)
+                .thenReturn(ResponseEntity.ok(
+                        new ApiResponse(true, "User deleted successfully")
+                ));
+    }
+
+    /**
+     * Bulk import members from CSV (with header) or NDJSON (admin-only)
+     * Rows are provisioned in the background; poll the returned job
+     */
+    @PostMapping(value = "/import", consumes = {"text/csv", MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<ImportJobResponse> importUsers(
+            HttpServletRequest request,
+            Authentication authentication
+    ) throws IOException {
+        String requestingUserId = (String) authentication.getPrincipal();
 
-        return ResponseEntity.ok(
-                new ApiResponse(true, "User deleted successfully")
+        ImportJobResponse job = userImportService.startImport(
+                requestingUserId,
+                request.getInputStream(),
+                MediaType.parseMediaType(request.getContentType())
         );
+
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(job);
+    }
+
+    /**
+     * Progress and per-row report of an import job (admin-only)
+     */
+    @GetMapping("/import/{jobId}")
+    public ImportJobResponse getImportJob(
+            @PathVariable String jobId,
+            Authentication authentication
+    ) {
+        String requestingUserId = (String) authentication.getPrincipal();
+
+        return userImportService.getJob(requestingUserId, jobId);
     }
 }
@@ -0,0 +1,144 @@
+package com.powerzone.gym.controller;
+
+import com.powerzone.gym.dto.ApiResponse;
+import com.powerzone.gym.dto.BookingResponse;
+import com.powerzone.gym.dto.CreateBookingRequest;
+import com.powerzone.gym.dto.CreateSeriesRequest;
+import com.powerzone.gym.dto.SeriesBookingResponse;
+import com.powerzone.gym.repository.ClusterNodeRepository.ClusterNode;
+import com.powerzone.gym.service.BookingSeriesService;
+import com.powerzone.gym.service.BookingService;
+import com.powerzone.gym.service.ClusterForwarder;
+import com.powerzone.gym.service.IdempotencyService;
+import com.powerzone.gym.service.SlotOwnership;
+
+import jakarta.validation.Valid;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Optional;
+
+@RestController
+@RequestMapping("/bookings")
+public class BookingController {
+
+    private final BookingService bookingService;
+    private final BookingSeriesService bookingSeriesService;
+    private final IdempotencyService idempotencyService;
+    private final SlotOwnership slotOwnership;
+    private final ClusterForwarder clusterForwarder;
+
+    public BookingController(
+            BookingService bookingService,
+            BookingSeriesService bookingSeriesService,
+            IdempotencyService idempotencyService,
+            SlotOwnership slotOwnership,
+            ClusterForwarder clusterForwarder
+    ) {
+        this.bookingService = bookingService;
+        this.bookingSeriesService = bookingSeriesService;
+        this.idempotencyService = idempotencyService;
+        this.slotOwnership = slotOwnership;
+        this.clusterForwarder = clusterForwarder;
+    }
+
+    /**
+     * Book a slot for the current user
+     * Replaces: client insert into bookings
+     * A retry with the same Idempotency-Key replays the first response
+     * In a cluster the slot's owner decides (and remembers the key)
+     */
+    @PostMapping
+    public ResponseEntity<BookingResponse> createBooking(
+            @RequestBody CreateBookingRequest request,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
+            Authentication authentication
+    ) {
+        String userId = (String) authentication.getPrincipal();
+
+        Optional<ClusterNode> owner = slotOwnership.remoteOwner(request.getSlotId());
+
+        if (owner.isPresent()) {
+            return clusterForwarder.forward(
+                    owner.get(), HttpMethod.POST, "/bookings", request, idempotencyKey, BookingResponse.class
+            );
+        }
+
+        return idempotencyService.execute(
+                userId,
+                idempotencyKey,
+                "POST /bookings " + request.getSlotId(),
+                BookingResponse.class,
+                () -> ResponseEntity
+                        .status(HttpStatus.CREATED)
+                        .body(bookingService.book(userId, request.getSlotId()))
+        );
+    }
+
+    /**
+     * Book a weekly rule (weekdays + start time) over a date range
+     * Replaces: one client insert per occurrence
+     * Partial success: the response reports the outcome of every date
+     */
+    @PostMapping("/series")
+    public ResponseEntity<SeriesBookingResponse> createSeries(
+            @Valid @RequestBody CreateSeriesRequest request,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
+            @RequestHeader(value = ClusterForwarder.FORWARDED_HEADER, required = false) String forwardedBy,
+            Authentication authentication
+    ) {
+        String userId = (String) authentication.getPrincipal();
+
+        String fingerprint = "POST /bookings/series " + request.getWeekdays().stream().sorted().toList()
+                + " " + request.getStartTime() + " " + request.getFromDate() + ".." + request.getToDate();
+
+        return idempotencyService.execute(
+                userId,
+                idempotencyKey,
+                fingerprint,
+                SeriesBookingResponse.class,
+                () -> ResponseEntity.ok(bookingSeriesService.bookSeries(userId, request, forwardedBy != null))
+        );
+    }
+
+    /**
+     * Cancel a booking (owner or admin)
+     * Replaces: client delete from bookings
+     * A retry with the same Idempotency-Key replays the first response
+     */
+    @DeleteMapping("/{bookingId}")
+    public ResponseEntity<ApiResponse> cancelBooking(
+            @PathVariable String bookingId,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
+            Authentication authentication
+    ) {
+        String userId = (String) authentication.getPrincipal();
+
+        if (slotOwnership.isEnabled()) {
+            Optional<ClusterNode> owner = bookingService.findSlotId(bookingId)
+                    .flatMap(slotOwnership::remoteOwner);
+
+            if (owner.isPresent()) {
+                return clusterForwarder.forward(
+                        owner.get(), HttpMethod.DELETE, "/bookings/" + bookingId, null, idempotencyKey, ApiResponse.class
+                );
+            }
+        }
+
+        return idempotencyService.execute(
+                userId,
+                idempotencyKey,
+                "DELETE /bookings/" + bookingId,
+                ApiResponse.class,
+                () -> {
+                    bookingService.cancel(userId, bookingId);
+                    return ResponseEntity.ok(
+                            new ApiResponse(true, "Booking cancelled successfully")
+                    );
+                }
+        );
+    }
+}
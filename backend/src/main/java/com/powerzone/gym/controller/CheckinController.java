@@ -0,0 +1,32 @@
+package com.powerzone.gym.controller;
+
+import com.powerzone.gym.dto.CheckinResponse;
+import com.powerzone.gym.service.CheckinService;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/checkin")
+public class CheckinController {
+
+    private final CheckinService checkinService;
+
+    public CheckinController(CheckinService checkinService) {
+        this.checkinService = checkinService;
+    }
+
+    /**
+     * Check a member in by booking code (front desk / door scanner, admin-only)
+     */
+    @PostMapping("/{code}")
+    public ResponseEntity<CheckinResponse> checkIn(
+            @PathVariable String code,
+            Authentication authentication
+    ) {
+        String staffUserId = (String) authentication.getPrincipal();
+
+        return ResponseEntity.ok(checkinService.checkIn(staffUserId, code));
+    }
+}
@@ -0,0 +1,56 @@
+package com.powerzone.gym.controller;
+
+import com.powerzone.gym.dto.WorkoutStatsResponse;
+import com.powerzone.gym.service.MemberEventStream;
+import com.powerzone.gym.service.WorkoutStatsService;
+
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+
+@RestController
+@RequestMapping("/me")
+public class MeController {
+
+    private final WorkoutStatsService workoutStatsService;
+    private final MemberEventStream memberEventStream;
+
+    public MeController(
+            WorkoutStatsService workoutStatsService,
+            MemberEventStream memberEventStream
+    ) {
+        this.workoutStatsService = workoutStatsService;
+        this.memberEventStream = memberEventStream;
+    }
+
+    /**
+     * Workout statistics of the current user
+     * Replaces: client-side aggregation in WorkoutStats.tsx
+     * range: number of days, e.g. 30d or 365d
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<WorkoutStatsResponse> getStats(
+            @RequestParam(defaultValue = "30d") String range,
+            Authentication authentication
+    ) {
+        String userId = (String) authentication.getPrincipal();
+
+        int rangeDays = WorkoutStatsService.parseRange(range);
+
+        return ResponseEntity.ok(workoutStatsService.getStats(userId, rangeDays));
+    }
+
+    /**
+     * Notifications for the current user (Server-Sent Events)
+     * Events: "waitlist-promoted" (BookingResponse of the new booking)
+     */
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<?>> events(Authentication authentication) {
+        String userId = (String) authentication.getPrincipal();
+
+        return memberEventStream.watch(userId);
+    }
+}
@@ -6,6 +6,7 @@ import com.powerzone.gym.service.UserService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 
 @RestController
 @RequestMapping("/admin/seed")
@@ -22,14 +23,13 @@ public class SeedController {
      * Replaces: seed-users Edge Function
      */
     @PostMapping
-    public ResponseEntity<ApiResponse> seedUsers(Authentication authentication) {
+    public Mono<ResponseEntity<ApiResponse>> seedUsers(Authentication authentication) {
 
         String requestingUserId = (String) authentication.getPrincipal();
 
-        userService.seedDefaultUsers(requestingUserId);
-
-        return ResponseEntity.ok(
-                new ApiResponse(true, "Users seeded successfully")
-        );
+        return userService.seedDefaultUsers(requestingUserId)
+                .thenReturn(ResponseEntity.ok(
+                        new ApiResponse(true, "Users seeded successfully")
+                ));
     }
 }
@@ -0,0 +1,68 @@
+package com.powerzone.gym.controller;
+
+import com.powerzone.gym.dto.SlotResponse;
+import com.powerzone.gym.service.SlotAvailabilityStream;
+import com.powerzone.gym.service.SlotService;
+import com.powerzone.gym.service.SlotSnapshotCache.SlotsView;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/slots")
+public class SlotController {
+
+    private final SlotService slotService;
+    private final SlotAvailabilityStream slotAvailabilityStream;
+
+    public SlotController(
+            SlotService slotService,
+            SlotAvailabilityStream slotAvailabilityStream
+    ) {
+        this.slotService = slotService;
+        this.slotAvailabilityStream = slotAvailabilityStream;
+    }
+
+    /**
+     * Slots of a date, never creates rows
+     * Replaces: useSlots fetch + createDailySlots
+     * If-None-Match with the current ETag → 304 without a body
+     */
+    @GetMapping
+    public ResponseEntity<List<SlotResponse>> getSlots(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            WebRequest webRequest
+    ) {
+        SlotsView view = slotService.getSlots(date);
+
+        if (webRequest.checkNotModified(view.etag())) {
+            return null; // 304 already prepared by Spring
+        }
+
+        return ResponseEntity.ok()
+                .eTag(view.etag())
+                .cacheControl(CacheControl.noCache())
+                .body(view.slots());
+    }
+
+    /**
+     * Live availability of a date (Server-Sent Events)
+     * Replaces: per-client Supabase realtime channel on daily_slots
+     * Events: "snapshot" (full list) once, then "delta" (changed slots only)
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<?>> streamSlots(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date
+    ) {
+        return slotAvailabilityStream.watch(date);
+    }
+}
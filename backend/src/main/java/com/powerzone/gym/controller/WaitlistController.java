@@ -0,0 +1,105 @@
+package com.powerzone.gym.controller;
+
+import com.powerzone.gym.dto.ApiResponse;
+import com.powerzone.gym.dto.WaitlistResponse;
+import com.powerzone.gym.repository.ClusterNodeRepository.ClusterNode;
+import com.powerzone.gym.service.ClusterForwarder;
+import com.powerzone.gym.service.SlotOwnership;
+import com.powerzone.gym.service.WaitlistService;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Optional;
+
+@RestController
+@RequestMapping("/waitlist")
+public class WaitlistController {
+
+    private final WaitlistService waitlistService;
+    private final SlotOwnership slotOwnership;
+    private final ClusterForwarder clusterForwarder;
+
+    public WaitlistController(
+            WaitlistService waitlistService,
+            SlotOwnership slotOwnership,
+            ClusterForwarder clusterForwarder
+    ) {
+        this.waitlistService = waitlistService;
+        this.slotOwnership = slotOwnership;
+        this.clusterForwarder = clusterForwarder;
+    }
+
+    /**
+     * Join the waitlist of a full slot
+     * Promotion is announced on GET /me/events ("waitlist-promoted")
+     */
+    @PostMapping("/{slotId}")
+    public ResponseEntity<WaitlistResponse> join(
+            @PathVariable String slotId,
+            Authentication authentication
+    ) {
+        String userId = (String) authentication.getPrincipal();
+
+        Optional<ClusterNode> owner = slotOwnership.remoteOwner(slotId);
+
+        if (owner.isPresent()) {
+            return clusterForwarder.forward(
+                    owner.get(), HttpMethod.POST, "/waitlist/" + slotId, null, null, WaitlistResponse.class
+            );
+        }
+
+        return ResponseEntity
+                .status(HttpStatus.CREATED)
+                .body(waitlistService.join(userId, slotId));
+    }
+
+    /**
+     * Current position of the current user
+     */
+    @GetMapping("/{slotId}")
+    public ResponseEntity<WaitlistResponse> position(
+            @PathVariable String slotId,
+            Authentication authentication
+    ) {
+        String userId = (String) authentication.getPrincipal();
+
+        Optional<ClusterNode> owner = slotOwnership.remoteOwner(slotId);
+
+        if (owner.isPresent()) {
+            return clusterForwarder.forward(
+                    owner.get(), HttpMethod.GET, "/waitlist/" + slotId, null, null, WaitlistResponse.class
+            );
+        }
+
+        return ResponseEntity.ok(waitlistService.position(userId, slotId));
+    }
+
+    /**
+     * Leave a slot's waitlist
+     */
+    @DeleteMapping("/{slotId}")
+    public ResponseEntity<ApiResponse> leave(
+            @PathVariable String slotId,
+            Authentication authentication
+    ) {
+        String userId = (String) authentication.getPrincipal();
+
+        Optional<ClusterNode> owner = slotOwnership.remoteOwner(slotId);
+
+        if (owner.isPresent()) {
+            return clusterForwarder.forward(
+                    owner.get(), HttpMethod.DELETE, "/waitlist/" + slotId, null, null, ApiResponse.class
+            );
+        }
+
+        waitlistService.leave(userId, slotId);
+
+        return ResponseEntity.ok(
+                new ApiResponse(true, "Left the waitlist")
+        );
+    }
+}
@@ -0,0 +1,81 @@
+package com.powerzone.gym.dto;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+public class BookingResponse {
+
+    private String id;
+    private String slotId;
+    private String bookingCode;
+    private LocalDate slotDate;
+    private LocalTime slotStartTime;
+    private LocalTime slotEndTime;
+
+    public BookingResponse() {
+    }
+
+    public BookingResponse(
+            String id,
+            String slotId,
+            String bookingCode,
+            LocalDate slotDate,
+            LocalTime slotStartTime,
+            LocalTime slotEndTime
+    ) {
+        this.id = id;
+        this.slotId = slotId;
+        this.bookingCode = bookingCode;
+        this.slotDate = slotDate;
+        this.slotStartTime = slotStartTime;
+        this.slotEndTime = slotEndTime;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getSlotId() {
+        return slotId;
+    }
+
+    public String getBookingCode() {
+        return bookingCode;
+    }
+
+    public LocalDate getSlotDate() {
+        return slotDate;
+    }
+
+    public LocalTime getSlotStartTime() {
+        return slotStartTime;
+    }
+
+    public LocalTime getSlotEndTime() {
+        return slotEndTime;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public void setSlotId(String slotId) {
+        this.slotId = slotId;
+    }
+
+    public void setBookingCode(String bookingCode) {
+        this.bookingCode = bookingCode;
+    }
+
+    public void setSlotDate(LocalDate slotDate) {
+        this.slotDate = slotDate;
+    }
+
+    public void setSlotStartTime(LocalTime slotStartTime) {
+        this.slotStartTime = slotStartTime;
+    }
+
+    public void setSlotEndTime(LocalTime slotEndTime) {
+        this.slotEndTime = slotEndTime;
+    }
+}
@@ -0,0 +1,104 @@
+package com.powerzone.gym.dto;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+public class CheckinResponse {
+
+    private String bookingId;
+    private String bookingCode;
+    private String userId;
+    private String slotId;
+    private LocalDate slotDate;
+    private LocalTime slotStartTime;
+    private LocalTime slotEndTime;
+    private Instant checkedInAt;
+
+    public CheckinResponse() {
+    }
+
+    public CheckinResponse(
+            String bookingId,
+            String bookingCode,
+            String userId,
+            String slotId,
+            LocalDate slotDate,
+            LocalTime slotStartTime,
+            LocalTime slotEndTime,
+            Instant checkedInAt
+    ) {
+        this.bookingId = bookingId;
+        this.bookingCode = bookingCode;
+        this.userId = userId;
+        this.slotId = slotId;
+        this.slotDate = slotDate;
+        this.slotStartTime = slotStartTime;
+        this.slotEndTime = slotEndTime;
+        this.checkedInAt = checkedInAt;
+    }
+
+    public String getBookingId() {
+        return bookingId;
+    }
+
+    public String getBookingCode() {
+        return bookingCode;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public String getSlotId() {
+        return slotId;
+    }
+
+    public LocalDate getSlotDate() {
+        return slotDate;
+    }
+
+    public LocalTime getSlotStartTime() {
+        return slotStartTime;
+    }
+
+    public LocalTime getSlotEndTime() {
+        return slotEndTime;
+    }
+
+    public Instant getCheckedInAt() {
+        return checkedInAt;
+    }
+
+    public void setBookingId(String bookingId) {
+        this.bookingId = bookingId;
+    }
+
+    public void setBookingCode(String bookingCode) {
+        this.bookingCode = bookingCode;
+    }
+
+    public void setUserId(String userId) {
+        this.userId = userId;
+    }
+
+    public void setSlotId(String slotId) {
+        this.slotId = slotId;
+    }
+
+    public void setSlotDate(LocalDate slotDate) {
+        this.slotDate = slotDate;
+    }
+
+    public void setSlotStartTime(LocalTime slotStartTime) {
+        this.slotStartTime = slotStartTime;
+    }
+
+    public void setSlotEndTime(LocalTime slotEndTime) {
+        this.slotEndTime = slotEndTime;
+    }
+
+    public void setCheckedInAt(Instant checkedInAt) {
+        this.checkedInAt = checkedInAt;
+    }
+}
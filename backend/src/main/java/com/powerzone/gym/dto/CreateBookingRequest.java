@@ -0,0 +1,22 @@
+package com.powerzone.gym.dto;
+
+public class CreateBookingRequest {
+
+    private String slotId;
+
+    // Required by Spring
+    public CreateBookingRequest() {
+    }
+
+    public CreateBookingRequest(String slotId) {
+        this.slotId = slotId;
+    }
+
+    public String getSlotId() {
+        return slotId;
+    }
+
+    public void setSlotId(String slotId) {
+        this.slotId = slotId;
+    }
+}
@@ -0,0 +1,66 @@
+package com.powerzone.gym.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Set;
+
+public class CreateSeriesRequest {
+
+    @NotEmpty
+    private Set<DayOfWeek> weekdays;
+
+    @NotNull
+    private LocalTime startTime;
+
+    @NotNull
+    private LocalDate fromDate;
+
+    @NotNull
+    private LocalDate toDate;
+
+    public CreateSeriesRequest() {
+    }
+
+    public CreateSeriesRequest(Set<DayOfWeek> weekdays, LocalTime startTime, LocalDate fromDate, LocalDate toDate) {
+        this.weekdays = weekdays;
+        this.startTime = startTime;
+        this.fromDate = fromDate;
+        this.toDate = toDate;
+    }
+
+    public Set<DayOfWeek> getWeekdays() {
+        return weekdays;
+    }
+
+    public LocalTime getStartTime() {
+        return startTime;
+    }
+
+    public LocalDate getFromDate() {
+        return fromDate;
+    }
+
+    public LocalDate getToDate() {
+        return toDate;
+    }
+
+    public void setWeekdays(Set<DayOfWeek> weekdays) {
+        this.weekdays = weekdays;
+    }
+
+    public void setStartTime(LocalTime startTime) {
+        this.startTime = startTime;
+    }
+
+    public void setFromDate(LocalDate fromDate) {
+        this.fromDate = fromDate;
+    }
+
+    public void setToDate(LocalDate toDate) {
+        this.toDate = toDate;
+    }
+}
@@ -1,11 +1,28 @@
 package com.powerzone.gym.dto;
 
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+
 public class CreateUserRequest {
 
+    @NotBlank
+    @Email
     private String email;
+
+    @NotBlank
+    @Size(min = 6, max = 72)
     private String password;
+
+    @NotBlank
+    @Size(max = 50)
     private String username;
+
+    @Size(max = 100)
     private String fullName;
+
+    @Pattern(regexp = "(?i)admin|user", message = "must be admin or user")
     private String role;
 
     // Default constructor (required by Spring)
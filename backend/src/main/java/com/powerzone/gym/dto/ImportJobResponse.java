@@ -0,0 +1,114 @@
+package com.powerzone.gym.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+public class ImportJobResponse {
+
+    private String jobId;
+    private String status;
+    private int total;
+    private int processed;
+    private int succeeded;
+    private int failed;
+    private Instant startedAt;
+    private Instant finishedAt;
+    private List<ImportRowResult> rows;
+
+    public ImportJobResponse() {
+    }
+
+    public ImportJobResponse(
+            String jobId,
+            String status,
+            int total,
+            int processed,
+            int succeeded,
+            int failed,
+            Instant startedAt,
+            Instant finishedAt,
+            List<ImportRowResult> rows
+    ) {
+        this.jobId = jobId;
+        this.status = status;
+        this.total = total;
+        this.processed = processed;
+        this.succeeded = succeeded;
+        this.failed = failed;
+        this.startedAt = startedAt;
+        this.finishedAt = finishedAt;
+        this.rows = rows;
+    }
+
+    public String getJobId() {
+        return jobId;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public int getProcessed() {
+        return processed;
+    }
+
+    public int getSucceeded() {
+        return succeeded;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    public List<ImportRowResult> getRows() {
+        return rows;
+    }
+
+    public void setJobId(String jobId) {
+        this.jobId = jobId;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public void setTotal(int total) {
+        this.total = total;
+    }
+
+    public void setProcessed(int processed) {
+        this.processed = processed;
+    }
+
+    public void setSucceeded(int succeeded) {
+        this.succeeded = succeeded;
+    }
+
+    public void setFailed(int failed) {
+        this.failed = failed;
+    }
+
+    public void setStartedAt(Instant startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public void setFinishedAt(Instant finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    public void setRows(List<ImportRowResult> rows) {
+        this.rows = rows;
+    }
+}
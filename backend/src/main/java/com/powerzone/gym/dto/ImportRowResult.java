@@ -0,0 +1,61 @@
+package com.powerzone.gym.dto;
+
+public class ImportRowResult {
+
+    private int row;
+    private String email;
+    private String status;
+    private String userId;
+    private String message;
+
+    public ImportRowResult() {
+    }
+
+    public ImportRowResult(int row, String email, String status, String userId, String message) {
+        this.row = row;
+        this.email = email;
+        this.status = status;
+        this.userId = userId;
+        this.message = message;
+    }
+
+    public int getRow() {
+        return row;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setRow(int row) {
+        this.row = row;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public void setUserId(String userId) {
+        this.userId = userId;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
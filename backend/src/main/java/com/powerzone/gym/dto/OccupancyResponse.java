@@ -0,0 +1,168 @@
+package com.powerzone.gym.dto;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+public class OccupancyResponse {
+
+    private LocalDate from;
+    private LocalDate to;
+    private int totalSlots;
+    private int fullSlots;
+    private double utilizationP50;
+    private double utilizationP90;
+    private double utilizationP99;
+    private List<Cell> heatmap;
+
+    public OccupancyResponse() {
+    }
+
+    public OccupancyResponse(
+            LocalDate from,
+            LocalDate to,
+            int totalSlots,
+            int fullSlots,
+            double utilizationP50,
+            double utilizationP90,
+            double utilizationP99,
+            List<Cell> heatmap
+    ) {
+        this.from = from;
+        this.to = to;
+        this.totalSlots = totalSlots;
+        this.fullSlots = fullSlots;
+        this.utilizationP50 = utilizationP50;
+        this.utilizationP90 = utilizationP90;
+        this.utilizationP99 = utilizationP99;
+        this.heatmap = heatmap;
+    }
+
+    public LocalDate getFrom() {
+        return from;
+    }
+
+    public LocalDate getTo() {
+        return to;
+    }
+
+    public int getTotalSlots() {
+        return totalSlots;
+    }
+
+    public int getFullSlots() {
+        return fullSlots;
+    }
+
+    public double getUtilizationP50() {
+        return utilizationP50;
+    }
+
+    public double getUtilizationP90() {
+        return utilizationP90;
+    }
+
+    public double getUtilizationP99() {
+        return utilizationP99;
+    }
+
+    public List<Cell> getHeatmap() {
+        return heatmap;
+    }
+
+    public void setFrom(LocalDate from) {
+        this.from = from;
+    }
+
+    public void setTo(LocalDate to) {
+        this.to = to;
+    }
+
+    public void setTotalSlots(int totalSlots) {
+        this.totalSlots = totalSlots;
+    }
+
+    public void setFullSlots(int fullSlots) {
+        this.fullSlots = fullSlots;
+    }
+
+    public void setUtilizationP50(double utilizationP50) {
+        this.utilizationP50 = utilizationP50;
+    }
+
+    public void setUtilizationP90(double utilizationP90) {
+        this.utilizationP90 = utilizationP90;
+    }
+
+    public void setUtilizationP99(double utilizationP99) {
+        this.utilizationP99 = utilizationP99;
+    }
+
+    public void setHeatmap(List<Cell> heatmap) {
+        this.heatmap = heatmap;
+    }
+
+    /**
+     * Average occupancy of one (weekday, start time) over the range
+     */
+    public static class Cell {
+
+        private DayOfWeek weekday;
+        private LocalTime startTime;
+        private int slots;
+        private double avgBooked;
+        private double utilization;
+
+        public Cell() {
+        }
+
+        public Cell(DayOfWeek weekday, LocalTime startTime, int slots, double avgBooked, double utilization) {
+            this.weekday = weekday;
+            this.startTime = startTime;
+            this.slots = slots;
+            this.avgBooked = avgBooked;
+            this.utilization = utilization;
+        }
+
+        public DayOfWeek getWeekday() {
+            return weekday;
+        }
+
+        public LocalTime getStartTime() {
+            return startTime;
+        }
+
+        public int getSlots() {
+            return slots;
+        }
+
+        public double getAvgBooked() {
+            return avgBooked;
+        }
+
+        public double getUtilization() {
+            return utilization;
+        }
+
+        public void setWeekday(DayOfWeek weekday) {
+            this.weekday = weekday;
+        }
+
+        public void setStartTime(LocalTime startTime) {
+            this.startTime = startTime;
+        }
+
+        public void setSlots(int slots) {
+            this.slots = slots;
+        }
+
+        public void setAvgBooked(double avgBooked) {
+            this.avgBooked = avgBooked;
+        }
+
+        public void setUtilization(double utilization) {
+            this.utilization = utilization;
+        }
+    }
+}
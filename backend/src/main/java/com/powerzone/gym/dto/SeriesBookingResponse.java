@@ -0,0 +1,88 @@
+package com.powerzone.gym.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public class SeriesBookingResponse {
+
+    private int requested;
+    private int booked;
+    private List<Occurrence> occurrences;
+
+    public SeriesBookingResponse() {
+    }
+
+    public SeriesBookingResponse(int requested, int booked, List<Occurrence> occurrences) {
+        this.requested = requested;
+        this.booked = booked;
+        this.occurrences = occurrences;
+    }
+
+    public int getRequested() {
+        return requested;
+    }
+
+    public int getBooked() {
+        return booked;
+    }
+
+    public List<Occurrence> getOccurrences() {
+        return occurrences;
+    }
+
+    public void setRequested(int requested) {
+        this.requested = requested;
+    }
+
+    public void setBooked(int booked) {
+        this.booked = booked;
+    }
+
+    public void setOccurrences(List<Occurrence> occurrences) {
+        this.occurrences = occurrences;
+    }
+
+    /**
+     * Outcome for one date of the series
+     * status: booked, already_booked, full, no_slot, rate_limited, unavailable
+     */
+    public static class Occurrence {
+
+        private LocalDate date;
+        private String status;
+        private BookingResponse booking;
+
+        public Occurrence() {
+        }
+
+        public Occurrence(LocalDate date, String status, BookingResponse booking) {
+            this.date = date;
+            this.status = status;
+            this.booking = booking;
+        }
+
+        public LocalDate getDate() {
+            return date;
+        }
+
+        public String getStatus() {
+            return status;
+        }
+
+        public BookingResponse getBooking() {
+            return booking;
+        }
+
+        public void setDate(LocalDate date) {
+            this.date = date;
+        }
+
+        public void setStatus(String status) {
+            this.status = status;
+        }
+
+        public void setBooking(BookingResponse booking) {
+            this.booking = booking;
+        }
+    }
+}
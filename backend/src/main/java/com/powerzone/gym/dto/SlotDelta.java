@@ -0,0 +1,41 @@
+package com.powerzone.gym.dto;
+
+public class SlotDelta {
+
+    private String slotId;
+    private int currentBookings;
+    private int maxCapacity;
+
+    public SlotDelta() {
+    }
+
+    public SlotDelta(String slotId, int currentBookings, int maxCapacity) {
+        this.slotId = slotId;
+        this.currentBookings = currentBookings;
+        this.maxCapacity = maxCapacity;
+    }
+
+    public String getSlotId() {
+        return slotId;
+    }
+
+    public int getCurrentBookings() {
+        return currentBookings;
+    }
+
+    public int getMaxCapacity() {
+        return maxCapacity;
+    }
+
+    public void setSlotId(String slotId) {
+        this.slotId = slotId;
+    }
+
+    public void setCurrentBookings(int currentBookings) {
+        this.currentBookings = currentBookings;
+    }
+
+    public void setMaxCapacity(int maxCapacity) {
+        this.maxCapacity = maxCapacity;
+    }
+}
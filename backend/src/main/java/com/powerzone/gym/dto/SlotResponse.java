@@ -0,0 +1,81 @@
+package com.powerzone.gym.dto;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+public class SlotResponse {
+
+    private String id;
+    private LocalDate slotDate;
+    private LocalTime slotStartTime;
+    private LocalTime slotEndTime;
+    private int currentBookings;
+    private int maxCapacity;
+
+    public SlotResponse() {
+    }
+
+    public SlotResponse(
+            String id,
+            LocalDate slotDate,
+            LocalTime slotStartTime,
+            LocalTime slotEndTime,
+            int currentBookings,
+            int maxCapacity
+    ) {
+        this.id = id;
+        this.slotDate = slotDate;
+        this.slotStartTime = slotStartTime;
+        this.slotEndTime = slotEndTime;
+        this.currentBookings = currentBookings;
+        this.maxCapacity = maxCapacity;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public LocalDate getSlotDate() {
+        return slotDate;
+    }
+
+    public LocalTime getSlotStartTime() {
+        return slotStartTime;
+    }
+
+    public LocalTime getSlotEndTime() {
+        return slotEndTime;
+    }
+
+    public int getCurrentBookings() {
+        return currentBookings;
+    }
+
+    public int getMaxCapacity() {
+        return maxCapacity;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public void setSlotDate(LocalDate slotDate) {
+        this.slotDate = slotDate;
+    }
+
+    public void setSlotStartTime(LocalTime slotStartTime) {
+        this.slotStartTime = slotStartTime;
+    }
+
+    public void setSlotEndTime(LocalTime slotEndTime) {
+        this.slotEndTime = slotEndTime;
+    }
+
+    public void setCurrentBookings(int currentBookings) {
+        this.currentBookings = currentBookings;
+    }
+
+    public void setMaxCapacity(int maxCapacity) {
+        this.maxCapacity = maxCapacity;
+    }
+}
@@ -0,0 +1,41 @@
+package com.powerzone.gym.dto;
+
+public class WaitlistResponse {
+
+    private String slotId;
+    private int position;
+    private int size;
+
+    public WaitlistResponse() {
+    }
+
+    public WaitlistResponse(String slotId, int position, int size) {
+        this.slotId = slotId;
+        this.position = position;
+        this.size = size;
+    }
+
+    public String getSlotId() {
+        return slotId;
+    }
+
+    public int getPosition() {
+        return position;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void setSlotId(String slotId) {
+        this.slotId = slotId;
+    }
+
+    public void setPosition(int position) {
+        this.position = position;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
+}
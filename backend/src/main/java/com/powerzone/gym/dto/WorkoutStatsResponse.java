@@ -0,0 +1,102 @@
+package com.powerzone.gym.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public class WorkoutStatsResponse {
+
+    private int totalWorkouts;
+    private double totalHours;
+    private double avgPerWeek;
+    private List<Point> chartData;
+
+    public WorkoutStatsResponse() {
+    }
+
+    public WorkoutStatsResponse(
+            int totalWorkouts,
+            double totalHours,
+            double avgPerWeek,
+            List<Point> chartData
+    ) {
+        this.totalWorkouts = totalWorkouts;
+        this.totalHours = totalHours;
+        this.avgPerWeek = avgPerWeek;
+        this.chartData = chartData;
+    }
+
+    public int getTotalWorkouts() {
+        return totalWorkouts;
+    }
+
+    public double getTotalHours() {
+        return totalHours;
+    }
+
+    public double getAvgPerWeek() {
+        return avgPerWeek;
+    }
+
+    public List<Point> getChartData() {
+        return chartData;
+    }
+
+    public void setTotalWorkouts(int totalWorkouts) {
+        this.totalWorkouts = totalWorkouts;
+    }
+
+    public void setTotalHours(double totalHours) {
+        this.totalHours = totalHours;
+    }
+
+    public void setAvgPerWeek(double avgPerWeek) {
+        this.avgPerWeek = avgPerWeek;
+    }
+
+    public void setChartData(List<Point> chartData) {
+        this.chartData = chartData;
+    }
+
+    /**
+     * One chart bucket (a day, or a week for long ranges)
+     */
+    public static class Point {
+
+        private LocalDate date;
+        private int workouts;
+        private double hours;
+
+        public Point() {
+        }
+
+        public Point(LocalDate date, int workouts, double hours) {
+            this.date = date;
+            this.workouts = workouts;
+            this.hours = hours;
+        }
+
+        public LocalDate getDate() {
+            return date;
+        }
+
+        public int getWorkouts() {
+            return workouts;
+        }
+
+        public double getHours() {
+            return hours;
+        }
+
+        public void setDate(LocalDate date) {
+            this.date = date;
+        }
+
+        public void setWorkouts(int workouts) {
+            this.workouts = workouts;
+        }
+
+        public void setHours(double hours) {
+            this.hours = hours;
+        }
+    }
+}
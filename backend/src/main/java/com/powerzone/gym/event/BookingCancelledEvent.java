@@ -0,0 +1,18 @@
+package com.powerzone.gym.event;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Published when a booking is cancelled through BookingService
+ */
+public record BookingCancelledEvent(
+        String bookingId,
+        String userId,
+        String slotId,
+        String bookingCode,
+        LocalDate slotDate,
+        LocalTime startTime,
+        LocalTime endTime
+) {
+}
@@ -0,0 +1,18 @@
+package com.powerzone.gym.event;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Published when a booking is admitted by BookingService
+ */
+public record BookingCreatedEvent(
+        String bookingId,
+        String userId,
+        String slotId,
+        String bookingCode,
+        LocalDate slotDate,
+        LocalTime startTime,
+        LocalTime endTime
+) {
+}
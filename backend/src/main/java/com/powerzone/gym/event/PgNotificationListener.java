@@ -0,0 +1,183 @@
+package com.powerzone.gym.event;
+
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Single Postgres LISTEN connection shared by all in-process caches.
+ *
+ * Triggers call pg_notify(channel, payload); handlers subscribed to
+ * that channel get the payload. After every (re)connect handlers are
+ * asked to resync, since notifications sent while down are lost.
+ */
+@Component
+public class PgNotificationListener {
+
+    private static final Logger log = LoggerFactory.getLogger(PgNotificationListener.class);
+
+    /**
+     * Callback for one channel
+     */
+    public interface Handler {
+
+        void onNotification(String payload);
+
+        /**
+         * Called after (re)connecting; missed notifications must be assumed
+         */
+        default void onResync() {
+        }
+    }
+
+    private final DataSource dataSource;
+    private final int pollTimeoutMs;
+    private final long reconnectDelayMs;
+
+    private final Map<String, List<Handler>> handlers = new ConcurrentHashMap<>();
+    private final Queue<String> pendingListens = new ConcurrentLinkedQueue<>();
+
+    private volatile boolean connected = false;
+    private volatile boolean running = false;
+    private Thread thread;
+
+    public PgNotificationListener(
+            DataSource dataSource,
+            @Value("${pg.notify.poll-timeout-ms:500}") int pollTimeoutMs,
+            @Value("${pg.notify.reconnect-delay-ms:2000}") long reconnectDelayMs
+    ) {
+        this.dataSource = dataSource;
+        this.pollTimeoutMs = pollTimeoutMs;
+        this.reconnectDelayMs = reconnectDelayMs;
+    }
+
+    /**
+     * Subscribe to a channel (safe before or after start)
+     */
+    public void subscribe(String channel, Handler handler) {
+        handlers.computeIfAbsent(channel, c -> {
+            pendingListens.add(c);
+            return new CopyOnWriteArrayList<>();
+        }).add(handler);
+    }
+
+    /**
+     * True while the LISTEN connection is up and receiving
+     */
+    public boolean isConnected() {
+        return connected;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        thread = new Thread(this::run, "pg-notify-listener");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        running = false;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    /* =========================
+       Internal helpers
+       ========================= */
+
+    private void run() {
+
+        while (running) {
+
+            try (Connection connection = dataSource.getConnection()) {
+
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+
+                pendingListens.clear();
+                for (String channel : handlers.keySet()) {
+                    listen(connection, channel);
+                }
+
+                connected = true;
+                log.info("Listening on {} Postgres channel(s)", handlers.size());
+                handlers.values().forEach(list -> list.forEach(Handler::onResync));
+
+                while (running) {
+
+                    String channel;
+                    while ((channel = pendingListens.poll()) != null) {
+                        listen(connection, channel);
+                    }
+
+                    PGNotification[] notifications = pgConnection.getNotifications(pollTimeoutMs);
+
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            dispatch(notification);
+                        }
+                    }
+                }
+
+            } catch (SQLException ex) {
+                log.warn("Postgres LISTEN connection lost: {}", ex.getMessage());
+            } finally {
+                connected = false;
+            }
+
+            if (running) {
+                try {
+                    Thread.sleep(reconnectDelayMs);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void listen(Connection connection, String channel) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("LISTEN \"" + channel + "\"");
+        }
+    }
+
+    private void dispatch(PGNotification notification) {
+
+        List<Handler> channelHandlers = handlers.get(notification.getName());
+
+        if (channelHandlers == null) {
+            return;
+        }
+
+        for (Handler handler : channelHandlers) {
+            try {
+                handler.onNotification(notification.getParameter());
+            } catch (RuntimeException ex) {
+                log.warn("Notification handler for {} failed", notification.getName(), ex);
+            }
+        }
+    }
+}
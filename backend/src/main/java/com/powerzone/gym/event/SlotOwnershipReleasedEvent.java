@@ -0,0 +1,12 @@
+package com.powerzone.gym.event;
+
+import java.util.Set;
+
+/**
+ * Published when this node hands slots over to another node; their
+ * in-memory state has been dropped and must not be used any more
+ */
+public record SlotOwnershipReleasedEvent(
+        Set<String> slotIds
+) {
+}
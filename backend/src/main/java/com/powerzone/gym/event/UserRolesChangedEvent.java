@@ -0,0 +1,7 @@
+package com.powerzone.gym.event;
+
+/**
+ * Published after this node writes to public.user_roles
+ */
+public record UserRolesChangedEvent(String userId) {
+}
@@ -0,0 +1,18 @@
+package com.powerzone.gym.event;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Published when WaitlistService books a waiting member into a freed place
+ */
+public record WaitlistPromotedEvent(
+        String bookingId,
+        String userId,
+        String slotId,
+        String bookingCode,
+        LocalDate slotDate,
+        LocalTime startTime,
+        LocalTime endTime
+) {
+}
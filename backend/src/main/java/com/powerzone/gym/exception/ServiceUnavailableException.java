@@ -0,0 +1,8 @@
+package com.powerzone.gym.exception;
+
+public class ServiceUnavailableException extends RuntimeException {
+
+    public ServiceUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -1,60 +1,180 @@
 package com.powerzone.gym.config;
 
 import com.powerzone.gym.repository.UserRoleRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
-import org.springframework.context.annotation.Bean;
-import org.springframework.context.annotation.Configuration;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.context.event.EventListener;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
 
 import java.util.List;
 import java.util.Map;
 
-@Configuration
-public class DataInitializer {
+/**
+ * Assigns the default roles to the seeded Supabase users.
+ *
+ * By default this runs before the app reports ready (CommandLineRunner).
+ * With startup.deferred-init it runs on a background thread once the app
+ * accepts traffic and is retried until it succeeds. Either way the
+ * dataInit health component reports its progress; the readiness probe
+ * does not wait for it.
+ */
+@Component("dataInit")
+public class DataInitializer implements CommandLineRunner, HealthIndicator {
 
-    @Bean
-    CommandLineRunner initDefaultUsers(
+    private static final Logger log = LoggerFactory.getLogger(DataInitializer.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final UserRoleRepository userRoleRepository;
+    private final boolean deferred;
+    private final long retryDelayMs;
+
+    private volatile Health health = Health.unknown().withDetail("state", "pending").build();
+    private volatile boolean started;
+
+    public DataInitializer(
             JdbcTemplate jdbcTemplate,
-            UserRoleRepository userRoleRepository
+            UserRoleRepository userRoleRepository,
+            @Value("${startup.deferred-init:false}") boolean deferred,
+            @Value("${startup.deferred-init-retry-ms:30000}") long retryDelayMs
     ) {
-        return args -> {
+        this.jdbcTemplate = jdbcTemplate;
+        this.userRoleRepository = userRoleRepository;
+        this.deferred = deferred;
+        this.retryDelayMs = retryDelayMs;
+    }
 
-            // Check if admin role already exists
-            Boolean adminExists = jdbcTemplate.queryForObject("""
-                SELECT EXISTS (
-                    SELECT 1 FROM public.user_roles WHERE role = 'admin'
-                )
-            """, Boolean.class);
+    /* =========================
+       Public APIs
+       ========================= */
+
+    @Override
+    public void run(String... args) {
+        if (!deferred) {
+            initialize(1);
+        }
+    }
+
+    /**
+     * Deferred mode: start once the readiness state flips to ACCEPTING_TRAFFIC
+     */
+    @EventListener
+    public synchronized void onReadiness(AvailabilityChangeEvent<ReadinessState> event) {
+
+        if (!deferred || started || event.getState() != ReadinessState.ACCEPTING_TRAFFIC) {
+            return;
+        }
+
+        started = true;
+
+        Thread thread = new Thread(this::runDeferred, "data-init");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public Health health() {
+        return health;
+    }
+
+    /* =========================
+       Internal helpers
+       ========================= */
+
+    private void runDeferred() {
+
+        for (int attempt = 1; ; attempt++) {
 
-            if (Boolean.TRUE.equals(adminExists)) {
-                return; // Already seeded
+            try {
+                initialize(attempt);
+                return;
+            } catch (RuntimeException ex) {
+                log.warn("Data initialization attempt {} failed, retrying in {} ms: {}",
+                        attempt, retryDelayMs, ex.getMessage());
             }
 
-            // ⚠️ NOTE:
-            // Supabase auth users CANNOT be created via direct DB insert.
-            // This initializer only assigns roles to existing users.
-
-            List<Map<String, String>> defaultUsers = List.of(
-                    Map.of(
-                            "email", "admin@powerzone.com",
-                            "role", "admin"
-                    ),
-                    Map.of(
-                            "email", "member@powerzone.com",
-                            "role", "user"
-                    )
-            );
-
-            for (Map<String, String> user : defaultUsers) {
-
-                String userId = jdbcTemplate.queryForObject("""
-                    SELECT id FROM auth.users WHERE email = ?
-                """, String.class, user.get("email"));
-
-                if (userId != null) {
-                    userRoleRepository.insertRole(userId, user.get("role"));
-                }
+            try {
+                Thread.sleep(retryDelayMs);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void initialize(int attempt) {
+
+        health = Health.unknown()
+                .withDetail("state", "running")
+                .withDetail("deferred", deferred)
+                .withDetail("attempt", attempt)
+                .build();
+
+        long begin = System.nanoTime();
+
+        try {
+            seedDefaultRoles();
+        } catch (RuntimeException ex) {
+            health = Health.down(ex)
+                    .withDetail("state", "failed")
+                    .withDetail("deferred", deferred)
+                    .withDetail("attempt", attempt)
+                    .build();
+            throw ex;
+        }
+
+        health = Health.up()
+                .withDetail("state", "done")
+                .withDetail("deferred", deferred)
+                .withDetail("attempt", attempt)
+                .withDetail("durationMs", (System.nanoTime() - begin) / 1_000_000)
+                .build();
+    }
+
+    private void seedDefaultRoles() {
+
+        // Check if admin role already exists
+        Boolean adminExists = jdbcTemplate.queryForObject("""
+            SELECT EXISTS (
+                SELECT 1 FROM public.user_roles WHERE role = 'admin'
+            )
+        """, Boolean.class);
+
+        if (Boolean.TRUE.equals(adminExists)) {
+            return; // Already seeded
+        }
+
+        // ⚠️ NOTE:
+        // Supabase auth users CANNOT be created via direct DB insert.
+        // This initializer only assigns roles to existing users.
+
+        List<Map<String, String>> defaultUsers = List.of(
+                Map.of(
+                        "email", "admin@powerzone.com",
+                        "role", "admin"
+                ),
+                Map.of(
+                        "email", "member@powerzone.com",
+                        "role", "user"
+                )
+        );
+
+        for (Map<String, String> user : defaultUsers) {
+
+            // Not signed up yet: skipped, assigned on a later boot
+            List<String> userIds = jdbcTemplate.queryForList("""
+                SELECT id FROM auth.users WHERE email = ?
+            """, String.class, user.get("email"));
+
+            if (!userIds.isEmpty()) {
+                userRoleRepository.insertRole(userIds.get(0), user.get("role"));
             }
-        };
+        }
     }
 }
@@ -0,0 +1,206 @@
+package com.powerzone.gym.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+
+@Repository
+public class BookingRepository {
+
+    private static final RowMapper<BookingRow> BOOKING_ROW_MAPPER = (rs, rowNum) -> new BookingRow(
+            rs.getString("id"),
+            rs.getString("user_id"),
+            rs.getString("slot_id"),
+            rs.getString("booking_code"),
+            rs.getObject("slot_date", LocalDate.class)
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+    private final QueryMetrics queryMetrics;
+
+    public BookingRepository(JdbcTemplate jdbcTemplate, QueryMetrics queryMetrics) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.queryMetrics = queryMetrics;
+    }
+
+    /**
+     * All users holding a booking for a slot
+     * Used to rebuild in-memory slot state (DB is the source of truth)
+     */
+    public List<String> findUserIdsBySlotId(String slotId, LocalDate slotDate) {
+
+        String sql = """
+            SELECT user_id
+            FROM public.bookings
+            WHERE slot_date = ?
+              AND slot_id = ?::uuid
+        """;
+
+        return queryMetrics.time("bookings.find_user_ids_by_slot",
+                () -> jdbcTemplate.queryForList(sql, String.class, slotDate, slotId));
+    }
+
+    /**
+     * Users holding a booking, for many slots dated [from, to] in one query
+     * (the date range prunes partitions, ANY (array) alone does not)
+     */
+    public Map<String, List<String>> findUserIdsBySlotIds(Collection<String> slotIds, LocalDate from, LocalDate to) {
+
+        String sql = """
+            SELECT slot_id, user_id
+            FROM public.bookings
+            WHERE slot_date BETWEEN ? AND ?
+              AND slot_id = ANY (?::uuid[])
+        """;
+
+        Map<String, List<String>> userIds = new HashMap<>();
+
+        jdbcTemplate.query(sql, rs -> {
+            userIds.computeIfAbsent(rs.getString("slot_id"), id -> new ArrayList<>())
+                    .add(rs.getString("user_id"));
+        }, from, to, slotIds.toArray(String[]::new));
+
+        return userIds;
+    }
+
+    /**
+     * Which of these booking ids exist, for bookings dated [from, to]
+     */
+    public Set<String> findExistingIds(Collection<String> bookingIds, LocalDate from, LocalDate to) {
+
+        String sql = """
+            SELECT id
+            FROM public.bookings
+            WHERE slot_date BETWEEN ? AND ?
+              AND id = ANY (?::uuid[])
+        """;
+
+        return queryMetrics.time("bookings.find_existing_ids", () -> new HashSet<>(
+                jdbcTemplate.queryForList(sql, String.class, from, to, bookingIds.toArray(String[]::new))
+        ));
+    }
+
+    /**
+     * Fetch booking by id
+     * The id alone cannot prune partitions: upcoming months are probed
+     * first (cancellations), all of them only if that misses
+     */
+    public Optional<BookingRow> findById(String bookingId) {
+
+        String upcoming = """
+            SELECT id, user_id, slot_id, booking_code, slot_date
+            FROM public.bookings
+            WHERE id = ?::uuid
+              AND slot_date >= CURRENT_DATE
+        """;
+
+        String any = """
+            SELECT id, user_id, slot_id, booking_code, slot_date
+            FROM public.bookings
+            WHERE id = ?::uuid
+        """;
+
+        return queryMetrics.time("bookings.find_by_id", () -> jdbcTemplate.query(upcoming, BOOKING_ROW_MAPPER, bookingId)
+                .stream()
+                .findFirst()
+                .or(() -> jdbcTemplate.query(any, BOOKING_ROW_MAPPER, bookingId).stream().findFirst()));
+    }
+
+    /**
+     * Insert many bookings in one JDBC batch
+     * UNIQUE(user_id, slot_id) / booking_code conflicts are skipped (count 0)
+     */
+    public int[] batchInsert(List<BookingRow> bookings) {
+
+        String sql = """
+            INSERT INTO public.bookings (id, user_id, slot_id, slot_date, booking_code)
+            VALUES (?::uuid, ?::uuid, ?::uuid, ?, ?)
+            ON CONFLICT DO NOTHING
+        """;
+
+        return queryMetrics.time("bookings.batch_insert", () -> jdbcTemplate.batchUpdate(sql, bookings, bookings.size(), (ps, booking) -> {
+            ps.setString(1, booking.id());
+            ps.setString(2, booking.userId());
+            ps.setString(3, booking.slotId());
+            ps.setObject(4, booking.slotDate());
+            ps.setString(5, booking.bookingCode());
+        })[0]);
+    }
+
+    /**
+     * Delete a booking, returns true if a row was removed
+     */
+    public boolean deleteById(String bookingId, LocalDate slotDate) {
+
+        String sql = """
+            DELETE FROM public.bookings
+            WHERE id = ?::uuid
+              AND slot_date = ?
+        """;
+
+        return queryMetrics.time("bookings.delete_by_id", () -> jdbcTemplate.update(sql, bookingId, slotDate) > 0);
+    }
+
+    /**
+     * Bookings of slots dated [from, to] with their slot times, row by row
+     */
+    public void streamUpcoming(LocalDate from, LocalDate to, Consumer<UpcomingRow> consumer) {
+
+        String sql = """
+            SELECT b.id, b.user_id, b.slot_id, b.booking_code,
+                   s.slot_date, s.slot_start_time, s.slot_end_time
+            FROM public.bookings b
+            JOIN public.daily_slots s ON s.id = b.slot_id AND s.slot_date = b.slot_date
+            WHERE b.slot_date BETWEEN ? AND ?
+              AND s.slot_date BETWEEN ? AND ?
+        """;
+
+        queryMetrics.time("bookings.stream_upcoming", () -> jdbcTemplate.query(sql, rs -> {
+            consumer.accept(new UpcomingRow(
+                    rs.getString("id"),
+                    rs.getString("user_id"),
+                    rs.getString("slot_id"),
+                    rs.getString("booking_code"),
+                    rs.getObject("slot_date", LocalDate.class),
+                    rs.getObject("slot_start_time", LocalTime.class),
+                    rs.getObject("slot_end_time", LocalTime.class)
+            ));
+        }, from, to, from, to));
+    }
+
+    /**
+     * Simple immutable projection of a bookings row
+     */
+    public record BookingRow(
+            String id,
+            String userId,
+            String slotId,
+            String bookingCode,
+            LocalDate slotDate
+    ) {}
+
+    /**
+     * A booking together with its slot times
+     */
+    public record UpcomingRow(
+            String bookingId,
+            String userId,
+            String slotId,
+            String bookingCode,
+            LocalDate slotDate,
+            LocalTime startTime,
+            LocalTime endTime
+    ) {}
+}
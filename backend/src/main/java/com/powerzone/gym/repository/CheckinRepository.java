@@ -0,0 +1,129 @@
+package com.powerzone.gym.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+@Repository
+public class CheckinRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public CheckinRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Every booking on [from, to] with its slot times and check-in state
+     * Used to build the in-memory booking code index
+     */
+    public void streamIndexRows(LocalDate from, LocalDate to, Consumer<IndexRow> consumer) {
+
+        String sql = """
+            SELECT b.id, b.user_id, b.slot_id, b.booking_code,
+                   s.slot_date, s.slot_start_time, s.slot_end_time,
+                   c.booking_id IS NOT NULL AS checked_in
+            FROM public.bookings b
+            JOIN public.daily_slots s ON s.id = b.slot_id AND s.slot_date = b.slot_date
+            LEFT JOIN public.checkins c ON c.booking_id = b.id
+            WHERE b.slot_date BETWEEN ? AND ?
+              AND s.slot_date BETWEEN ? AND ?
+        """;
+
+        jdbcTemplate.query(sql, rs -> {
+            consumer.accept(mapIndexRow(rs));
+        }, from, to, from, to);
+    }
+
+    /**
+     * One booking by code on a date, shaped like streamIndexRows
+     * Check-in fallback for codes the index has not seen
+     */
+    public Optional<IndexRow> findIndexRow(String bookingCode, LocalDate slotDate) {
+
+        String sql = """
+            SELECT b.id, b.user_id, b.slot_id, b.booking_code,
+                   s.slot_date, s.slot_start_time, s.slot_end_time,
+                   c.booking_id IS NOT NULL AS checked_in
+            FROM public.bookings b
+            JOIN public.daily_slots s ON s.id = b.slot_id AND s.slot_date = b.slot_date
+            LEFT JOIN public.checkins c ON c.booking_id = b.id
+            WHERE b.booking_code = ?
+              AND b.slot_date = ?
+              AND s.slot_date = ?
+        """;
+
+        return jdbcTemplate.query(sql, (rs, rowNum) -> mapIndexRow(rs), bookingCode, slotDate, slotDate)
+                .stream()
+                .findFirst();
+    }
+
+    /**
+     * Insert many check-ins in one JDBC batch
+     * Already checked in / booking no longer exists → skipped (count 0)
+     */
+    public int[] batchInsert(List<CheckinRow> checkins) {
+
+        String sql = """
+            INSERT INTO public.checkins (booking_id, user_id, slot_id, slot_date, checked_in_at, checked_in_by)
+            SELECT b.id, b.user_id, b.slot_id, b.slot_date, ?, ?::uuid
+            FROM public.bookings b
+            WHERE b.id = ?::uuid
+              AND b.slot_date = ?
+            ON CONFLICT (booking_id) DO NOTHING
+        """;
+
+        return jdbcTemplate.batchUpdate(sql, checkins, checkins.size(), (ps, checkin) -> {
+            ps.setTimestamp(1, Timestamp.from(checkin.checkedInAt()));
+            ps.setString(2, checkin.checkedInBy());
+            ps.setString(3, checkin.bookingId());
+            ps.setObject(4, checkin.slotDate());
+        })[0];
+    }
+
+    private static IndexRow mapIndexRow(ResultSet rs) throws SQLException {
+        return new IndexRow(
+                rs.getString("id"),
+                rs.getString("user_id"),
+                rs.getString("slot_id"),
+                rs.getString("booking_code"),
+                rs.getObject("slot_date", LocalDate.class),
+                rs.getObject("slot_start_time", LocalTime.class),
+                rs.getObject("slot_end_time", LocalTime.class),
+                rs.getBoolean("checked_in")
+        );
+    }
+
+    /**
+     * Booking joined with its slot, as held by the code index
+     */
+    public record IndexRow(
+            String bookingId,
+            String userId,
+            String slotId,
+            String bookingCode,
+            LocalDate slotDate,
+            LocalTime startTime,
+            LocalTime endTime,
+            boolean checkedIn
+    ) {}
+
+    /**
+     * One check-in to persist
+     */
+    public record CheckinRow(
+            String bookingId,
+            LocalDate slotDate,
+            Instant checkedInAt,
+            String checkedInBy
+    ) {}
+}
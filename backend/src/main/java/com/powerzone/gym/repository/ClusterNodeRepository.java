@@ -0,0 +1,75 @@
+package com.powerzone.gym.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public class ClusterNodeRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ClusterNodeRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Register this node or renew its lease (DB clock, so node clocks may drift)
+     */
+    public void heartbeat(String nodeId, String baseUrl) {
+
+        String sql = """
+            INSERT INTO public.cluster_nodes (node_id, base_url)
+            VALUES (?, ?)
+            ON CONFLICT (node_id) DO UPDATE
+            SET base_url = EXCLUDED.base_url,
+                heartbeat_at = NOW()
+        """;
+
+        jdbcTemplate.update(sql, nodeId, baseUrl);
+    }
+
+    /**
+     * Nodes whose heartbeat is younger than the lease TTL, ordered by id
+     */
+    public List<ClusterNode> findLive(long leaseTtlMs) {
+
+        String sql = """
+            SELECT node_id, base_url
+            FROM public.cluster_nodes
+            WHERE heartbeat_at > NOW() - ? * INTERVAL '1 millisecond'
+            ORDER BY node_id
+        """;
+
+        return jdbcTemplate.query(sql, (rs, rowNum) -> new ClusterNode(
+                rs.getString("node_id"),
+                rs.getString("base_url")
+        ), leaseTtlMs);
+    }
+
+    /**
+     * Leave the cluster (graceful shutdown)
+     */
+    public void delete(String nodeId) {
+        jdbcTemplate.update("DELETE FROM public.cluster_nodes WHERE node_id = ?", nodeId);
+    }
+
+    /**
+     * Forget nodes that have been dead for a while
+     */
+    public int deleteStale(long olderThanMs) {
+
+        String sql = """
+            DELETE FROM public.cluster_nodes
+            WHERE heartbeat_at < NOW() - ? * INTERVAL '1 millisecond'
+        """;
+
+        return jdbcTemplate.update(sql, olderThanMs);
+    }
+
+    public record ClusterNode(
+            String nodeId,
+            String baseUrl
+    ) {}
+}
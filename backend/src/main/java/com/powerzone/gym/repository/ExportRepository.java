@@ -0,0 +1,80 @@
+package com.powerzone.gym.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.function.Consumer;
+
+@Repository
+public class ExportRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ExportRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Booking history joined to slots and profiles, row by row
+     *
+     * Must run inside a transaction: pgjdbc only uses a server-side
+     * cursor (fetchSize rows per round trip) when autocommit is off,
+     * otherwise the whole result is buffered in memory.
+     */
+    public void streamBookings(LocalDate from, LocalDate to, int fetchSize, Consumer<BookingExportRow> consumer) {
+
+        String sql = """
+            SELECT b.id, b.booking_code, b.created_at, b.user_id,
+                   p.username, p.full_name,
+                   s.slot_date, s.slot_start_time, s.slot_end_time
+            FROM public.bookings b
+            JOIN public.daily_slots s ON s.id = b.slot_id AND s.slot_date = b.slot_date
+            LEFT JOIN public.profiles p ON p.user_id = b.user_id
+            WHERE b.slot_date BETWEEN ? AND ?
+              AND s.slot_date BETWEEN ? AND ?
+            ORDER BY s.slot_date, s.slot_start_time, b.created_at
+        """;
+
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(fetchSize);
+            ps.setObject(1, from);
+            ps.setObject(2, to);
+            ps.setObject(3, from);
+            ps.setObject(4, to);
+            return ps;
+        }, rs -> {
+            consumer.accept(new BookingExportRow(
+                    rs.getString("id"),
+                    rs.getString("booking_code"),
+                    rs.getTimestamp("created_at").toInstant(),
+                    rs.getString("user_id"),
+                    rs.getString("username"),
+                    rs.getString("full_name"),
+                    rs.getObject("slot_date", LocalDate.class),
+                    rs.getObject("slot_start_time", LocalTime.class),
+                    rs.getObject("slot_end_time", LocalTime.class)
+            ));
+        });
+    }
+
+    /**
+     * One exported booking
+     */
+    public record BookingExportRow(
+            String bookingId,
+            String bookingCode,
+            Instant bookedAt,
+            String userId,
+            String username,
+            String fullName,
+            LocalDate slotDate,
+            LocalTime startTime,
+            LocalTime endTime
+    ) {}
+}
@@ -0,0 +1,86 @@
+package com.powerzone.gym.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Optional;
+
+@Repository
+public class IdempotencyRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public IdempotencyRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Stored response for a user's key, if not expired
+     */
+    public Optional<StoredResponse> find(String userId, String idempotencyKey) {
+
+        String sql = """
+            SELECT request_fingerprint, status_code, response_body, expires_at
+            FROM public.idempotency_keys
+            WHERE user_id = ?::uuid
+              AND idempotency_key = ?
+              AND expires_at > NOW()
+        """;
+
+        return jdbcTemplate.query(sql, (rs, rowNum) -> new StoredResponse(
+                        rs.getString("request_fingerprint"),
+                        rs.getInt("status_code"),
+                        rs.getString("response_body"),
+                        rs.getTimestamp("expires_at").toInstant()
+                ), userId, idempotencyKey)
+                .stream()
+                .findFirst();
+    }
+
+    /**
+     * Persist a completed response (first writer wins)
+     */
+    public void insert(String userId, String idempotencyKey, StoredResponse response) {
+
+        String sql = """
+            INSERT INTO public.idempotency_keys
+                (user_id, idempotency_key, request_fingerprint, status_code, response_body, expires_at)
+            VALUES (?::uuid, ?, ?, ?, ?, ?)
+            ON CONFLICT (user_id, idempotency_key) DO NOTHING
+        """;
+
+        jdbcTemplate.update(sql,
+                userId,
+                idempotencyKey,
+                response.fingerprint(),
+                response.statusCode(),
+                response.body(),
+                Timestamp.from(response.expiresAt())
+        );
+    }
+
+    /**
+     * Purge expired keys, returns the number of rows removed
+     */
+    public int deleteExpired() {
+
+        String sql = """
+            DELETE FROM public.idempotency_keys
+            WHERE expires_at <= NOW()
+        """;
+
+        return jdbcTemplate.update(sql);
+    }
+
+    /**
+     * Completed response of an idempotent request
+     */
+    public record StoredResponse(
+            String fingerprint,
+            int statusCode,
+            String body,
+            Instant expiresAt
+    ) {}
+}
@@ -0,0 +1,210 @@
+package com.powerzone.gym.repository;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Monthly slot_date partitions of daily_slots and bookings
+ * (created by partitions.ensure_month, archived into partition_archive).
+ */
+@Repository
+public class PartitionRepository {
+
+    public static final List<String> PARENTS = List.of("daily_slots", "bookings");
+
+    // "gym2": separate from the slot ownership locks ("gym1")
+    private static final int MAINTENANCE_LOCK_CLASS = 0x67796d32;
+
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final QueryMetrics queryMetrics;
+
+    public PartitionRepository(JdbcTemplate jdbcTemplate, QueryMetrics queryMetrics) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.queryMetrics = queryMetrics;
+    }
+
+    /**
+     * Create the partition of parent for the month of the given day, false if it existed
+     */
+    public boolean ensureMonth(String parent, LocalDate month) {
+        return queryMetrics.time("partitions.ensureMonth", () -> Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT partitions.ensure_month(?, ?)",
+                Boolean.class,
+                parent,
+                month
+        )));
+    }
+
+    /**
+     * Transaction-scoped lock so only one node maintains partitions at a time
+     */
+    public boolean tryLockMaintenance() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT pg_try_advisory_xact_lock(?, 0)",
+                Boolean.class,
+                MAINTENANCE_LOCK_CLASS
+        ));
+    }
+
+    /**
+     * First day of every month that has a partition of parent, oldest first
+     */
+    public List<LocalDate> findMonths(String parent) {
+
+        String sql = """
+            SELECT c.relname
+            FROM pg_inherits i
+            JOIN pg_class c ON c.oid = i.inhrelid
+            JOIN pg_namespace n ON n.oid = c.relnamespace
+            WHERE i.inhparent = ('public.' || ?)::regclass
+              AND n.nspname = 'partitions'
+            ORDER BY c.relname
+        """;
+
+        return queryMetrics.time("partitions.findMonths", () -> jdbcTemplate.query(
+                sql,
+                (rs, rowNum) -> monthOf(parent, rs.getString("relname")),
+                parent
+        ));
+    }
+
+    /**
+     * Copy one month into partition_archive (gzip CSV per table) and drop it.
+     * Must run inside a transaction: either the archive rows and the drop
+     * both commit, or nothing changes.
+     */
+    public ArchivedMonth archiveMonth(LocalDate month, Path workDir) {
+
+        LocalDate first = month.withDayOfMonth(1);
+        LocalDate next = first.plusMonths(1);
+        String suffix = first.format(SUFFIX);
+
+        return queryMetrics.time("partitions.archiveMonth", () -> jdbcTemplate.execute((ConnectionCallback<ArchivedMonth>) connection -> {
+
+            CopyManager copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+
+            // Checkins reference bookings, so they go first; waitlist rows of past slots are dropped
+            long checkins = archive(connection, copyManager, workDir, "checkins", first, """
+                SELECT * FROM public.checkins
+                WHERE slot_date >= '%s' AND slot_date < '%s'
+                ORDER BY slot_date, checked_in_at
+            """.formatted(first, next));
+            long bookings = archive(connection, copyManager, workDir, "bookings", first,
+                    "SELECT * FROM partitions.bookings_" + suffix);
+            long slots = archive(connection, copyManager, workDir, "daily_slots", first,
+                    "SELECT * FROM partitions.daily_slots_" + suffix);
+
+            try (PreparedStatement ps = connection.prepareStatement("""
+                DELETE FROM public.checkins WHERE slot_date >= ? AND slot_date < ?
+            """)) {
+                ps.setObject(1, first);
+                ps.setObject(2, next);
+                ps.executeUpdate();
+            }
+
+            try (PreparedStatement ps = connection.prepareStatement("""
+                DELETE FROM public.waitlist WHERE slot_date >= ? AND slot_date < ?
+            """)) {
+                ps.setObject(1, first);
+                ps.setObject(2, next);
+                ps.executeUpdate();
+            }
+
+            // Referenced partitions cannot be dropped while attached; detaching
+            // re-checks the foreign keys (nothing references the month any more).
+            // Dropping skips the per-row delete triggers (counters of past slots no longer matter)
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("ALTER TABLE public.bookings DETACH PARTITION partitions.bookings_" + suffix);
+                statement.execute("DROP TABLE partitions.bookings_" + suffix);
+                statement.execute("ALTER TABLE public.daily_slots DETACH PARTITION partitions.daily_slots_" + suffix);
+                statement.execute("DROP TABLE partitions.daily_slots_" + suffix);
+            }
+
+            return new ArchivedMonth(first, slots, bookings, checkins);
+        }));
+    }
+
+    /* =========================
+       Internal helpers
+       ========================= */
+
+    /**
+     * COPY the query as gzip CSV into a temp file, then store it as one archive row
+     */
+    private static long archive(
+            Connection connection,
+            CopyManager copyManager,
+            Path workDir,
+            String table,
+            LocalDate month,
+            String query
+    ) throws SQLException {
+
+        Path file = null;
+
+        try {
+            file = Files.createTempFile(workDir, table + "-" + month + "-", ".csv.gz");
+
+            long rows;
+            try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(file), 64 * 1024)) {
+                rows = copyManager.copyOut("COPY (" + query + ") TO STDOUT WITH (FORMAT csv, HEADER)", out);
+            }
+
+            try (PreparedStatement ps = connection.prepareStatement("""
+                INSERT INTO public.partition_archive (table_name, month, row_count, content)
+                VALUES (?, ?, ?, ?)
+            """); InputStream in = Files.newInputStream(file)) {
+                ps.setString(1, table);
+                ps.setObject(2, month);
+                ps.setLong(3, rows);
+                ps.setBinaryStream(4, in, Files.size(file));
+                ps.executeUpdate();
+            }
+
+            return rows;
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        } finally {
+            if (file != null) {
+                try {
+                    Files.deleteIfExists(file);
+                } catch (IOException ignored) {
+                    // temp dir is cleaned by the OS eventually
+                }
+            }
+        }
+    }
+
+    private static LocalDate monthOf(String parent, String partitionName) {
+        return LocalDate.parse(
+                partitionName.substring(parent.length() + 1).replace('_', '-') + "-01"
+        );
+    }
+
+    public record ArchivedMonth(
+            LocalDate month,
+            long slots,
+            long bookings,
+            long checkins
+    ) {}
+}
@@ -3,15 +3,23 @@ package com.powerzone.gym.repository;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Repository;
 
+import java.sql.Array;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 @Repository
 public class ProfileRepository {
 
     private final JdbcTemplate jdbcTemplate;
+    private final QueryMetrics queryMetrics;
 
-    public ProfileRepository(JdbcTemplate jdbcTemplate) {
+    public ProfileRepository(JdbcTemplate jdbcTemplate, QueryMetrics queryMetrics) {
         this.jdbcTemplate = jdbcTemplate;
+        this.queryMetrics = queryMetrics;
     }
 
     /**
@@ -29,9 +37,9 @@ public class ProfileRepository {
             )
         """;
 
-        return Boolean.TRUE.equals(
+        return queryMetrics.time("profiles.exists", () -> Boolean.TRUE.equals(
                 jdbcTemplate.queryForObject(sql, Boolean.class, userId)
-        );
+        ));
     }
 
     /**
@@ -60,7 +68,7 @@ public class ProfileRepository {
             WHERE user_id = ?
         """;
 
-        return jdbcTemplate.query(sql, rs -> {
+        return queryMetrics.time("profiles.find_by_user", () -> jdbcTemplate.query(sql, rs -> {
             if (rs.next()) {
                 return Optional.of(
                         new ProfileRow(
@@ -72,10 +80,89 @@ public class ProfileRepository {
                         )
                 );
             }
-            return Optional.empty();
-        }, userId);
+            return Optional.<ProfileRow>empty();
+        }, userId));
     }
 
+    /**
+     * One page of the admin user directory, profiles + roles in one query
+     * Keyset pagination on (created_at, id), newest first.
+     * Rows are handed to the consumer as they are read (no list in memory).
+     *
+     * Replaces: SELECT * FROM profiles + one user_roles query per profile
+     */
+    public void streamDirectoryPage(
+            String usernamePrefix,
+            Instant afterCreatedAt,
+            String afterId,
+            int limit,
+            Consumer<DirectoryRow> consumer
+    ) {
+
+        StringBuilder sql = new StringBuilder("""
+            SELECT p.id, p.user_id, p.username, p.full_name, p.created_at,
+                   COALESCE(
+                       array_agg(r.role::text ORDER BY r.role) FILTER (WHERE r.role IS NOT NULL),
+                       '{}'
+                   ) AS roles
+            FROM public.profiles p
+            LEFT JOIN public.user_roles r ON r.user_id = p.user_id
+            WHERE TRUE
+        """);
+
+        List<Object> params = new ArrayList<>();
+
+        if (usernamePrefix != null && !usernamePrefix.isBlank()) {
+            sql.append(" AND p.username LIKE ? ESCAPE '\\'");
+            params.add(escapeLike(usernamePrefix) + "%");
+        }
+
+        if (afterCreatedAt != null && afterId != null) {
+            sql.append(" AND (p.created_at, p.id) < (?, ?::uuid)");
+            params.add(Timestamp.from(afterCreatedAt));
+            params.add(afterId);
+        }
+
+        sql.append("""
+
+            GROUP BY p.id
+            ORDER BY p.created_at DESC, p.id DESC
+            LIMIT ?
+        """);
+        params.add(limit);
+
+        queryMetrics.time("profiles.directory_page", () -> jdbcTemplate.query(sql.toString(), rs -> {
+            Array roles = rs.getArray("roles");
+            consumer.accept(new DirectoryRow(
+                    rs.getString("id"),
+                    rs.getString("user_id"),
+                    rs.getString("username"),
+                    rs.getString("full_name"),
+                    rs.getTimestamp("created_at").toInstant(),
+                    List.of((String[]) roles.getArray())
+            ));
+        }, params.toArray()));
+    }
+
+    private static String escapeLike(String value) {
+        return value
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
+
+    /**
+     * Profile joined with its roles (admin directory)
+     */
+    public record DirectoryRow(
+            String id,
+            String userId,
+            String username,
+            String fullName,
+            Instant createdAt,
+            List<String> roles
+    ) {}
+
     /**
      * Simple immutable projection (no entity / JPA needed)
      */
@@ -0,0 +1,76 @@
+package com.powerzone.gym.repository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Times repository calls as gym.db.query{query, outcome}.
+ *
+ * Timers are registered once per query name and looked up lock-free
+ * afterwards (plain get, no capturing lambda), so the per-call cost is
+ * two nanoTime reads and one record, without allocation.
+ */
+@Component
+public class QueryMetrics {
+
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, Timers> timers = new ConcurrentHashMap<>();
+
+    public QueryMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public <T> T time(String query, Supplier<T> call) {
+
+        Timers timer = timers.get(query);
+
+        if (timer == null) {
+            timer = timers.computeIfAbsent(query, this::register);
+        }
+
+        long started = System.nanoTime();
+
+        try {
+            T result = call.get();
+            timer.success.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            return result;
+        } catch (RuntimeException ex) {
+            timer.error.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            throw ex;
+        }
+    }
+
+    public void time(String query, Runnable call) {
+        time(query, () -> {
+            call.run();
+            return null;
+        });
+    }
+
+    /* =========================
+       Internal helpers
+       ========================= */
+
+    private Timers register(String query) {
+        return new Timers(timer(query, "success"), timer(query, "error"));
+    }
+
+    private Timer timer(String query, String outcome) {
+        return Timer.builder("gym.db.query")
+                .tag("query", query)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private record Timers(
+            Timer success,
+            Timer error
+    ) {}
+}
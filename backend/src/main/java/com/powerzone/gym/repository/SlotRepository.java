@@ -0,0 +1,202 @@
+package com.powerzone.gym.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+@Repository
+public class SlotRepository {
+
+    private static final RowMapper<SlotRow> SLOT_ROW_MAPPER = (rs, rowNum) -> new SlotRow(
+            rs.getString("id"),
+            rs.getObject("slot_date", LocalDate.class),
+            rs.getObject("slot_start_time", LocalTime.class),
+            rs.getObject("slot_end_time", LocalTime.class),
+            rs.getInt("current_bookings"),
+            rs.getInt("max_capacity")
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+    private final QueryMetrics queryMetrics;
+
+    public SlotRepository(JdbcTemplate jdbcTemplate, QueryMetrics queryMetrics) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.queryMetrics = queryMetrics;
+    }
+
+    /**
+     * Fetch a slot by id
+     * The id alone cannot prune partitions: today onward is probed first
+     * (bookings, waitlists), all months only if that misses
+     */
+    public Optional<SlotRow> findById(String slotId) {
+
+        String upcoming = """
+            SELECT id, slot_date, slot_start_time, slot_end_time,
+                   current_bookings, max_capacity
+            FROM public.daily_slots
+            WHERE id = ?::uuid
+              AND slot_date >= CURRENT_DATE
+        """;
+
+        String any = """
+            SELECT id, slot_date, slot_start_time, slot_end_time,
+                   current_bookings, max_capacity
+            FROM public.daily_slots
+            WHERE id = ?::uuid
+        """;
+
+        return queryMetrics.time("slots.find_by_id", () -> jdbcTemplate.query(upcoming, SLOT_ROW_MAPPER, slotId)
+                .stream()
+                .findFirst()
+                .or(() -> jdbcTemplate.query(any, SLOT_ROW_MAPPER, slotId).stream().findFirst()));
+    }
+
+    /**
+     * All slots of a date, ordered by start time
+     * Equivalent to:
+     * SELECT * FROM daily_slots WHERE slot_date = ? ORDER BY slot_start_time
+     */
+    public List<SlotRow> findByDate(LocalDate slotDate) {
+
+        String sql = """
+            SELECT id, slot_date, slot_start_time, slot_end_time,
+                   current_bookings, max_capacity
+            FROM public.daily_slots
+            WHERE slot_date = ?
+            ORDER BY slot_start_time
+        """;
+
+        return queryMetrics.time("slots.find_by_date", () -> jdbcTemplate.query(sql, SLOT_ROW_MAPPER, slotDate));
+    }
+
+    /**
+     * All slots of [from, to], row by row (analytics rebuild)
+     */
+    public void streamByDateRange(LocalDate from, LocalDate to, Consumer<SlotRow> consumer) {
+
+        String sql = """
+            SELECT id, slot_date, slot_start_time, slot_end_time,
+                   current_bookings, max_capacity
+            FROM public.daily_slots
+            WHERE slot_date BETWEEN ? AND ?
+        """;
+
+        jdbcTemplate.query(sql, rs -> {
+            consumer.accept(SLOT_ROW_MAPPER.mapRow(rs, 0));
+        }, from, to);
+    }
+
+    /**
+     * Slots starting at one time on many dates, in one query
+     * (capacity check of a recurring series)
+     */
+    public List<SlotRow> findByDatesAndStartTime(Collection<LocalDate> dates, LocalTime startTime) {
+
+        String sql = """
+            SELECT id, slot_date, slot_start_time, slot_end_time,
+                   current_bookings, max_capacity
+            FROM public.daily_slots
+            WHERE slot_date BETWEEN ? AND ?
+              AND slot_date = ANY (?::date[])
+              AND slot_start_time = ?::time
+            ORDER BY slot_date
+        """;
+
+        if (dates.isEmpty()) {
+            return List.of();
+        }
+
+        return jdbcTemplate.query(
+                sql,
+                SLOT_ROW_MAPPER,
+                Collections.min(dates),
+                Collections.max(dates),
+                dates.stream().map(LocalDate::toString).toArray(String[]::new),
+                startTime.toString()
+        );
+    }
+
+    /**
+     * Create many slots in one statement, skipping ones that already exist
+     * UNIQUE(slot_date, slot_start_time) makes this safe to repeat
+     *
+     * @return number of slots actually created
+     */
+    public int insertMissing(List<NewSlot> slots) {
+
+        if (slots.isEmpty()) {
+            return 0;
+        }
+
+        String sql = """
+            INSERT INTO public.daily_slots
+                (slot_date, slot_start_time, slot_end_time, max_capacity)
+            SELECT *
+            FROM unnest(?::date[], ?::time[], ?::time[], ?::int[])
+            ON CONFLICT (slot_date, slot_start_time) DO NOTHING
+        """;
+
+        return jdbcTemplate.update(
+                sql,
+                slots.stream().map(slot -> slot.slotDate().toString()).toArray(String[]::new),
+                slots.stream().map(slot -> slot.startTime().toString()).toArray(String[]::new),
+                slots.stream().map(slot -> slot.endTime().toString()).toArray(String[]::new),
+                slots.stream().map(NewSlot::maxCapacity).toArray(Integer[]::new)
+        );
+    }
+
+    /**
+     * Current max_capacity of many slots dated [from, to] in one query
+     * (admins may change it directly in the DB)
+     */
+    public Map<String, Integer> findCapacitiesByIds(Collection<String> slotIds, LocalDate from, LocalDate to) {
+
+        String sql = """
+            SELECT id, max_capacity
+            FROM public.daily_slots
+            WHERE slot_date BETWEEN ? AND ?
+              AND id = ANY (?::uuid[])
+        """;
+
+        Map<String, Integer> capacities = new HashMap<>();
+
+        jdbcTemplate.query(sql, rs -> {
+            capacities.put(rs.getString("id"), rs.getInt("max_capacity"));
+        }, from, to, slotIds.toArray(String[]::new));
+
+        return capacities;
+    }
+
+    /**
+     * Slot to be created by insertMissing
+     */
+    public record NewSlot(
+            LocalDate slotDate,
+            LocalTime startTime,
+            LocalTime endTime,
+            int maxCapacity
+    ) {}
+
+    /**
+     * Simple immutable projection of a daily_slots row
+     */
+    public record SlotRow(
+            String id,
+            LocalDate slotDate,
+            LocalTime startTime,
+            LocalTime endTime,
+            int currentBookings,
+            int maxCapacity
+    ) {}
+}
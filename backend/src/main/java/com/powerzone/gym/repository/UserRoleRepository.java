@@ -1,15 +1,29 @@
 package com.powerzone.gym.repository;
 
+import com.powerzone.gym.event.UserRolesChangedEvent;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Repository;
 
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
 @Repository
 public class UserRoleRepository {
 
     private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final QueryMetrics queryMetrics;
 
-    public UserRoleRepository(JdbcTemplate jdbcTemplate) {
+    public UserRoleRepository(
+            JdbcTemplate jdbcTemplate,
+            ApplicationEventPublisher eventPublisher,
+            QueryMetrics queryMetrics
+    ) {
         this.jdbcTemplate = jdbcTemplate;
+        this.eventPublisher = eventPublisher;
+        this.queryMetrics = queryMetrics;
     }
 
     /**
@@ -28,9 +42,27 @@ public class UserRoleRepository {
             )
         """;
 
-        return Boolean.TRUE.equals(
+        return queryMetrics.time("user_roles.exists", () -> Boolean.TRUE.equals(
                 jdbcTemplate.queryForObject(sql, Boolean.class, userId, role)
-        );
+        ));
+    }
+
+    /**
+     * Fetch all roles of a user
+     * Equivalent to:
+     * SELECT role FROM user_roles WHERE user_id = ?
+     */
+    public Set<String> findRolesByUserId(String userId) {
+
+        String sql = """
+            SELECT role::text
+            FROM public.user_roles
+            WHERE user_id = ?::uuid
+        """;
+
+        return queryMetrics.time("user_roles.find_by_user", () -> new HashSet<>(
+                jdbcTemplate.queryForList(sql, String.class, userId)
+        ));
     }
 
     /**
@@ -42,11 +74,35 @@ public class UserRoleRepository {
 
         String sql = """
             INSERT INTO public.user_roles (user_id, role)
-            VALUES (?, ?)
+            VALUES (?::uuid, ?::app_role)
             ON CONFLICT DO NOTHING
         """;
 
         jdbcTemplate.update(sql, userId, role);
+        eventPublisher.publishEvent(new UserRolesChangedEvent(userId));
+    }
+
+    /**
+     * Insert the same role for many users in one JDBC batch
+     */
+    public void batchInsertRoles(List<String> userIds, String role) {
+
+        if (userIds.isEmpty()) {
+            return;
+        }
+
+        String sql = """
+            INSERT INTO public.user_roles (user_id, role)
+            VALUES (?::uuid, ?::app_role)
+            ON CONFLICT DO NOTHING
+        """;
+
+        jdbcTemplate.batchUpdate(sql, userIds, userIds.size(), (ps, userId) -> {
+            ps.setString(1, userId);
+            ps.setString(2, role);
+        });
+
+        userIds.forEach(userId -> eventPublisher.publishEvent(new UserRolesChangedEvent(userId)));
     }
 
     /**
@@ -61,5 +117,6 @@ public class UserRoleRepository {
         """;
 
         jdbcTemplate.update(sql, userId, role);
+        eventPublisher.publishEvent(new UserRolesChangedEvent(userId));
     }
 }
@@ -0,0 +1,107 @@
+package com.powerzone.gym.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public class WaitlistRepository {
+
+    private static final RowMapper<WaitlistRow> WAITLIST_ROW_MAPPER = (rs, rowNum) -> new WaitlistRow(
+            rs.getString("id"),
+            rs.getString("slot_id"),
+            rs.getObject("slot_date", LocalDate.class),
+            rs.getString("user_id"),
+            rs.getInt("priority"),
+            rs.getTimestamp("created_at").toInstant()
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public WaitlistRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Waitlist of a slot in promotion order
+     */
+    public List<WaitlistRow> findBySlotId(String slotId) {
+
+        String sql = """
+            SELECT id, slot_id, slot_date, user_id, priority, created_at
+            FROM public.waitlist
+            WHERE slot_id = ?::uuid
+            ORDER BY priority DESC, created_at, id
+        """;
+
+        return jdbcTemplate.query(sql, WAITLIST_ROW_MAPPER, slotId);
+    }
+
+    /**
+     * Waitlists of many slots in one query, each in promotion order
+     */
+    public List<WaitlistRow> findBySlotIds(Collection<String> slotIds) {
+
+        String sql = """
+            SELECT id, slot_id, slot_date, user_id, priority, created_at
+            FROM public.waitlist
+            WHERE slot_id = ANY (?::uuid[])
+            ORDER BY slot_id, priority DESC, created_at, id
+        """;
+
+        return jdbcTemplate.query(sql, WAITLIST_ROW_MAPPER, (Object) slotIds.toArray(String[]::new));
+    }
+
+    /**
+     * Add a member to a slot's waitlist
+     * Returns false if the member is already on it
+     */
+    public boolean insert(WaitlistRow row) {
+
+        String sql = """
+            INSERT INTO public.waitlist (id, slot_id, slot_date, user_id, priority, created_at)
+            VALUES (?::uuid, ?::uuid, ?, ?::uuid, ?, ?)
+            ON CONFLICT (slot_id, user_id) DO NOTHING
+        """;
+
+        return jdbcTemplate.update(sql,
+                row.id(),
+                row.slotId(),
+                row.slotDate(),
+                row.userId(),
+                row.priority(),
+                Timestamp.from(row.createdAt())
+        ) > 0;
+    }
+
+    /**
+     * Remove a waitlist entry, returns true if a row was removed
+     */
+    public boolean deleteById(String id) {
+
+        String sql = """
+            DELETE FROM public.waitlist
+            WHERE id = ?::uuid
+        """;
+
+        return jdbcTemplate.update(sql, id) > 0;
+    }
+
+    /**
+     * Simple immutable projection of a waitlist row
+     */
+    public record WaitlistRow(
+            String id,
+            String slotId,
+            LocalDate slotDate,
+            String userId,
+            int priority,
+            Instant createdAt
+    ) {}
+}
@@ -0,0 +1,48 @@
+package com.powerzone.gym.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public class WorkoutStatsRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public WorkoutStatsRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Daily rollup rows of a user in [from, to]
+     * At most one row per day, read via the (user_id, day) primary key
+     */
+    public List<DailyStatRow> findDaily(String userId, LocalDate from, LocalDate to) {
+
+        String sql = """
+            SELECT day, sessions, minutes
+            FROM public.workout_daily_stats
+            WHERE user_id = ?::uuid
+              AND day BETWEEN ? AND ?
+              AND sessions > 0
+            ORDER BY day
+        """;
+
+        return jdbcTemplate.query(sql, (rs, rowNum) -> new DailyStatRow(
+                rs.getObject("day", LocalDate.class),
+                rs.getInt("sessions"),
+                rs.getInt("minutes")
+        ), userId, from, to);
+    }
+
+    /**
+     * One workout_daily_stats row
+     */
+    public record DailyStatRow(
+            LocalDate day,
+            int sessions,
+            int minutes
+    ) {}
+}
@@ -0,0 +1,160 @@
+package com.powerzone.gym.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.powerzone.gym.exception.ConflictException;
+import com.powerzone.gym.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Admission control in front of BookingService.book.
+ *
+ * Rejects early and cheaply, in this order:
+ *   1. slot already full in the in-memory capacity view → 409
+ *   2. per-user token bucket exhausted                   → 429
+ *   3. per-slot FIFO queue at its bound, or wait timeout  → 429
+ * Admitted requests pass through a fair semaphore per slot, so a burst
+ * at slot open is served in arrival order with bounded concurrency.
+ */
+@Component
+public class BookingAdmissionControl {
+
+    private final SlotCapacityCounters slotCapacityCounters;
+    private final MeterRegistry meterRegistry;
+
+    private final double userRatePerSecond;
+    private final long userBurst;
+    private final int slotConcurrency;
+    private final int slotQueueCapacity;
+    private final long maxWaitMs;
+
+    private final Cache<String, TokenBucket> userBuckets;
+    private final Cache<String, SlotGate> slotGates;
+
+    private final AtomicInteger queued = new AtomicInteger();
+
+    public BookingAdmissionControl(
+            SlotCapacityCounters slotCapacityCounters,
+            MeterRegistry meterRegistry,
+            @Value("${booking.admission.user-rate-per-second:1}") double userRatePerSecond,
+            @Value("${booking.admission.user-burst:5}") long userBurst,
+            @Value("${booking.admission.slot-concurrency:4}") int slotConcurrency,
+            @Value("${booking.admission.slot-queue-capacity:256}") int slotQueueCapacity,
+            @Value("${booking.admission.max-wait-ms:2000}") long maxWaitMs
+    ) {
+        this.slotCapacityCounters = slotCapacityCounters;
+        this.meterRegistry = meterRegistry;
+        this.userRatePerSecond = userRatePerSecond;
+        this.userBurst = userBurst;
+        this.slotConcurrency = slotConcurrency;
+        this.slotQueueCapacity = slotQueueCapacity;
+        this.maxWaitMs = maxWaitMs;
+
+        this.userBuckets = Caffeine.newBuilder()
+                .expireAfterAccess(Duration.ofMinutes(10))
+                .maximumSize(100_000)
+                .build();
+
+        this.slotGates = Caffeine.newBuilder()
+                .expireAfterAccess(Duration.ofMinutes(10))
+                .build();
+
+        meterRegistry.gauge("gym.booking.admission.queued", queued);
+    }
+
+    /**
+     * Wait for a turn to book this slot
+     * Close the returned permit once the booking attempt is done
+     */
+    public Permit enter(String userId, String slotId) {
+
+        if (isFull(slotId)) {
+            reject("slot_full");
+            throw new ConflictException("Slot is full");
+        }
+
+        TokenBucket bucket = userBuckets.get(userId, id -> new TokenBucket(userBurst, userRatePerSecond));
+
+        if (!bucket.tryAcquire()) {
+            reject("user_rate");
+            throw new TooManyRequestsException("Too many booking attempts, please slow down", 1);
+        }
+
+        SlotGate gate = slotGates.get(slotId, id -> new SlotGate(slotConcurrency));
+
+        if (gate.waiting.incrementAndGet() > slotQueueCapacity) {
+            gate.waiting.decrementAndGet();
+            reject("queue_full");
+            throw new TooManyRequestsException("Slot is busy, please try again", 1);
+        }
+
+        queued.incrementAndGet();
+        boolean acquired;
+
+        try {
+            acquired = gate.permits.tryAcquire(maxWaitMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        } finally {
+            gate.waiting.decrementAndGet();
+            queued.decrementAndGet();
+        }
+
+        if (!acquired) {
+            reject("timeout");
+            throw new TooManyRequestsException("Slot is busy, please try again", 1);
+        }
+
+        // Places may have run out while we were queued
+        if (isFull(slotId)) {
+            gate.permits.release();
+            reject("slot_full");
+            throw new ConflictException("Slot is full");
+        }
+
+        return gate.permits::release;
+    }
+
+    /* =========================
+       Internal helpers
+       ========================= */
+
+    private boolean isFull(String slotId) {
+        return slotCapacityCounters.peek(slotId)
+                .map(slot -> slot.booked() >= slot.maxCapacity())
+                .orElse(false);
+    }
+
+    private void reject(String reason) {
+        meterRegistry.counter("gym.booking.admission.rejected", "reason", reason).increment();
+    }
+
+    private static final class SlotGate {
+
+        // Fair → FIFO hand-off among waiters
+        private final Semaphore permits;
+        private final AtomicInteger waiting = new AtomicInteger();
+
+        private SlotGate(int concurrency) {
+            this.permits = new Semaphore(concurrency, true);
+        }
+    }
+
+    /**
+     * Held while a booking attempt runs
+     */
+    @FunctionalInterface
+    public interface Permit extends AutoCloseable {
+
+        @Override
+        void close();
+    }
+}
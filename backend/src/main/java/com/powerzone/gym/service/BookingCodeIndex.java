@@ -0,0 +1,346 @@
+package com.powerzone.gym.service;
+
+import com.powerzone.gym.event.BookingCancelledEvent;
+import com.powerzone.gym.event.BookingCreatedEvent;
+import com.powerzone.gym.repository.CheckinRepository;
+import com.powerzone.gym.repository.CheckinRepository.IndexRow;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * In-memory index of today's and tomorrow's booking codes for check-in.
+ *
+ * A code (GYM- + 8 chars of a 32-letter alphabet) is only unique per
+ * slot date (UNIQUE (booking_code, slot_date)), so today and tomorrow may
+ * each have a booking with the same code. Code and slot date are packed
+ * into one long key; a Bloom filter in front of the map rejects unknown
+ * keys without touching it. Rebuilt from the DB at midnight and kept current from
+ * booking events in between. Bookings made elsewhere (another node,
+ * admin SQL) are not announced here: CheckinService reads a missing
+ * code from the DB and {@link #load loads} it.
+ */
+@Component
+public class BookingCodeIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(BookingCodeIndex.class);
+
+    private static final String CODE_PREFIX = "GYM-";
+    private static final int CODE_LENGTH = 8;
+
+    private final CheckinRepository checkinRepository;
+    private final double falsePositiveRate;
+
+    private volatile Index current = new Index(LocalDate.MIN, LocalDate.MIN, 1, 0.01);
+
+    // Serializes mutations with the swap; lookups read `current` lock-free
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // Mutations seen while a rebuild reads the DB, replayed onto the new index
+    private List<Consumer<Index>> journal;
+
+    public BookingCodeIndex(
+            CheckinRepository checkinRepository,
+            @Value("${checkin.index.false-positive-rate:0.01}") double falsePositiveRate,
+            MeterRegistry meterRegistry
+    ) {
+        this.checkinRepository = checkinRepository;
+        this.falsePositiveRate = falsePositiveRate;
+
+        meterRegistry.gauge("gym.checkin.index.size", this, index -> index.current.entries.size());
+    }
+
+    /**
+     * Indexed booking for a code on a slot date, if any
+     */
+    public Optional<CodeEntry> find(String code, LocalDate slotDate) {
+
+        long key = key(code, slotDate);
+        Index index = current;
+
+        if (key < 0 || !index.bloom.mightContain(key)) {
+            return Optional.empty();
+        }
+
+        return Optional.ofNullable(index.entries.get(key));
+    }
+
+    /**
+     * Flag a booking as checked in
+     */
+    public Mark markCheckedIn(String code, LocalDate slotDate) {
+
+        long key = key(code, slotDate);
+        Mark[] mark = {Mark.NOT_INDEXED};
+
+        mutate(index -> {
+            CodeEntry entry = index.entries.get(key);
+            if (entry != null) {
+                mark[0] = entry.checkedIn.compareAndSet(false, true) ? Mark.MARKED : Mark.ALREADY_CHECKED_IN;
+            }
+        });
+
+        return mark[0];
+    }
+
+    /**
+     * Index a booking read from the DB, unless a newer entry got there first.
+     * Indexed even if its date is outside the index's days (a rebuild
+     * failed), so the check-in that read it can mark it.
+     *
+     * @return the indexed entry for its code and slot date
+     */
+    public CodeEntry load(IndexRow row) {
+
+        SlotInfo slot = new SlotInfo(row.slotId(), row.slotDate(), row.startTime(), row.endTime());
+        CodeEntry entry = new CodeEntry(row.bookingId(), row.userId(), row.bookingCode(), slot, row.checkedIn());
+        long key = key(row.bookingCode(), row.slotDate());
+
+        mutate(index -> {
+            if (key >= 0 && !index.entries.containsKey(key)) {
+                index.put(key, entry);
+            }
+        });
+
+        return find(row.bookingCode(), row.slotDate()).orElse(entry);
+    }
+
+    @EventListener
+    public void onBookingCreated(BookingCreatedEvent event) {
+
+        SlotInfo slot = new SlotInfo(event.slotId(), event.slotDate(), event.startTime(), event.endTime());
+        CodeEntry entry = new CodeEntry(event.bookingId(), event.userId(), event.bookingCode(), slot, false);
+
+        mutate(index -> index.add(entry));
+    }
+
+    @EventListener
+    public void onBookingCancelled(BookingCancelledEvent event) {
+        long key = key(event.bookingCode(), event.slotDate());
+        mutate(index -> index.entries.remove(key));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        rebuild();
+    }
+
+    /**
+     * Re-read today's and tomorrow's bookings into a fresh index
+     */
+    @Scheduled(cron = "${checkin.index.rebuild-cron:0 0 0 * * *}")
+    public void rebuild() {
+
+        LocalDate today = LocalDate.now();
+        LocalDate tomorrow = today.plusDays(1);
+
+        lock.lock();
+        try {
+            journal = new ArrayList<>();
+        } finally {
+            lock.unlock();
+        }
+
+        try {
+            List<IndexRow> rows = new ArrayList<>();
+            checkinRepository.streamIndexRows(today, tomorrow, rows::add);
+
+            Index next = new Index(today, tomorrow, rows.size() * 2 + 1024, falsePositiveRate);
+            Map<LocalDate, Map<String, SlotInfo>> slots = new HashMap<>();
+
+            for (IndexRow row : rows) {
+                SlotInfo slot = slots
+                        .computeIfAbsent(row.slotDate(), date -> new HashMap<>())
+                        .computeIfAbsent(row.slotId(), id -> new SlotInfo(
+                                id, row.slotDate(), row.startTime(), row.endTime()));
+                next.add(new CodeEntry(row.bookingId(), row.userId(), row.bookingCode(), slot, row.checkedIn()));
+            }
+
+            lock.lock();
+            try {
+                // Admitted bookings / check-ins still in the write-behind queues
+                for (Map.Entry<Long, CodeEntry> entry : current.entries.entrySet()) {
+                    CodeEntry previous = entry.getValue();
+                    if (!next.covers(previous.slot.slotDate())) {
+                        continue;
+                    }
+                    CodeEntry existing = next.entries.get(entry.getKey());
+                    if (existing == null) {
+                        next.add(previous);
+                    } else if (previous.checkedIn.get()) {
+                        existing.checkedIn.set(true);
+                    }
+                }
+                journal.forEach(change -> change.accept(next));
+                current = next;
+            } finally {
+                journal = null;
+                lock.unlock();
+            }
+
+            log.info("Booking code index: {} booking(s) for {} → {}", next.entries.size(), today, tomorrow);
+
+        } catch (RuntimeException ex) {
+            lock.lock();
+            try {
+                journal = null;
+            } finally {
+                lock.unlock();
+            }
+            log.error("Booking code index rebuild failed, keeping the previous index", ex);
+        }
+    }
+
+    /* =========================
+       Internal helpers
+       ========================= */
+
+    private void mutate(Consumer<Index> change) {
+        lock.lock();
+        try {
+            change.accept(current);
+            if (journal != null) {
+                journal.add(change);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * GYM-XXXXXXXX → 40-bit key, or -1 if not a well-formed code
+     */
+    static long encode(String code) {
+
+        if (code == null
+                || code.length() != CODE_PREFIX.length() + CODE_LENGTH
+                || !code.startsWith(CODE_PREFIX)) {
+            return -1;
+        }
+
+        long key = 0;
+        for (int i = CODE_PREFIX.length(); i < code.length(); i++) {
+            int symbol = BookingService.CODE_CHARS.indexOf(code.charAt(i));
+            if (symbol < 0) {
+                return -1;
+            }
+            key = (key << 5) | symbol;
+        }
+        return key;
+    }
+
+    /**
+     * (code, slot date) → epoch day in the bits above the 40-bit code, or -1 if not a well-formed code
+     */
+    static long key(String code, LocalDate slotDate) {
+        long encoded = encode(code);
+        return encoded < 0 ? -1 : slotDate.toEpochDay() << 40 | encoded;
+    }
+
+    private static final class Index {
+
+        private final LocalDate from;
+        private final LocalDate to;
+        private final Map<Long, CodeEntry> entries = new ConcurrentHashMap<>();
+        private final BloomFilter bloom;
+
+        private Index(LocalDate from, LocalDate to, int expectedSize, double falsePositiveRate) {
+            this.from = from;
+            this.to = to;
+            this.bloom = new BloomFilter(expectedSize, falsePositiveRate);
+        }
+
+        private boolean covers(LocalDate date) {
+            return !date.isBefore(from) && !date.isAfter(to);
+        }
+
+        private void add(CodeEntry entry) {
+            long key = key(entry.bookingCode, entry.slot.slotDate());
+            if (key >= 0 && covers(entry.slot.slotDate())) {
+                put(key, entry);
+            }
+        }
+
+        private void put(long key, CodeEntry entry) {
+            entries.put(key, entry);
+            bloom.put(key);
+        }
+    }
+
+    /**
+     * Outcome of {@link #markCheckedIn}
+     */
+    public enum Mark {
+        MARKED,
+        ALREADY_CHECKED_IN,
+        // No entry for the code and date (cancelled meanwhile)
+        NOT_INDEXED
+    }
+
+    /**
+     * Slot times shared by all of its bookings
+     */
+    public record SlotInfo(
+            String slotId,
+            LocalDate slotDate,
+            LocalTime startTime,
+            LocalTime endTime
+    ) {}
+
+    /**
+     * One indexed booking
+     */
+    public static final class CodeEntry {
+
+        private final String bookingId;
+        private final String userId;
+        private final String bookingCode;
+        private final SlotInfo slot;
+        private final AtomicBoolean checkedIn;
+
+        private CodeEntry(String bookingId, String userId, String bookingCode, SlotInfo slot, boolean checkedIn) {
+            this.bookingId = bookingId;
+            this.userId = userId;
+            this.bookingCode = bookingCode;
+            this.slot = slot;
+            this.checkedIn = new AtomicBoolean(checkedIn);
+        }
+
+        public String bookingId() {
+            return bookingId;
+        }
+
+        public String userId() {
+            return userId;
+        }
+
+        public String bookingCode() {
+            return bookingCode;
+        }
+
+        public SlotInfo slot() {
+            return slot;
+        }
+
+        public boolean checkedIn() {
+            return checkedIn.get();
+        }
+    }
+}
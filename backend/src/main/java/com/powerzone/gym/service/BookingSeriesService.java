@@ -0,0 +1,299 @@
+package com.powerzone.gym.service;
+
+import com.powerzone.gym.config.SlotTemplateProperties;
+import com.powerzone.gym.config.SlotTemplateProperties.SlotTemplate;
+import com.powerzone.gym.dto.CreateSeriesRequest;
+import com.powerzone.gym.dto.SeriesBookingResponse;
+import com.powerzone.gym.dto.SeriesBookingResponse.Occurrence;
+import com.powerzone.gym.exception.ConflictException;
+import com.powerzone.gym.exception.ServiceUnavailableException;
+import com.powerzone.gym.exception.TooManyRequestsException;
+import com.powerzone.gym.repository.ClusterNodeRepository.ClusterNode;
+import com.powerzone.gym.repository.SlotRepository;
+import com.powerzone.gym.repository.SlotRepository.NewSlot;
+import com.powerzone.gym.repository.SlotRepository.SlotRow;
+import com.powerzone.gym.service.BookingAdmissionControl.Permit;
+import com.powerzone.gym.service.BookingService.Placement;
+import com.powerzone.gym.service.SlotCapacityCounters.Admission;
+import com.powerzone.gym.service.SlotCapacityCounters.SlotState;
+import com.powerzone.gym.service.SlotOwnership.Lease;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Recurring booking series (e.g. every Mon/Wed/Fri at 18:00 for 12 weeks).
+ *
+ * The rule is expanded on the server and resolved in a fixed number of
+ * round trips: one INSERT for slots beyond the materializer horizon, one
+ * SELECT for all occurrences, at most one for their holders and one for
+ * their waitlists. Each occurrence takes a BookingAdmissionControl turn
+ * (token bucket, slot queue) like a single booking; dates beyond the
+ * member's budget come back rate_limited. Admission uses the in-memory
+ * counters and the rows go through BookingWriter, which inserts them as
+ * one JDBC batch; the answer waits for that batch.
+ *
+ * In a cluster the dates are split by slot owner: each other owner gets
+ * the same rule once, books only the dates it owns and the answers are
+ * merged per date.
+ */
+@Service
+public class BookingSeriesService {
+
+    private final SlotRepository slotRepository;
+    private final SlotTemplateProperties slotTemplates;
+    private final SlotCapacityCounters slotCapacityCounters;
+    private final BookingAdmissionControl admissionControl;
+    private final WaitlistService waitlistService;
+    private final BookingService bookingService;
+    private final SlotOwnership slotOwnership;
+    private final ClusterForwarder clusterForwarder;
+    private final int maxDays;
+    private final int monthsAhead;
+
+    public BookingSeriesService(
+            SlotRepository slotRepository,
+            SlotTemplateProperties slotTemplates,
+            SlotCapacityCounters slotCapacityCounters,
+            BookingAdmissionControl admissionControl,
+            WaitlistService waitlistService,
+            BookingService bookingService,
+            SlotOwnership slotOwnership,
+            ClusterForwarder clusterForwarder,
+            @Value("${booking.series.max-days:182}") int maxDays,
+            @Value("${partitions.months-ahead:7}") int monthsAhead
+    ) {
+        this.slotRepository = slotRepository;
+        this.slotTemplates = slotTemplates;
+        this.slotCapacityCounters = slotCapacityCounters;
+        this.admissionControl = admissionControl;
+        this.waitlistService = waitlistService;
+        this.bookingService = bookingService;
+        this.slotOwnership = slotOwnership;
+        this.clusterForwarder = clusterForwarder;
+        this.maxDays = maxDays;
+        this.monthsAhead = monthsAhead;
+    }
+
+    /* =========================
+       Public APIs
+       ========================= */
+
+    /**
+     * Book every matching date of the rule, reporting the outcome per date
+     * ownedOnly: forwarded by another node, skip dates owned elsewhere
+     */
+    public SeriesBookingResponse bookSeries(String userId, CreateSeriesRequest request, boolean ownedOnly) {
+
+        LocalDate from = request.getFromDate();
+        LocalDate to = request.getToDate();
+
+        if (from.isBefore(LocalDate.now())) {
+            throw new IllegalArgumentException("Series cannot start in the past");
+        }
+
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("toDate must not be before fromDate");
+        }
+
+        if (ChronoUnit.DAYS.between(from, to) >= maxDays) {
+            throw new IllegalArgumentException("Series can span at most " + maxDays + " days");
+        }
+
+        // Slots and bookings past the last monthly partition cannot be inserted
+        LocalDate horizon = LocalDate.now().plusMonths(monthsAhead);
+
+        if (from.isAfter(horizon)) {
+            throw new IllegalArgumentException("Series cannot start after " + horizon);
+        }
+
+        if (to.isAfter(horizon)) {
+            throw new IllegalArgumentException("Series cannot end after " + horizon);
+        }
+
+        List<LocalDate> dates = expand(request.getWeekdays(), from, to);
+
+        if (dates.isEmpty()) {
+            throw new IllegalArgumentException("No date in range matches the given weekdays");
+        }
+
+        // Slots past the materializer horizon do not exist yet
+        slotRepository.insertMissing(missingSlots(dates, request));
+
+        Map<ClusterNode, List<LocalDate>> remoteDates = new LinkedHashMap<>();
+
+        for (LocalDate date : dates) {
+            slotOwnership.remoteOwner(date, request.getStartTime())
+                    .ifPresent(owner -> remoteDates.computeIfAbsent(owner, o -> new ArrayList<>()).add(date));
+        }
+
+        Map<LocalDate, Occurrence> remote = new HashMap<>();
+
+        if (!ownedOnly) {
+            remoteDates.forEach((owner, ownerDates) -> remote.putAll(bookRemote(owner, request, ownerDates)));
+        }
+
+        List<LocalDate> localDates = new ArrayList<>(dates);
+        remoteDates.values().forEach(localDates::removeAll);
+
+        List<SlotRow> rows = slotRepository.findByDatesAndStartTime(localDates, request.getStartTime());
+        Map<String, SlotState> slots = slotCapacityCounters.getAll(rows);
+        Set<String> withWaiters = waitlistService.slotsWithWaiters(slots.values());
+
+        Map<LocalDate, SlotState> slotByDate = new HashMap<>();
+        slots.values().forEach(slot -> slotByDate.put(slot.slotDate(), slot));
+
+        List<Occurrence> occurrences = new ArrayList<>(dates.size());
+        Map<LocalDate, Placement> placed = new HashMap<>();
+
+        for (LocalDate date : dates) {
+
+            if (!localDates.contains(date)) {
+                if (!ownedOnly) {
+                    occurrences.add(remote.get(date));
+                }
+                continue;
+            }
+
+            SlotState slot = slotByDate.get(date);
+
+            if (slot == null) {
+                occurrences.add(new Occurrence(date, "no_slot", null));
+                continue;
+            }
+
+            occurrences.add(bookLocal(userId, slot, withWaiters.contains(slot.slotId()), placed));
+        }
+
+        // Confirmed only once every date is queued, so they share a batch
+        for (int i = 0; i < occurrences.size(); i++) {
+            Placement placement = placed.get(occurrences.get(i).getDate());
+            if (placement != null && !bookingService.confirm(placement)) {
+                occurrences.set(i, new Occurrence(placement.slot().slotDate(), "unavailable", null));
+            }
+        }
+
+        int booked = (int) occurrences.stream()
+                .filter(occurrence -> "booked".equals(occurrence.getStatus()))
+                .count();
+
+        return new SeriesBookingResponse(dates.size(), booked, occurrences);
+    }
+
+    /* =========================
+       Internal helpers
+       ========================= */
+
+    private Occurrence bookLocal(String userId, SlotState slot, boolean hasWaiters, Map<LocalDate, Placement> placed) {
+
+        LocalDate date = slot.slotDate();
+
+        // Known without a turn, so re-sending a series does not spend the member's tokens
+        if (slot.holds(userId)) {
+            return new Occurrence(date, "already_booked", null);
+        }
+
+        if (hasWaiters) {
+            return new Occurrence(date, "full", null);
+        }
+
+        // Each occurrence is a booking: same token bucket and slot queue as POST /bookings
+        try (Permit permit = admissionControl.enter(userId, slot.slotId());
+             Lease lease = slotOwnership.acquire(slot.slotId())) {
+
+            Admission admission = slotCapacityCounters.tryAdmit(slot.slotId(), userId);
+
+            if (admission == Admission.ALREADY_BOOKED) {
+                return new Occurrence(date, "already_booked", null);
+            }
+
+            if (admission == Admission.FULL) {
+                return new Occurrence(date, "full", null);
+            }
+
+            Placement placement = bookingService.place(slot, userId);
+            placed.put(date, placement);
+
+            return new Occurrence(date, "booked", placement.toResponse());
+        } catch (ConflictException ex) {
+            return new Occurrence(date, "full", null);
+        } catch (TooManyRequestsException ex) {
+            return new Occurrence(date, "rate_limited", null);
+        } catch (ServiceUnavailableException ex) {
+            return new Occurrence(date, "unavailable", null);
+        }
+    }
+
+    /**
+     * One forwarded series per owner; its answer is kept for the dates it owns
+     */
+    private Map<LocalDate, Occurrence> bookRemote(ClusterNode owner, CreateSeriesRequest request, List<LocalDate> ownerDates) {
+
+        Map<LocalDate, Occurrence> result = new HashMap<>();
+
+        try {
+            SeriesBookingResponse response = clusterForwarder.forward(
+                    owner, HttpMethod.POST, "/bookings/series", request, null, SeriesBookingResponse.class
+            ).getBody();
+
+            if (response != null && response.getOccurrences() != null) {
+                for (Occurrence occurrence : response.getOccurrences()) {
+                    if (ownerDates.contains(occurrence.getDate())) {
+                        result.put(occurrence.getDate(), occurrence);
+                    }
+                }
+            }
+        } catch (ServiceUnavailableException | TooManyRequestsException ex) {
+            // Reported per date below
+        }
+
+        for (LocalDate date : ownerDates) {
+            result.putIfAbsent(date, new Occurrence(date, "unavailable", null));
+        }
+
+        return result;
+    }
+
+    private static List<LocalDate> expand(Set<DayOfWeek> weekdays, LocalDate from, LocalDate to) {
+
+        List<LocalDate> dates = new ArrayList<>();
+
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            if (weekdays.contains(date.getDayOfWeek())) {
+                dates.add(date);
+            }
+        }
+
+        return dates;
+    }
+
+    private List<NewSlot> missingSlots(List<LocalDate> dates, CreateSeriesRequest request) {
+
+        List<NewSlot> slots = new ArrayList<>();
+
+        for (LocalDate date : dates) {
+            for (SlotTemplate template : slotTemplates.templatesFor(date.getDayOfWeek())) {
+                if (template.getStart().equals(request.getStartTime())) {
+                    slots.add(new NewSlot(
+                            date,
+                            template.getStart(),
+                            template.getEnd(),
+                            slotTemplates.capacityOf(template)
+                    ));
+                }
+            }
+        }
+
+        return slots;
+    }
+}
@@ -0,0 +1,254 @@
+package com.powerzone.gym.service;
+
+import com.powerzone.gym.dto.BookingResponse;
+import com.powerzone.gym.event.BookingCancelledEvent;
+import com.powerzone.gym.event.BookingCreatedEvent;
+import com.powerzone.gym.exception.ConflictException;
+import com.powerzone.gym.exception.ForbiddenException;
+import com.powerzone.gym.exception.NotFoundException;
+import com.powerzone.gym.exception.ServiceUnavailableException;
+import com.powerzone.gym.repository.BookingRepository;
+import com.powerzone.gym.repository.BookingRepository.BookingRow;
+import com.powerzone.gym.service.BookingAdmissionControl.Permit;
+import com.powerzone.gym.service.SlotCapacityCounters.Admission;
+import com.powerzone.gym.service.SlotCapacityCounters.SlotState;
+import com.powerzone.gym.service.SlotOwnership.Lease;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import java.security.SecureRandom;
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+@Service
+public class BookingService {
+
+    static final String CODE_CHARS = "ABCDEFGHJKLMNPQRSTUVWXYZ23456789";
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final SlotCapacityCounters slotCapacityCounters;
+    private final BookingAdmissionControl admissionControl;
+    private final BookingWriter bookingWriter;
+    private final WaitlistService waitlistService;
+    private final SlotOwnership slotOwnership;
+    private final BookingRepository bookingRepository;
+    private final RoleService roleService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final long confirmTimeoutMs;
+
+    public BookingService(
+            SlotCapacityCounters slotCapacityCounters,
+            BookingAdmissionControl admissionControl,
+            BookingWriter bookingWriter,
+            WaitlistService waitlistService,
+            SlotOwnership slotOwnership,
+            BookingRepository bookingRepository,
+            RoleService roleService,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${booking.writer.confirm-timeout-ms:5000}") long confirmTimeoutMs
+    ) {
+        this.slotCapacityCounters = slotCapacityCounters;
+        this.admissionControl = admissionControl;
+        this.bookingWriter = bookingWriter;
+        this.waitlistService = waitlistService;
+        this.slotOwnership = slotOwnership;
+        this.bookingRepository = bookingRepository;
+        this.roleService = roleService;
+        this.eventPublisher = eventPublisher;
+        this.confirmTimeoutMs = confirmTimeoutMs;
+    }
+
+    /* =========================
+       Public APIs
+       ========================= */
+
+    /**
+     * Book a slot for a user
+     * Admission is decided in memory; the insert shares a batch with concurrent bookings
+     */
+    public BookingResponse book(String userId, String slotId) {
+
+        requireUuid(slotId, "Invalid slot id");
+
+        Placement placement;
+
+        // Burst control: fast 409/429 or a FIFO turn for this slot
+        try (Permit permit = admissionControl.enter(userId, slotId);
+             Lease lease = slotOwnership.acquire(slotId)) {
+
+            SlotState slot = slotCapacityCounters.get(slotId);
+
+            if (slot.slotDate().isBefore(LocalDate.now())) {
+                throw new IllegalArgumentException("Cannot book a slot in the past");
+            }
+
+            // Freed places belong to the waitlist, not to whoever retries first
+            if (waitlistService.hasWaiters(slotId)) {
+                throw new ConflictException("Slot is full, join the waitlist");
+            }
+
+            Admission admission = slotCapacityCounters.tryAdmit(slotId, userId);
+
+            if (admission == Admission.ALREADY_BOOKED) {
+                throw new ConflictException("You have already booked this slot");
+            }
+
+            if (admission == Admission.FULL) {
+                throw new ConflictException("Slot is full");
+            }
+
+            placement = place(slot, userId);
+        }
+
+        // Waited for outside the turn, so bookings queued behind this one join its batch
+        if (!confirm(placement)) {
+            throw new ServiceUnavailableException("Booking could not be saved, please try again");
+        }
+
+        return placement.toResponse();
+    }
+
+    /**
+     * Cancel a booking (owner or admin)
+     */
+    public void cancel(String requestingUserId, String bookingId) {
+
+        requireUuid(bookingId, "Invalid booking id");
+
+        BookingRow booking = bookingWriter.findPending(bookingId)
+                .or(() -> bookingRepository.findById(bookingId))
+                .orElseThrow(() -> new NotFoundException("Booking not found"));
+
+        if (!booking.userId().equals(requestingUserId) && !roleService.isAdmin(requestingUserId)) {
+            throw new ForbiddenException("Cannot cancel another member's booking");
+        }
+
+        try (Lease lease = slotOwnership.acquire(booking.slotId())) {
+
+            boolean removed = bookingWriter.cancelIfQueued(bookingId);
+
+            if (!removed) {
+                // Already written (or being written) → delete from the DB
+                bookingWriter.awaitPersisted(bookingId);
+                removed = bookingRepository.deleteById(bookingId, booking.slotDate());
+            }
+
+            if (!removed) {
+                throw new NotFoundException("Booking not found");
+            }
+
+            slotCapacityCounters.release(booking.slotId(), booking.userId());
+
+            SlotState slot = slotCapacityCounters.get(booking.slotId());
+
+            eventPublisher.publishEvent(new BookingCancelledEvent(
+                    booking.id(),
+                    booking.userId(),
+                    booking.slotId(),
+                    booking.bookingCode(),
+                    slot.slotDate(),
+                    slot.startTime(),
+                    slot.endTime()
+            ));
+        }
+    }
+
+    /**
+     * Slot of a booking, queued or persisted
+     */
+    public Optional<String> findSlotId(String bookingId) {
+
+        requireUuid(bookingId, "Invalid booking id");
+
+        return bookingWriter.findPending(bookingId)
+                .or(() -> bookingRepository.findById(bookingId))
+                .map(BookingRow::slotId);
+    }
+
+    /* =========================
+       Internal helpers
+       ========================= */
+
+    /**
+     * Queue an admitted booking for writing
+     */
+    Placement place(SlotState slot, String userId) {
+
+        BookingRow booking = new BookingRow(
+                UUID.randomUUID().toString(),
+                userId,
+                slot.slotId(),
+                generateBookingCode(),
+                slot.slotDate()
+        );
+
+        return new Placement(booking, slot, bookingWriter.enqueue(booking));
+    }
+
+    /**
+     * Wait until a placed booking is written, then announce it
+     *
+     * @return false if it was not written; its place is free again
+     */
+    boolean confirm(Placement placement) {
+
+        BookingRow booking = placement.booking();
+        SlotState slot = placement.slot();
+
+        if (!bookingWriter.awaitWritten(booking, placement.persisted(), confirmTimeoutMs)) {
+            return false;
+        }
+
+        eventPublisher.publishEvent(new BookingCreatedEvent(
+                booking.id(),
+                booking.userId(),
+                slot.slotId(),
+                booking.bookingCode(),
+                slot.slotDate(),
+                slot.startTime(),
+                slot.endTime()
+        ));
+
+        return true;
+    }
+
+    static String generateBookingCode() {
+        StringBuilder code = new StringBuilder("GYM-");
+        for (int i = 0; i < 8; i++) {
+            code.append(CODE_CHARS.charAt(RANDOM.nextInt(CODE_CHARS.length())));
+        }
+        return code.toString();
+    }
+
+    static void requireUuid(String value, String message) {
+        try {
+            UUID.fromString(value);
+        } catch (IllegalArgumentException | NullPointerException ex) {
+            throw new IllegalArgumentException(message);
+        }
+    }
+
+    /**
+     * An admitted booking waiting for its batch
+     */
+    record Placement(
+            BookingRow booking,
+            SlotState slot,
+            CompletableFuture<Boolean> persisted
+    ) {
+
+        BookingResponse toResponse() {
+            return new BookingResponse(
+                    booking.id(),
+                    slot.slotId(),
+                    booking.bookingCode(),
+                    slot.slotDate(),
+                    slot.startTime(),
+                    slot.endTime()
+            );
+        }
+    }
+}
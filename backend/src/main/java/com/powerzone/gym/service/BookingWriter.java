@@ -0,0 +1,285 @@
+package com.powerzone.gym.service;
+
+import com.powerzone.gym.repository.BookingRepository;
+import com.powerzone.gym.repository.BookingRepository.BookingRow;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PreDestroy;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Group commit for admitted bookings.
+ *
+ * Request threads enqueue and wait for their row; one writer thread
+ * drains the queue and inserts up to batch-size rows per JDBC batch in a
+ * single transaction, so concurrent bookings share one round trip. A
+ * booking is only confirmed to the member once its batch is committed;
+ * one that cannot be written gives its place back and is refused. After
+ * a failed attempt, rows the retry skipped as conflicts are looked up by
+ * id, since the failed attempt may have committed.
+ * A booking cancelled while still queued never reaches the DB.
+ */
+@Component
+public class BookingWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(BookingWriter.class);
+
+    private static final int QUEUED = 0;
+    private static final int WRITING = 1;
+    private static final int CANCELLED = 2;
+
+    private final BookingRepository bookingRepository;
+    private final SlotCapacityCounters slotCapacityCounters;
+    private final TransactionTemplate transactionTemplate;
+
+    private final WriteBehindQueue<PendingBooking> queue;
+    private final Map<String, PendingBooking> pending = new ConcurrentHashMap<>();
+
+    public BookingWriter(
+            BookingRepository bookingRepository,
+            SlotCapacityCounters slotCapacityCounters,
+            TransactionTemplate transactionTemplate,
+            @Value("${booking.writer.batch-size:200}") int batchSize,
+            @Value("${booking.writer.max-wait-ms:20}") long maxWaitMs,
+            @Value("${booking.writer.max-attempts:5}") int maxAttempts
+    ) {
+        this.bookingRepository = bookingRepository;
+        this.slotCapacityCounters = slotCapacityCounters;
+        this.transactionTemplate = transactionTemplate;
+        this.queue = new WriteBehindQueue<>("booking-writer", batchSize, maxWaitMs, maxAttempts, this::write);
+    }
+
+    /**
+     * Queue an admitted booking for insertion
+     */
+    public CompletableFuture<Boolean> enqueue(BookingRow booking) {
+        PendingBooking entry = new PendingBooking(booking);
+        pending.put(booking.id(), entry);
+        // Visible to resync through pendingHolders from here on
+        slotCapacityCounters.settle(booking.slotId(), booking.userId());
+        queue.add(entry);
+        return entry.persisted;
+    }
+
+    /**
+     * Cancel a booking that has not been written yet.
+     *
+     * @return true if it was dropped from the queue, false if it is
+     *         not pending (already persisted or being written; callers
+     *         should wait on awaitPersisted and delete from the DB)
+     */
+    public boolean cancelIfQueued(String bookingId) {
+        PendingBooking entry = pending.get(bookingId);
+        if (entry != null && entry.state.compareAndSet(QUEUED, CANCELLED)) {
+            pending.remove(bookingId);
+            entry.persisted.complete(false);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Booking that is admitted but not yet written, if any
+     */
+    public Optional<BookingRow> findPending(String bookingId) {
+        PendingBooking entry = pending.get(bookingId);
+        return entry == null ? Optional.empty() : Optional.of(entry.booking);
+    }
+
+    /**
+     * Users admitted to a slot whose booking is not written yet
+     */
+    public Set<String> pendingHolders(String slotId) {
+        Set<String> holders = new HashSet<>();
+        for (PendingBooking entry : pending.values()) {
+            if (entry.booking.slotId().equals(slotId)) {
+                holders.add(entry.booking.userId());
+            }
+        }
+        return holders;
+    }
+
+    /**
+     * Bookings not written yet, counted per slot
+     */
+    public Map<String, Integer> pendingCountsBySlot() {
+        Map<String, Integer> counts = new HashMap<>();
+        for (PendingBooking entry : pending.values()) {
+            counts.merge(entry.booking.slotId(), 1, Integer::sum);
+        }
+        return counts;
+    }
+
+    /**
+     * Wait for the write of a booking queued by {@link #enqueue}
+     *
+     * @return true once it is committed; false if it could not be written
+     *         or was still queued after timeoutMs (it is then dropped and
+     *         its place given back)
+     */
+    public boolean awaitWritten(BookingRow booking, CompletableFuture<Boolean> persisted, long timeoutMs) {
+        try {
+            return persisted.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException ex) {
+            return false;
+        } catch (TimeoutException ex) {
+            log.warn("Booking {} not written within {} ms", booking.id(), timeoutMs);
+        }
+        if (cancelIfQueued(booking.id())) {
+            slotCapacityCounters.release(booking.slotId(), booking.userId());
+            return false;
+        }
+        // Already in a batch: that batch decides
+        return persisted.join();
+    }
+
+    /**
+     * Block until an in-flight write of this booking has finished
+     */
+    public void awaitPersisted(String bookingId) {
+        PendingBooking entry = pending.get(bookingId);
+        if (entry != null) {
+            entry.persisted.join();
+        }
+    }
+
+    /**
+     * Block until every booking admitted so far has been written (or given up)
+     *
+     * @return false if some were still queued or being written when the
+     *         timeout expired (or the wait was interrupted)
+     */
+    public boolean flush(long timeoutMs) {
+        CompletableFuture<?>[] inFlight = pending.values().stream()
+                .map(entry -> entry.persisted)
+                .toArray(CompletableFuture[]::new);
+        try {
+            CompletableFuture.allOf(inFlight).get(timeoutMs, TimeUnit.MILLISECONDS);
+            return true;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException ex) {
+            log.warn("Booking writer flush incomplete: {} booking(s) pending", pending.size());
+        }
+        return false;
+    }
+
+    public int queueDepth() {
+        return queue.size();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        queue.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        queue.stop();
+    }
+
+    /* =========================
+       Internal helpers
+       ========================= */
+
+    private void write(List<PendingBooking> batch) {
+
+        List<PendingBooking> toWrite = new ArrayList<>(batch.size());
+
+        for (PendingBooking entry : batch) {
+            if (entry.state.compareAndSet(QUEUED, WRITING)) {
+                toWrite.add(entry);
+            }
+        }
+
+        if (toWrite.isEmpty()) {
+            return;
+        }
+
+        List<BookingRow> rows = toWrite.stream().map(entry -> entry.booking).toList();
+
+        WriteBehindQueue.Attempts<int[]> attempts =
+                queue.attempt(() -> transactionTemplate.execute(status -> bookingRepository.batchInsert(rows)));
+        int[] counts = attempts.succeeded() ? attempts.result() : null;
+
+        // A failed attempt may have committed before its ack was lost: ids already there are ours
+        Set<String> committedEarlier = attempts.failed() > 0 ? findCommitted(rows, counts) : Set.of();
+
+        for (int i = 0; i < toWrite.size(); i++) {
+
+            PendingBooking entry = toWrite.get(i);
+            BookingRow booking = entry.booking;
+            boolean inserted = counts != null && counts[i] > 0 || committedEarlier.contains(booking.id());
+
+            if (!inserted) {
+                // Conflict or DB down: give the place back
+                log.error("Booking {} for slot {} could not be persisted", booking.id(), booking.slotId());
+                slotCapacityCounters.release(booking.slotId(), booking.userId());
+            }
+
+            pending.remove(booking.id());
+            entry.persisted.complete(inserted);
+        }
+    }
+
+    /**
+     * Rows not reported as inserted whose id is in bookings anyway
+     */
+    private Set<String> findCommitted(List<BookingRow> rows, int[] counts) {
+
+        List<String> unconfirmed = new ArrayList<>();
+
+        for (int i = 0; i < rows.size(); i++) {
+            if (counts == null || counts[i] <= 0) {
+                unconfirmed.add(rows.get(i).id());
+            }
+        }
+
+        if (unconfirmed.isEmpty()) {
+            return Set.of();
+        }
+
+        try {
+            return bookingRepository.findExistingIds(
+                    unconfirmed,
+                    rows.stream().map(BookingRow::slotDate).min(LocalDate::compareTo).orElseThrow(),
+                    rows.stream().map(BookingRow::slotDate).max(LocalDate::compareTo).orElseThrow()
+            );
+        } catch (RuntimeException ex) {
+            log.warn("Could not check {} unconfirmed booking(s): {}", unconfirmed.size(), ex.getMessage());
+            return Set.of();
+        }
+    }
+
+    private static final class PendingBooking {
+
+        private final BookingRow booking;
+        private final AtomicInteger state = new AtomicInteger(QUEUED);
+        private final CompletableFuture<Boolean> persisted = new CompletableFuture<>();
+
+        private PendingBooking(BookingRow booking) {
+            this.booking = booking;
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.powerzone.gym.service;
+
+import com.powerzone.gym.dto.CheckinResponse;
+import com.powerzone.gym.exception.ConflictException;
+import com.powerzone.gym.exception.NotFoundException;
+import com.powerzone.gym.repository.CheckinRepository;
+import com.powerzone.gym.repository.CheckinRepository.CheckinRow;
+import com.powerzone.gym.service.BookingCodeIndex.CodeEntry;
+import com.powerzone.gym.service.BookingCodeIndex.Mark;
+import com.powerzone.gym.service.BookingCodeIndex.SlotInfo;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Locale;
+import java.util.Optional;
+
+@Service
+public class CheckinService {
+
+    private final BookingCodeIndex bookingCodeIndex;
+    private final CheckinWriter checkinWriter;
+    private final CheckinRepository checkinRepository;
+    private final RoleService roleService;
+    private final MeterRegistry meterRegistry;
+    private final long earlyMinutes;
+
+    public CheckinService(
+            BookingCodeIndex bookingCodeIndex,
+            CheckinWriter checkinWriter,
+            CheckinRepository checkinRepository,
+            RoleService roleService,
+            MeterRegistry meterRegistry,
+            @Value("${checkin.early-minutes:30}") long earlyMinutes
+    ) {
+        this.bookingCodeIndex = bookingCodeIndex;
+        this.checkinWriter = checkinWriter;
+        this.checkinRepository = checkinRepository;
+        this.roleService = roleService;
+        this.meterRegistry = meterRegistry;
+        this.earlyMinutes = earlyMinutes;
+    }
+
+    /* =========================
+       Public APIs
+       ========================= */
+
+    /**
+     * Validate a booking code at the door and record the check-in (staff only)
+     * Valid from early-minutes before the slot starts until it ends
+     */
+    public CheckinResponse checkIn(String staffUserId, String bookingCode) {
+
+        roleService.assertAdmin(staffUserId);
+
+        String code = bookingCode == null ? null : bookingCode.trim().toUpperCase(Locale.ROOT);
+
+        LocalDate today = LocalDate.now();
+
+        // Today's booking first: the same code may also belong to a booking tomorrow
+        CodeEntry entry = bookingCodeIndex.find(code, today)
+                .or(() -> lookUp(code, today))
+                .or(() -> bookingCodeIndex.find(code, today.plusDays(1)))
+                .orElse(null);
+
+        if (entry == null) {
+            count("unknown");
+            throw new NotFoundException("Unknown booking code");
+        }
+
+        SlotInfo slot = entry.slot();
+        LocalTime now = LocalTime.now();
+
+        if (!slot.slotDate().equals(today)) {
+            count("wrong_day");
+            throw new ConflictException("Booking is for " + slot.slotDate());
+        }
+
+        if (now.isBefore(slot.startTime().minusMinutes(earlyMinutes)) || now.isAfter(slot.endTime())) {
+            count("outside_window");
+            throw new ConflictException("Booking is for " + slot.startTime() + " - " + slot.endTime());
+        }
+
+        Mark mark = bookingCodeIndex.markCheckedIn(code, slot.slotDate());
+
+        if (mark == Mark.NOT_INDEXED) {
+            count("unknown");
+            throw new NotFoundException("Unknown booking code");
+        }
+
+        if (mark == Mark.ALREADY_CHECKED_IN) {
+            count("duplicate");
+            throw new ConflictException("Already checked in");
+        }
+
+        Instant checkedInAt = Instant.now();
+        checkinWriter.enqueue(new CheckinRow(entry.bookingId(), slot.slotDate(), checkedInAt, staffUserId));
+        count("checked_in");
+
+        return new CheckinResponse(
+                entry.bookingId(),
+                entry.bookingCode(),
+                entry.userId(),
+                slot.slotId(),
+                slot.slotDate(),
+                slot.startTime(),
+                slot.endTime(),
+                checkedInAt
+        );
+    }
+
+    /* =========================
+       Internal helpers
+       ========================= */
+
+    /**
+     * Today's booking the index has not seen (booked on another node or outside the API)
+     */
+    private Optional<CodeEntry> lookUp(String code, LocalDate today) {
+
+        if (BookingCodeIndex.encode(code) < 0) {
+            return Optional.empty();
+        }
+
+        meterRegistry.counter("gym.checkin.index_misses").increment();
+
+        return checkinRepository.findIndexRow(code, today)
+                .map(bookingCodeIndex::load);
+    }
+
+    private void count(String outcome) {
+        meterRegistry.counter("gym.checkin.requests", "outcome", outcome).increment();
+    }
+}
@@ -0,0 +1,83 @@
+package com.powerzone.gym.service;
+
+import com.powerzone.gym.repository.CheckinRepository;
+import com.powerzone.gym.repository.CheckinRepository.CheckinRow;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PreDestroy;
+import java.util.List;
+
+/**
+ * Write-behind for check-ins.
+ *
+ * The turnstile is answered from BookingCodeIndex; rows are inserted
+ * into checkins by one writer thread, up to batch-size per JDBC batch,
+ * so a burst at slot start costs a handful of round trips.
+ */
+@Component
+public class CheckinWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(CheckinWriter.class);
+
+    private final CheckinRepository checkinRepository;
+    private final BookingWriter bookingWriter;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxAttempts;
+
+    private final WriteBehindQueue<CheckinRow> queue;
+
+    public CheckinWriter(
+            CheckinRepository checkinRepository,
+            BookingWriter bookingWriter,
+            TransactionTemplate transactionTemplate,
+            @Value("${checkin.writer.batch-size:500}") int batchSize,
+            @Value("${checkin.writer.max-wait-ms:50}") long maxWaitMs,
+            @Value("${checkin.writer.max-attempts:5}") int maxAttempts
+    ) {
+        this.checkinRepository = checkinRepository;
+        this.bookingWriter = bookingWriter;
+        this.transactionTemplate = transactionTemplate;
+        this.maxAttempts = maxAttempts;
+        this.queue = new WriteBehindQueue<>("checkin-writer", batchSize, maxWaitMs, maxAttempts, this::write);
+    }
+
+    public void enqueue(CheckinRow checkin) {
+        queue.add(checkin);
+    }
+
+    public int queueDepth() {
+        return queue.size();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        queue.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        queue.stop();
+    }
+
+    /* =========================
+       Internal helpers
+       ========================= */
+
+    private void write(List<CheckinRow> batch) {
+
+        // A same-day booking may still be in the booking write-behind queue
+        for (CheckinRow checkin : batch) {
+            bookingWriter.awaitPersisted(checkin.bookingId());
+        }
+
+        if (!queue.attempt(() -> transactionTemplate.execute(status -> checkinRepository.batchInsert(batch))).succeeded()) {
+            log.error("Dropping {} check-in(s) after {} attempts", batch.size(), maxAttempts);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.powerzone.gym.service;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Minimal consecutive-failure circuit breaker.
+ *
+ * CLOSED → OPEN after failureThreshold failures in a row.
+ * OPEN rejects calls until openDurationMs has passed, then lets a single
+ * trial call through (HALF_OPEN); its outcome closes or re-opens it.
+ */
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final int failureThreshold;
+    private final long openDurationMs;
+
+    private final AtomicReference<State> state = new AtomicReference<>(State.CLOSED);
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private volatile long openedAt;
+
+    public CircuitBreaker(int failureThreshold, long openDurationMs) {
+        this.failureThreshold = failureThreshold;
+        this.openDurationMs = openDurationMs;
+    }
+
+    /**
+     * Whether a call may proceed now
+     */
+    public boolean tryAcquire() {
+        return switch (state.get()) {
+            case CLOSED -> true;
+            case HALF_OPEN -> false; // trial call already in flight
+            case OPEN -> System.currentTimeMillis() - openedAt >= openDurationMs
+                    && state.compareAndSet(State.OPEN, State.HALF_OPEN);
+        };
+    }
+
+    public void onSuccess() {
+        consecutiveFailures.set(0);
+        state.set(State.CLOSED);
+    }
+
+    public void onFailure() {
+        if (state.get() == State.HALF_OPEN
+                || consecutiveFailures.incrementAndGet() >= failureThreshold) {
+            openedAt = System.currentTimeMillis();
+            state.set(State.OPEN);
+        }
+    }
+
+    /**
+     * Call cancelled before its outcome was known (subscriber gone).
+     * Frees the trial slot so a HALF_OPEN breaker cannot get stuck;
+     * the next call is the new trial.
+     */
+    public void onCancel() {
+        state.compareAndSet(State.HALF_OPEN, State.OPEN);
+    }
+
+    public State state() {
+        return state.get();
+    }
+}
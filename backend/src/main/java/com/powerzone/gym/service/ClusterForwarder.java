@@ -0,0 +1,192 @@
+package com.powerzone.gym.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.powerzone.gym.dto.ApiResponse;
+import com.powerzone.gym.exception.ConflictException;
+import com.powerzone.gym.exception.ForbiddenException;
+import com.powerzone.gym.exception.NotFoundException;
+import com.powerzone.gym.exception.ServiceUnavailableException;
+import com.powerzone.gym.exception.TooManyRequestsException;
+import com.powerzone.gym.exception.UnauthorizedException;
+import com.powerzone.gym.repository.ClusterNodeRepository.ClusterNode;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Forwards a slot request to the node that owns the slot.
+ *
+ * The caller's Authorization header travels along, so the owner
+ * authenticates and authorizes the member as usual. The owner's status
+ * and message come back as the same exceptions GlobalExceptionHandler
+ * maps, so clients cannot tell a forwarded request from a local one.
+ * A request is forwarded at most once: if the receiving node does not
+ * own the slot either (membership still converging), it answers 503.
+ */
+@Component
+public class ClusterForwarder {
+
+    public static final String FORWARDED_HEADER = "X-Gym-Forwarded-By";
+
+    private static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private final WebClient webClient;
+    private final SlotOwnership slotOwnership;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final Duration callTimeout;
+
+    public ClusterForwarder(
+            @Qualifier("clusterWebClient") WebClient webClient,
+            SlotOwnership slotOwnership,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${cluster.forward.call-timeout-ms:5000}") long callTimeoutMs
+    ) {
+        this.webClient = webClient;
+        this.slotOwnership = slotOwnership;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.callTimeout = Duration.ofMillis(callTimeoutMs);
+    }
+
+    /* =========================
+       Public APIs
+       ========================= */
+
+    /**
+     * Send the current member's request to the owner and return its answer
+     */
+    public <T> ResponseEntity<T> forward(
+            ClusterNode owner,
+            HttpMethod method,
+            String path,
+            Object body,
+            String idempotencyKey,
+            Class<T> responseType
+    ) {
+        HttpServletRequest current = currentRequest();
+
+        if (current != null && current.getHeader(FORWARDED_HEADER) != null) {
+            throw new ServiceUnavailableException("Slot ownership is moving between nodes, retry shortly");
+        }
+
+        WebClient.RequestBodySpec spec = webClient.method(method)
+                .uri(owner.baseUrl() + path)
+                .header(FORWARDED_HEADER, slotOwnership.nodeId());
+
+        if (current != null && current.getHeader(HttpHeaders.AUTHORIZATION) != null) {
+            spec.header(HttpHeaders.AUTHORIZATION, current.getHeader(HttpHeaders.AUTHORIZATION));
+        }
+
+        if (idempotencyKey != null) {
+            spec.header(IdempotencyService.HEADER, idempotencyKey);
+        }
+
+        WebClient.RequestHeadersSpec<?> request = body != null ? spec.bodyValue(body) : spec;
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        ResponseEntity<byte[]> response;
+
+        try {
+            response = request.exchangeToMono(answer -> answer.toEntity(byte[].class)).block(callTimeout);
+        } catch (RuntimeException ex) {
+            // Refused, reset or timed out: the owner is likely going away
+            response = null;
+        }
+
+        if (response == null) {
+            sample.stop(timer("unreachable"));
+            throw new ServiceUnavailableException("Slot owner is unreachable, retry shortly");
+        }
+
+        if (!response.getStatusCode().is2xxSuccessful()) {
+            sample.stop(timer("rejected"));
+            throw toException(response);
+        }
+
+        sample.stop(timer("success"));
+
+        ResponseEntity.BodyBuilder answer = ResponseEntity.status(response.getStatusCode());
+        String replayed = response.getHeaders().getFirst(REPLAYED_HEADER);
+
+        if (replayed != null) {
+            answer.header(REPLAYED_HEADER, replayed);
+        }
+
+        return answer.body(read(response.getBody(), responseType));
+    }
+
+    /* =========================
+       Internal helpers
+       ========================= */
+
+    private RuntimeException toException(ResponseEntity<byte[]> response) {
+
+        String message = "Slot owner rejected the request";
+
+        try {
+            ApiResponse error = read(response.getBody(), ApiResponse.class);
+            if (error != null && error.getMessage() != null) {
+                message = error.getMessage();
+            }
+        } catch (ServiceUnavailableException ex) {
+            // Not an ApiResponse body, keep the generic message
+        }
+
+        return switch (response.getStatusCode().value()) {
+            case 400 -> new IllegalArgumentException(message);
+            case 401 -> new UnauthorizedException(message);
+            case 403 -> new ForbiddenException(message);
+            case 404 -> new NotFoundException(message);
+            case 409 -> new ConflictException(message);
+            case 429 -> new TooManyRequestsException(message, retryAfter(response.getHeaders()));
+            default -> new ServiceUnavailableException(message);
+        };
+    }
+
+    private <T> T read(byte[] body, Class<T> type) {
+
+        if (body == null || body.length == 0) {
+            return null;
+        }
+
+        try {
+            return objectMapper.readValue(body, type);
+        } catch (IOException ex) {
+            throw new ServiceUnavailableException("Unreadable answer from slot owner");
+        }
+    }
+
+    private static long retryAfter(HttpHeaders headers) {
+        try {
+            return Long.parseLong(headers.getFirst(HttpHeaders.RETRY_AFTER));
+        } catch (NumberFormatException ex) {
+            return 1;
+        }
+    }
+
+    private static HttpServletRequest currentRequest() {
+        return RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes
+                ? attributes.getRequest()
+                : null;
+    }
+
+    private Timer timer(String outcome) {
+        return Timer.builder("gym.cluster.forwards")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
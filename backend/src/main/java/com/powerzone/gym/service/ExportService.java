@@ -0,0 +1,156 @@
+package com.powerzone.gym.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.powerzone.gym.repository.ExportRepository;
+import com.powerzone.gym.repository.ExportRepository.BookingExportRow;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.function.Consumer;
+
+/**
+ * Admin exports streamed straight from a JDBC cursor.
+ *
+ * Rows are written to the response as they are fetched (fetch-size per
+ * round trip), so heap use does not grow with the size of the export.
+ */
+@Service
+public class ExportService {
+
+    /**
+     * Output format of an export
+     */
+    public enum Format {
+        CSV,
+        NDJSON
+    }
+
+    private static final LocalDate EARLIEST = LocalDate.of(1970, 1, 1);
+    private static final LocalDate LATEST = LocalDate.of(9999, 12, 31);
+
+    private static final String CSV_HEADER =
+            "booking_id,booking_code,booked_at,user_id,username,full_name,slot_date,slot_start_time,slot_end_time";
+
+    private final ExportRepository exportRepository;
+    private final RoleService roleService;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int fetchSize;
+
+    public ExportService(
+            ExportRepository exportRepository,
+            RoleService roleService,
+            ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager,
+            @Value("${exports.fetch-size:1000}") int fetchSize
+    ) {
+        this.exportRepository = exportRepository;
+        this.roleService = roleService;
+        this.objectMapper = objectMapper;
+        this.fetchSize = fetchSize;
+
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /* =========================
+       Public APIs
+       ========================= */
+
+    /**
+     * Write the booking history of [from, to] (both optional) to out (admin-only)
+     */
+    public void exportBookings(
+            String requestingUserId,
+            Format format,
+            LocalDate from,
+            LocalDate to,
+            OutputStream out
+    ) throws IOException {
+
+        roleService.assertAdmin(requestingUserId);
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+
+        if (format == Format.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+            stream(from, to, row -> writeCsv(writer, row));
+        } else {
+            JsonGenerator json = objectMapper.getFactory().createGenerator(writer);
+            json.setRootValueSeparator(null); // one object per line, see writeJson
+            stream(from, to, row -> writeJson(json, row));
+            json.flush();
+        }
+
+        writer.flush();
+    }
+
+    /* =========================
+       Internal helpers
+       ========================= */
+
+    private void stream(LocalDate from, LocalDate to, Consumer<BookingExportRow> consumer) {
+        // Autocommit off → pgjdbc fetches through a server-side cursor
+        readOnlyTransaction.executeWithoutResult(status -> exportRepository.streamBookings(
+                from != null ? from : EARLIEST,
+                to != null ? to : LATEST,
+                fetchSize,
+                consumer
+        ));
+    }
+
+    private static void writeCsv(Writer writer, BookingExportRow row) {
+        try {
+            writer.write(row.bookingId());
+            writer.write(',');
+            writer.write(row.bookingCode());
+            writer.write(',');
+            writer.write(row.bookedAt().toString());
+            writer.write(',');
+            writer.write(row.userId());
+            writer.write(',');
+            writer.write(csvField(row.username()));
+            writer.write(',');
+            writer.write(csvField(row.fullName()));
+            writer.write(',');
+            writer.write(row.slotDate().toString());
+            writer.write(',');
+            writer.write(row.startTime().toString());
+            writer.write(',');
+            writer.write(row.endTime().toString());
+            writer.write('\n');
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex); // client went away → abort the query
+        }
+    }
+
+    private static void writeJson(JsonGenerator json, BookingExportRow row) {
+        try {
+            json.writeObject(row);
+            json.writeRaw('\n');
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        return quote ? '"' + value.replace("\"", "\"\"") + '"' : value;
+    }
+}
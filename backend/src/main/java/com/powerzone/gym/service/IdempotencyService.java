@@ -0,0 +1,221 @@
+package com.powerzone.gym.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.powerzone.gym.exception.ConflictException;
+import com.powerzone.gym.repository.IdempotencyRepository;
+import com.powerzone.gym.repository.IdempotencyRepository.StoredResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Idempotency-Key support for retried mutations.
+ *
+ * Completed responses are kept in a bounded, TTL-evicted cache and
+ * written behind to idempotency_keys, which is consulted on a miss
+ * (restart, eviction). A duplicate arriving while the original is still
+ * running waits for it instead of executing again. Only successful
+ * responses are stored; a failed original lets the retry run.
+ */
+@Service
+public class IdempotencyService {
+
+    public static final String HEADER = "Idempotency-Key";
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyService.class);
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyRepository idempotencyRepository;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final Duration ttl;
+    private final long inFlightWaitMs;
+
+    private final Cache<String, StoredResponse> completed;
+    private final Map<String, CompletableFuture<StoredResponse>> inFlight = new ConcurrentHashMap<>();
+
+    public IdempotencyService(
+            IdempotencyRepository idempotencyRepository,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${idempotency.ttl-ms:86400000}") long ttlMs,
+            @Value("${idempotency.max-size:100000}") long maxSize,
+            @Value("${idempotency.in-flight-wait-ms:10000}") long inFlightWaitMs
+    ) {
+        this.idempotencyRepository = idempotencyRepository;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.ttl = Duration.ofMillis(ttlMs);
+        this.inFlightWaitMs = inFlightWaitMs;
+
+        this.completed = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    /**
+     * Run an action at most once per (user, key)
+     *
+     * @param key         Idempotency-Key header, null → no deduplication
+     * @param fingerprint identifies the request; reusing a key for a different one is rejected
+     */
+    public <T> ResponseEntity<T> execute(
+            String userId,
+            String key,
+            String fingerprint,
+            Class<T> bodyType,
+            Supplier<ResponseEntity<T>> action
+    ) {
+
+        if (key == null) {
+            return action.get();
+        }
+
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException(HEADER + " must be 1-" + MAX_KEY_LENGTH + " characters");
+        }
+
+        String cacheKey = userId + ':' + key;
+
+        while (true) {
+
+            StoredResponse done = completed.getIfPresent(cacheKey);
+
+            if (done != null) {
+                return replay(done, fingerprint, bodyType, "cache");
+            }
+
+            CompletableFuture<StoredResponse> running = new CompletableFuture<>();
+            CompletableFuture<StoredResponse> original = inFlight.putIfAbsent(cacheKey, running);
+
+            if (original != null) {
+                StoredResponse result = await(original);
+                if (result != null) {
+                    return replay(result, fingerprint, bodyType, "in_flight");
+                }
+                continue; // original failed → run it ourselves
+            }
+
+            try {
+                Optional<StoredResponse> persisted = idempotencyRepository.find(userId, key);
+
+                if (persisted.isPresent()) {
+                    completed.put(cacheKey, persisted.get());
+                    running.complete(persisted.get());
+                    return replay(persisted.get(), fingerprint, bodyType, "db");
+                }
+
+                ResponseEntity<T> response = action.get();
+
+                StoredResponse stored = new StoredResponse(
+                        fingerprint,
+                        response.getStatusCode().value(),
+                        serialize(response.getBody()),
+                        Instant.now().plus(ttl)
+                );
+
+                completed.put(cacheKey, stored);
+                running.complete(stored);
+                persist(userId, key, stored);
+
+                return response;
+
+            } catch (RuntimeException ex) {
+                running.complete(null);
+                throw ex;
+            } finally {
+                inFlight.remove(cacheKey, running);
+            }
+        }
+    }
+
+    /**
+     * Purge expired keys from the fallback table
+     */
+    @Scheduled(cron = "${idempotency.cleanup-cron:0 30 * * * *}")
+    public void cleanup() {
+        try {
+            int removed = idempotencyRepository.deleteExpired();
+            if (removed > 0) {
+                log.info("Idempotency keys: purged {} expired row(s)", removed);
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Idempotency key cleanup failed: {}", ex.getMessage());
+        }
+    }
+
+    /* =========================
+       Internal helpers
+       ========================= */
+
+    private StoredResponse await(CompletableFuture<StoredResponse> original) {
+        try {
+            return original.get(inFlightWaitMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            throw new ConflictException("A request with this " + HEADER + " is still in progress");
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new ConflictException("A request with this " + HEADER + " is still in progress");
+        } catch (ExecutionException ex) {
+            return null;
+        }
+    }
+
+    private <T> ResponseEntity<T> replay(StoredResponse stored, String fingerprint, Class<T> bodyType, String source) {
+
+        if (!stored.fingerprint().equals(fingerprint)) {
+            throw new IllegalArgumentException(HEADER + " was already used for a different request");
+        }
+
+        meterRegistry.counter("gym.idempotency.replays", "source", source).increment();
+
+        try {
+            T body = stored.body() == null ? null : objectMapper.readValue(stored.body(), bodyType);
+            return ResponseEntity.status(stored.statusCode())
+                    .header("Idempotent-Replayed", "true")
+                    .body(body);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Unreadable stored response", ex);
+        }
+    }
+
+    private String serialize(Object body) {
+        try {
+            return body == null ? null : objectMapper.writeValueAsString(body);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Response not serializable", ex);
+        }
+    }
+
+    private void persist(String userId, String key, StoredResponse stored) {
+        // JDBC off the request path; the in-memory entry already covers retries
+        Mono.fromRunnable(() -> idempotencyRepository.insert(userId, key, stored))
+                .subscribeOn(Schedulers.boundedElastic())
+                .subscribe(
+                        ignored -> { },
+                        ex -> log.warn("Could not persist {} for user {}: {}", HEADER, userId, ex.getMessage())
+                );
+    }
+}
@@ -0,0 +1,100 @@
+package com.powerzone.gym.service;
+
+import com.powerzone.gym.dto.BookingResponse;
+import com.powerzone.gym.event.WaitlistPromotedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-member event feed over Server-Sent Events.
+ *
+ * Carries notifications meant for one member only (e.g. a waitlist
+ * promotion), unlike the public per-date availability feed.
+ */
+@Component
+public class MemberEventStream {
+
+    private final Duration heartbeatInterval;
+
+    private final Map<String, MemberFeed> feeds = new ConcurrentHashMap<>();
+
+    public MemberEventStream(
+            @Value("${slots.stream.heartbeat-ms:15000}") long heartbeatMs
+    ) {
+        this.heartbeatInterval = Duration.ofMillis(heartbeatMs);
+    }
+
+    /**
+     * Subscribe to the current member's notifications
+     */
+    public Flux<ServerSentEvent<?>> watch(String userId) {
+
+        // Watcher count is kept inside compute() so a feed is never dropped under a new watcher
+        MemberFeed feed = feeds.compute(userId, (id, existing) -> {
+            MemberFeed target = existing != null ? existing : new MemberFeed();
+            target.watchers++;
+            return target;
+        });
+
+        Flux<ServerSentEvent<?>> heartbeats = Flux.interval(heartbeatInterval)
+                .map(tick -> ServerSentEvent.builder().comment("keep-alive").build());
+
+        return Flux.merge(feed.sink.asFlux(), heartbeats)
+                .doFinally(signal -> feeds.computeIfPresent(userId, (id, existing) -> {
+                    if (existing == feed && --existing.watchers == 0) {
+                        return null;
+                    }
+                    return existing;
+                }));
+    }
+
+    /**
+     * Push one named event to a member's open feeds
+     *
+     * @return false if the member is not connected
+     */
+    public boolean publish(String userId, String event, Object payload) {
+
+        MemberFeed feed = feeds.get(userId);
+
+        if (feed == null) {
+            return false;
+        }
+
+        feed.sink.tryEmitNext(ServerSentEvent.builder(payload).event(event).build());
+        return true;
+    }
+
+    @EventListener
+    public void onWaitlistPromoted(WaitlistPromotedEvent event) {
+
+        BookingResponse booking = new BookingResponse(
+                event.bookingId(),
+                event.slotId(),
+                event.bookingCode(),
+                event.slotDate(),
+                event.startTime(),
+                event.endTime()
+        );
+
+        // Not connected: the booking shows up on next load
+        publish(event.userId(), "waitlist-promoted", booking);
+    }
+
+    private static final class MemberFeed {
+
+        private final Sinks.Many<ServerSentEvent<?>> sink =
+                Sinks.many().multicast().directBestEffort();
+
+        // Guarded by feeds.compute()
+        private int watchers;
+    }
+}
@@ -0,0 +1,36 @@
+package com.powerzone.gym.service;
+
+import com.powerzone.gym.dto.BookingResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Default sender: a "session-reminder" event on the member's SSE feed.
+ * Members without an open feed get no reminder.
+ */
+@Component
+@ConditionalOnProperty(name = "reminders.sender", havingValue = "member-stream", matchIfMissing = true)
+public class MemberStreamReminderSender implements ReminderSender {
+
+    private final MemberEventStream memberEventStream;
+
+    public MemberStreamReminderSender(MemberEventStream memberEventStream) {
+        this.memberEventStream = memberEventStream;
+    }
+
+    @Override
+    public void send(List<Reminder> batch) {
+        for (Reminder reminder : batch) {
+            memberEventStream.publish(reminder.userId(), "session-reminder", new BookingResponse(
+                    reminder.bookingId(),
+                    reminder.slotId(),
+                    reminder.bookingCode(),
+                    reminder.slotDate(),
+                    reminder.startTime(),
+                    reminder.endTime()
+            ));
+        }
+    }
+}
@@ -0,0 +1,391 @@
+package com.powerzone.gym.service;
+
+import com.powerzone.gym.dto.OccupancyResponse;
+import com.powerzone.gym.dto.OccupancyResponse.Cell;
+import com.powerzone.gym.event.BookingCancelledEvent;
+import com.powerzone.gym.event.BookingCreatedEvent;
+import com.powerzone.gym.exception.ServiceUnavailableException;
+import com.powerzone.gym.repository.SlotRepository;
+import com.powerzone.gym.service.SlotCapacityCounters.SlotState;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Occupancy heatmaps and utilization percentiles for the admin dashboard.
+ *
+ * Occupancy is held in flat primitive arrays: one cell per (date, start
+ * time bucket) over a rolling window, and running totals per (weekday,
+ * bucket) for the whole window. The arrays are rebuilt from daily_slots
+ * at startup and hourly, scanning the window in date chunks in parallel,
+ * and kept current in between from booking events. Counts are approximate
+ * only for events racing a rebuild; the next rebuild corrects them.
+ */
+@Service
+public class OccupancyAnalytics {
+
+    private static final Logger log = LoggerFactory.getLogger(OccupancyAnalytics.class);
+
+    private static final int MINUTES_PER_DAY = 24 * 60;
+    private static final int PERMILLE = 1000;
+
+    private final SlotRepository slotRepository;
+    private final SlotCapacityCounters slotCapacityCounters;
+    private final int historyDays;
+    private final int futureDays;
+    private final int bucketMinutes;
+    private final int chunkDays;
+    private final int parallelism;
+    private final Timer queryTimer;
+
+    private volatile Snapshot current;
+
+    public OccupancyAnalytics(
+            SlotRepository slotRepository,
+            SlotCapacityCounters slotCapacityCounters,
+            MeterRegistry meterRegistry,
+            @Value("${analytics.occupancy.history-days:365}") int historyDays,
+            @Value("${analytics.occupancy.future-days:30}") int futureDays,
+            @Value("${analytics.occupancy.bucket-minutes:30}") int bucketMinutes,
+            @Value("${analytics.occupancy.chunk-days:31}") int chunkDays,
+            @Value("${analytics.occupancy.rebuild-parallelism:4}") int parallelism
+    ) {
+        if (bucketMinutes <= 0 || MINUTES_PER_DAY % bucketMinutes != 0) {
+            throw new IllegalArgumentException("analytics.occupancy.bucket-minutes must divide a day");
+        }
+
+        this.slotRepository = slotRepository;
+        this.slotCapacityCounters = slotCapacityCounters;
+        this.historyDays = historyDays;
+        this.futureDays = futureDays;
+        this.bucketMinutes = bucketMinutes;
+        this.chunkDays = Math.max(1, chunkDays);
+        this.parallelism = Math.max(1, parallelism);
+
+        this.queryTimer = Timer.builder("gym.analytics.occupancy.query")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+
+    /* =========================
+       Public APIs
+       ========================= */
+
+    /**
+     * Weekday × start time heatmap and per-slot utilization percentiles
+     *
+     * from / to default to the whole window; a range outside it is clamped
+     */
+    public OccupancyResponse occupancy(LocalDate from, LocalDate to) {
+
+        Snapshot snapshot = current;
+
+        if (snapshot == null) {
+            throw new ServiceUnavailableException("Occupancy analytics are still loading");
+        }
+
+        LocalDate first = from == null || from.isBefore(snapshot.firstDay) ? snapshot.firstDay : from;
+        LocalDate last = to == null || to.isAfter(snapshot.lastDay()) ? snapshot.lastDay() : to;
+
+        if (last.isBefore(first)) {
+            throw new IllegalArgumentException("to must not be before from");
+        }
+
+        long started = System.nanoTime();
+        try {
+            return snapshot.summarize(first, last, from == null && to == null);
+        } finally {
+            queryTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @EventListener
+    public void onBookingCreated(BookingCreatedEvent event) {
+        apply(event.slotId(), event.slotDate(), event.startTime(), 1);
+    }
+
+    @EventListener
+    public void onBookingCancelled(BookingCancelledEvent event) {
+        apply(event.slotId(), event.slotDate(), event.startTime(), -1);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        rebuild();
+    }
+
+    /**
+     * Re-read the window from daily_slots into fresh arrays
+     */
+    @Scheduled(cron = "${analytics.occupancy.rebuild-cron:0 5 * * * *}")
+    public void rebuild() {
+
+        LocalDate today = LocalDate.now();
+        Snapshot next = new Snapshot(today.minusDays(historyDays), historyDays + futureDays + 1, bucketMinutes);
+
+        long started = System.nanoTime();
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "occupancy-rebuild");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        try {
+            // Chunks cover disjoint days, so they fill disjoint cells
+            List<CompletableFuture<Void>> chunks = new ArrayList<>();
+
+            for (int offset = 0; offset < next.days; offset += chunkDays) {
+                LocalDate chunkFrom = next.firstDay.plusDays(offset);
+                LocalDate chunkTo = next.firstDay.plusDays(Math.min(offset + chunkDays, next.days) - 1);
+
+                chunks.add(CompletableFuture.runAsync(() -> slotRepository.streamByDateRange(chunkFrom, chunkTo, row -> {
+                    // Live counters include admissions still in the write-behind queue
+                    int booked = slotCapacityCounters.peek(row.id())
+                            .map(SlotState::booked)
+                            .orElse(row.currentBookings());
+                    next.load(row.slotDate(), row.startTime(), booked, row.maxCapacity());
+                }), executor));
+            }
+
+            CompletableFuture.allOf(chunks.toArray(CompletableFuture[]::new)).join();
+            next.totalWeekdays();
+            current = next;
+
+            log.info("Occupancy analytics: {} day(s) from {} loaded in {} ms",
+                    next.days, next.firstDay, (System.nanoTime() - started) / 1_000_000);
+
+        } catch (RuntimeException ex) {
+            log.warn("Occupancy analytics rebuild failed: {}", ex.getMessage());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /* =========================
+       Internal helpers
+       ========================= */
+
+    private void apply(String slotId, LocalDate slotDate, LocalTime startTime, int delta) {
+
+        Snapshot snapshot = current;
+
+        if (snapshot == null || !snapshot.covers(slotDate)) {
+            return;
+        }
+
+        int capacity = slotCapacityCounters.peek(slotId)
+                .map(SlotState::maxCapacity)
+                .orElse(0);
+
+        snapshot.add(slotDate, startTime, delta, capacity);
+    }
+
+    private static double ratio(long part, long whole) {
+        return whole == 0 ? 0 : (double) part / whole;
+    }
+
+    /**
+     * Flat arrays for one window; cells are [day * buckets + bucket]
+     */
+    private static final class Snapshot {
+
+        private final LocalDate firstDay;
+        private final int days;
+        private final int bucketMinutes;
+        private final int buckets;
+
+        // capacity 0 → no slot in that cell
+        private final AtomicIntegerArray booked;
+        private final AtomicIntegerArray capacity;
+
+        // [weekday * buckets + bucket] over the whole window
+        private final AtomicLongArray weekdayBooked;
+        private final AtomicLongArray weekdayCapacity;
+        private final AtomicIntegerArray weekdaySlots;
+
+        private Snapshot(LocalDate firstDay, int days, int bucketMinutes) {
+            this.firstDay = firstDay;
+            this.days = days;
+            this.bucketMinutes = bucketMinutes;
+            this.buckets = MINUTES_PER_DAY / bucketMinutes;
+            this.booked = new AtomicIntegerArray(days * buckets);
+            this.capacity = new AtomicIntegerArray(days * buckets);
+            this.weekdayBooked = new AtomicLongArray(7 * buckets);
+            this.weekdayCapacity = new AtomicLongArray(7 * buckets);
+            this.weekdaySlots = new AtomicIntegerArray(7 * buckets);
+        }
+
+        private LocalDate lastDay() {
+            return firstDay.plusDays(days - 1);
+        }
+
+        private boolean covers(LocalDate date) {
+            long day = ChronoUnit.DAYS.between(firstDay, date);
+            return day >= 0 && day < days;
+        }
+
+        private int bucketOf(LocalTime time) {
+            return (time.getHour() * 60 + time.getMinute()) / bucketMinutes;
+        }
+
+        private int cellOf(LocalDate date, LocalTime startTime) {
+            return (int) ChronoUnit.DAYS.between(firstDay, date) * buckets + bucketOf(startTime);
+        }
+
+        private static int weekdayOf(LocalDate date) {
+            return date.getDayOfWeek().getValue() - 1;
+        }
+
+        /**
+         * Rebuild only, before the snapshot is published
+         */
+        private void load(LocalDate date, LocalTime startTime, int bookedCount, int maxCapacity) {
+            int cell = cellOf(date, startTime);
+            booked.addAndGet(cell, bookedCount);
+            capacity.addAndGet(cell, maxCapacity);
+        }
+
+        private void totalWeekdays() {
+            for (int day = 0; day < days; day++) {
+                int base = weekdayOf(firstDay.plusDays(day)) * buckets;
+                for (int bucket = 0; bucket < buckets; bucket++) {
+                    int cap = capacity.get(day * buckets + bucket);
+                    if (cap > 0) {
+                        weekdayBooked.addAndGet(base + bucket, booked.get(day * buckets + bucket));
+                        weekdayCapacity.addAndGet(base + bucket, cap);
+                        weekdaySlots.incrementAndGet(base + bucket);
+                    }
+                }
+            }
+        }
+
+        private void add(LocalDate date, LocalTime startTime, int delta, int knownCapacity) {
+
+            int cell = cellOf(date, startTime);
+            int weekdayCell = weekdayOf(date) * buckets + bucketOf(startTime);
+
+            // First booking of a slot materialized after the last rebuild
+            if (knownCapacity > 0 && capacity.compareAndSet(cell, 0, knownCapacity)) {
+                weekdayCapacity.addAndGet(weekdayCell, knownCapacity);
+                weekdaySlots.incrementAndGet(weekdayCell);
+            }
+
+            booked.addAndGet(cell, delta);
+            weekdayBooked.addAndGet(weekdayCell, delta);
+        }
+
+        private OccupancyResponse summarize(LocalDate from, LocalDate to, boolean wholeWindow) {
+
+            int firstDayIndex = (int) ChronoUnit.DAYS.between(firstDay, from);
+            int lastDayIndex = (int) ChronoUnit.DAYS.between(firstDay, to);
+
+            long[] sumBooked = new long[7 * buckets];
+            long[] sumCapacity = new long[7 * buckets];
+            int[] slots = new int[7 * buckets];
+
+            // Counting sort over utilization in permille: O(cells), no boxing
+            int[] histogram = new int[PERMILLE + 1];
+            int totalSlots = 0;
+            int fullSlots = 0;
+
+            for (int day = firstDayIndex; day <= lastDayIndex; day++) {
+                int base = weekdayOf(firstDay.plusDays(day)) * buckets;
+                for (int bucket = 0; bucket < buckets; bucket++) {
+                    int cell = day * buckets + bucket;
+                    int cap = capacity.get(cell);
+                    if (cap == 0) {
+                        continue;
+                    }
+                    int count = Math.max(0, booked.get(cell));
+
+                    if (!wholeWindow) {
+                        sumBooked[base + bucket] += count;
+                        sumCapacity[base + bucket] += cap;
+                        slots[base + bucket]++;
+                    }
+
+                    histogram[Math.min(PERMILLE, (int) ((long) count * PERMILLE / cap))]++;
+                    totalSlots++;
+                    if (count >= cap) {
+                        fullSlots++;
+                    }
+                }
+            }
+
+            if (wholeWindow) {
+                for (int cell = 0; cell < 7 * buckets; cell++) {
+                    sumBooked[cell] = Math.max(0, weekdayBooked.get(cell));
+                    sumCapacity[cell] = weekdayCapacity.get(cell);
+                    slots[cell] = weekdaySlots.get(cell);
+                }
+            }
+
+            List<Cell> heatmap = new ArrayList<>();
+
+            for (int weekday = 0; weekday < 7; weekday++) {
+                for (int bucket = 0; bucket < buckets; bucket++) {
+                    int cell = weekday * buckets + bucket;
+                    if (slots[cell] == 0) {
+                        continue;
+                    }
+                    heatmap.add(new Cell(
+                            DayOfWeek.of(weekday + 1),
+                            LocalTime.MIN.plusMinutes((long) bucket * bucketMinutes),
+                            slots[cell],
+                            ratio(sumBooked[cell], slots[cell]),
+                            ratio(sumBooked[cell], sumCapacity[cell])
+                    ));
+                }
+            }
+
+            return new OccupancyResponse(
+                    from,
+                    to,
+                    totalSlots,
+                    fullSlots,
+                    percentile(histogram, totalSlots, 0.50),
+                    percentile(histogram, totalSlots, 0.90),
+                    percentile(histogram, totalSlots, 0.99),
+                    heatmap
+            );
+        }
+
+        private static double percentile(int[] histogram, int total, double quantile) {
+
+            if (total == 0) {
+                return 0;
+            }
+
+            long rank = Math.max(1, (long) Math.ceil(quantile * total));
+            long seen = 0;
+
+            for (int permille = 0; permille <= PERMILLE; permille++) {
+                seen += histogram[permille];
+                if (seen >= rank) {
+                    return permille / (double) PERMILLE;
+                }
+            }
+
+            return 1;
+        }
+    }
+}
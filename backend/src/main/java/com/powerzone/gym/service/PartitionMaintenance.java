@@ -0,0 +1,168 @@
+package com.powerzone.gym.service;
+
+import com.powerzone.gym.repository.PartitionRepository;
+import com.powerzone.gym.repository.PartitionRepository.ArchivedMonth;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Keeps the monthly slot_date partitions of daily_slots and bookings in shape.
+ *
+ * Creates the partitions of the current month and the next months-ahead
+ * months (an insert into a month without a partition fails), and moves
+ * months older than the retention window into partition_archive. Every
+ * step takes a transaction-scoped advisory lock, so with several nodes
+ * only one does the work and the others skip it.
+ */
+@Component
+public class PartitionMaintenance {
+
+    private static final Logger log = LoggerFactory.getLogger(PartitionMaintenance.class);
+
+    private final PartitionRepository partitionRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int monthsAhead;
+    private final boolean archiveEnabled;
+    private final int retentionMonths;
+    private final Path workDir;
+
+    private final Counter created;
+    private final Counter archived;
+
+    public PartitionMaintenance(
+            PartitionRepository partitionRepository,
+            TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${partitions.months-ahead:7}") int monthsAhead,
+            @Value("${partitions.archive.enabled:true}") boolean archiveEnabled,
+            @Value("${partitions.archive.retention-months:24}") int retentionMonths,
+            @Value("${partitions.archive.work-dir:${java.io.tmpdir}}") String workDir
+    ) {
+        if (retentionMonths < 1) {
+            throw new IllegalArgumentException("partitions.archive.retention-months must be at least 1");
+        }
+
+        this.partitionRepository = partitionRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.monthsAhead = monthsAhead;
+        this.archiveEnabled = archiveEnabled;
+        this.retentionMonths = retentionMonths;
+        this.workDir = Path.of(workDir);
+
+        this.created = meterRegistry.counter("gym.partitions.maintenance", "action", "created");
+        this.archived = meterRegistry.counter("gym.partitions.maintenance", "action", "archived");
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        maintain();
+    }
+
+    /**
+     * Runs nightly: create upcoming months, then archive expired ones
+     */
+    @Scheduled(cron = "${partitions.maintenance-cron:0 15 0 * * *}")
+    public void maintain() {
+
+        try {
+            ensureUpcoming();
+        } catch (RuntimeException ex) {
+            log.error("Partition maintenance: creating upcoming months failed", ex);
+        }
+
+        if (!archiveEnabled) {
+            return;
+        }
+
+        try {
+            archiveExpired();
+        } catch (RuntimeException ex) {
+            log.error("Partition maintenance: archiving failed", ex);
+        }
+    }
+
+    /* =========================
+       Internal helpers
+       ========================= */
+
+    private void ensureUpcoming() {
+
+        LocalDate first = LocalDate.now().withDayOfMonth(1);
+        LocalDate last = first.plusMonths(monthsAhead);
+
+        Integer count = transactionTemplate.execute(status -> {
+
+            if (!partitionRepository.tryLockMaintenance()) {
+                return null;
+            }
+
+            int newPartitions = 0;
+
+            for (LocalDate month = first; !month.isAfter(last); month = month.plusMonths(1)) {
+                // daily_slots first: the bookings partition references it
+                for (String parent : PartitionRepository.PARENTS) {
+                    if (partitionRepository.ensureMonth(parent, month)) {
+                        newPartitions++;
+                    }
+                }
+            }
+
+            return newPartitions;
+        });
+
+        if (count == null) {
+            log.debug("Partition maintenance: another node holds the lock, skipping");
+            return;
+        }
+
+        created.increment(count);
+
+        if (count > 0) {
+            log.info("Partition maintenance: {} new partition(s) up to {}", count, last);
+        }
+    }
+
+    private void archiveExpired() {
+
+        // A month is archived once all of it is older than the retention window
+        LocalDate cutoff = LocalDate.now().withDayOfMonth(1).minusMonths(retentionMonths);
+
+        List<LocalDate> expired = partitionRepository.findMonths("daily_slots").stream()
+                .filter(month -> month.isBefore(cutoff))
+                .toList();
+
+        for (LocalDate month : expired) {
+
+            ArchivedMonth result = transactionTemplate.execute(status -> {
+
+                // Re-check under the lock: another node may have archived it meanwhile
+                if (!partitionRepository.tryLockMaintenance()
+                        || !partitionRepository.findMonths("daily_slots").contains(month)) {
+                    return null;
+                }
+
+                return partitionRepository.archiveMonth(month, workDir);
+            });
+
+            if (result == null) {
+                continue;
+            }
+
+            archived.increment();
+            log.info("Partition maintenance: archived {} ({} slot(s), {} booking(s), {} check-in(s))",
+                    result.month(), result.slots(), result.bookings(), result.checkins());
+        }
+    }
+}
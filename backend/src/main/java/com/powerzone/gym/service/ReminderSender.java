@@ -0,0 +1,30 @@
+package com.powerzone.gym.service;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * Delivers due session reminders (reminders.sender selects the bean).
+ *
+ * Called from the reminder tick with up to reminders.batch-size
+ * reminders at a time; an exception fails the whole batch, which is
+ * not retried.
+ */
+public interface ReminderSender {
+
+    void send(List<Reminder> batch);
+
+    /**
+     * One member's reminder for one booked session
+     */
+    record Reminder(
+            String bookingId,
+            String userId,
+            String slotId,
+            String bookingCode,
+            LocalDate slotDate,
+            LocalTime startTime,
+            LocalTime endTime
+    ) {}
+}
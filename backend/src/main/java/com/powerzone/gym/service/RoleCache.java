@@ -0,0 +1,125 @@
+package com.powerzone.gym.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.powerzone.gym.event.PgNotificationListener;
+import com.powerzone.gym.event.UserRolesChangedEvent;
+import com.powerzone.gym.repository.UserRoleRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-node cache of user → set of app_role values.
+ *
+ * Invalidated by local writes (UserRolesChangedEvent) and by the
+ * user_roles_changed NOTIFY channel for other nodes / direct SQL.
+ * While the LISTEN connection is down, entries older than the
+ * fallback staleness bound are reloaded from the DB.
+ */
+@Component
+public class RoleCache {
+
+    static final String CHANNEL = "user_roles_changed";
+
+    private final UserRoleRepository userRoleRepository;
+    private final PgNotificationListener notificationListener;
+    private final long maxAgeNanos;
+    private final long fallbackMaxAgeNanos;
+
+    private final Cache<String, CachedRoles> cache;
+
+    // Bumped on every invalidation, so a load racing a write is not cached
+    private final AtomicLong generation = new AtomicLong();
+
+    public RoleCache(
+            UserRoleRepository userRoleRepository,
+            PgNotificationListener notificationListener,
+            @Value("${roles.cache.max-size:50000}") long maxSize,
+            @Value("${roles.cache.max-age-ms:600000}") long maxAgeMs,
+            @Value("${roles.cache.fallback-max-age-ms:5000}") long fallbackMaxAgeMs,
+            MeterRegistry meterRegistry
+    ) {
+        this.userRoleRepository = userRoleRepository;
+        this.notificationListener = notificationListener;
+        this.maxAgeNanos = maxAgeMs * 1_000_000L;
+        this.fallbackMaxAgeNanos = fallbackMaxAgeMs * 1_000_000L;
+
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "roles");
+
+        notificationListener.subscribe(CHANNEL, new PgNotificationListener.Handler() {
+            @Override
+            public void onNotification(String userId) {
+                invalidate(userId);
+            }
+
+            @Override
+            public void onResync() {
+                invalidateAll();
+            }
+        });
+    }
+
+    /**
+     * Check whether a user has a role, loading from DB on miss / stale entry
+     */
+    public boolean hasRole(String userId, String role) {
+        return getRoles(userId).contains(role);
+    }
+
+    public Set<String> getRoles(String userId) {
+
+        CachedRoles cached = cache.getIfPresent(userId);
+
+        if (cached != null && !isStale(cached)) {
+            return cached.roles();
+        }
+
+        long loadGeneration = generation.get();
+        Set<String> roles = Set.copyOf(userRoleRepository.findRolesByUserId(userId));
+
+        if (generation.get() == loadGeneration) {
+            cache.put(userId, new CachedRoles(roles, System.nanoTime()));
+        }
+        return roles;
+    }
+
+    public void invalidate(String userId) {
+        generation.incrementAndGet();
+        cache.invalidate(userId);
+    }
+
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    @EventListener
+    public void onUserRolesChanged(UserRolesChangedEvent event) {
+        invalidate(event.userId());
+    }
+
+    /* =========================
+       Internal helpers
+       ========================= */
+
+    private boolean isStale(CachedRoles cached) {
+        long age = System.nanoTime() - cached.loadedAtNanos();
+        return age > (notificationListener.isConnected() ? maxAgeNanos : fallbackMaxAgeNanos);
+    }
+
+    private record CachedRoles(
+            Set<String> roles,
+            long loadedAtNanos
+    ) {}
+}
@@ -2,23 +2,32 @@ package com.powerzone.gym.service;
 
 import com.powerzone.gym.exception.ForbiddenException;
 import com.powerzone.gym.repository.UserRoleRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.stereotype.Service;
 
 @Service
 public class RoleService {
 
     private final UserRoleRepository userRoleRepository;
+    private final RoleCache roleCache;
 
-    public RoleService(UserRoleRepository userRoleRepository) {
+    private final Counter granted;
+    private final Counter denied;
+
+    public RoleService(UserRoleRepository userRoleRepository, RoleCache roleCache, MeterRegistry meterRegistry) {
         this.userRoleRepository = userRoleRepository;
+        this.roleCache = roleCache;
+        this.granted = meterRegistry.counter("gym.roles.admin_checks", "outcome", "granted");
+        this.denied = meterRegistry.counter("gym.roles.admin_checks", "outcome", "denied");
     }
 
     /**
      * Check whether a user is admin
-     * Equivalent to: has_role(auth.uid(), 'admin')
+     * Equivalent to: has_role(auth.uid(), 'admin'), served from RoleCache
      */
     public boolean isAdmin(String userId) {
-        return userRoleRepository.existsByUserIdAndRole(userId, "admin");
+        return roleCache.hasRole(userId, "admin");
     }
 
     /**
@@ -26,8 +35,10 @@ public class RoleService {
      */
     public void assertAdmin(String userId) {
         if (!isAdmin(userId)) {
+            denied.increment();
             throw new ForbiddenException("Admin privileges required");
         }
+        granted.increment();
     }
 
     /**
@@ -0,0 +1,353 @@
+package com.powerzone.gym.service;
+
+import com.powerzone.gym.event.BookingCancelledEvent;
+import com.powerzone.gym.event.BookingCreatedEvent;
+import com.powerzone.gym.event.SlotOwnershipReleasedEvent;
+import com.powerzone.gym.repository.BookingRepository;
+import com.powerzone.gym.repository.BookingRepository.UpcomingRow;
+import com.powerzone.gym.service.ReminderSender.Reminder;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * "Your session starts in 60 minutes" reminders, held in a timing wheel.
+ *
+ * Each upcoming booking is one timer, due lead-minutes before its slot
+ * starts. The wheel is loaded from the DB at startup and re-read every
+ * refresh-ms for the next window-hours (bookings written by other paths
+ * or nodes); booking events add and cancel timers in between. Due
+ * reminders go to the ReminderSender in batches. Reminders that fell due
+ * while the node was down are skipped, never sent late. With several
+ * nodes each one reminds for the slots it owns; ownership is checked
+ * again when a reminder falls due, so a slot that moved since its timer
+ * was set is reminded by its new owner only.
+ */
+@Component
+public class SessionReminders {
+
+    private static final Logger log = LoggerFactory.getLogger(SessionReminders.class);
+
+    // Timers younger than this survive a refresh that does not see their
+    // booking yet (still in the BookingWriter queue)
+    private static final long WRITE_BEHIND_GRACE_MS = 10_000;
+
+    private final BookingRepository bookingRepository;
+    private final SlotOwnership slotOwnership;
+    private final ReminderSender sender;
+    private final boolean enabled;
+    private final long leadMs;
+    private final long windowMs;
+    private final int batchSize;
+    private final ZoneId zone = ZoneId.systemDefault();
+
+    private final TimingWheel<Entry> wheel;
+    private final Map<String, TimingWheel.Timer<Entry>> timers = new HashMap<>();
+
+    // Guards wheel and timers
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final Counter sent;
+    private final Counter failed;
+    private final Counter skipped;
+    private final Counter handedOver;
+
+    public SessionReminders(
+            BookingRepository bookingRepository,
+            SlotOwnership slotOwnership,
+            ReminderSender sender,
+            MeterRegistry meterRegistry,
+            @Value("${reminders.enabled:true}") boolean enabled,
+            @Value("${reminders.lead-minutes:60}") long leadMinutes,
+            @Value("${reminders.window-hours:6}") long windowHours,
+            @Value("${reminders.tick-ms:1000}") long tickMs,
+            @Value("${reminders.batch-size:500}") int batchSize
+    ) {
+        this.bookingRepository = bookingRepository;
+        this.slotOwnership = slotOwnership;
+        this.sender = sender;
+        this.enabled = enabled;
+        this.leadMs = leadMinutes * 60_000;
+        this.windowMs = windowHours * 3_600_000;
+        this.batchSize = Math.max(1, batchSize);
+
+        this.wheel = new TimingWheel<>(tickMs, System.currentTimeMillis());
+
+        this.sent = meterRegistry.counter("gym.reminders.dispatched", "outcome", "sent");
+        this.failed = meterRegistry.counter("gym.reminders.dispatched", "outcome", "failed");
+        this.skipped = meterRegistry.counter("gym.reminders.dispatched", "outcome", "skipped");
+        this.handedOver = meterRegistry.counter("gym.reminders.dispatched", "outcome", "handed_over");
+
+        meterRegistry.gauge("gym.reminders.pending", this, reminders -> reminders.pending());
+    }
+
+    /* =========================
+       Public APIs
+       ========================= */
+
+    /**
+     * Timers currently in the wheel
+     */
+    public int pending() {
+        lock.lock();
+        try {
+            return wheel.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @EventListener
+    public void onBookingCreated(BookingCreatedEvent event) {
+
+        if (!enabled) {
+            return;
+        }
+
+        Reminder reminder = new Reminder(event.bookingId(), event.userId(), event.slotId(),
+                event.bookingCode(), event.slotDate(), event.startTime(), event.endTime());
+
+        lock.lock();
+        try {
+            schedule(reminder, System.currentTimeMillis());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @EventListener
+    public void onBookingCancelled(BookingCancelledEvent event) {
+
+        if (!enabled) {
+            return;
+        }
+
+        lock.lock();
+        try {
+            TimingWheel.Timer<Entry> timer = timers.remove(event.bookingId());
+            if (timer != null) {
+                wheel.cancel(timer);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Slots handed to another node: their owner reminds from now on
+     */
+    @EventListener
+    public void onOwnershipReleased(SlotOwnershipReleasedEvent event) {
+
+        if (!enabled) {
+            return;
+        }
+
+        lock.lock();
+        try {
+            Iterator<TimingWheel.Timer<Entry>> iterator = timers.values().iterator();
+            while (iterator.hasNext()) {
+                TimingWheel.Timer<Entry> timer = iterator.next();
+                if (event.slotIds().contains(timer.payload().reminder().slotId())) {
+                    wheel.cancel(timer);
+                    iterator.remove();
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        refresh();
+    }
+
+    /**
+     * Re-read the bookings whose reminder falls due within the window.
+     * Adds missing timers and drops timers of bookings that disappeared
+     * (cancelled outside BookingService).
+     */
+    @Scheduled(
+            fixedDelayString = "${reminders.refresh-ms:300000}",
+            initialDelayString = "${reminders.refresh-ms:300000}"
+    )
+    public void refresh() {
+
+        if (!enabled) {
+            return;
+        }
+
+        long readAt = System.currentTimeMillis();
+        long windowEnd = readAt + windowMs;
+
+        // A reminder due at the window end belongs to a slot starting lead later
+        LocalDate from = LocalDate.ofInstant(Instant.ofEpochMilli(readAt), zone);
+        LocalDate to = LocalDate.ofInstant(Instant.ofEpochMilli(windowEnd + leadMs), zone);
+
+        List<Reminder> loaded = new ArrayList<>();
+
+        try {
+            bookingRepository.streamUpcoming(from, to, row -> {
+                Reminder reminder = toReminder(row);
+                long dueAt = dueAt(reminder);
+                if (dueAt >= readAt && dueAt <= windowEnd) {
+                    loaded.add(reminder);
+                }
+            });
+        } catch (RuntimeException ex) {
+            log.error("Session reminders: reading the window failed, keeping the current timers", ex);
+            return;
+        }
+
+        Set<String> present = new HashSet<>(loaded.size() * 2);
+        int added = 0;
+        int dropped = 0;
+
+        lock.lock();
+        try {
+            long now = System.currentTimeMillis();
+
+            for (Reminder reminder : loaded) {
+                present.add(reminder.bookingId());
+                if (!timers.containsKey(reminder.bookingId()) && schedule(reminder, now)) {
+                    added++;
+                }
+            }
+
+            Iterator<TimingWheel.Timer<Entry>> iterator = timers.values().iterator();
+            while (iterator.hasNext()) {
+                TimingWheel.Timer<Entry> timer = iterator.next();
+                Entry entry = timer.payload();
+                boolean inWindow = entry.dueAt() >= readAt && entry.dueAt() <= windowEnd;
+                boolean gone = inWindow
+                        && entry.scheduledAt() < readAt - WRITE_BEHIND_GRACE_MS
+                        && !present.contains(entry.reminder().bookingId());
+                if (gone || isRemote(entry.reminder())) {
+                    wheel.cancel(timer);
+                    iterator.remove();
+                    dropped++;
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        log.debug("Session reminders: window read, {} added, {} dropped, {} pending", added, dropped, pending());
+    }
+
+    /**
+     * Hand every reminder due by now to the sender
+     */
+    @Scheduled(fixedRateString = "${reminders.tick-ms:1000}")
+    public void tick() {
+
+        if (!enabled) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        List<Reminder> due = new ArrayList<>();
+
+        lock.lock();
+        try {
+            wheel.advance(now, entry -> {
+                timers.remove(entry.reminder().bookingId());
+                due.add(entry.reminder());
+            });
+        } finally {
+            lock.unlock();
+        }
+
+        List<Reminder> deliverable = new ArrayList<>(due.size());
+        for (Reminder reminder : due) {
+            if (startAt(reminder) <= now) {
+                // A stalled tick (GC pause, suspended VM) must not announce sessions already running
+                skipped.increment();
+            } else if (isRemote(reminder)) {
+                // Slot moved to another node since the timer was set: its owner reminds
+                handedOver.increment();
+            } else {
+                deliverable.add(reminder);
+            }
+        }
+
+        for (int from = 0; from < deliverable.size(); from += batchSize) {
+            List<Reminder> batch = deliverable.subList(from, Math.min(from + batchSize, deliverable.size()));
+            try {
+                sender.send(batch);
+                sent.increment(batch.size());
+            } catch (RuntimeException ex) {
+                failed.increment(batch.size());
+                log.warn("Session reminders: sending {} reminder(s) failed: {}", batch.size(), ex.getMessage());
+            }
+        }
+    }
+
+    /* =========================
+       Internal helpers
+       ========================= */
+
+    /**
+     * Add a timer unless it is due already or another node owns the slot.
+     * Caller holds the lock.
+     */
+    private boolean schedule(Reminder reminder, long now) {
+
+        long dueAt = dueAt(reminder);
+
+        if (dueAt < now || isRemote(reminder)) {
+            return false;
+        }
+
+        TimingWheel.Timer<Entry> previous = timers.remove(reminder.bookingId());
+        if (previous != null) {
+            wheel.cancel(previous);
+        }
+
+        timers.put(reminder.bookingId(), wheel.schedule(dueAt, new Entry(reminder, dueAt, now)));
+        return true;
+    }
+
+    private boolean isRemote(Reminder reminder) {
+        return slotOwnership.remoteOwner(reminder.slotDate(), reminder.startTime()).isPresent();
+    }
+
+    private long dueAt(Reminder reminder) {
+        return startAt(reminder) - leadMs;
+    }
+
+    private long startAt(Reminder reminder) {
+        return LocalDateTime.of(reminder.slotDate(), reminder.startTime()).atZone(zone).toInstant().toEpochMilli();
+    }
+
+    private static Reminder toReminder(UpcomingRow row) {
+        return new Reminder(row.bookingId(), row.userId(), row.slotId(), row.bookingCode(),
+                row.slotDate(), row.startTime(), row.endTime());
+    }
+
+    private record Entry(
+            Reminder reminder,
+            long dueAt,
+            long scheduledAt
+    ) {}
+}
@@ -0,0 +1,209 @@
+package com.powerzone.gym.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.powerzone.gym.dto.SlotDelta;
+import com.powerzone.gym.event.BookingCancelledEvent;
+import com.powerzone.gym.event.BookingCreatedEvent;
+import com.powerzone.gym.event.PgNotificationListener;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.util.concurrent.Queues;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Per-date availability feed over Server-Sent Events.
+ *
+ * Capacity changes come from local booking events and from one shared
+ * daily_slots_changed NOTIFY channel (other nodes, admin edits). They
+ * are coalesced per slot (latest change wins) and flushed at most once
+ * per flush interval, then fanned out to every watcher of that date.
+ *
+ * Browsers connect with fetch() and an Authorization header (see
+ * src/lib/api.ts apiStream); EventSource cannot send the Bearer token.
+ */
+@Component
+public class SlotAvailabilityStream {
+
+    static final String CHANNEL = "daily_slots_changed";
+
+    private static final Logger log = LoggerFactory.getLogger(SlotAvailabilityStream.class);
+
+    // Deltas held per watcher until its snapshot is sent / it catches up
+    private static final int MAILBOX_SIZE = 256;
+
+    // Dirty marker for local changes: value is read from the counters at flush time
+    private static final SlotDelta LOCAL_CHANGE = new SlotDelta();
+
+    private final SlotCapacityCounters slotCapacityCounters;
+    private final SlotSnapshotCache slotSnapshotCache;
+    private final ObjectMapper objectMapper;
+    private final Duration heartbeatInterval;
+
+    private final Map<LocalDate, DateFeed> feeds = new ConcurrentHashMap<>();
+    private final AtomicInteger watchers = new AtomicInteger();
+
+    public SlotAvailabilityStream(
+            SlotCapacityCounters slotCapacityCounters,
+            SlotSnapshotCache slotSnapshotCache,
+            PgNotificationListener notificationListener,
+            ObjectMapper objectMapper,
+            @Value("${slots.stream.heartbeat-ms:15000}") long heartbeatMs,
+            MeterRegistry meterRegistry
+    ) {
+        this.slotCapacityCounters = slotCapacityCounters;
+        this.slotSnapshotCache = slotSnapshotCache;
+        this.objectMapper = objectMapper;
+        this.heartbeatInterval = Duration.ofMillis(heartbeatMs);
+
+        meterRegistry.gauge("gym.slots.stream.watchers", watchers);
+
+        notificationListener.subscribe(CHANNEL, this::onSlotNotification);
+    }
+
+    /**
+     * Subscribe to one date: full snapshot first, then coalesced deltas
+     */
+    public Flux<ServerSentEvent<?>> watch(LocalDate date) {
+
+        // Nothing is registered until subscription, so an unsubscribed Flux holds no feed
+        return Flux.defer(() -> {
+
+            // Buffers deltas flushed while the snapshot is read and sent
+            Sinks.Many<ServerSentEvent<?>> mailbox = Sinks.many().unicast()
+                    .onBackpressureBuffer(Queues.<ServerSentEvent<?>>get(MAILBOX_SIZE).get());
+
+            // Registered before the snapshot is read, so no change in between is lost;
+            // inside compute() so a feed is never dropped under a new watcher
+            DateFeed feed = feeds.compute(date, (d, existing) -> {
+                DateFeed target = existing != null ? existing : new DateFeed();
+                target.mailboxes.add(mailbox);
+                return target;
+            });
+            watchers.incrementAndGet();
+
+            Mono<ServerSentEvent<?>> snapshot = Mono.fromCallable(() ->
+                    ServerSentEvent.builder(slotSnapshotCache.get(date).slots()).event("snapshot").build());
+
+            Flux<ServerSentEvent<?>> heartbeats = Flux.interval(heartbeatInterval)
+                    .map(tick -> ServerSentEvent.builder().comment("keep-alive").build());
+
+            return Flux.concat(snapshot, Flux.merge(mailbox.asFlux(), heartbeats))
+                    .doFinally(signal -> {
+                        watchers.decrementAndGet();
+                        feeds.computeIfPresent(date, (d, existing) -> {
+                            existing.mailboxes.remove(mailbox);
+                            return existing.mailboxes.isEmpty() ? null : existing;
+                        });
+                    });
+        });
+    }
+
+    @EventListener
+    public void onBookingCreated(BookingCreatedEvent event) {
+        markDirty(event.slotDate(), event.slotId(), null);
+    }
+
+    @EventListener
+    public void onBookingCancelled(BookingCancelledEvent event) {
+        markDirty(event.slotDate(), event.slotId(), null);
+    }
+
+    /**
+     * Emit at most one delta per changed slot per interval
+     */
+    @Scheduled(fixedRateString = "${slots.stream.flush-ms:250}")
+    public void flush() {
+
+        feeds.forEach((date, feed) -> {
+
+            if (feed.dirty.isEmpty()) {
+                return;
+            }
+
+            List<SlotDelta> deltas = new ArrayList<>();
+
+            for (String slotId : List.copyOf(feed.dirty.keySet())) {
+
+                SlotDelta change = feed.dirty.remove(slotId);
+
+                // A NOTIFY row is the committed state (other nodes, admin capacity edits
+                // the counters only pick up on their next refresh); a local change is
+                // read from the counters, which are ahead of the write-behind DB
+                SlotDelta delta = change != LOCAL_CHANGE
+                        ? change
+                        : slotCapacityCounters.peek(slotId)
+                                .map(slot -> new SlotDelta(slotId, slot.booked(), slot.maxCapacity()))
+                                .orElse(null);
+
+                if (delta != null) {
+                    deltas.add(delta);
+                }
+            }
+
+            if (!deltas.isEmpty()) {
+                ServerSentEvent<?> event = ServerSentEvent.builder(deltas).event("delta").build();
+                // Best effort: a watcher whose mailbox is full misses this delta
+                feed.mailboxes.forEach(mailbox -> mailbox.tryEmitNext(event));
+            }
+        });
+    }
+
+    /* =========================
+       Internal helpers
+       ========================= */
+
+    private void onSlotNotification(String payload) {
+        try {
+            JsonNode json = objectMapper.readTree(payload);
+            String slotId = json.get("id").asText();
+            markDirty(
+                    LocalDate.parse(json.get("slot_date").asText()),
+                    slotId,
+                    new SlotDelta(
+                            slotId,
+                            json.get("current_bookings").asInt(),
+                            json.get("max_capacity").asInt()
+                    )
+            );
+        } catch (Exception ex) {
+            log.warn("Ignoring malformed {} payload: {}", CHANNEL, payload);
+        }
+    }
+
+    private void markDirty(LocalDate date, String slotId, SlotDelta fromDb) {
+
+        DateFeed feed = feeds.get(date);
+
+        if (feed == null) {
+            return; // nobody watching this date
+        }
+
+        feed.dirty.put(slotId, fromDb != null ? fromDb : LOCAL_CHANGE);
+    }
+
+    private static final class DateFeed {
+
+        // One per watcher; added and removed inside feeds.compute()
+        private final Set<Sinks.Many<ServerSentEvent<?>>> mailboxes = ConcurrentHashMap.newKeySet();
+
+        private final Map<String, SlotDelta> dirty = new ConcurrentHashMap<>();
+    }
+}
@@ -0,0 +1,382 @@
+package com.powerzone.gym.service;
+
+import com.powerzone.gym.exception.NotFoundException;
+import com.powerzone.gym.repository.BookingRepository;
+import com.powerzone.gym.repository.SlotRepository;
+import com.powerzone.gym.repository.SlotRepository.SlotRow;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Per-slot capacity view used to admit / reject bookings.
+ *
+ * Each slot is loaded once from daily_slots + bookings (the DB stays
+ * the source of truth on restart) and then updated with CAS. Admissions
+ * share a per-slot read lock; resync() takes it exclusively to re-read
+ * the holders after changes made outside this node's counters.
+ *
+ * A holder admitted here stays in the slot's settling set until the
+ * caller has handed the booking on (queued in BookingWriter or written),
+ * so a resync in between still counts it.
+ */
+@Component
+public class SlotCapacityCounters {
+
+    /**
+     * Admission outcome
+     */
+    public enum Admission {
+        ADMITTED,
+        ALREADY_BOOKED,
+        FULL
+    }
+
+    private final SlotRepository slotRepository;
+    private final BookingRepository bookingRepository;
+
+    private final Map<String, SlotState> slots = new ConcurrentHashMap<>();
+
+    // In-flight first loads, so concurrent misses share one query
+    private final Map<String, CompletableFuture<SlotState>> loads = new ConcurrentHashMap<>();
+
+    public SlotCapacityCounters(
+            SlotRepository slotRepository,
+            BookingRepository bookingRepository
+    ) {
+        this.slotRepository = slotRepository;
+        this.bookingRepository = bookingRepository;
+    }
+
+    /**
+     * Reserve one place in a slot for a user
+     */
+    public Admission tryAdmit(String slotId, String userId) {
+
+        SlotState slot = get(slotId);
+        long stamp = slot.lock.readLock();
+
+        try {
+            // UNIQUE(user_id, slot_id), enforced before touching the counter
+            if (!slot.userIds.add(userId)) {
+                return Admission.ALREADY_BOOKED;
+            }
+
+            if (!slot.tryIncrement()) {
+                slot.userIds.remove(userId);
+                return Admission.FULL;
+            }
+
+            slot.settling.add(userId);
+            return Admission.ADMITTED;
+        } finally {
+            slot.lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * An admitted holder's booking is queued or written: from now on
+     * resync finds it in the pending set or the bookings table
+     */
+    public void settle(String slotId, String userId) {
+
+        SlotState slot = slots.get(slotId);
+
+        if (slot != null) {
+            slot.settling.remove(userId);
+        }
+    }
+
+    /**
+     * Give a place back (cancellation or failed persist)
+     */
+    public void release(String slotId, String userId) {
+
+        SlotState slot = slots.get(slotId);
+
+        if (slot == null) {
+            return;
+        }
+
+        long stamp = slot.lock.readLock();
+
+        try {
+            slot.settling.remove(userId);
+            if (slot.userIds.remove(userId)) {
+                slot.booked.decrementAndGet();
+            }
+        } finally {
+            slot.lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Replace a loaded slot's holders with those in bookings plus the
+     * ones admitted here and not written yet. Admissions and releases of
+     * the slot wait meanwhile.
+     *
+     * Read in hand-off order (settling, then pending, then bookings), so a
+     * holder that settles or is written during the resync is still seen.
+     *
+     * @return false if the slot is not loaded
+     */
+    public boolean resync(String slotId, Supplier<Set<String>> pending) {
+
+        SlotState slot = slots.get(slotId);
+
+        if (slot == null) {
+            return false;
+        }
+
+        long stamp = slot.lock.writeLock();
+
+        try {
+            Set<String> holders = new HashSet<>(slot.settling);
+            holders.addAll(pending.get());
+            holders.addAll(bookingRepository.findUserIdsBySlotId(slotId, slot.slotDate));
+
+            slot.userIds.retainAll(holders);
+            slot.userIds.addAll(holders);
+            slot.booked.set(slot.userIds.size());
+        } finally {
+            slot.lock.unlockWrite(stamp);
+        }
+
+        return true;
+    }
+
+    /**
+     * Loaded slot state, reading it from the DB on first access
+     */
+    public SlotState get(String slotId) {
+
+        SlotState slot = slots.get(slotId);
+
+        if (slot != null) {
+            return slot;
+        }
+
+        // Not computeIfAbsent: JDBC under the map's bin lock would pin a virtual thread's carrier
+        CompletableFuture<SlotState> loading = new CompletableFuture<>();
+        CompletableFuture<SlotState> inFlight = loads.putIfAbsent(slotId, loading);
+
+        if (inFlight != null) {
+            try {
+                return inFlight.join();
+            } catch (CompletionException ex) {
+                throw ex.getCause() instanceof RuntimeException cause ? cause : ex;
+            }
+        }
+
+        try {
+            SlotState loaded = load(slotId);
+            SlotState existing = slots.putIfAbsent(slotId, loaded);
+            SlotState result = existing != null ? existing : loaded;
+            loading.complete(result);
+            return result;
+        } catch (RuntimeException ex) {
+            loading.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            loads.remove(slotId, loading);
+        }
+    }
+
+    /**
+     * Loaded state of many slots, reading the missing ones with one bookings query
+     *
+     * @return slot id → state, in the order of rows
+     */
+    public Map<String, SlotState> getAll(List<SlotRow> rows) {
+
+        List<SlotRow> missing = rows.stream()
+                .filter(row -> !slots.containsKey(row.id()))
+                .toList();
+
+        Map<String, List<String>> userIds = missing.isEmpty()
+                ? Map.of()
+                : bookingRepository.findUserIdsBySlotIds(
+                        missing.stream().map(SlotRow::id).toList(),
+                        missing.stream().map(SlotRow::slotDate).min(LocalDate::compareTo).orElseThrow(),
+                        missing.stream().map(SlotRow::slotDate).max(LocalDate::compareTo).orElseThrow()
+                );
+
+        Map<String, SlotState> result = new LinkedHashMap<>();
+
+        for (SlotRow row : rows) {
+            SlotState slot = slots.get(row.id());
+            if (slot == null) {
+                Set<String> holders = ConcurrentHashMap.newKeySet();
+                holders.addAll(userIds.getOrDefault(row.id(), List.of()));
+                SlotState loaded = new SlotState(row, holders);
+                SlotState existing = slots.putIfAbsent(row.id(), loaded);
+                slot = existing != null ? existing : loaded;
+            }
+            result.put(row.id(), slot);
+        }
+
+        return result;
+    }
+
+    /**
+     * Loaded slot state without touching the DB, if any
+     */
+    public Optional<SlotState> peek(String slotId) {
+        return Optional.ofNullable(slots.get(slotId));
+    }
+
+    /**
+     * Ids of the loaded slots
+     */
+    public Set<String> loadedSlotIds() {
+        return Set.copyOf(slots.keySet());
+    }
+
+    /**
+     * Drop loaded slots (ownership handed to another node), returns their ids
+     */
+    public Set<String> evictIf(Predicate<SlotState> predicate) {
+
+        Set<String> evicted = new HashSet<>();
+
+        slots.values().removeIf(slot -> {
+            if (predicate.test(slot)) {
+                evicted.add(slot.slotId);
+                return true;
+            }
+            return false;
+        });
+
+        return evicted;
+    }
+
+    /**
+     * Re-read max_capacity of loaded slots and drop past dates
+     */
+    @Scheduled(fixedDelayString = "${booking.capacity-refresh-ms:60000}")
+    public void reconcile() {
+
+        LocalDate today = LocalDate.now();
+
+        slots.values().removeIf(slot -> slot.slotDate.isBefore(today));
+
+        if (slots.isEmpty()) {
+            return;
+        }
+
+        LocalDate lastDate = slots.values().stream()
+                .map(SlotState::slotDate)
+                .max(LocalDate::compareTo)
+                .orElse(today);
+
+        Map<String, Integer> capacities = slotRepository.findCapacitiesByIds(slots.keySet(), today, lastDate);
+
+        capacities.forEach((slotId, capacity) -> {
+            SlotState slot = slots.get(slotId);
+            if (slot != null) {
+                slot.maxCapacity = capacity;
+            }
+        });
+    }
+
+    /* =========================
+       Internal helpers
+       ========================= */
+
+    private SlotState load(String slotId) {
+
+        SlotRow row = slotRepository.findById(slotId)
+                .orElseThrow(() -> new NotFoundException("Slot not found"));
+
+        Set<String> userIds = ConcurrentHashMap.newKeySet();
+        userIds.addAll(bookingRepository.findUserIdsBySlotId(slotId, row.slotDate()));
+
+        return new SlotState(row, userIds);
+    }
+
+    /**
+     * In-memory state of one daily_slots row
+     */
+    public static final class SlotState {
+
+        private final String slotId;
+        private final LocalDate slotDate;
+        private final LocalTime startTime;
+        private final LocalTime endTime;
+        private final AtomicInteger booked;
+        private final Set<String> userIds;
+        // Admitted, not yet queued or written
+        private final Set<String> settling = ConcurrentHashMap.newKeySet();
+        private final StampedLock lock = new StampedLock();
+        private volatile int maxCapacity;
+
+        private SlotState(SlotRow row, Set<String> userIds) {
+            this.slotId = row.id();
+            this.slotDate = row.slotDate();
+            this.startTime = row.startTime();
+            this.endTime = row.endTime();
+            this.booked = new AtomicInteger(userIds.size());
+            this.userIds = userIds;
+            this.maxCapacity = row.maxCapacity();
+        }
+
+        private boolean tryIncrement() {
+            while (true) {
+                int current = booked.get();
+                if (current >= maxCapacity) {
+                    return false;
+                }
+                if (booked.compareAndSet(current, current + 1)) {
+                    return true;
+                }
+            }
+        }
+
+        public String slotId() {
+            return slotId;
+        }
+
+        public LocalDate slotDate() {
+            return slotDate;
+        }
+
+        public LocalTime startTime() {
+            return startTime;
+        }
+
+        public LocalTime endTime() {
+            return endTime;
+        }
+
+        public int booked() {
+            return booked.get();
+        }
+
+        public int maxCapacity() {
+            return maxCapacity;
+        }
+
+        public boolean isFull() {
+            return booked.get() >= maxCapacity;
+        }
+
+        public boolean holds(String userId) {
+            return userIds.contains(userId);
+        }
+    }
+}
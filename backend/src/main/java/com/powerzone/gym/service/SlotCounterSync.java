@@ -0,0 +1,126 @@
+package com.powerzone.gym.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.powerzone.gym.event.PgNotificationListener;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps SlotCapacityCounters in line with bookings written elsewhere
+ * (admin SQL, another node before a handover, a lost write).
+ *
+ * Every daily_slots_changed NOTIFY for a loaded slot records the
+ * slot's current_bookings. Once per interval each recorded slot is
+ * compared with the local view, booked minus bookings still queued in
+ * BookingWriter; only slots that disagree re-read their holders. The
+ * node's own batches therefore cost no queries once they are written.
+ */
+@Component
+public class SlotCounterSync {
+
+    private static final Logger log = LoggerFactory.getLogger(SlotCounterSync.class);
+
+    // Forces a re-read: nothing is known about the DB count
+    private static final int UNKNOWN = -1;
+
+    private final SlotCapacityCounters slotCapacityCounters;
+    private final BookingWriter bookingWriter;
+    private final ObjectMapper objectMapper;
+
+    // slot id → current_bookings of the latest notification
+    private final Map<String, Integer> changed = new ConcurrentHashMap<>();
+
+    private final Counter resyncs;
+
+    public SlotCounterSync(
+            SlotCapacityCounters slotCapacityCounters,
+            BookingWriter bookingWriter,
+            PgNotificationListener notificationListener,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry
+    ) {
+        this.slotCapacityCounters = slotCapacityCounters;
+        this.bookingWriter = bookingWriter;
+        this.objectMapper = objectMapper;
+
+        this.resyncs = meterRegistry.counter("gym.booking.counter_resyncs");
+
+        notificationListener.subscribe(SlotAvailabilityStream.CHANNEL, new PgNotificationListener.Handler() {
+            @Override
+            public void onNotification(String payload) {
+                onSlotNotification(payload);
+            }
+
+            @Override
+            public void onResync() {
+                // Notifications were missed: check every loaded slot
+                slotCapacityCounters.loadedSlotIds().forEach(slotId -> changed.put(slotId, UNKNOWN));
+            }
+        });
+    }
+
+    /* =========================
+       Public APIs
+       ========================= */
+
+    /**
+     * Re-read the holders of every changed slot whose count disagrees
+     */
+    @Scheduled(fixedDelayString = "${booking.counter-sync-ms:1000}")
+    public void sync() {
+
+        if (changed.isEmpty()) {
+            return;
+        }
+
+        Map<String, Integer> queued = bookingWriter.pendingCountsBySlot();
+
+        for (String slotId : List.copyOf(changed.keySet())) {
+
+            Integer dbCount = changed.remove(slotId);
+
+            boolean consistent = slotCapacityCounters.peek(slotId)
+                    .map(slot -> dbCount != UNKNOWN
+                            && slot.booked() - queued.getOrDefault(slotId, 0) == dbCount)
+                    .orElse(true);
+
+            if (consistent) {
+                continue;
+            }
+
+            try {
+                if (slotCapacityCounters.resync(slotId, () -> bookingWriter.pendingHolders(slotId))) {
+                    resyncs.increment();
+                }
+            } catch (RuntimeException ex) {
+                log.warn("Counter resync of slot {} failed: {}", slotId, ex.getMessage());
+                changed.putIfAbsent(slotId, UNKNOWN);
+            }
+        }
+    }
+
+    /* =========================
+       Internal helpers
+       ========================= */
+
+    private void onSlotNotification(String payload) {
+        try {
+            JsonNode json = objectMapper.readTree(payload);
+            String slotId = json.get("id").asText();
+            if (slotCapacityCounters.peek(slotId).isPresent()) {
+                changed.put(slotId, json.get("current_bookings").asInt());
+            }
+        } catch (Exception ex) {
+            log.warn("Ignoring malformed {} payload: {}", SlotAvailabilityStream.CHANNEL, payload);
+        }
+    }
+}
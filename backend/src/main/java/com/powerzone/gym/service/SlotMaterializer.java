@@ -0,0 +1,74 @@
+package com.powerzone.gym.service;
+
+import com.powerzone.gym.config.SlotTemplateProperties;
+import com.powerzone.gym.config.SlotTemplateProperties.SlotTemplate;
+import com.powerzone.gym.repository.SlotRepository;
+import com.powerzone.gym.repository.SlotRepository.NewSlot;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Pre-creates daily_slots for the next N days.
+ * Replaces: useSlots.createDailySlots (first viewer of a date inserting slots)
+ */
+@Component
+public class SlotMaterializer {
+
+    private static final Logger log = LoggerFactory.getLogger(SlotMaterializer.class);
+
+    private final SlotRepository slotRepository;
+    private final SlotTemplateProperties properties;
+
+    public SlotMaterializer(
+            SlotRepository slotRepository,
+            SlotTemplateProperties properties
+    ) {
+        this.slotRepository = slotRepository;
+        this.properties = properties;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        materialize();
+    }
+
+    /**
+     * Runs nightly, one INSERT ... ON CONFLICT DO NOTHING for the whole range
+     */
+    @Scheduled(cron = "${slots.materializer-cron:0 5 0 * * *}")
+    public void materialize() {
+
+        LocalDate today = LocalDate.now();
+        List<NewSlot> slots = new ArrayList<>();
+
+        for (int day = 0; day < properties.getDaysAhead(); day++) {
+
+            LocalDate date = today.plusDays(day);
+
+            for (SlotTemplate template : properties.templatesFor(date.getDayOfWeek())) {
+                slots.add(new NewSlot(
+                        date,
+                        template.getStart(),
+                        template.getEnd(),
+                        properties.capacityOf(template)
+                ));
+            }
+        }
+
+        try {
+            int created = slotRepository.insertMissing(slots);
+            log.info("Slot materializer: {} new slot(s) for {} → {}",
+                    created, today, today.plusDays(properties.getDaysAhead() - 1L));
+        } catch (RuntimeException ex) {
+            log.error("Slot materializer failed", ex);
+        }
+    }
+}
@@ -0,0 +1,652 @@
+package com.powerzone.gym.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.powerzone.gym.event.SlotOwnershipReleasedEvent;
+import com.powerzone.gym.exception.NotFoundException;
+import com.powerzone.gym.exception.ServiceUnavailableException;
+import com.powerzone.gym.repository.ClusterNodeRepository;
+import com.powerzone.gym.repository.ClusterNodeRepository.ClusterNode;
+import com.powerzone.gym.repository.SlotRepository;
+import com.powerzone.gym.service.SlotCapacityCounters.SlotState;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Which node decides capacity for which slot.
+ *
+ * Slots are grouped into a fixed number of partitions by
+ * (slot_date, slot_start_time). Live nodes heartbeat into
+ * public.cluster_nodes and every node builds the same consistent-hash
+ * ring (virtual nodes) from that list, so each partition has exactly one
+ * intended owner. A node only serves a partition after taking its
+ * Postgres advisory lock on a dedicated connection: that lock, not the
+ * ring, is what keeps two nodes from admitting into the same slot while
+ * membership changes propagate.
+ *
+ * Requests hold a partition's read lock (a {@link Lease}) for the whole
+ * capacity decision. Handing a partition over takes the write lock,
+ * flushes the booking writer, drops the in-memory slot and waitlist state
+ * and only then releases the advisory lock. If the flush does not finish
+ * in time the partition stays held (and served) and the handover is
+ * retried next round, so the next owner never counts from a table that
+ * is missing bookings this node already confirmed. A dead node's advisory locks
+ * go away with its connection and its heartbeat expires after the lease
+ * TTL, so the next owner takes over after about TTL + one heartbeat.
+ *
+ * With cluster.enabled=false (a single node) every slot is local and
+ * leases are free.
+ */
+@Service
+public class SlotOwnership {
+
+    private static final Logger log = LoggerFactory.getLogger(SlotOwnership.class);
+
+    // pg_advisory_lock(key1, key2) namespace of partition locks ("gym1")
+    private static final int LOCK_CLASS = 0x67796d31;
+
+    private static final int NOT_HELD = 0;
+    private static final int HELD = 1;
+    private static final int RELEASING = 2;
+
+    private static final Lease NO_LEASE = () -> {
+    };
+
+    /**
+     * Read lock on a slot's partition; ownership cannot move until closed
+     */
+    public interface Lease extends AutoCloseable {
+
+        @Override
+        void close();
+    }
+
+    private final ClusterNodeRepository clusterNodeRepository;
+    private final SlotRepository slotRepository;
+    private final SlotCapacityCounters slotCapacityCounters;
+    private final BookingWriter bookingWriter;
+    private final ApplicationEventPublisher eventPublisher;
+    private final DataSource dataSource;
+
+    private final boolean enabled;
+    private final String nodeId;
+    private final String advertisedUrl;
+    private final int partitions;
+    private final int virtualNodes;
+    private final long heartbeatMs;
+    private final long leaseTtlMs;
+    private final long flushTimeoutMs;
+
+    private final AtomicIntegerArray states;
+    private final ReentrantReadWriteLock[] locks;
+    private final Cache<String, Integer> partitionBySlot;
+
+    private final Counter acquired;
+    private final Counter released;
+    private final Counter deferred;
+
+    private volatile Ring ring = Ring.EMPTY;
+    private volatile boolean running = false;
+    private Thread thread;
+
+    // Owned by the ownership thread (and stop() after it has exited)
+    private Connection lockConnection;
+    private long lastHeartbeatNanos;
+    private long rounds;
+
+    public SlotOwnership(
+            ClusterNodeRepository clusterNodeRepository,
+            SlotRepository slotRepository,
+            SlotCapacityCounters slotCapacityCounters,
+            BookingWriter bookingWriter,
+            ApplicationEventPublisher eventPublisher,
+            DataSource dataSource,
+            MeterRegistry meterRegistry,
+            @Value("${cluster.enabled:false}") boolean enabled,
+            @Value("${cluster.node-id:}") String nodeId,
+            @Value("${cluster.advertised-url:http://localhost:${server.port:8080}}") String advertisedUrl,
+            @Value("${cluster.partitions:256}") int partitions,
+            @Value("${cluster.virtual-nodes:64}") int virtualNodes,
+            @Value("${cluster.heartbeat-ms:1000}") long heartbeatMs,
+            @Value("${cluster.lease-ttl-ms:5000}") long leaseTtlMs,
+            @Value("${cluster.flush-timeout-ms:2000}") long flushTimeoutMs
+    ) {
+        this.clusterNodeRepository = clusterNodeRepository;
+        this.slotRepository = slotRepository;
+        this.slotCapacityCounters = slotCapacityCounters;
+        this.bookingWriter = bookingWriter;
+        this.eventPublisher = eventPublisher;
+        this.dataSource = dataSource;
+        this.enabled = enabled;
+        this.nodeId = nodeId.isBlank() ? UUID.randomUUID().toString() : nodeId;
+        this.advertisedUrl = advertisedUrl;
+        this.partitions = partitions;
+        this.virtualNodes = virtualNodes;
+        this.heartbeatMs = heartbeatMs;
+        this.leaseTtlMs = leaseTtlMs;
+        this.flushTimeoutMs = flushTimeoutMs;
+
+        this.states = new AtomicIntegerArray(partitions);
+        this.locks = new ReentrantReadWriteLock[partitions];
+        for (int i = 0; i < partitions; i++) {
+            locks[i] = new ReentrantReadWriteLock();
+        }
+
+        // Slot → partition never changes; 32 bytes per entry
+        this.partitionBySlot = Caffeine.newBuilder()
+                .maximumSize(200_000)
+                .build();
+
+        this.acquired = meterRegistry.counter("gym.cluster.handovers", "direction", "acquired");
+        this.released = meterRegistry.counter("gym.cluster.handovers", "direction", "released");
+        this.deferred = meterRegistry.counter("gym.cluster.handovers", "direction", "deferred");
+        meterRegistry.gauge("gym.cluster.members", this, ownership -> ownership.ring.members().size());
+        meterRegistry.gauge("gym.cluster.partitions_owned", states, SlotOwnership::countHeld);
+    }
+
+    /* =========================
+       Public APIs
+       ========================= */
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public String nodeId() {
+        return nodeId;
+    }
+
+    /**
+     * The node a slot's requests must go to, empty when that is this node
+     */
+    public Optional<ClusterNode> remoteOwner(String slotId) {
+
+        if (!enabled) {
+            return Optional.empty();
+        }
+
+        BookingService.requireUuid(slotId, "Invalid slot id");
+        return remoteOwner(partitionOf(slotId));
+    }
+
+    /**
+     * Same, for a slot that may not exist yet
+     */
+    public Optional<ClusterNode> remoteOwner(LocalDate slotDate, LocalTime startTime) {
+
+        if (!enabled) {
+            return Optional.empty();
+        }
+
+        return remoteOwner(partitionOf(slotDate, startTime));
+    }
+
+    /**
+     * Lease a slot owned by this node; 503 while it is being handed over
+     */
+    public Lease acquire(String slotId) {
+        return tryAcquire(slotId).orElseThrow(() -> new ServiceUnavailableException(
+                "Slot ownership is moving between nodes, retry shortly"
+        ));
+    }
+
+    /**
+     * Lease a slot if this node currently owns it (background work)
+     */
+    public Optional<Lease> tryAcquire(String slotId) {
+
+        if (!enabled) {
+            return Optional.of(NO_LEASE);
+        }
+
+        int partition = partitionOf(slotId);
+        Lock lock = locks[partition].readLock();
+
+        // Fails while a handover holds the write lock
+        if (!lock.tryLock()) {
+            return Optional.empty();
+        }
+
+        if (states.get(partition) != HELD) {
+            lock.unlock();
+            return Optional.empty();
+        }
+
+        return Optional.of(lock::unlock);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (!enabled || running) {
+            return;
+        }
+        running = true;
+        lastHeartbeatNanos = System.nanoTime();
+        thread = new Thread(this::run, "slot-ownership");
+        thread.setDaemon(true);
+        thread.start();
+        log.info("Joining cluster as {} ({}), {} partitions", nodeId, advertisedUrl, partitions);
+    }
+
+    /**
+     * Leave the cluster: hand every partition back before the writer stops.
+     * Runs on context close, before any bean (or listener of the released
+     * event) is destroyed.
+     */
+    @EventListener(ContextClosedEvent.class)
+    public synchronized void stop() throws InterruptedException {
+
+        if (!running) {
+            return;
+        }
+
+        running = false;
+        thread.interrupt();
+        thread.join(TimeUnit.SECONDS.toMillis(10));
+
+        // Give the writer up to a lease TTL; after that the locks go with the connection anyway
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(leaseTtlMs);
+
+        while (!release(heldPartitions(), false)) {
+            if (System.nanoTime() > deadline) {
+                log.error("Leaving the cluster with bookings still queued in the writer");
+                release(heldPartitions(), true);
+                break;
+            }
+        }
+
+        try {
+            clusterNodeRepository.delete(nodeId);
+        } catch (RuntimeException ex) {
+            log.warn("Could not deregister node {}: {}", nodeId, ex.getMessage());
+        }
+
+        closeLockConnection();
+    }
+
+    /* =========================
+       Internal helpers
+       ========================= */
+
+    private void run() {
+
+        while (running) {
+
+            try {
+                round();
+            } catch (RuntimeException ex) {
+                log.warn("Cluster ownership round failed: {}", ex.getMessage());
+            }
+
+            // Others stop seeing us after the TTL: stop serving before they take over
+            if (System.nanoTime() - lastHeartbeatNanos > TimeUnit.MILLISECONDS.toNanos(leaseTtlMs)) {
+                List<Integer> held = heldPartitions();
+                if (!held.isEmpty()) {
+                    log.warn("Heartbeat lost for more than {} ms, releasing {} partition(s)", leaseTtlMs, held.size());
+                    release(held, false);
+                }
+            }
+
+            try {
+                Thread.sleep(heartbeatMs);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Heartbeat, rebuild the ring if membership changed, then move partitions
+     */
+    private void round() {
+
+        clusterNodeRepository.heartbeat(nodeId, advertisedUrl);
+        lastHeartbeatNanos = System.nanoTime();
+
+        List<ClusterNode> members = clusterNodeRepository.findLive(leaseTtlMs);
+
+        if (!members.equals(ring.members())) {
+            ring = Ring.of(members, partitions, virtualNodes);
+            log.info("Cluster membership changed: {} node(s) {}", members.size(),
+                    members.stream().map(ClusterNode::nodeId).toList());
+        }
+
+        if (++rounds % 600 == 0) {
+            clusterNodeRepository.deleteStale(TimeUnit.HOURS.toMillis(1));
+        }
+
+        if (!lockConnectionValid()) {
+            return;
+        }
+
+        List<Integer> toRelease = new ArrayList<>();
+        List<Integer> toAcquire = new ArrayList<>();
+
+        for (int partition = 0; partition < partitions; partition++) {
+
+            ClusterNode owner = ring.ownerOf(partition);
+            boolean mine = owner != null && owner.nodeId().equals(nodeId);
+            int state = states.get(partition);
+
+            if (mine && state == NOT_HELD) {
+                toAcquire.add(partition);
+            } else if (!mine && state == HELD) {
+                toRelease.add(partition);
+            }
+        }
+
+        // Release first, so a swap between two nodes cannot wait on itself
+        boolean handedOver = release(toRelease, false);
+
+        int taken = 0;
+
+        for (int partition : toAcquire) {
+            if (tryAdvisoryLock(partition)) {
+                // Anything loaded while another node owned it is stale
+                dropState(Set.of(partition));
+                states.set(partition, HELD);
+                taken++;
+            }
+        }
+
+        if (taken > 0 || handedOver && !toRelease.isEmpty()) {
+            acquired.increment(taken);
+            log.info("Partitions: +{} -{}, {} owned", taken, handedOver ? toRelease.size() : 0, countHeld(states));
+        }
+    }
+
+    /**
+     * Hand partitions over: block new leases, wait out the current ones,
+     * persist queued bookings, forget local state, then unlock.
+     *
+     * @param force unlock even if queued bookings are not written yet
+     *              (the advisory locks are already gone)
+     * @return false if the flush timed out and the partitions are still held
+     */
+    private boolean release(List<Integer> toRelease, boolean force) {
+
+        if (toRelease.isEmpty()) {
+            return true;
+        }
+
+        toRelease.forEach(partition -> states.set(partition, RELEASING));
+
+        List<Lock> writeLocks = new ArrayList<>(toRelease.size());
+
+        try {
+            for (int partition : toRelease) {
+                Lock lock = locks[partition].writeLock();
+                lock.lock();
+                writeLocks.add(lock);
+            }
+
+            if (!bookingWriter.flush(flushTimeoutMs) && !force) {
+                // Keep the advisory locks: no other node may count these slots yet
+                toRelease.forEach(partition -> states.set(partition, HELD));
+                deferred.increment(toRelease.size());
+                log.warn("Handover of {} partition(s) deferred until queued bookings are written", toRelease.size());
+                return false;
+            }
+
+            dropState(new HashSet<>(toRelease));
+
+            for (int partition : toRelease) {
+                advisoryUnlock(partition);
+                states.set(partition, NOT_HELD);
+            }
+
+            released.increment(toRelease.size());
+            return true;
+        } finally {
+            writeLocks.forEach(Lock::unlock);
+        }
+    }
+
+    private void dropState(Set<Integer> partitionSet) {
+
+        Set<String> evicted = slotCapacityCounters.evictIf(
+                slot -> partitionSet.contains(partitionOf(slot.slotDate(), slot.startTime()))
+        );
+
+        eventPublisher.publishEvent(new SlotOwnershipReleasedEvent(evicted));
+    }
+
+    /**
+     * (Re)open the lock connection; if it dropped, its locks are gone too
+     */
+    private boolean lockConnectionValid() {
+
+        try {
+            if (lockConnection != null && lockConnection.isValid(2)) {
+                return true;
+            }
+        } catch (SQLException ex) {
+            log.warn("Advisory lock connection check failed: {}", ex.getMessage());
+        }
+
+        if (lockConnection != null) {
+            log.warn("Advisory lock connection lost, releasing all partitions");
+            closeLockConnection();
+            release(heldPartitions(), true);
+        }
+
+        try {
+            lockConnection = dataSource.getConnection();
+            return true;
+        } catch (SQLException ex) {
+            log.warn("Could not open advisory lock connection: {}", ex.getMessage());
+            return false;
+        }
+    }
+
+    private boolean tryAdvisoryLock(int partition) {
+
+        try (PreparedStatement statement = lockConnection.prepareStatement("SELECT pg_try_advisory_lock(?, ?)")) {
+            statement.setInt(1, LOCK_CLASS);
+            statement.setInt(2, partition);
+            try (ResultSet rs = statement.executeQuery()) {
+                return rs.next() && rs.getBoolean(1);
+            }
+        } catch (SQLException ex) {
+            log.warn("Advisory lock on partition {} failed: {}", partition, ex.getMessage());
+            return false;
+        }
+    }
+
+    private void advisoryUnlock(int partition) {
+
+        if (lockConnection == null) {
+            return;
+        }
+
+        try (PreparedStatement statement = lockConnection.prepareStatement("SELECT pg_advisory_unlock(?, ?)")) {
+            statement.setInt(1, LOCK_CLASS);
+            statement.setInt(2, partition);
+            statement.execute();
+        } catch (SQLException ex) {
+            // Connection gone: the lock went with it
+            log.warn("Advisory unlock of partition {} failed: {}", partition, ex.getMessage());
+        }
+    }
+
+    private void closeLockConnection() {
+
+        if (lockConnection == null) {
+            return;
+        }
+
+        // A pooled connection outlives close(): session locks must not go with it
+        try (PreparedStatement statement = lockConnection.prepareStatement("SELECT pg_advisory_unlock_all()")) {
+            statement.execute();
+        } catch (SQLException ex) {
+            log.debug("Unlocking on advisory lock connection failed: {}", ex.getMessage());
+        }
+
+        try {
+            lockConnection.close();
+        } catch (SQLException ex) {
+            log.debug("Closing advisory lock connection failed: {}", ex.getMessage());
+        }
+
+        lockConnection = null;
+    }
+
+    private List<Integer> heldPartitions() {
+
+        List<Integer> held = new ArrayList<>();
+
+        for (int partition = 0; partition < partitions; partition++) {
+            if (states.get(partition) == HELD) {
+                held.add(partition);
+            }
+        }
+
+        return held;
+    }
+
+    private static int countHeld(AtomicIntegerArray states) {
+
+        int held = 0;
+
+        for (int i = 0; i < states.length(); i++) {
+            if (states.get(i) == HELD) {
+                held++;
+            }
+        }
+
+        return held;
+    }
+
+    private Optional<ClusterNode> remoteOwner(int partition) {
+
+        ClusterNode owner = ring.ownerOf(partition);
+
+        // No membership yet: handle locally, acquire() answers 503 until owned
+        if (owner == null || owner.nodeId().equals(nodeId)) {
+            return Optional.empty();
+        }
+
+        return Optional.of(owner);
+    }
+
+    private int partitionOf(String slotId) {
+
+        Optional<SlotState> loaded = slotCapacityCounters.peek(slotId);
+
+        if (loaded.isPresent()) {
+            return partitionOf(loaded.get().slotDate(), loaded.get().startTime());
+        }
+
+        Integer cached = partitionBySlot.getIfPresent(slotId);
+
+        if (cached != null) {
+            return cached;
+        }
+
+        // Loaded outside the cache's compute lock (JDBC)
+        int partition = slotRepository.findById(slotId)
+                .map(row -> partitionOf(row.slotDate(), row.startTime()))
+                .orElseThrow(() -> new NotFoundException("Slot not found"));
+
+        partitionBySlot.put(slotId, partition);
+        return partition;
+    }
+
+    int partitionOf(LocalDate slotDate, LocalTime startTime) {
+        long key = slotDate.toEpochDay() * 1440 + startTime.toSecondOfDay() / 60;
+        return (int) Long.remainderUnsigned(BloomFilter.mix(key), partitions);
+    }
+
+    /**
+     * Consistent-hash ring, resolved once per membership change into an
+     * owner per partition
+     */
+    private record Ring(
+            List<ClusterNode> members,
+            ClusterNode[] owners
+    ) {
+
+        static final Ring EMPTY = new Ring(List.of(), new ClusterNode[0]);
+
+        static Ring of(List<ClusterNode> members, int partitions, int virtualNodes) {
+
+            if (members.isEmpty()) {
+                return EMPTY;
+            }
+
+            int size = members.size() * virtualNodes;
+            long[] points = new long[size];
+            int[] memberAt = new int[size];
+
+            // (point, member index), sorted by point
+            long[][] entries = new long[size][];
+            for (int m = 0; m < members.size(); m++) {
+                long seed = BloomFilter.mix(members.get(m).nodeId().hashCode()) * 0x9E3779B97F4A7C15L;
+                for (int v = 0; v < virtualNodes; v++) {
+                    entries[m * virtualNodes + v] = new long[]{BloomFilter.mix(seed + v), m};
+                }
+            }
+            Arrays.sort(entries, (a, b) -> Long.compareUnsigned(a[0], b[0]));
+            for (int i = 0; i < size; i++) {
+                points[i] = entries[i][0];
+                memberAt[i] = (int) entries[i][1];
+            }
+
+            ClusterNode[] owners = new ClusterNode[partitions];
+
+            for (int partition = 0; partition < partitions; partition++) {
+                long hash = BloomFilter.mix(partition * 0xC2B2AE3D27D4EB4FL + 1);
+                int index = firstAtOrAfter(points, hash);
+                owners[partition] = members.get(memberAt[index == size ? 0 : index]);
+            }
+
+            return new Ring(List.copyOf(members), owners);
+        }
+
+        ClusterNode ownerOf(int partition) {
+            return owners.length == 0 ? null : owners[partition];
+        }
+
+        private static int firstAtOrAfter(long[] points, long hash) {
+            int low = 0;
+            int high = points.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (Long.compareUnsigned(points[mid], hash) < 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+}
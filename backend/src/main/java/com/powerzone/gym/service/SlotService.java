@@ -0,0 +1,24 @@
+package com.powerzone.gym.service;
+
+import com.powerzone.gym.service.SlotSnapshotCache.SlotsView;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+
+@Service
+public class SlotService {
+
+    private final SlotSnapshotCache slotSnapshotCache;
+
+    public SlotService(SlotSnapshotCache slotSnapshotCache) {
+        this.slotSnapshotCache = slotSnapshotCache;
+    }
+
+    /**
+     * Slots of a date (read-only, slots are created by SlotMaterializer)
+     * Served from the per-date snapshot, with a strong ETag
+     */
+    public SlotsView getSlots(LocalDate date) {
+        return slotSnapshotCache.get(date);
+    }
+}
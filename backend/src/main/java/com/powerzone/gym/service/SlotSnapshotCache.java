@@ -0,0 +1,232 @@
+package com.powerzone.gym.service;
+
+import com.powerzone.gym.dto.SlotResponse;
+import com.powerzone.gym.event.BookingCancelledEvent;
+import com.powerzone.gym.event.BookingCreatedEvent;
+import com.powerzone.gym.repository.SlotRepository;
+import com.powerzone.gym.repository.SlotRepository.SlotRow;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-date in-memory snapshot of daily_slots.
+ *
+ * Rows are read from the DB at most once per refresh interval per date,
+ * with concurrent misses sharing one query (single-flight). Booking
+ * counts are overlaid from SlotCapacityCounters, so a booking change
+ * only re-renders the view (and its ETag) without another query.
+ */
+@Component
+public class SlotSnapshotCache {
+
+    private final SlotRepository slotRepository;
+    private final SlotCapacityCounters slotCapacityCounters;
+    private final long refreshIntervalNanos;
+
+    private final Map<LocalDate, CompletableFuture<RowsSnapshot>> rows = new ConcurrentHashMap<>();
+    private final Map<LocalDate, RenderedView> views = new ConcurrentHashMap<>();
+
+    // Bumped on every invalidation, so a render racing a booking is not cached
+    private final AtomicLong generation = new AtomicLong();
+
+    private final Counter dbLoads;
+    private final Counter viewBuilds;
+
+    public SlotSnapshotCache(
+            SlotRepository slotRepository,
+            SlotCapacityCounters slotCapacityCounters,
+            @Value("${slots.snapshot.refresh-interval-ms:5000}") long refreshIntervalMs,
+            MeterRegistry meterRegistry
+    ) {
+        this.slotRepository = slotRepository;
+        this.slotCapacityCounters = slotCapacityCounters;
+        this.refreshIntervalNanos = refreshIntervalMs * 1_000_000L;
+
+        this.dbLoads = meterRegistry.counter("gym.slots.snapshot.loads");
+        this.viewBuilds = meterRegistry.counter("gym.slots.snapshot.views");
+    }
+
+    /**
+     * Current view of a date's slots (body + strong ETag)
+     */
+    public SlotsView get(LocalDate date) {
+
+        RowsSnapshot snapshot = rowsFor(date);
+        RenderedView rendered = views.get(date);
+
+        if (rendered != null && rendered.source() == snapshot) {
+            return rendered.view();
+        }
+
+        long renderGeneration = generation.get();
+        SlotsView view = render(snapshot);
+
+        if (generation.get() == renderGeneration) {
+            views.put(date, new RenderedView(view, snapshot));
+        }
+        return view;
+    }
+
+    /**
+     * Drop the rendered view of a date (rows stay cached)
+     */
+    public void invalidate(LocalDate date) {
+        generation.incrementAndGet();
+        views.remove(date);
+    }
+
+    @EventListener
+    public void onBookingCreated(BookingCreatedEvent event) {
+        invalidate(event.slotDate());
+    }
+
+    @EventListener
+    public void onBookingCancelled(BookingCancelledEvent event) {
+        invalidate(event.slotDate());
+    }
+
+    /**
+     * Forget dates nobody asked for lately
+     */
+    @Scheduled(fixedDelayString = "${slots.snapshot.cleanup-ms:600000}")
+    public void cleanup() {
+        long now = System.nanoTime();
+        rows.entrySet().removeIf(entry -> {
+            RowsSnapshot snapshot = entry.getValue().getNow(null);
+            boolean expired = snapshot != null && now - snapshot.loadedAtNanos() > 10 * refreshIntervalNanos;
+            if (expired) {
+                views.remove(entry.getKey());
+            }
+            return expired;
+        });
+    }
+
+    /* =========================
+       Internal helpers
+       ========================= */
+
+    private RowsSnapshot rowsFor(LocalDate date) {
+
+        while (true) {
+
+            CompletableFuture<RowsSnapshot> current = rows.get(date);
+
+            if (current != null) {
+                RowsSnapshot snapshot = current.getNow(null);
+                boolean fresh = snapshot == null  // still loading → join it
+                        || System.nanoTime() - snapshot.loadedAtNanos() < refreshIntervalNanos;
+                if (fresh) {
+                    try {
+                        return current.join();
+                    } catch (CompletionException ex) {
+                        rows.remove(date, current);
+                        throw unwrap(ex);
+                    }
+                }
+            }
+
+            CompletableFuture<RowsSnapshot> loading = new CompletableFuture<>();
+
+            boolean owner = current == null
+                    ? rows.putIfAbsent(date, loading) == null
+                    : rows.replace(date, current, loading);
+
+            if (!owner) {
+                continue; // another thread started the load, join that one
+            }
+
+            try {
+                dbLoads.increment();
+                List<SlotRow> loaded = slotRepository.findByDate(date);
+                RowsSnapshot snapshot = new RowsSnapshot(loaded, System.nanoTime());
+                loading.complete(snapshot);
+                return snapshot;
+            } catch (RuntimeException ex) {
+                rows.remove(date, loading);
+                loading.completeExceptionally(ex);
+                throw ex;
+            }
+        }
+    }
+
+    private SlotsView render(RowsSnapshot snapshot) {
+
+        viewBuilds.increment();
+
+        List<SlotResponse> slots = snapshot.rows()
+                .stream()
+                .map(row -> {
+                    // In-memory counters are ahead of current_bookings (write-behind)
+                    var live = slotCapacityCounters.peek(row.id());
+                    return new SlotResponse(
+                            row.id(),
+                            row.slotDate(),
+                            row.startTime(),
+                            row.endTime(),
+                            live.map(SlotCapacityCounters.SlotState::booked).orElse(row.currentBookings()),
+                            live.map(SlotCapacityCounters.SlotState::maxCapacity).orElse(row.maxCapacity())
+                    );
+                })
+                .toList();
+
+        return new SlotsView(slots, etagOf(slots));
+    }
+
+    private static String etagOf(List<SlotResponse> slots) {
+
+        StringBuilder content = new StringBuilder();
+        for (SlotResponse slot : slots) {
+            content.append(slot.getId()).append(':')
+                    .append(slot.getCurrentBookings()).append('/')
+                    .append(slot.getMaxCapacity()).append('@')
+                    .append(slot.getSlotStartTime()).append('-')
+                    .append(slot.getSlotEndTime()).append(';');
+        }
+
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256")
+                    .digest(content.toString().getBytes(StandardCharsets.UTF_8));
+            return "\"" + HexFormat.of().formatHex(hash, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
+    }
+
+    private static RuntimeException unwrap(CompletionException ex) {
+        return ex.getCause() instanceof RuntimeException cause ? cause : ex;
+    }
+
+    private record RowsSnapshot(
+            List<SlotRow> rows,
+            long loadedAtNanos
+    ) {}
+
+    private record RenderedView(
+            SlotsView view,
+            RowsSnapshot source
+    ) {}
+
+    /**
+     * Rendered slots of one date
+     */
+    public record SlotsView(
+            List<SlotResponse> slots,
+            String etag
+    ) {}
+}
@@ -0,0 +1,45 @@
+package com.powerzone.gym.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Local stand-in (reminders.sender=stub): logs each batch and keeps the
+ * most recent reminders in memory instead of delivering them.
+ */
+@Component
+@ConditionalOnProperty(name = "reminders.sender", havingValue = "stub")
+public class StubReminderSender implements ReminderSender {
+
+    private static final Logger log = LoggerFactory.getLogger(StubReminderSender.class);
+
+    private static final int KEEP = 1_000;
+
+    private final Deque<Reminder> recent = new ArrayDeque<>();
+
+    @Override
+    public synchronized void send(List<Reminder> batch) {
+
+        for (Reminder reminder : batch) {
+            if (recent.size() == KEEP) {
+                recent.removeFirst();
+            }
+            recent.addLast(reminder);
+        }
+
+        log.info("Reminder stub: {} reminder(s), first for booking {}", batch.size(), batch.get(0).bookingId());
+    }
+
+    /**
+     * Reminders sent so far (at most the last 1,000), oldest first
+     */
+    public synchronized List<Reminder> sent() {
+        return List.copyOf(recent);
+    }
+}
@@ -0,0 +1,162 @@
+package com.powerzone.gym.service;
+
+import com.powerzone.gym.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Non-blocking client for the Supabase Admin REST API (/auth/v1/admin).
+ *
+ * Every call gets a timeout, goes through a circuit breaker and is timed.
+ * Only idempotent calls are retried (bounded, exponential backoff with jitter).
+ */
+@Component
+public class SupabaseAdminClient {
+
+    private final WebClient webClient;
+    private final MeterRegistry meterRegistry;
+    private final Duration callTimeout;
+    private final int maxRetries;
+    private final Duration retryBackoff;
+    private final CircuitBreaker circuitBreaker;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    public SupabaseAdminClient(
+            @Qualifier("supabaseAdminWebClient") WebClient webClient,
+            MeterRegistry meterRegistry,
+            @Value("${supabase.admin-api.call-timeout-ms:5000}") long callTimeoutMs,
+            @Value("${supabase.admin-api.max-retries:2}") int maxRetries,
+            @Value("${supabase.admin-api.retry-backoff-ms:100}") long retryBackoffMs,
+            @Value("${supabase.admin-api.breaker-failure-threshold:5}") int breakerFailureThreshold,
+            @Value("${supabase.admin-api.breaker-open-ms:10000}") long breakerOpenMs
+    ) {
+        this.webClient = webClient;
+        this.meterRegistry = meterRegistry;
+        this.callTimeout = Duration.ofMillis(callTimeoutMs);
+        this.maxRetries = maxRetries;
+        this.retryBackoff = Duration.ofMillis(retryBackoffMs);
+        this.circuitBreaker = new CircuitBreaker(breakerFailureThreshold, breakerOpenMs);
+
+        meterRegistry.gauge("gym.supabase.admin.in_flight", inFlight);
+        meterRegistry.gauge("gym.supabase.admin.breaker_open", circuitBreaker,
+                breaker -> breaker.state() == CircuitBreaker.State.CLOSED ? 0 : 1);
+    }
+
+    /**
+     * POST /admin/users, returns the new user's id
+     * Not retried: a timed-out create may have succeeded
+     */
+    public Mono<String> createUser(String email, String password, String username, String fullName) {
+
+        Map<String, Object> body = Map.of(
+                "email", email,
+                "password", password,
+                "email_confirm", true,
+                "user_metadata", Map.of(
+                        "username", username,
+                        "full_name", fullName == null ? "" : fullName
+                )
+        );
+
+        return call("create_user", false, () -> webClient.post()
+                .uri("/users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(body)
+                .retrieve()
+                .bodyToMono(Map.class)
+                .flatMap(response -> response.get("id") instanceof String id
+                        ? Mono.just(id)
+                        : Mono.error(new IllegalStateException("Failed to create user"))));
+    }
+
+    /**
+     * DELETE /admin/users/{id} (idempotent → retried)
+     */
+    public Mono<Void> deleteUser(String userId) {
+        return call("delete_user", true, () -> webClient.delete()
+                .uri("/users/{id}", userId)
+                .retrieve()
+                .toBodilessEntity()
+                .then());
+    }
+
+    /* =========================
+       Internal helpers
+       ========================= */
+
+    private <T> Mono<T> call(String operation, boolean idempotent, Supplier<Mono<T>> request) {
+
+        Mono<T> attempt = Mono.defer(() -> {
+            if (!circuitBreaker.tryAcquire()) {
+                return Mono.error(new ServiceUnavailableException("Supabase admin API unavailable"));
+            }
+            return request.get()
+                    .timeout(callTimeout)
+                    .doOnSuccess(result -> circuitBreaker.onSuccess())
+                    .doOnError(ex -> {
+                        if (isServerSide(ex)) {
+                            circuitBreaker.onFailure();
+                        } else {
+                            circuitBreaker.onSuccess(); // 4xx: the API itself is healthy
+                        }
+                    })
+                    .doOnCancel(circuitBreaker::onCancel);
+        });
+
+        Mono<T> withRetries = !idempotent || maxRetries == 0
+                ? attempt
+                : attempt.retryWhen(Retry.backoff(maxRetries, retryBackoff)
+                    .jitter(0.5)
+                    .filter(SupabaseAdminClient::isServerSide)
+                    .onRetryExhaustedThrow((spec, signal) -> signal.failure()));
+
+        return Mono.defer(() -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            inFlight.incrementAndGet();
+
+            return withRetries
+                    .onErrorMap(SupabaseAdminClient::isServerSide,
+                            ex -> new ServiceUnavailableException("Supabase admin API unavailable"))
+                    .onErrorMap(WebClientResponseException.class,
+                            ex -> new IllegalArgumentException(
+                                    "Supabase rejected the request (" + ex.getStatusCode().value() + ")"))
+                    .doOnEach(signal -> {
+                        if (signal.isOnComplete() || signal.isOnError()) {
+                            sample.stop(timer(operation, signal.isOnError() ? "error" : "success"));
+                        }
+                    })
+                    .doFinally(signal -> inFlight.decrementAndGet());
+        });
+    }
+
+    private Timer timer(String operation, String outcome) {
+        return Timer.builder("gym.supabase.admin.calls")
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+    }
+
+    private static boolean isServerSide(Throwable ex) {
+        return ex instanceof TimeoutException
+                || ex instanceof WebClientRequestException
+                || (ex instanceof WebClientResponseException response
+                        && response.getStatusCode().is5xxServerError());
+    }
+}
@@ -0,0 +1,217 @@
+package com.powerzone.gym.service;
+
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timing wheel (four levels of 64 buckets).
+ *
+ * Level 0 holds timers due within 64 ticks, level 1 within 64² ticks and
+ * so on; with 1 s ticks the wheel reaches about 194 days. Timers further
+ * out sit in the top level and are re-placed when it cascades. A bucket
+ * is an intrusive doubly-linked list, so schedule and cancel are O(1);
+ * advancing moves a bucket one level down each time the level below
+ * wraps. Not thread-safe: callers serialize access.
+ */
+public class TimingWheel<T> {
+
+    private static final int BITS = 6;
+    private static final int SIZE = 1 << BITS;
+    private static final int MASK = SIZE - 1;
+    private static final int LEVELS = 4;
+    private static final long SPAN = 1L << (BITS * LEVELS);
+
+    private final long tickMs;
+    private final Bucket<T>[][] buckets;
+
+    private long currentTick;
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    public TimingWheel(long tickMs, long startMs) {
+
+        if (tickMs < 1) {
+            throw new IllegalArgumentException("tickMs must be at least 1");
+        }
+
+        this.tickMs = tickMs;
+        this.currentTick = startMs / tickMs;
+        this.buckets = new Bucket[LEVELS][SIZE];
+
+        for (int level = 0; level < LEVELS; level++) {
+            for (int index = 0; index < SIZE; index++) {
+                buckets[level][index] = new Bucket<>();
+            }
+        }
+    }
+
+    /* =========================
+       Public APIs
+       ========================= */
+
+    /**
+     * Add a timer; a deadline in the past fires on the next advance
+     */
+    public Timer<T> schedule(long deadlineMs, T payload) {
+
+        // Round up: a timer never fires before its deadline
+        long deadlineTick = Math.max(Math.floorDiv(deadlineMs + tickMs - 1, tickMs), currentTick + 1);
+
+        Timer<T> timer = new Timer<>(deadlineTick, payload);
+        place(timer);
+        size++;
+
+        return timer;
+    }
+
+    /**
+     * Remove a pending timer
+     *
+     * @return false if it already fired or was cancelled
+     */
+    public boolean cancel(Timer<T> timer) {
+
+        if (timer.bucket == null) {
+            return false;
+        }
+
+        timer.bucket.remove(timer);
+        size--;
+
+        return true;
+    }
+
+    /**
+     * Move time forward to nowMs and hand every timer due by then to expired
+     */
+    public void advance(long nowMs, Consumer<T> expired) {
+
+        long targetTick = Math.floorDiv(nowMs, tickMs);
+
+        while (currentTick < targetTick) {
+
+            if (size == 0) {
+                currentTick = targetTick;
+                return;
+            }
+
+            currentTick++;
+
+            // Level l cascades when every level below it wraps to 0
+            for (int level = 1; level < LEVELS && (currentTick & ((1L << (BITS * level)) - 1)) == 0; level++) {
+                Bucket<T> bucket = buckets[level][(int) ((currentTick >>> (BITS * level)) & MASK)];
+                for (Timer<T> timer = bucket.takeAll(); timer != null; ) {
+                    Timer<T> next = timer.next;
+                    timer.next = null;
+                    place(timer);
+                    timer = next;
+                }
+            }
+
+            Bucket<T> due = buckets[0][(int) (currentTick & MASK)];
+            for (Timer<T> timer = due.takeAll(); timer != null; ) {
+                Timer<T> next = timer.next;
+                timer.next = null;
+                size--;
+                expired.accept(timer.payload);
+                timer = next;
+            }
+        }
+    }
+
+    /**
+     * Pending timers
+     */
+    public int size() {
+        return size;
+    }
+
+    /* =========================
+       Internal helpers
+       ========================= */
+
+    private void place(Timer<T> timer) {
+
+        long delta = timer.deadlineTick - currentTick;
+
+        if (delta <= 0) {
+            // Cascaded onto the current tick: advance() drains this bucket next
+            buckets[0][(int) (currentTick & MASK)].add(timer);
+            return;
+        }
+
+        // Beyond the top level: park at its far end, re-placed when it cascades
+        long placeAt = delta < SPAN ? timer.deadlineTick : currentTick + SPAN - 1;
+        long placeDelta = placeAt - currentTick;
+
+        int level = 0;
+        while (level < LEVELS - 1 && placeDelta >= 1L << (BITS * (level + 1))) {
+            level++;
+        }
+
+        buckets[level][(int) ((placeAt >>> (BITS * level)) & MASK)].add(timer);
+    }
+
+    /**
+     * Handle for cancelling a scheduled timer
+     */
+    public static final class Timer<T> {
+
+        private final long deadlineTick;
+        private final T payload;
+
+        private Bucket<T> bucket;
+        private Timer<T> prev;
+        private Timer<T> next;
+
+        private Timer(long deadlineTick, T payload) {
+            this.deadlineTick = deadlineTick;
+            this.payload = payload;
+        }
+
+        public T payload() {
+            return payload;
+        }
+    }
+
+    private static final class Bucket<T> {
+
+        private Timer<T> head;
+
+        private void add(Timer<T> timer) {
+            timer.bucket = this;
+            timer.prev = null;
+            timer.next = head;
+            if (head != null) {
+                head.prev = timer;
+            }
+            head = timer;
+        }
+
+        private void remove(Timer<T> timer) {
+            if (timer.prev != null) {
+                timer.prev.next = timer.next;
+            } else {
+                head = timer.next;
+            }
+            if (timer.next != null) {
+                timer.next.prev = timer.prev;
+            }
+            timer.bucket = null;
+            timer.prev = null;
+            timer.next = null;
+        }
+
+        /**
+         * Detach the whole list; timers stay linked through next only
+         */
+        private Timer<T> takeAll() {
+            Timer<T> first = head;
+            head = null;
+            for (Timer<T> timer = first; timer != null; timer = timer.next) {
+                timer.bucket = null;
+                timer.prev = null;
+            }
+            return first;
+        }
+    }
+}
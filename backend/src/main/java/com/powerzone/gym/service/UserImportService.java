@@ -0,0 +1,522 @@
+package com.powerzone.gym.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.powerzone.gym.dto.CreateUserRequest;
+import com.powerzone.gym.dto.ImportJobResponse;
+import com.powerzone.gym.dto.ImportRowResult;
+import com.powerzone.gym.exception.NotFoundException;
+import com.powerzone.gym.repository.UserRoleRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk member import (CSV or NDJSON).
+ *
+ * The body is spooled to a temp file (rows counted, limit and CSV header
+ * checked), then read back one row at a time: each row is parsed and
+ * validated with the CreateUserRequest constraints as the provisioning
+ * Flux asks for it, and provisioned through the Supabase Admin API with
+ * bounded concurrency behind a token bucket. Only the per-row report and
+ * the emails seen so far stay in memory. Admin roles are written to
+ * user_roles in JDBC batches. Progress is kept per job for polling.
+ */
+@Service
+public class UserImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(UserImportService.class);
+
+    public static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+    public static final MediaType APPLICATION_NDJSON = MediaType.APPLICATION_NDJSON;
+
+    private final SupabaseAdminClient supabaseAdminClient;
+    private final UserRoleRepository userRoleRepository;
+    private final RoleService roleService;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+
+    private final int concurrency;
+    private final int roleBatchSize;
+    private final int maxRows;
+    private final TokenBucket rateLimit;
+
+    private final Cache<String, ImportJob> jobs;
+
+    public UserImportService(
+            SupabaseAdminClient supabaseAdminClient,
+            UserRoleRepository userRoleRepository,
+            RoleService roleService,
+            Validator validator,
+            ObjectMapper objectMapper,
+            @Value("${users.import.concurrency:8}") int concurrency,
+            @Value("${users.import.rate-per-second:20}") double ratePerSecond,
+            @Value("${users.import.burst:20}") long burst,
+            @Value("${users.import.role-batch-size:200}") int roleBatchSize,
+            @Value("${users.import.max-rows:50000}") int maxRows,
+            @Value("${users.import.job-retention-ms:86400000}") long jobRetentionMs
+    ) {
+        this.supabaseAdminClient = supabaseAdminClient;
+        this.userRoleRepository = userRoleRepository;
+        this.roleService = roleService;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.concurrency = concurrency;
+        this.roleBatchSize = roleBatchSize;
+        this.maxRows = maxRows;
+        this.rateLimit = new TokenBucket(burst, ratePerSecond);
+
+        this.jobs = Caffeine.newBuilder()
+                .maximumSize(100)
+                .expireAfterWrite(Duration.ofMillis(jobRetentionMs))
+                .build();
+    }
+
+    /* =========================
+       Public APIs
+       ========================= */
+
+    /**
+     * Spool the body, then parse, validate and provision it in the background
+     */
+    public ImportJobResponse startImport(String requestingUserId, InputStream body, MediaType contentType)
+            throws IOException {
+
+        roleService.assertAdmin(requestingUserId);
+
+        boolean csv = contentType != null && TEXT_CSV.includes(contentType);
+        Path spool = Files.createTempFile("user-import-", csv ? ".csv" : ".ndjson");
+        int total;
+
+        try {
+            total = spool(body, spool, csv);
+        } catch (IOException | RuntimeException ex) {
+            Files.deleteIfExists(spool);
+            throw ex;
+        }
+
+        ImportJob job = new ImportJob(UUID.randomUUID().toString(), total);
+        jobs.put(job.id, job);
+
+        // Rows arrive one at a time, in file order
+        Set<String> seenEmails = new HashSet<>();
+
+        Flux.using(
+                        () -> new RowReader(Files.newBufferedReader(spool, StandardCharsets.UTF_8), csv),
+                        RowReader::rows,
+                        reader -> reader.close(spool)
+                )
+                // File reads block: parse on boundedElastic, also when provisioning asks for more
+                .subscribeOn(Schedulers.boundedElastic())
+                .filter(row -> accept(job, row, seenEmails))
+                .flatMap(row -> provision(job, row), concurrency)
+                .filter(Provisioned::admin)
+                .buffer(roleBatchSize)
+                .concatMap(admins -> assignAdminRoles(job, admins))
+                .doFinally(signal -> job.finish())
+                .subscribe(
+                        ignored -> { },
+                        ex -> log.error("Import job {} failed", job.id, ex)
+                );
+
+        return job.toResponse(false);
+    }
+
+    /**
+     * Job status + per-row report
+     */
+    public ImportJobResponse getJob(String requestingUserId, String jobId) {
+
+        roleService.assertAdmin(requestingUserId);
+
+        ImportJob job = jobs.getIfPresent(jobId);
+
+        if (job == null) {
+            throw new NotFoundException("Import job not found");
+        }
+
+        return job.toResponse(true);
+    }
+
+    /* =========================
+       Internal helpers
+       ========================= */
+
+    private Mono<Provisioned> provision(ImportJob job, ParsedRow row) {
+
+        CreateUserRequest request = row.request();
+
+        Mono<Provisioned> call = supabaseAdminClient.createUser(
+                        request.getEmail(),
+                        request.getPassword(),
+                        request.getUsername(),
+                        request.getFullName()
+                )
+                .map(userId -> {
+                    boolean admin = "admin".equalsIgnoreCase(request.getRole());
+                    job.record(row.index(), new ImportRowResult(
+                            row.lineNumber(), request.getEmail(), "created", userId, null));
+                    return new Provisioned(row, userId, admin);
+                })
+                .onErrorResume(ex -> {
+                    job.record(row.index(), failed(row, ex.getMessage()));
+                    return Mono.empty();
+                });
+
+        // Token bucket: wait for our turn instead of hammering the admin API
+        return Mono.defer(() -> Mono.delay(Duration.ofNanos(rateLimit.reserve())).then(call));
+    }
+
+    private Mono<Void> assignAdminRoles(ImportJob job, List<Provisioned> admins) {
+
+        List<String> userIds = admins.stream().map(Provisioned::userId).toList();
+
+        return Mono.fromRunnable(() -> userRoleRepository.batchInsertRoles(userIds, "admin"))
+                .subscribeOn(Schedulers.boundedElastic())
+                .onErrorResume(ex -> {
+                    for (Provisioned admin : admins) {
+                        job.record(admin.row().index(), new ImportRowResult(
+                                admin.row().lineNumber(),
+                                admin.row().request().getEmail(),
+                                "failed",
+                                admin.userId(),
+                                "user created but admin role assignment failed"
+                        ));
+                    }
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    /**
+     * Record unparseable, invalid and duplicate rows as failed; true if the row is to be provisioned
+     */
+    private boolean accept(ImportJob job, ParsedRow row, Set<String> seenEmails) {
+
+        if (row.error() != null) {
+            job.record(row.index(), failed(row, row.error()));
+            return false;
+        }
+
+        String violations = validate(row.request());
+
+        if (violations != null) {
+            job.record(row.index(), failed(row, violations));
+            return false;
+        }
+
+        if (!seenEmails.add(row.request().getEmail().toLowerCase(Locale.ROOT))) {
+            job.record(row.index(), failed(row, "duplicate email in file"));
+            return false;
+        }
+
+        return true;
+    }
+
+    private String validate(CreateUserRequest request) {
+
+        Set<ConstraintViolation<CreateUserRequest>> violations = validator.validate(request);
+
+        if (violations.isEmpty()) {
+            return null;
+        }
+
+        return violations.stream()
+                .map(v -> v.getPropertyPath() + " " + v.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    /**
+     * Copies the body to the spool file; returns the number of rows (header and blank lines excluded)
+     */
+    private int spool(InputStream body, Path spool, boolean csv) throws IOException {
+
+        int rows = 0;
+        boolean header = csv;
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+             BufferedWriter writer = Files.newBufferedWriter(spool, StandardCharsets.UTF_8)) {
+
+            String line;
+
+            while ((line = reader.readLine()) != null) {
+
+                writer.write(line);
+                writer.newLine();
+
+                if (line.isBlank()) {
+                    continue;
+                }
+
+                if (header) {
+                    parseHeader(line); // fail fast with 400
+                    header = false;
+                    continue;
+                }
+
+                if (++rows > maxRows) {
+                    throw new IllegalArgumentException("Import is limited to " + maxRows + " rows");
+                }
+            }
+        }
+
+        return rows;
+    }
+
+    private static Map<String, Integer> parseHeader(String line) {
+
+        List<String> columns = splitCsv(line);
+        Map<String, Integer> header = new HashMap<>();
+
+        for (int i = 0; i < columns.size(); i++) {
+            String name = columns.get(i).trim().toLowerCase(Locale.ROOT).replace("_", "");
+            header.put(name, i);
+        }
+
+        if (!header.containsKey("email")) {
+            throw new IllegalArgumentException("CSV header must contain an email column");
+        }
+
+        return header;
+    }
+
+    private static CreateUserRequest fromCsv(Map<String, Integer> header, List<String> fields) {
+        return new CreateUserRequest(
+                column(header, fields, "email"),
+                column(header, fields, "password"),
+                column(header, fields, "username"),
+                column(header, fields, "fullname"),
+                column(header, fields, "role")
+        );
+    }
+
+    private static String column(Map<String, Integer> header, List<String> fields, String name) {
+        Integer index = header.get(name);
+        if (index == null || index >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    /**
+     * RFC 4180-ish split: commas, double-quoted fields, "" as an escaped quote
+     */
+    private static List<String> splitCsv(String line) {
+
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+
+        fields.add(current.toString());
+        return fields;
+    }
+
+    private static ImportRowResult failed(ParsedRow row, String message) {
+        return new ImportRowResult(row.lineNumber(), row.request().getEmail(), "failed", null, message);
+    }
+
+    /**
+     * Reads the spool file back one row at a time, on demand
+     */
+    private final class RowReader {
+
+        private final BufferedReader reader;
+        private final boolean csv;
+
+        private Map<String, Integer> header;
+        private int lineNumber;
+        private int index;
+
+        private RowReader(BufferedReader reader, boolean csv) {
+            this.reader = reader;
+            this.csv = csv;
+        }
+
+        private Flux<ParsedRow> rows() {
+            return Flux.generate(sink -> {
+                try {
+                    ParsedRow row = next();
+                    if (row != null) {
+                        sink.next(row);
+                    } else {
+                        sink.complete();
+                    }
+                } catch (IOException ex) {
+                    sink.error(ex);
+                }
+            });
+        }
+
+        /**
+         * Next row, or null at the end of the file
+         */
+        private ParsedRow next() throws IOException {
+
+            String line;
+
+            while ((line = reader.readLine()) != null) {
+
+                lineNumber++;
+
+                if (line.isBlank()) {
+                    continue;
+                }
+
+                if (csv && header == null) {
+                    header = parseHeader(line);
+                    continue;
+                }
+
+                try {
+                    CreateUserRequest request = csv
+                            ? fromCsv(header, splitCsv(line))
+                            : objectMapper.readValue(line, CreateUserRequest.class);
+                    return new ParsedRow(index++, lineNumber, request, null);
+                } catch (IOException | RuntimeException ex) {
+                    return new ParsedRow(index++, lineNumber, new CreateUserRequest(), "unparseable row");
+                }
+            }
+
+            return null;
+        }
+
+        private void close(Path spool) {
+            try {
+                reader.close();
+                Files.deleteIfExists(spool);
+            } catch (IOException ex) {
+                log.warn("Could not remove import spool file {}: {}", spool, ex.getMessage());
+            }
+        }
+    }
+
+    private record ParsedRow(
+            int index,
+            int lineNumber,
+            CreateUserRequest request,
+            String error
+    ) {}
+
+    private record Provisioned(
+            ParsedRow row,
+            String userId,
+            boolean admin
+    ) {}
+
+    /**
+     * Mutable progress of one import
+     */
+    private static final class ImportJob {
+
+        private final String id;
+        private final int total;
+        private final AtomicReferenceArray<ImportRowResult> results;
+        private final AtomicInteger processed = new AtomicInteger();
+        private final Instant startedAt = Instant.now();
+        private volatile Instant finishedAt;
+
+        private ImportJob(String id, int total) {
+            this.id = id;
+            this.total = total;
+            this.results = new AtomicReferenceArray<>(total);
+        }
+
+        private void record(int index, ImportRowResult result) {
+            if (results.getAndSet(index, result) == null) {
+                processed.incrementAndGet();
+            }
+        }
+
+        private void finish() {
+            finishedAt = Instant.now();
+        }
+
+        private ImportJobResponse toResponse(boolean includeRows) {
+
+            List<ImportRowResult> rows = new ArrayList<>();
+            int succeeded = 0;
+            int failed = 0;
+
+            for (int i = 0; i < total; i++) {
+                ImportRowResult result = results.get(i);
+                if (result == null) {
+                    continue;
+                }
+                if ("created".equals(result.getStatus())) {
+                    succeeded++;
+                } else {
+                    failed++;
+                }
+                if (includeRows) {
+                    rows.add(result);
+                }
+            }
+
+            return new ImportJobResponse(
+                    id,
+                    finishedAt != null ? "completed" : "running",
+                    total,
+                    processed.get(),
+                    succeeded,
+                    failed,
+                    startedAt,
+                    finishedAt,
+                    includeRows ? rows : List.of()
+            );
+        }
+    }
+}
@@ -3,73 +3,70 @@ package com.powerzone.gym.service;
 import com.powerzone.gym.dto.CreateUserRequest;
 import com.powerzone.gym.exception.ForbiddenException;
 import com.powerzone.gym.exception.UnauthorizedException;
+import com.powerzone.gym.repository.ProfileRepository;
+import com.powerzone.gym.repository.ProfileRepository.DirectoryRow;
 import com.powerzone.gym.repository.UserRoleRepository;
 
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
-import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
 import java.util.List;
-import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
 
 @Service
 public class UserService {
 
-    private final UserRoleRepository userRoleRepository;
-    private final WebClient webClient;
-
-    @Value("${supabase.url}")
-    private String supabaseUrl;
+    private static final int MAX_PAGE_SIZE = 200;
 
-    @Value("${supabase.service-role-key}")
-    private String serviceRoleKey;
-
-    public UserService(UserRoleRepository userRoleRepository) {
+    private final UserRoleRepository userRoleRepository;
+    private final ProfileRepository profileRepository;
+    private final RoleService roleService;
+    private final SupabaseAdminClient supabaseAdminClient;
+
+    public UserService(
+            UserRoleRepository userRoleRepository,
+            ProfileRepository profileRepository,
+            RoleService roleService,
+            SupabaseAdminClient supabaseAdminClient
+    ) {
         this.userRoleRepository = userRoleRepository;
-        this.webClient = WebClient.builder().build();
+        this.profileRepository = profileRepository;
+        this.roleService = roleService;
+        this.supabaseAdminClient = supabaseAdminClient;
     }
 
     /* =========================
        Public APIs
        ========================= */
 
-    public void createUser(String requestingUserId, CreateUserRequest request) {
+    public Mono<Void> createUser(String requestingUserId, CreateUserRequest request) {
 
         assertAdmin(requestingUserId);
 
-        Map<String, Object> body = Map.of(
-                "email", request.getEmail(),
-                "password", request.getPassword(),
-                "email_confirm", true,
-                "user_metadata", Map.of(
-                        "username", request.getUsername(),
-                        "full_name", request.getFullName()
+        return supabaseAdminClient.createUser(
+                        request.getEmail(),
+                        request.getPassword(),
+                        request.getUsername(),
+                        request.getFullName()
                 )
-        );
-
-        Map<String, Object> response = webClient.post()
-                .uri(supabaseUrl + "/auth/v1/admin/users")
-                .header(HttpHeaders.AUTHORIZATION, "Bearer " + serviceRoleKey)
-                .contentType(MediaType.APPLICATION_JSON)
-                .bodyValue(body)
-                .retrieve()
-                .bodyToMono(Map.class)
-                .block();
-
-        if (response == null || !response.containsKey("id")) {
-            throw new RuntimeException("Failed to create user");
-        }
-
-        String newUserId = (String) response.get("id");
-
-        if ("admin".equalsIgnoreCase(request.getRole())) {
-            userRoleRepository.insertRole(newUserId, "admin");
-        }
+                .flatMap(newUserId -> {
+                    if (!"admin".equalsIgnoreCase(request.getRole())) {
+                        return Mono.empty();
+                    }
+                    // JDBC is blocking, keep it off the Netty event loop
+                    return Mono.fromRunnable(() -> userRoleRepository.insertRole(newUserId, "admin"))
+                            .subscribeOn(Schedulers.boundedElastic());
+                })
+                .then();
     }
 
-    public void deleteUser(String requestingUserId, String userIdToDelete) {
+    public Mono<Void> deleteUser(String requestingUserId, String userIdToDelete) {
 
         assertAdmin(requestingUserId);
 
@@ -77,15 +74,10 @@ public class UserService {
             throw new ForbiddenException("Cannot delete your own account");
         }
 
-        webClient.delete()
-                .uri(supabaseUrl + "/auth/v1/admin/users/" + userIdToDelete)
-                .header(HttpHeaders.AUTHORIZATION, "Bearer " + serviceRoleKey)
-                .retrieve()
-                .toBodilessEntity()
-                .block();
+        return supabaseAdminClient.deleteUser(userIdToDelete);
     }
 
-    public void seedDefaultUsers(String requestingUserId) {
+    public Mono<Void> seedDefaultUsers(String requestingUserId) {
 
         assertAdmin(requestingUserId);
 
@@ -106,13 +98,77 @@ public class UserService {
                 )
         );
 
-        for (CreateUserRequest user : users) {
+        return Flux.fromIterable(users)
+                .concatMap(user -> createUser(requestingUserId, user)
+                        // User may already exist
+                        .onErrorResume(ex -> Mono.empty()))
+                .then();
+    }
+
+    /**
+     * Validated page request for the user directory (admin-only); call before
+     * the response is committed so bad input still maps to 400/403
+     */
+    public DirectoryPage directoryPage(
+            String requestingUserId,
+            String usernamePrefix,
+            String cursor,
+            int limit
+    ) {
+
+        assertAdmin(requestingUserId);
+
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+
+        Instant afterCreatedAt = null;
+        String afterId = null;
+
+        if (cursor != null && !cursor.isBlank()) {
             try {
-                createUser(requestingUserId, user);
-            } catch (Exception ignored) {
-                // User may already exist
+                String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8)
+                        .split("\\|", 2);
+                afterCreatedAt = Instant.parse(parts[0]);
+                afterId = UUID.fromString(parts[1]).toString();
+            } catch (RuntimeException ex) {
+                throw new IllegalArgumentException("Invalid cursor");
             }
         }
+
+        return new DirectoryPage(usernamePrefix, afterCreatedAt, afterId, limit);
+    }
+
+    /**
+     * One page of the user directory, streamed row by row
+     *
+     * @return cursor for the next page, or null on the last page
+     */
+    public String streamDirectory(DirectoryPage page, Consumer<DirectoryRow> consumer) {
+
+        DirectoryRow[] last = new DirectoryRow[1];
+        int[] count = new int[1];
+
+        profileRepository.streamDirectoryPage(page.usernamePrefix(), page.afterCreatedAt(), page.afterId(),
+                page.limit(), row -> {
+                    consumer.accept(row);
+                    last[0] = row;
+                    count[0]++;
+                });
+
+        if (count[0] < page.limit()) {
+            return null;
+        }
+
+        String next = last[0].createdAt() + "|" + last[0].id();
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(next.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Directory page with its cursor decoded; only built by {@link #directoryPage}
+     */
+    public record DirectoryPage(String usernamePrefix, Instant afterCreatedAt, String afterId, int limit) {
     }
 
     /* =========================
@@ -121,9 +177,7 @@ public class UserService {
 
     private void assertAdmin(String userId) {
 
-        boolean isAdmin = userRoleRepository.existsByUserIdAndRole(userId, "admin");
-
-        if (!isAdmin) {
+        if (!roleService.isAdmin(userId)) {
             throw new UnauthorizedException("Admin privileges required");
         }
     }
@@ -0,0 +1,417 @@
+package com.powerzone.gym.service;
+
+import com.powerzone.gym.dto.WaitlistResponse;
+import com.powerzone.gym.event.BookingCancelledEvent;
+import com.powerzone.gym.event.BookingCreatedEvent;
+import com.powerzone.gym.event.SlotOwnershipReleasedEvent;
+import com.powerzone.gym.event.WaitlistPromotedEvent;
+import com.powerzone.gym.exception.ConflictException;
+import com.powerzone.gym.exception.NotFoundException;
+import com.powerzone.gym.repository.BookingRepository;
+import com.powerzone.gym.repository.BookingRepository.BookingRow;
+import com.powerzone.gym.repository.WaitlistRepository;
+import com.powerzone.gym.repository.WaitlistRepository.WaitlistRow;
+import com.powerzone.gym.service.SlotCapacityCounters.Admission;
+import com.powerzone.gym.service.SlotCapacityCounters.SlotState;
+import com.powerzone.gym.service.SlotOwnership.Lease;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Per-slot waitlists with automatic promotion.
+ *
+ * Each slot's list is loaded once from the waitlist table into a
+ * skip-list ordered by (priority DESC, created_at, id) and kept in sync
+ * with it. When a place frees up the head is admitted through the same
+ * CAS counters as a normal booking, under a per-slot promotion lock, so
+ * concurrent cancellations promote distinct members in order. The
+ * promoted booking is inserted and the waitlist row deleted in one
+ * transaction, not written behind: a waiter only leaves the list with a
+ * booking. While a slot has waiters, direct bookings are refused.
+ */
+@Service
+public class WaitlistService {
+
+    private static final Logger log = LoggerFactory.getLogger(WaitlistService.class);
+
+    private static final Comparator<WaitlistRow> PROMOTION_ORDER = Comparator
+            .comparingInt(WaitlistRow::priority).reversed()
+            .thenComparing(WaitlistRow::createdAt)
+            .thenComparing(WaitlistRow::id);
+
+    private final WaitlistRepository waitlistRepository;
+    private final BookingRepository bookingRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final SlotCapacityCounters slotCapacityCounters;
+    private final SlotOwnership slotOwnership;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final Map<String, SlotWaitlist> waitlists = new ConcurrentHashMap<>();
+
+    private final Counter promotions;
+
+    public WaitlistService(
+            WaitlistRepository waitlistRepository,
+            BookingRepository bookingRepository,
+            TransactionTemplate transactionTemplate,
+            SlotCapacityCounters slotCapacityCounters,
+            SlotOwnership slotOwnership,
+            ApplicationEventPublisher eventPublisher,
+            MeterRegistry meterRegistry
+    ) {
+        this.waitlistRepository = waitlistRepository;
+        this.bookingRepository = bookingRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.slotCapacityCounters = slotCapacityCounters;
+        this.slotOwnership = slotOwnership;
+        this.eventPublisher = eventPublisher;
+
+        this.promotions = meterRegistry.counter("gym.waitlist.promotions");
+        meterRegistry.gauge("gym.waitlist.size", waitlists,
+                lists -> lists.values().stream().mapToInt(list -> list.entries.size()).sum());
+    }
+
+    /* =========================
+       Public APIs
+       ========================= */
+
+    /**
+     * Join the waitlist of a full slot
+     */
+    public WaitlistResponse join(String userId, String slotId) {
+
+        BookingService.requireUuid(slotId, "Invalid slot id");
+
+        try (Lease lease = slotOwnership.acquire(slotId)) {
+
+            SlotState slot = slotCapacityCounters.get(slotId);
+
+            if (slot.slotDate().isBefore(LocalDate.now())) {
+                throw new IllegalArgumentException("Cannot join the waitlist of a past slot");
+            }
+
+            if (slot.holds(userId)) {
+                throw new ConflictException("You have already booked this slot");
+            }
+
+            SlotWaitlist list = waitlistFor(slot);
+
+            if (!slot.isFull() && list.entries.isEmpty()) {
+                throw new ConflictException("Slot has free places, book it instead");
+            }
+
+            WaitlistRow entry = new WaitlistRow(
+                    UUID.randomUUID().toString(),
+                    slotId,
+                    slot.slotDate(),
+                    userId,
+                    0,
+                    Instant.now()
+            );
+
+            list.lock.lock();
+            try {
+                if (list.byUser.containsKey(userId)) {
+                    throw new ConflictException("You are already on the waitlist");
+                }
+                waitlistRepository.insert(entry);
+                list.byUser.put(userId, entry);
+                list.entries.add(entry);
+            } finally {
+                list.lock.unlock();
+            }
+
+            // A place may have freed up while we were joining
+            promote(slotId);
+
+            return position(userId, slotId);
+        }
+    }
+
+    /**
+     * Leave a slot's waitlist
+     */
+    public void leave(String userId, String slotId) {
+
+        BookingService.requireUuid(slotId, "Invalid slot id");
+
+        try (Lease lease = slotOwnership.acquire(slotId)) {
+
+            SlotWaitlist list = waitlistFor(slotCapacityCounters.get(slotId));
+
+            list.lock.lock();
+            try {
+                WaitlistRow entry = list.byUser.remove(userId);
+                if (entry == null) {
+                    throw new NotFoundException("You are not on this waitlist");
+                }
+                list.entries.remove(entry);
+                waitlistRepository.deleteById(entry.id());
+            } finally {
+                list.lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Current 1-based position of a member in a slot's waitlist
+     */
+    public WaitlistResponse position(String userId, String slotId) {
+
+        BookingService.requireUuid(slotId, "Invalid slot id");
+
+        SlotWaitlist list = waitlistFor(slotCapacityCounters.get(slotId));
+        WaitlistRow entry = list.byUser.get(userId);
+
+        if (entry == null) {
+            throw new NotFoundException("You are not on this waitlist");
+        }
+
+        return new WaitlistResponse(
+                slotId,
+                list.entries.headSet(entry).size() + 1,
+                list.entries.size()
+        );
+    }
+
+    /**
+     * Whether freed places of this slot are reserved for waiters
+     */
+    public boolean hasWaiters(String slotId) {
+        return !waitlistFor(slotCapacityCounters.get(slotId)).entries.isEmpty();
+    }
+
+    /**
+     * Which of these slots have waiters, loading unknown waitlists with one query
+     */
+    public Set<String> slotsWithWaiters(Collection<SlotState> slots) {
+
+        Map<String, SlotWaitlist> missing = new HashMap<>();
+
+        for (SlotState slot : slots) {
+            if (!waitlists.containsKey(slot.slotId())) {
+                missing.put(slot.slotId(), new SlotWaitlist(slot.slotDate()));
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            for (WaitlistRow row : waitlistRepository.findBySlotIds(missing.keySet())) {
+                missing.get(row.slotId()).add(row);
+            }
+            missing.forEach(waitlists::putIfAbsent);
+        }
+
+        return slots.stream()
+                .map(SlotState::slotId)
+                .filter(slotId -> !waitlists.get(slotId).entries.isEmpty())
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * Drop waitlists of slots handed to another node; the table keeps them
+     */
+    @EventListener
+    public void onOwnershipReleased(SlotOwnershipReleasedEvent event) {
+        waitlists.keySet().removeAll(event.slotIds());
+    }
+
+    @EventListener
+    public void onBookingCancelled(BookingCancelledEvent event) {
+        promote(event.slotId());
+    }
+
+    /**
+     * Pick up places freed by capacity changes or failed writes, drop past slots
+     */
+    @Scheduled(fixedDelayString = "${booking.waitlist.sweep-ms:30000}")
+    public void sweep() {
+
+        LocalDate today = LocalDate.now();
+
+        waitlists.values().removeIf(list -> list.slotDate.isBefore(today));
+
+        for (String slotId : waitlists.keySet()) {
+            try {
+                promote(slotId);
+            } catch (RuntimeException ex) {
+                log.warn("Waitlist promotion for slot {} failed: {}", slotId, ex.getMessage());
+            }
+        }
+    }
+
+    /* =========================
+       Internal helpers
+       ========================= */
+
+    /**
+     * Book waiters into free places, head first, until the slot is full
+     */
+    private void promote(String slotId) {
+
+        SlotWaitlist list = waitlists.get(slotId);
+
+        if (list == null || list.entries.isEmpty()) {
+            return;
+        }
+
+        // Not ours (any more): the owner promotes
+        Optional<Lease> lease = slotOwnership.tryAcquire(slotId);
+
+        if (lease.isEmpty()) {
+            return;
+        }
+
+        list.lock.lock();
+        try {
+            while (!list.entries.isEmpty()) {
+
+                WaitlistRow head = list.entries.first();
+                Admission admission = slotCapacityCounters.tryAdmit(slotId, head.userId());
+
+                if (admission == Admission.FULL) {
+                    return;
+                }
+
+                if (admission == Admission.ALREADY_BOOKED) {
+                    // Booked the slot some other way meanwhile
+                    waitlistRepository.deleteById(head.id());
+                } else if (!book(head)) {
+                    // Head keeps its turn; the next cancellation or sweep retries
+                    return;
+                }
+
+                list.entries.remove(head);
+                list.byUser.remove(head.userId());
+            }
+        } finally {
+            list.lock.unlock();
+            lease.get().close();
+        }
+    }
+
+    /**
+     * Turn an admitted waiter into a booking: insert it and delete the
+     * waitlist row in one transaction, then announce it.
+     *
+     * @return false if the transaction failed (the place is given back
+     *         and the waiter stays); a conflicting booking of the same
+     *         member counts as written
+     */
+    private boolean book(WaitlistRow entry) {
+
+        SlotState slot = slotCapacityCounters.get(entry.slotId());
+
+        BookingRow booking = new BookingRow(
+                UUID.randomUUID().toString(),
+                entry.userId(),
+                entry.slotId(),
+                BookingService.generateBookingCode(),
+                slot.slotDate()
+        );
+
+        Boolean inserted;
+
+        try {
+            inserted = transactionTemplate.execute(status -> {
+                boolean written = bookingRepository.batchInsert(List.of(booking))[0] > 0;
+                waitlistRepository.deleteById(entry.id());
+                return written;
+            });
+        } catch (RuntimeException ex) {
+            slotCapacityCounters.release(entry.slotId(), entry.userId());
+            log.warn("Promoting waiter {} into slot {} failed: {}", entry.userId(), entry.slotId(), ex.getMessage());
+            return false;
+        }
+
+        // Written (or already held): resync reads it from bookings now
+        slotCapacityCounters.settle(entry.slotId(), entry.userId());
+
+        if (!Boolean.TRUE.equals(inserted)) {
+            // Already holds a booking the counters had not seen: off the list, the place is theirs
+            return true;
+        }
+
+        promotions.increment();
+
+        eventPublisher.publishEvent(new BookingCreatedEvent(
+                booking.id(),
+                booking.userId(),
+                booking.slotId(),
+                booking.bookingCode(),
+                slot.slotDate(),
+                slot.startTime(),
+                slot.endTime()
+        ));
+
+        eventPublisher.publishEvent(new WaitlistPromotedEvent(
+                booking.id(),
+                booking.userId(),
+                booking.slotId(),
+                booking.bookingCode(),
+                slot.slotDate(),
+                slot.startTime(),
+                slot.endTime()
+        ));
+
+        return true;
+    }
+
+    private SlotWaitlist waitlistFor(SlotState slot) {
+
+        SlotWaitlist list = waitlists.get(slot.slotId());
+
+        if (list != null) {
+            return list;
+        }
+
+        // Loaded outside the map lock (JDBC); a losing concurrent load is discarded
+        SlotWaitlist loaded = new SlotWaitlist(slot.slotDate());
+        List<WaitlistRow> rows = waitlistRepository.findBySlotId(slot.slotId());
+        rows.forEach(loaded::add);
+
+        SlotWaitlist existing = waitlists.putIfAbsent(slot.slotId(), loaded);
+        return existing != null ? existing : loaded;
+    }
+
+    private static final class SlotWaitlist {
+
+        private final LocalDate slotDate;
+        private final NavigableSet<WaitlistRow> entries = new ConcurrentSkipListSet<>(PROMOTION_ORDER);
+        private final Map<String, WaitlistRow> byUser = new ConcurrentHashMap<>();
+
+        // Serializes joins, leaves and promotions of this slot
+        private final ReentrantLock lock = new ReentrantLock();
+
+        private SlotWaitlist(LocalDate slotDate) {
+            this.slotDate = slotDate;
+        }
+
+        private void add(WaitlistRow row) {
+            entries.add(row);
+            byUser.put(row.userId(), row);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.powerzone.gym.service;
+
+import com.powerzone.gym.dto.WorkoutStatsResponse;
+import com.powerzone.gym.dto.WorkoutStatsResponse.Point;
+import com.powerzone.gym.repository.WorkoutStatsRepository;
+import com.powerzone.gym.repository.WorkoutStatsRepository.DailyStatRow;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+public class WorkoutStatsService {
+
+    private static final int MAX_RANGE_DAYS = 3660;
+
+    // Same bucketing as WorkoutStats.tsx: daily up to 60 days, weekly beyond
+    private static final int DAILY_BUCKET_LIMIT = 60;
+
+    private final WorkoutStatsRepository workoutStatsRepository;
+
+    public WorkoutStatsService(WorkoutStatsRepository workoutStatsRepository) {
+        this.workoutStatsRepository = workoutStatsRepository;
+    }
+
+    /**
+     * Stats of the last N days (today included), pre-bucketed for charts
+     * Replaces: downloading the full booking history in WorkoutStats.tsx
+     */
+    public WorkoutStatsResponse getStats(String userId, int rangeDays) {
+
+        if (rangeDays < 1 || rangeDays > MAX_RANGE_DAYS) {
+            throw new IllegalArgumentException("range must be between 1 and " + MAX_RANGE_DAYS + " days");
+        }
+
+        LocalDate to = LocalDate.now();
+        LocalDate from = to.minusDays(rangeDays);
+        int days = rangeDays + 1;
+
+        int[] sessions = new int[days];
+        int[] minutes = new int[days];
+
+        int totalSessions = 0;
+        long totalMinutes = 0;
+
+        for (DailyStatRow row : workoutStatsRepository.findDaily(userId, from, to)) {
+            int index = (int) ChronoUnit.DAYS.between(from, row.day());
+            sessions[index] = row.sessions();
+            minutes[index] = row.minutes();
+            totalSessions += row.sessions();
+            totalMinutes += row.minutes();
+        }
+
+        int interval = rangeDays > DAILY_BUCKET_LIMIT ? 7 : 1;
+        List<Point> chartData = new ArrayList<>(days / interval + 1);
+
+        for (int start = 0; start < days; start += interval) {
+
+            int bucketSessions = 0;
+            int bucketMinutes = 0;
+
+            for (int i = start; i < Math.min(start + interval, days); i++) {
+                bucketSessions += sessions[i];
+                bucketMinutes += minutes[i];
+            }
+
+            chartData.add(new Point(from.plusDays(start), bucketSessions, toHours(bucketMinutes)));
+        }
+
+        double weeks = rangeDays / 7.0;
+        double avgPerWeek = Math.round(totalSessions / weeks * 10) / 10.0;
+
+        return new WorkoutStatsResponse(
+                totalSessions,
+                toHours(totalMinutes),
+                avgPerWeek,
+                chartData
+        );
+    }
+
+    /**
+     * Parses "30", "30d" or "365d"
+     */
+    public static int parseRange(String range) {
+        String value = range.endsWith("d") ? range.substring(0, range.length() - 1) : range;
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Invalid range: " + range);
+        }
+    }
+
+    private static double toHours(long minutes) {
+        return Math.round(minutes / 60.0 * 10) / 10.0;
+    }
+}
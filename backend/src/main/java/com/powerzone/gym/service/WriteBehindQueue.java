@@ -0,0 +1,144 @@
+package com.powerzone.gym.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Queue drained by one writer thread in batches (BookingWriter, CheckinWriter).
+ *
+ * The thread waits up to max-wait for a first item, takes whatever else
+ * is queued up to batch-size and hands the batch to the owner's write
+ * callback. {@link #attempt} runs one batch insert with retries and
+ * exponential backoff. stop() writes what is still queued.
+ */
+final class WriteBehindQueue<T> {
+
+    private static final Logger log = LoggerFactory.getLogger(WriteBehindQueue.class);
+
+    private final String name;
+    private final int batchSize;
+    private final long maxWaitMs;
+    private final int maxAttempts;
+    private final Consumer<List<T>> write;
+
+    private final BlockingQueue<T> queue = new LinkedBlockingQueue<>();
+
+    private volatile boolean running = false;
+    private Thread thread;
+
+    WriteBehindQueue(String name, int batchSize, long maxWaitMs, int maxAttempts, Consumer<List<T>> write) {
+        this.name = name;
+        this.batchSize = batchSize;
+        this.maxWaitMs = maxWaitMs;
+        this.maxAttempts = maxAttempts;
+        this.write = write;
+    }
+
+    void add(T item) {
+        queue.add(item);
+    }
+
+    int size() {
+        return queue.size();
+    }
+
+    synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        thread = new Thread(this::run, name);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    void stop() throws InterruptedException {
+        running = false;
+        if (thread != null) {
+            thread.interrupt();
+            thread.join(TimeUnit.SECONDS.toMillis(10));
+        }
+        // Flush whatever is still queued
+        List<T> batch = new ArrayList<>();
+        while (queue.drainTo(batch, batchSize) > 0) {
+            write.accept(batch);
+            batch.clear();
+        }
+    }
+
+    /**
+     * Run a batch insert until it succeeds or max-attempts have failed
+     */
+    <R> Attempts<R> attempt(Supplier<R> insert) {
+
+        int failed = 0;
+
+        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+            try {
+                return new Attempts<>(true, insert.get(), failed);
+            } catch (RuntimeException ex) {
+                failed++;
+                log.warn("{} batch insert failed (attempt {}/{}): {}", name, attempt, maxAttempts, ex.getMessage());
+                backoff(attempt);
+            }
+        }
+
+        return new Attempts<>(false, null, failed);
+    }
+
+    /* =========================
+       Internal helpers
+       ========================= */
+
+    private void run() {
+
+        List<T> batch = new ArrayList<>(batchSize);
+
+        while (running) {
+            try {
+                T first = queue.poll(maxWaitMs, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+
+                write.accept(batch);
+
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException ex) {
+                log.error("{} loop failed", name, ex);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private static void backoff(int attempt) {
+        try {
+            Thread.sleep(Math.min(1000L, 50L << attempt));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Outcome of {@link #attempt}: the insert's result once it succeeded,
+     * and how many attempts failed before (a failed one may have committed)
+     */
+    record Attempts<R>(
+            boolean succeeded,
+            R result,
+            int failed
+    ) {}
+}
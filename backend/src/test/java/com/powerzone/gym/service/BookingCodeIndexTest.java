@@ -0,0 +1,103 @@
+package com.powerzone.gym.service;
+
+import com.powerzone.gym.event.BookingCancelledEvent;
+import com.powerzone.gym.event.BookingCreatedEvent;
+import com.powerzone.gym.repository.CheckinRepository;
+import com.powerzone.gym.repository.CheckinRepository.IndexRow;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+
+class BookingCodeIndexTest {
+
+    // Codes are unique per slot date only
+    private static final String CODE = "GYM-ABCD2345";
+
+    private final LocalDate today = LocalDate.now();
+    private final LocalDate tomorrow = today.plusDays(1);
+
+    private BookingCodeIndex index;
+
+    @BeforeEach
+    void setUp() {
+        CheckinRepository checkinRepository = mock(CheckinRepository.class);
+
+        doAnswer(invocation -> {
+            Consumer<IndexRow> consumer = invocation.getArgument(2);
+            consumer.accept(row("booking-today", today));
+            return null;
+        }).when(checkinRepository).streamIndexRows(any(), any(), any());
+
+        index = new BookingCodeIndex(checkinRepository, 0.01, new SimpleMeterRegistry());
+        index.rebuild();
+    }
+
+    @Test
+    void sameCodeOnTwoDatesIsIndexedTwice() {
+
+        index.onBookingCreated(new BookingCreatedEvent("booking-tomorrow", "member-2", "slot-2", CODE,
+                tomorrow, LocalTime.of(7, 0), LocalTime.of(8, 0)));
+
+        assertThat(index.find(CODE, today)).get()
+                .extracting(BookingCodeIndex.CodeEntry::bookingId).isEqualTo("booking-today");
+        assertThat(index.find(CODE, tomorrow)).get()
+                .extracting(BookingCodeIndex.CodeEntry::bookingId).isEqualTo("booking-tomorrow");
+
+        // Checking in or cancelling one leaves the other alone
+        assertThat(index.markCheckedIn(CODE, today)).isEqualTo(BookingCodeIndex.Mark.MARKED);
+        assertThat(index.find(CODE, tomorrow).orElseThrow().checkedIn()).isFalse();
+
+        index.onBookingCancelled(new BookingCancelledEvent("booking-tomorrow", "member-2", "slot-2", CODE,
+                tomorrow, LocalTime.of(7, 0), LocalTime.of(8, 0)));
+
+        assertThat(index.find(CODE, tomorrow)).isEmpty();
+        assertThat(index.find(CODE, today)).isPresent();
+    }
+
+    @Test
+    void loadedRowDoesNotReplaceTheOtherDatesBooking() {
+
+        BookingCodeIndex.CodeEntry loaded = index.load(row("booking-tomorrow", tomorrow));
+
+        assertThat(loaded.bookingId()).isEqualTo("booking-tomorrow");
+        assertThat(index.find(CODE, today).orElseThrow().bookingId()).isEqualTo("booking-today");
+    }
+
+    @Test
+    void bookingLoadedWhileTheIndexMissesTodayCanBeCheckedIn() {
+
+        CheckinRepository failing = mock(CheckinRepository.class);
+        doThrow(new DataAccessResourceFailureException("connection refused"))
+                .when(failing).streamIndexRows(any(), any(), any());
+
+        // Every rebuild so far failed: the index covers no day at all
+        BookingCodeIndex stale = new BookingCodeIndex(failing, 0.01, new SimpleMeterRegistry());
+        stale.rebuild();
+
+        stale.load(row("booking-today", today));
+
+        assertThat(stale.markCheckedIn(CODE, today)).isEqualTo(BookingCodeIndex.Mark.MARKED);
+        assertThat(stale.markCheckedIn(CODE, today)).isEqualTo(BookingCodeIndex.Mark.ALREADY_CHECKED_IN);
+        assertThat(stale.markCheckedIn(CODE, tomorrow)).isEqualTo(BookingCodeIndex.Mark.NOT_INDEXED);
+    }
+
+    /* =========================
+       Internal helpers
+       ========================= */
+
+    private static IndexRow row(String bookingId, LocalDate slotDate) {
+        return new IndexRow(bookingId, "member-1", "slot-1", CODE, slotDate,
+                LocalTime.of(18, 0), LocalTime.of(19, 0), false);
+    }
+}
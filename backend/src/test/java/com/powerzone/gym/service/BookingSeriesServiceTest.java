@@ -0,0 +1,106 @@
+package com.powerzone.gym.service;
+
+import com.powerzone.gym.config.SlotTemplateProperties;
+import com.powerzone.gym.dto.CreateSeriesRequest;
+import com.powerzone.gym.dto.SeriesBookingResponse;
+import com.powerzone.gym.dto.SeriesBookingResponse.Occurrence;
+import com.powerzone.gym.repository.BookingRepository;
+import com.powerzone.gym.repository.BookingRepository.BookingRow;
+import com.powerzone.gym.repository.SlotRepository;
+import com.powerzone.gym.repository.SlotRepository.SlotRow;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BookingSeriesServiceTest {
+
+    private static final int BURST = 3;
+    private static final LocalTime START = LocalTime.of(18, 0);
+
+    private final LocalDate from = LocalDate.now().plusDays(1);
+    private final LocalDate to = from.plusDays(6);
+
+    private BookingSeriesService seriesService;
+
+    @BeforeEach
+    void setUp() {
+        SlotRepository slotRepository = mock(SlotRepository.class);
+        BookingRepository bookingRepository = mock(BookingRepository.class);
+
+        List<SlotRow> rows = new ArrayList<>();
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            rows.add(new SlotRow(UUID.randomUUID().toString(), date, START, START.plusHours(2), 0, 10));
+        }
+        when(slotRepository.findByDatesAndStartTime(any(), eq(START))).thenReturn(rows);
+
+        SlotCapacityCounters counters = new SlotCapacityCounters(slotRepository, bookingRepository);
+
+        // Refills far slower than the test runs: only the burst is available
+        BookingAdmissionControl admissionControl = new BookingAdmissionControl(
+                counters, new SimpleMeterRegistry(), 0.0001, BURST, 4, 256, 2_000);
+
+        WaitlistService waitlistService = mock(WaitlistService.class);
+        when(waitlistService.slotsWithWaiters(any())).thenReturn(Set.of());
+
+        SlotOwnership slotOwnership = mock(SlotOwnership.class);
+        when(slotOwnership.acquire(anyString())).thenReturn(() -> { });
+
+        BookingService bookingService = mock(BookingService.class);
+        when(bookingService.place(any(), anyString())).thenAnswer(invocation -> {
+            SlotCapacityCounters.SlotState slot = invocation.getArgument(0);
+            BookingRow booking = new BookingRow(UUID.randomUUID().toString(), invocation.getArgument(1),
+                    slot.slotId(), "GYM-TEST0001", slot.slotDate());
+            return new BookingService.Placement(booking, slot, CompletableFuture.completedFuture(true));
+        });
+        when(bookingService.confirm(any())).thenReturn(true);
+
+        seriesService = new BookingSeriesService(
+                slotRepository,
+                new SlotTemplateProperties(),
+                counters,
+                admissionControl,
+                waitlistService,
+                bookingService,
+                slotOwnership,
+                mock(ClusterForwarder.class),
+                182,
+                7
+        );
+    }
+
+    @Test
+    void everyOccurrenceSpendsATokenLikeASingleBooking() {
+
+        CreateSeriesRequest request = new CreateSeriesRequest(EnumSet.allOf(DayOfWeek.class), START, from, to);
+
+        SeriesBookingResponse response = seriesService.bookSeries("member-1", request, false);
+
+        assertThat(response.getOccurrences()).extracting(Occurrence::getStatus)
+                .containsExactly("booked", "booked", "booked",
+                        "rate_limited", "rate_limited", "rate_limited", "rate_limited");
+
+        // Sending it again reports the booked dates without spending tokens
+        SeriesBookingResponse again = seriesService.bookSeries("member-1", request, false);
+
+        assertThat(again.getOccurrences()).extracting(Occurrence::getStatus)
+                .startsWith("already_booked", "already_booked", "already_booked")
+                .endsWith("rate_limited");
+    }
+}
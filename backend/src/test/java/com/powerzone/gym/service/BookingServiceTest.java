@@ -0,0 +1,153 @@
+package com.powerzone.gym.service;
+
+import com.powerzone.gym.event.BookingCreatedEvent;
+import com.powerzone.gym.exception.ConflictException;
+import com.powerzone.gym.exception.ServiceUnavailableException;
+import com.powerzone.gym.repository.BookingRepository;
+import com.powerzone.gym.repository.BookingRepository.BookingRow;
+import com.powerzone.gym.repository.SlotRepository;
+import com.powerzone.gym.repository.SlotRepository.SlotRow;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BookingServiceTest {
+
+    private static final int CAPACITY = 30;
+
+    private final String slotId = UUID.randomUUID().toString();
+
+    // Rows handed to BookingWriter
+    private final Queue<BookingRow> written = new ConcurrentLinkedQueue<>();
+
+    private BookingService bookingService;
+    private BookingWriter bookingWriter;
+    private ApplicationEventPublisher eventPublisher;
+    private SlotCapacityCounters counters;
+
+    @BeforeEach
+    void setUp() {
+        SlotRepository slotRepository = mock(SlotRepository.class);
+        BookingRepository bookingRepository = mock(BookingRepository.class);
+
+        when(slotRepository.findById(slotId)).thenReturn(Optional.of(new SlotRow(
+                slotId, LocalDate.now().plusDays(1), LocalTime.of(18, 0), LocalTime.of(20, 0), 0, CAPACITY
+        )));
+        when(bookingRepository.findUserIdsBySlotId(eq(slotId), any())).thenReturn(List.of());
+
+        counters = new SlotCapacityCounters(slotRepository, bookingRepository);
+
+        BookingAdmissionControl admissionControl = mock(BookingAdmissionControl.class);
+        when(admissionControl.enter(anyString(), anyString())).thenReturn(() -> { });
+
+        SlotOwnership slotOwnership = mock(SlotOwnership.class);
+        when(slotOwnership.acquire(anyString())).thenReturn(() -> { });
+
+        bookingWriter = mock(BookingWriter.class);
+        doAnswer(invocation -> {
+            written.add(invocation.getArgument(0));
+            return CompletableFuture.completedFuture(true);
+        }).when(bookingWriter).enqueue(any());
+        when(bookingWriter.awaitWritten(any(), any(), anyLong()))
+                .thenAnswer(invocation -> invocation.<CompletableFuture<Boolean>>getArgument(1).join());
+
+        eventPublisher = mock(ApplicationEventPublisher.class);
+
+        bookingService = new BookingService(
+                counters,
+                admissionControl,
+                bookingWriter,
+                mock(WaitlistService.class),
+                slotOwnership,
+                bookingRepository,
+                mock(RoleService.class),
+                eventPublisher,
+                5_000
+        );
+    }
+
+    @Test
+    void concurrentBookingsFillTheSlotExactlyOnce() throws Exception {
+
+        int members = 500;
+        int attemptsPerMember = 4;
+        AtomicInteger booked = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+
+        ExecutorService executor = Executors.newFixedThreadPool(64);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+
+        try {
+            for (int i = 0; i < members * attemptsPerMember; i++) {
+                String userId = "member-" + (i % members);
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        bookingService.book(userId, slotId);
+                        booked.incrementAndGet();
+                    } catch (ConflictException ex) {
+                        rejected.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+
+            start.countDown();
+
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(booked.get()).isEqualTo(CAPACITY);
+        assertThat(rejected.get()).isEqualTo(members * attemptsPerMember - CAPACITY);
+        assertThat(counters.get(slotId).booked()).isEqualTo(CAPACITY);
+
+        // One row per admitted member, none twice
+        assertThat(written).hasSize(CAPACITY);
+        assertThat(written.stream().map(BookingRow::userId).distinct().count()).isEqualTo(CAPACITY);
+        assertThat(written.stream().map(BookingRow::bookingCode).distinct().count()).isEqualTo(CAPACITY);
+    }
+
+    @Test
+    void unwrittenBookingIsRefusedAndNotAnnounced() {
+
+        doAnswer(invocation -> CompletableFuture.completedFuture(false)).when(bookingWriter).enqueue(any());
+
+        assertThatThrownBy(() -> bookingService.book("member-1", slotId))
+                .isInstanceOf(ServiceUnavailableException.class);
+
+        verify(eventPublisher, never()).publishEvent(any(BookingCreatedEvent.class));
+    }
+}
@@ -0,0 +1,137 @@
+package com.powerzone.gym.service;
+
+import com.powerzone.gym.repository.BookingRepository;
+import com.powerzone.gym.repository.BookingRepository.BookingRow;
+import com.powerzone.gym.repository.SlotRepository;
+import com.powerzone.gym.repository.SlotRepository.SlotRow;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BookingWriterTest {
+
+    private final String slotId = UUID.randomUUID().toString();
+    private final LocalDate slotDate = LocalDate.now().plusDays(1);
+
+    private BookingRepository bookingRepository;
+    private SlotCapacityCounters counters;
+    private BookingWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        SlotRepository slotRepository = mock(SlotRepository.class);
+        bookingRepository = mock(BookingRepository.class);
+        TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+
+        when(slotRepository.findById(slotId)).thenReturn(Optional.of(
+                new SlotRow(slotId, slotDate, LocalTime.of(6, 0), LocalTime.of(8, 0), 0, 10)
+        ));
+        when(bookingRepository.findUserIdsBySlotId(eq(slotId), any())).thenReturn(List.of());
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+
+        counters = new SlotCapacityCounters(slotRepository, bookingRepository);
+        writer = new BookingWriter(bookingRepository, counters, transactionTemplate, 200, 5, 2);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        writer.stop();
+    }
+
+    @Test
+    void bookingIsConfirmedOnceItsBatchIsCommitted() {
+
+        when(bookingRepository.batchInsert(anyList())).thenReturn(new int[]{1});
+        writer.start();
+
+        BookingRow booking = admit("member-1");
+
+        assertThat(writer.awaitWritten(booking, writer.enqueue(booking), 5_000)).isTrue();
+        assertThat(counters.get(slotId).holds("member-1")).isTrue();
+    }
+
+    @Test
+    void failedWriteIsRefusedAndGivesThePlaceBack() {
+
+        when(bookingRepository.batchInsert(anyList()))
+                .thenThrow(new DataAccessResourceFailureException("connection refused"));
+        writer.start();
+
+        BookingRow booking = admit("member-1");
+
+        assertThat(writer.awaitWritten(booking, writer.enqueue(booking), 5_000)).isFalse();
+        assertThat(counters.get(slotId).booked()).isZero();
+        assertThat(counters.get(slotId).holds("member-1")).isFalse();
+    }
+
+    @Test
+    void retryAfterALostCommitAckConfirmsTheRowAlreadyWritten() {
+
+        // Attempt 1 commits but its ack is lost; the retry's ON CONFLICT skips the row
+        when(bookingRepository.batchInsert(anyList()))
+                .thenThrow(new DataAccessResourceFailureException("connection reset"))
+                .thenReturn(new int[]{0, 0});
+
+        BookingRow written = admit("member-1");
+        BookingRow conflicting = admit("member-2");
+
+        when(bookingRepository.findExistingIds(anyList(), any(), any())).thenReturn(Set.of(written.id()));
+
+        CompletableFuture<Boolean> writtenPersisted = writer.enqueue(written);
+        CompletableFuture<Boolean> conflictingPersisted = writer.enqueue(conflicting);
+        writer.start();
+
+        assertThat(writer.awaitWritten(written, writtenPersisted, 5_000)).isTrue();
+        assertThat(writer.awaitWritten(conflicting, conflictingPersisted, 5_000)).isFalse();
+        assertThat(counters.get(slotId).holds("member-1")).isTrue();
+        assertThat(counters.get(slotId).holds("member-2")).isFalse();
+        assertThat(counters.get(slotId).booked()).isEqualTo(1);
+    }
+
+    @Test
+    void bookingStillQueuedAtTheTimeoutIsDroppedAndGivesThePlaceBack() {
+
+        // Writer not started: nothing leaves the queue
+        BookingRow booking = admit("member-1");
+        CompletableFuture<Boolean> persisted = writer.enqueue(booking);
+
+        assertThat(writer.awaitWritten(booking, persisted, 50)).isFalse();
+        assertThat(counters.get(slotId).booked()).isZero();
+        assertThat(writer.findPending(booking.id())).isEmpty();
+
+        // A later writer never inserts it
+        writer.start();
+        assertThat(writer.flush(1_000)).isTrue();
+        verify(bookingRepository, never()).batchInsert(anyList());
+    }
+
+    /* =========================
+       Internal helpers
+       ========================= */
+
+    private BookingRow admit(String userId) {
+        counters.tryAdmit(slotId, userId);
+        return new BookingRow(UUID.randomUUID().toString(), userId, slotId, "GYM-TEST0001", slotDate);
+    }
+}
@@ -0,0 +1,39 @@
+package com.powerzone.gym.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CircuitBreakerTest {
+
+    @Test
+    void cancelledTrialCallLetsTheNextCallThrough() throws Exception {
+
+        CircuitBreaker circuitBreaker = new CircuitBreaker(1, 10);
+
+        circuitBreaker.onFailure();
+        assertThat(circuitBreaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+
+        Thread.sleep(20);
+        assertThat(circuitBreaker.tryAcquire()).isTrue();
+        assertThat(circuitBreaker.state()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+
+        // Trial subscriber went away without an outcome
+        circuitBreaker.onCancel();
+
+        assertThat(circuitBreaker.tryAcquire()).isTrue();
+        circuitBreaker.onSuccess();
+        assertThat(circuitBreaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void cancelledCallDoesNotOpenAClosedBreaker() {
+
+        CircuitBreaker circuitBreaker = new CircuitBreaker(1, 10_000);
+
+        assertThat(circuitBreaker.tryAcquire()).isTrue();
+        circuitBreaker.onCancel();
+
+        assertThat(circuitBreaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+}
@@ -0,0 +1,85 @@
+package com.powerzone.gym.service;
+
+import com.powerzone.gym.event.BookingCreatedEvent;
+import com.powerzone.gym.repository.BookingRepository;
+import com.powerzone.gym.repository.ClusterNodeRepository.ClusterNode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SessionRemindersTest {
+
+    private static final long TICK_MS = 10;
+
+    private SlotOwnership slotOwnership;
+    private ReminderSender sender;
+    private SimpleMeterRegistry meterRegistry;
+    private SessionReminders reminders;
+
+    @BeforeEach
+    void setUp() {
+        slotOwnership = mock(SlotOwnership.class);
+        sender = mock(ReminderSender.class);
+        meterRegistry = new SimpleMeterRegistry();
+
+        when(slotOwnership.remoteOwner(any(), any())).thenReturn(Optional.empty());
+
+        // One minute lead: a session starting in a minute and 100 ms is due in 100 ms
+        reminders = new SessionReminders(mock(BookingRepository.class), slotOwnership, sender, meterRegistry,
+                true, 1, 6, TICK_MS, 500);
+    }
+
+    @Test
+    void ownedSlotIsReminded() throws Exception {
+
+        reminders.onBookingCreated(bookingStartingIn(60_100));
+
+        Thread.sleep(200);
+        reminders.tick();
+
+        verify(sender, times(1)).send(anyList());
+        assertThat(reminders.pending()).isZero();
+    }
+
+    @Test
+    void slotMovedToAnotherNodeIsNotRemindedHere() throws Exception {
+
+        reminders.onBookingCreated(bookingStartingIn(60_100));
+        assertThat(reminders.pending()).isEqualTo(1);
+
+        // Handed over while the timer was pending (slot never loaded in the counters here)
+        when(slotOwnership.remoteOwner(any(), any()))
+                .thenReturn(Optional.of(new ClusterNode("other", "http://other:8080")));
+
+        Thread.sleep(200);
+        reminders.tick();
+
+        verify(sender, never()).send(anyList());
+        assertThat(meterRegistry.counter("gym.reminders.dispatched", "outcome", "handed_over").count())
+                .isEqualTo(1);
+    }
+
+    /* =========================
+       Internal helpers
+       ========================= */
+
+    private static BookingCreatedEvent bookingStartingIn(long millis) {
+        LocalDateTime start = LocalDateTime.now().plusNanos(millis * 1_000_000);
+        return new BookingCreatedEvent(UUID.randomUUID().toString(), UUID.randomUUID().toString(),
+                UUID.randomUUID().toString(), "GYM-TEST0001", start.toLocalDate(), start.toLocalTime(),
+                start.toLocalTime().plusHours(1));
+    }
+}
@@ -0,0 +1,103 @@
+package com.powerzone.gym.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.powerzone.gym.dto.SlotDelta;
+import com.powerzone.gym.event.PgNotificationListener;
+import com.powerzone.gym.service.SlotSnapshotCache.SlotsView;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.http.codec.ServerSentEvent;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SlotAvailabilityStreamTest {
+
+    private static final String SLOT_ID = "slot-1";
+
+    private final LocalDate date = LocalDate.now().plusDays(1);
+
+    private SlotSnapshotCache slotSnapshotCache;
+    private MeterRegistry meterRegistry;
+    private PgNotificationListener.Handler notifications;
+    private SlotAvailabilityStream stream;
+
+    @BeforeEach
+    void setUp() {
+        slotSnapshotCache = mock(SlotSnapshotCache.class);
+        PgNotificationListener notificationListener = mock(PgNotificationListener.class);
+        meterRegistry = new SimpleMeterRegistry();
+
+        stream = new SlotAvailabilityStream(
+                mock(SlotCapacityCounters.class),
+                slotSnapshotCache,
+                notificationListener,
+                new ObjectMapper(),
+                60_000,
+                meterRegistry
+        );
+
+        ArgumentCaptor<PgNotificationListener.Handler> handler =
+                ArgumentCaptor.forClass(PgNotificationListener.Handler.class);
+        verify(notificationListener).subscribe(eq(SlotAvailabilityStream.CHANNEL), handler.capture());
+        notifications = handler.getValue();
+    }
+
+    @Test
+    void changeFlushedWhileTheSnapshotIsReadFollowsTheSnapshot() {
+
+        when(slotSnapshotCache.get(date)).thenAnswer(invocation -> {
+            // Another node books while this watcher's snapshot is being read
+            notifications.onNotification(payload(7));
+            stream.flush();
+            return new SlotsView(List.of(), "\"etag\"");
+        });
+
+        List<ServerSentEvent<?>> events = stream.watch(date).take(2).collectList().block(Duration.ofSeconds(5));
+
+        assertThat(events).extracting(ServerSentEvent::event).containsExactly("snapshot", "delta");
+        assertThat((List<?>) events.get(1).data()).singleElement()
+                .extracting(delta -> ((SlotDelta) delta).getCurrentBookings()).isEqualTo(7);
+    }
+
+    @Test
+    void feedIsHeldOnlyWhileSubscribed() {
+
+        when(slotSnapshotCache.get(date)).thenReturn(new SlotsView(List.of(), "\"etag\""));
+
+        Flux<ServerSentEvent<?>> unsubscribed = stream.watch(date);
+        assertThat(watchers()).isZero();
+
+        Disposable subscription = unsubscribed.subscribe();
+        assertThat(watchers()).isEqualTo(1);
+
+        subscription.dispose();
+        assertThat(watchers()).isZero();
+    }
+
+    /* =========================
+       Internal helpers
+       ========================= */
+
+    private double watchers() {
+        return meterRegistry.get("gym.slots.stream.watchers").gauge().value();
+    }
+
+    private String payload(int currentBookings) {
+        return """
+                {"id": "%s", "slot_date": "%s", "current_bookings": %d, "max_capacity": 10}
+                """.formatted(SLOT_ID, date, currentBookings);
+    }
+}
@@ -0,0 +1,245 @@
+package com.powerzone.gym.service;
+
+import com.powerzone.gym.repository.BookingRepository;
+import com.powerzone.gym.repository.SlotRepository;
+import com.powerzone.gym.repository.SlotRepository.SlotRow;
+import com.powerzone.gym.service.SlotCapacityCounters.Admission;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SlotCapacityCountersTest {
+
+    private static final int THREADS = 64;
+    private static final int CAPACITY = 50;
+
+    private final String slotId = UUID.randomUUID().toString();
+    private final LocalDate slotDate = LocalDate.now().plusDays(1);
+
+    private SlotRepository slotRepository;
+    private BookingRepository bookingRepository;
+    private SlotCapacityCounters counters;
+
+    @BeforeEach
+    void setUp() {
+        slotRepository = mock(SlotRepository.class);
+        bookingRepository = mock(BookingRepository.class);
+
+        when(slotRepository.findById(slotId)).thenReturn(Optional.of(
+                new SlotRow(slotId, slotDate, LocalTime.of(6, 0), LocalTime.of(8, 0), 0, CAPACITY)
+        ));
+        when(bookingRepository.findUserIdsBySlotId(eq(slotId), any())).thenReturn(List.of());
+
+        counters = new SlotCapacityCounters(slotRepository, bookingRepository);
+    }
+
+    @Test
+    void thousandsOfParallelAdmissionsNeverOverbook() throws Exception {
+
+        int attempts = 5_000;
+        Set<String> admitted = ConcurrentHashMap.newKeySet();
+        AtomicInteger full = new AtomicInteger();
+
+        runConcurrently(attempts, i -> {
+            String userId = "user-" + i;
+            Admission admission = counters.tryAdmit(slotId, userId);
+            if (admission == Admission.ADMITTED) {
+                assertThat(admitted.add(userId)).isTrue();
+            } else if (admission == Admission.FULL) {
+                full.incrementAndGet();
+            }
+        });
+
+        assertThat(admitted).hasSize(CAPACITY);
+        assertThat(full.get()).isEqualTo(attempts - CAPACITY);
+        assertThat(counters.get(slotId).booked()).isEqualTo(CAPACITY);
+        assertThat(counters.get(slotId).isFull()).isTrue();
+    }
+
+    @Test
+    void sameMemberIsAdmittedOnlyOnce() throws Exception {
+
+        int members = 20;
+        AtomicInteger admitted = new AtomicInteger();
+        AtomicInteger duplicates = new AtomicInteger();
+
+        // Every member retries 100 times at once
+        runConcurrently(members * 100, i -> {
+            Admission admission = counters.tryAdmit(slotId, "user-" + (i % members));
+            if (admission == Admission.ADMITTED) {
+                admitted.incrementAndGet();
+            } else if (admission == Admission.ALREADY_BOOKED) {
+                duplicates.incrementAndGet();
+            }
+        });
+
+        assertThat(admitted.get()).isEqualTo(members);
+        assertThat(duplicates.get()).isEqualTo(members * 99);
+        assertThat(counters.get(slotId).booked()).isEqualTo(members);
+    }
+
+    @Test
+    void admissionsRacingCancellationsStayWithinCapacity() throws Exception {
+
+        // Fill the slot, then let holders cancel while newcomers book
+        for (int i = 0; i < CAPACITY; i++) {
+            assertThat(counters.tryAdmit(slotId, "holder-" + i)).isEqualTo(Admission.ADMITTED);
+        }
+
+        Set<String> newcomers = ConcurrentHashMap.newKeySet();
+
+        runConcurrently(4_000, i -> {
+            if (i < CAPACITY) {
+                counters.release(slotId, "holder-" + i);
+            } else if (counters.tryAdmit(slotId, "newcomer-" + i) == Admission.ADMITTED) {
+                newcomers.add("newcomer-" + i);
+            }
+        });
+
+        SlotCapacityCounters.SlotState slot = counters.get(slotId);
+
+        // Every holder left, so the count is exactly the newcomers let in
+        assertThat(slot.booked()).isLessThanOrEqualTo(CAPACITY);
+        assertThat(slot.booked()).isEqualTo(newcomers.size());
+        newcomers.forEach(userId -> assertThat(slot.holds(userId)).isTrue());
+
+        // Places still free after the race are handed out, never more
+        for (int i = 0; i < CAPACITY; i++) {
+            counters.tryAdmit(slotId, "late-" + i);
+        }
+        assertThat(slot.booked()).isEqualTo(CAPACITY);
+    }
+
+    @Test
+    void resyncAdoptsBookingsWrittenElsewhereAndKeepsQueuedOnes() {
+
+        counters.tryAdmit(slotId, "queued");
+        counters.tryAdmit(slotId, "deleted-elsewhere");
+        counters.settle(slotId, "queued");
+        counters.settle(slotId, "deleted-elsewhere");
+
+        when(bookingRepository.findUserIdsBySlotId(eq(slotId), any()))
+                .thenReturn(List.of("inserted-elsewhere-1", "inserted-elsewhere-2"));
+
+        assertThat(counters.resync(slotId, () -> Set.of("queued"))).isTrue();
+
+        SlotCapacityCounters.SlotState slot = counters.get(slotId);
+        assertThat(slot.booked()).isEqualTo(3);
+        assertThat(slot.holds("queued")).isTrue();
+        assertThat(slot.holds("inserted-elsewhere-1")).isTrue();
+        assertThat(slot.holds("deleted-elsewhere")).isFalse();
+    }
+
+    @Test
+    void resyncBetweenAdmitAndEnqueueKeepsTheAdmittedHolder() {
+
+        for (int i = 0; i < CAPACITY - 1; i++) {
+            counters.tryAdmit(slotId, "queued-" + i);
+        }
+        Set<String> queued = ConcurrentHashMap.newKeySet();
+        for (int i = 0; i < CAPACITY - 1; i++) {
+            queued.add("queued-" + i);
+            counters.settle(slotId, "queued-" + i);
+        }
+
+        // Admitted, not in the writer's queue yet
+        assertThat(counters.tryAdmit(slotId, "in-gap")).isEqualTo(Admission.ADMITTED);
+
+        assertThat(counters.resync(slotId, () -> Set.copyOf(queued))).isTrue();
+
+        SlotCapacityCounters.SlotState slot = counters.get(slotId);
+        assertThat(slot.holds("in-gap")).isTrue();
+        assertThat(slot.booked()).isEqualTo(CAPACITY);
+        assertThat(counters.tryAdmit(slotId, "late")).isEqualTo(Admission.FULL);
+
+        // Once queued, the pending set carries it
+        queued.add("in-gap");
+        counters.settle(slotId, "in-gap");
+        counters.resync(slotId, () -> Set.copyOf(queued));
+
+        assertThat(slot.holds("in-gap")).isTrue();
+        assertThat(slot.booked()).isEqualTo(CAPACITY);
+    }
+
+    @Test
+    void resyncsRacingAdmissionsNeverOverAdmit() throws Exception {
+
+        int attempts = 2_000;
+        Set<String> queued = ConcurrentHashMap.newKeySet();
+        Set<String> admitted = ConcurrentHashMap.newKeySet();
+
+        runConcurrently(attempts, i -> {
+            if (i % 10 == 0) {
+                counters.resync(slotId, () -> Set.copyOf(queued));
+                return;
+            }
+            String userId = "user-" + i;
+            if (counters.tryAdmit(slotId, userId) == Admission.ADMITTED) {
+                admitted.add(userId);
+                Thread.yield();
+                // BookingWriter.enqueue: into pending, then settled
+                queued.add(userId);
+                counters.settle(slotId, userId);
+            }
+        });
+
+        counters.resync(slotId, () -> Set.copyOf(queued));
+
+        assertThat(admitted).hasSize(CAPACITY);
+        assertThat(counters.get(slotId).booked()).isEqualTo(CAPACITY);
+    }
+
+    /* =========================
+       Internal helpers
+       ========================= */
+
+    interface Task {
+        void run(int index) throws Exception;
+    }
+
+    private static void runConcurrently(int count, Task task) throws Exception {
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>(count);
+
+        try {
+            for (int i = 0; i < count; i++) {
+                int index = i;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    task.run(index);
+                    return null;
+                }));
+            }
+
+            start.countDown();
+
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
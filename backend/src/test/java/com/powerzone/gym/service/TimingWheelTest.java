@@ -0,0 +1,114 @@
+package com.powerzone.gym.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimingWheelTest {
+
+    // Ticks covered by one bucket of each level, and the whole wheel
+    private static final long L1 = 64;
+    private static final long L2 = 64 * 64;
+    private static final long L3 = 64 * 64 * 64;
+    private static final long SPAN = 64L * 64 * 64 * 64;
+
+    private final List<Long> fired = new ArrayList<>();
+
+    @Test
+    void timersAcrossEveryLevelBoundaryFireOnTheirTick() {
+
+        TimingWheel<Long> wheel = new TimingWheel<>(1, 0);
+
+        long[] deadlines = {
+                1, L1 - 1, L1, L1 + 1,
+                L2 - 1, L2, L2 + 1,
+                L3 - 1, L3, L3 + 1,
+                SPAN - 1, SPAN, SPAN + 1,
+                2 * SPAN + 12_345
+        };
+
+        for (long deadline : deadlines) {
+            wheel.schedule(deadline, deadline);
+        }
+
+        for (int i = 0; i < deadlines.length; i++) {
+            long deadline = deadlines[i];
+
+            wheel.advance(deadline - 1, fired::add);
+            assertThat(fired).as("fired before %d", deadline).hasSize(i);
+
+            wheel.advance(deadline, fired::add);
+            assertThat(fired).as("fired at %d", deadline).hasSize(i + 1).last().isEqualTo(deadline);
+        }
+
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void timerCancelledAfterCascadingNeverFires() {
+
+        TimingWheel<Long> wheel = new TimingWheel<>(1, 0);
+
+        TimingWheel.Timer<Long> level2 = wheel.schedule(L2 + 10, L2 + 10);
+        TimingWheel.Timer<Long> beyondSpan = wheel.schedule(SPAN + 10, SPAN + 10);
+        wheel.schedule(L2 + 20, L2 + 20);
+
+        // L2 cascades level2 down; SPAN re-places the one parked beyond the wheel
+        wheel.advance(L2, fired::add);
+        assertThat(wheel.cancel(level2)).isTrue();
+
+        wheel.advance(SPAN, fired::add);
+        assertThat(wheel.cancel(beyondSpan)).isTrue();
+        assertThat(wheel.cancel(beyondSpan)).isFalse();
+
+        wheel.advance(2 * SPAN, fired::add);
+
+        assertThat(fired).containsExactly(L2 + 20);
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void manyTimersOnOneTickFireTogetherExceptCancelledOnes() {
+
+        TimingWheel<Long> wheel = new TimingWheel<>(1, 0);
+        List<TimingWheel.Timer<Long>> timers = new ArrayList<>();
+
+        for (long i = 0; i < 1_000; i++) {
+            timers.add(wheel.schedule(L3 + 5, i));
+        }
+
+        // Cancel from the head, middle and tail of the bucket's list
+        for (int i = 0; i < timers.size(); i += 3) {
+            assertThat(wheel.cancel(timers.get(i))).isTrue();
+        }
+        assertThat(wheel.size()).isEqualTo(666);
+
+        wheel.advance(L3 + 4, fired::add);
+        assertThat(fired).isEmpty();
+
+        wheel.advance(L3 + 5, fired::add);
+        assertThat(fired).hasSize(666).doesNotHaveDuplicates().allMatch(payload -> payload % 3 != 0);
+        assertThat(wheel.size()).isZero();
+
+        // Fired timers cannot be cancelled
+        assertThat(wheel.cancel(timers.get(1))).isFalse();
+    }
+
+    @Test
+    void deadlinesRoundUpToTheNextTickAndPastOnesFireNext() {
+
+        TimingWheel<Long> wheel = new TimingWheel<>(1_000, 10_000);
+
+        wheel.schedule(11_500, 11_500L);
+        wheel.schedule(5_000, 5_000L);
+
+        wheel.advance(11_999, fired::add);
+        assertThat(fired).containsExactly(5_000L);
+
+        wheel.advance(12_000, fired::add);
+        assertThat(fired).containsExactly(5_000L, 11_500L);
+    }
+}
@@ -0,0 +1,133 @@
+package com.powerzone.gym.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.powerzone.gym.dto.ImportJobResponse;
+import com.powerzone.gym.dto.ImportRowResult;
+import com.powerzone.gym.repository.UserRoleRepository;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import reactor.core.publisher.Mono;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserImportServiceTest {
+
+    private static final int CONCURRENCY = 2;
+
+    private SupabaseAdminClient supabaseAdminClient;
+    private UserImportService importService;
+
+    @BeforeEach
+    void setUp() {
+        supabaseAdminClient = mock(SupabaseAdminClient.class);
+
+        importService = new UserImportService(
+                supabaseAdminClient,
+                mock(UserRoleRepository.class),
+                mock(RoleService.class),
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                new ObjectMapper(),
+                CONCURRENCY,
+                1_000_000,
+                1_000_000,
+                200,
+                50_000,
+                60_000
+        );
+    }
+
+    @Test
+    void rowsAreReportedInFileOrderWithFailuresPerLine() throws Exception {
+
+        when(supabaseAdminClient.createUser(anyString(), anyString(), anyString(), any()))
+                .thenAnswer(invocation -> Mono.just(UUID.randomUUID().toString()));
+
+        String csv = """
+                email,password,username,full_name,role
+                a@powerzone.com,secret1,alice,Alice,user
+
+                not-an-email,secret1,bob,,user
+                a@powerzone.com,secret1,alice2,,user
+                "c@powerzone.com","sec,ret","carol","Carol ""C"" Jr",admin
+                """;
+
+        ImportJobResponse started = start(csv, UserImportService.TEXT_CSV.toString());
+        assertThat(started.getTotal()).isEqualTo(4);
+
+        ImportJobResponse job = awaitCompleted(started.getJobId());
+
+        assertThat(job.getSucceeded()).isEqualTo(2);
+        assertThat(job.getRows()).extracting(ImportRowResult::getRow).containsExactly(2, 4, 5, 6);
+        assertThat(job.getRows()).extracting(ImportRowResult::getStatus)
+                .containsExactly("created", "failed", "failed", "created");
+        assertThat(job.getRows().get(2).getMessage()).isEqualTo("duplicate email in file");
+        verify(supabaseAdminClient, times(1)).createUser("c@powerzone.com", "sec,ret", "carol", "Carol \"C\" Jr");
+    }
+
+    @Test
+    void rowsAreOnlyReadAsProvisioningAsksForThem() throws Exception {
+
+        // Provisioning never completes: no more rows should be read than it has room for
+        when(supabaseAdminClient.createUser(anyString(), anyString(), anyString(), any()))
+                .thenReturn(Mono.never());
+
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < CONCURRENCY; i++) {
+            ndjson.append("{\"email\":\"m").append(i).append("@powerzone.com\",\"password\":\"secret1\",\"username\":\"m")
+                    .append(i).append("\"}\n");
+        }
+        for (int i = 0; i < 1_000; i++) {
+            ndjson.append("{\"email\":\"invalid\"}\n");
+        }
+
+        ImportJobResponse started = start(ndjson.toString(), UserImportService.APPLICATION_NDJSON.toString());
+        assertThat(started.getTotal()).isEqualTo(CONCURRENCY + 1_000);
+
+        Thread.sleep(500);
+
+        ImportJobResponse job = importService.getJob("admin", started.getJobId());
+        assertThat(job.getStatus()).isEqualTo("running");
+        assertThat(job.getProcessed()).isZero();
+        verify(supabaseAdminClient, times(CONCURRENCY)).createUser(anyString(), anyString(), anyString(), any());
+    }
+
+    /* =========================
+       Internal helpers
+       ========================= */
+
+    private ImportJobResponse start(String body, String contentType) throws Exception {
+        return importService.startImport(
+                "admin",
+                new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)),
+                MediaType.parseMediaType(contentType)
+        );
+    }
+
+    private ImportJobResponse awaitCompleted(String jobId) throws InterruptedException {
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+
+        while (System.nanoTime() < deadline) {
+            ImportJobResponse job = importService.getJob("admin", jobId);
+            if ("completed".equals(job.getStatus())) {
+                return job;
+            }
+            Thread.sleep(20);
+        }
+
+        throw new AssertionError("Import job " + jobId + " did not complete");
+    }
+}
@@ -0,0 +1,228 @@
+package com.powerzone.gym.service;
+
+import com.powerzone.gym.event.BookingCancelledEvent;
+import com.powerzone.gym.repository.BookingRepository;
+import com.powerzone.gym.repository.BookingRepository.BookingRow;
+import com.powerzone.gym.repository.SlotRepository;
+import com.powerzone.gym.repository.SlotRepository.SlotRow;
+import com.powerzone.gym.repository.WaitlistRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class WaitlistServiceTest {
+
+    private static final int CAPACITY = 10;
+    private static final int WAITERS = 3_000;
+
+    private final String slotId = UUID.randomUUID().toString();
+    private final LocalDate slotDate = LocalDate.now().plusDays(1);
+
+    private final ThreadLocal<Boolean> inTransaction = ThreadLocal.withInitial(() -> false);
+
+    // user → booking inserted inside a transaction
+    private final Map<String, BookingRow> inserted = new ConcurrentHashMap<>();
+    // waitlist row id → deleted inside a transaction
+    private final Map<String, Boolean> deleted = new ConcurrentHashMap<>();
+
+    private final AtomicBoolean databaseDown = new AtomicBoolean(false);
+
+    private SlotCapacityCounters counters;
+    private WaitlistService waitlistService;
+
+    @BeforeEach
+    void setUp() {
+        SlotRepository slotRepository = mock(SlotRepository.class);
+        BookingRepository bookingRepository = mock(BookingRepository.class);
+        WaitlistRepository waitlistRepository = mock(WaitlistRepository.class);
+        TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+
+        when(slotRepository.findById(slotId)).thenReturn(Optional.of(
+                new SlotRow(slotId, slotDate, LocalTime.of(7, 0), LocalTime.of(9, 0), 0, CAPACITY)
+        ));
+        when(bookingRepository.findUserIdsBySlotId(eq(slotId), any())).thenReturn(List.of());
+        when(waitlistRepository.findBySlotId(slotId)).thenReturn(List.of());
+        when(waitlistRepository.insert(any())).thenReturn(true);
+
+        when(transactionTemplate.execute(any())).thenAnswer(invocation -> {
+            inTransaction.set(true);
+            try {
+                return invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null);
+            } finally {
+                inTransaction.set(false);
+            }
+        });
+
+        when(bookingRepository.batchInsert(anyList())).thenAnswer(invocation -> {
+            if (databaseDown.get()) {
+                throw new DataAccessResourceFailureException("connection refused");
+            }
+            List<BookingRow> rows = invocation.getArgument(0);
+            rows.forEach(row -> inserted.put(row.userId(), row));
+            return new int[]{1};
+        });
+
+        when(waitlistRepository.deleteById(anyString())).thenAnswer(invocation -> {
+            deleted.put(invocation.getArgument(0), inTransaction.get());
+            return true;
+        });
+
+        SlotOwnership slotOwnership = mock(SlotOwnership.class);
+        when(slotOwnership.acquire(anyString())).thenReturn(() -> { });
+        when(slotOwnership.tryAcquire(anyString())).thenReturn(Optional.of(() -> { }));
+
+        counters = new SlotCapacityCounters(slotRepository, bookingRepository);
+
+        waitlistService = new WaitlistService(
+                waitlistRepository,
+                bookingRepository,
+                transactionTemplate,
+                counters,
+                slotOwnership,
+                mock(ApplicationEventPublisher.class),
+                new SimpleMeterRegistry()
+        );
+
+        for (int i = 0; i < CAPACITY; i++) {
+            counters.tryAdmit(slotId, "holder-" + i);
+        }
+    }
+
+    @Test
+    void concurrentCancellationsPromoteTheHeadsOfThousandsOfWaiters() throws Exception {
+
+        runConcurrently(WAITERS, i -> waitlistService.join("waiter-" + i, slotId));
+
+        List<String> queue = waitersInOrder();
+        assertThat(queue).hasSize(WAITERS);
+
+        runConcurrently(CAPACITY, i -> cancel("holder-" + i));
+
+        // The first CAPACITY waiters, each booked exactly once, inside the transaction that deleted their row
+        Set<String> expected = Set.copyOf(queue.subList(0, CAPACITY));
+        assertThat(inserted.keySet()).isEqualTo(expected);
+        assertThat(deleted).hasSize(CAPACITY).doesNotContainValue(false);
+        assertThat(inserted.values().stream().map(BookingRow::bookingCode).distinct().count()).isEqualTo(CAPACITY);
+
+        assertThat(counters.get(slotId).booked()).isEqualTo(CAPACITY);
+        expected.forEach(userId -> assertThat(counters.get(slotId).holds(userId)).isTrue());
+
+        // Everyone else moved up by CAPACITY places, in the same order
+        assertThat(waitersInOrder()).isEqualTo(queue.subList(CAPACITY, WAITERS));
+    }
+
+    @Test
+    void failedPromotionKeepsTheWaiterAndGivesThePlaceBack() throws Exception {
+
+        runConcurrently(100, i -> waitlistService.join("waiter-" + i, slotId));
+        String head = waitersInOrder().get(0);
+
+        databaseDown.set(true);
+        cancel("holder-0");
+
+        assertThat(inserted).isEmpty();
+        assertThat(deleted).isEmpty();
+        assertThat(waitlistService.position(head, slotId).getPosition()).isEqualTo(1);
+        assertThat(counters.get(slotId).booked()).isEqualTo(CAPACITY - 1);
+        assertThat(counters.get(slotId).holds(head)).isFalse();
+
+        // Direct bookings still see the waiters
+        assertThat(waitlistService.hasWaiters(slotId)).isTrue();
+
+        databaseDown.set(false);
+        waitlistService.sweep();
+
+        assertThat(inserted.keySet()).containsExactly(head);
+        assertThat(counters.get(slotId).booked()).isEqualTo(CAPACITY);
+        assertThat(waitersInOrder()).hasSize(99).doesNotContain(head);
+    }
+
+    /* =========================
+       Internal helpers
+       ========================= */
+
+    private void cancel(String userId) {
+        counters.release(slotId, userId);
+        waitlistService.onBookingCancelled(new BookingCancelledEvent(UUID.randomUUID().toString(), userId,
+                slotId, "GYM-TEST0001", slotDate, LocalTime.of(7, 0), LocalTime.of(9, 0)));
+    }
+
+    private List<String> waitersInOrder() {
+
+        List<String> waiting = new ArrayList<>();
+
+        for (int i = 0; i < WAITERS; i++) {
+            String userId = "waiter-" + i;
+            try {
+                waiting.add(userId + ":" + waitlistService.position(userId, slotId).getPosition());
+            } catch (RuntimeException ex) {
+                // Not (or no longer) waiting
+            }
+        }
+
+        return waiting.stream()
+                .sorted(Comparator.comparingInt(entry -> Integer.parseInt(entry.substring(entry.indexOf(':') + 1))))
+                .map(entry -> entry.substring(0, entry.indexOf(':')))
+                .collect(Collectors.toList());
+    }
+
+    interface Task {
+        void run(int index) throws Exception;
+    }
+
+    private static void runConcurrently(int count, Task task) throws Exception {
+
+        ExecutorService executor = Executors.newFixedThreadPool(32);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>(count);
+
+        try {
+            for (int i = 0; i < count; i++) {
+                int index = i;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    task.run(index);
+                    return null;
+                }));
+            }
+
+            start.countDown();
+
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
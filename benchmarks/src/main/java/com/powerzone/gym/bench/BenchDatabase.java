@@ -0,0 +1,158 @@
+package com.powerzone.gym.bench;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Postgres stand-in for repository benchmarks, one per forked JVM.
+ *
+ * Starts an embedded Postgres unless -Dbench.jdbc.url points at a local
+ * one (bench.jdbc.user / bench.jdbc.password). The tables the benchmarked
+ * repositories read are created in public with the production column
+ * names and seeded, so only use a throwaway database.
+ */
+public final class BenchDatabase {
+
+    public static final int USERS = 10_000;
+    public static final int SLOT_DAYS = 400;
+
+    private static BenchDatabase instance;
+
+    private final EmbeddedPostgres embedded;
+    private final HikariDataSource dataSource;
+    private final List<String> userIds = new ArrayList<>(USERS);
+
+    private BenchDatabase() throws IOException {
+
+        String url = System.getProperty("bench.jdbc.url");
+
+        this.embedded = url == null ? EmbeddedPostgres.start() : null;
+
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl(url != null ? url : embedded.getJdbcUrl("postgres", "postgres"));
+        config.setUsername(System.getProperty("bench.jdbc.user", "postgres"));
+        config.setPassword(System.getProperty("bench.jdbc.password", "postgres"));
+        config.setMaximumPoolSize(4);
+        config.setPoolName("bench-db");
+
+        this.dataSource = new HikariDataSource(config);
+
+        createSchema();
+        seed();
+    }
+
+    public static synchronized BenchDatabase get() {
+        if (instance == null) {
+            try {
+                instance = new BenchDatabase();
+                Runtime.getRuntime().addShutdownHook(new Thread(instance::close));
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+        return instance;
+    }
+
+    public DataSource dataSource() {
+        return dataSource;
+    }
+
+    public JdbcTemplate jdbcTemplate() {
+        return new JdbcTemplate(dataSource);
+    }
+
+    /**
+     * Seeded user ids; every tenth one is admin
+     */
+    public List<String> userIds() {
+        return userIds;
+    }
+
+    /* =========================
+       Internal helpers
+       ========================= */
+
+    private void createSchema() {
+
+        JdbcTemplate jdbc = jdbcTemplate();
+
+        jdbc.execute("""
+            DO $$ BEGIN
+                CREATE TYPE public.app_role AS ENUM ('admin', 'user');
+            EXCEPTION WHEN duplicate_object THEN NULL;
+            END $$
+        """);
+
+        jdbc.execute("""
+            CREATE TABLE IF NOT EXISTS public.user_roles (
+                id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+                user_id UUID NOT NULL,
+                role public.app_role NOT NULL,
+                UNIQUE (user_id, role)
+            )
+        """);
+
+        jdbc.execute("""
+            CREATE TABLE IF NOT EXISTS public.daily_slots (
+                id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+                slot_date DATE NOT NULL,
+                slot_start_time TIME NOT NULL,
+                slot_end_time TIME NOT NULL,
+                max_capacity INTEGER NOT NULL DEFAULT 20,
+                current_bookings INTEGER NOT NULL DEFAULT 0,
+                UNIQUE (slot_date, slot_start_time)
+            )
+        """);
+    }
+
+    private void seed() {
+
+        JdbcTemplate jdbc = jdbcTemplate();
+
+        List<Object[]> roles = new ArrayList<>(USERS);
+
+        for (int i = 0; i < USERS; i++) {
+            String userId = UUID.randomUUID().toString();
+            userIds.add(userId);
+            roles.add(new Object[]{userId, i % 10 == 0 ? "admin" : "user"});
+        }
+
+        jdbc.batchUpdate(
+                "INSERT INTO public.user_roles (user_id, role) VALUES (?::uuid, ?::public.app_role)",
+                roles
+        );
+
+        // Eight two-hour slots a day around today, pseudo-random occupancy
+        jdbc.update("""
+            INSERT INTO public.daily_slots (slot_date, slot_start_time, slot_end_time, max_capacity, current_bookings)
+            SELECT d::date, make_time(h, 0, 0), make_time(h + 2, 0, 0), 20,
+                   (hashint4(EXTRACT(DOY FROM d)::int * 24 + h) & 2147483647) % 21
+            FROM generate_series(CURRENT_DATE - ?, CURRENT_DATE + 30, INTERVAL '1 day') AS d,
+                 generate_series(6, 20, 2) AS h
+            ON CONFLICT (slot_date, slot_start_time) DO NOTHING
+        """, SLOT_DAYS - 30);
+
+        jdbc.execute("ANALYZE public.user_roles");
+        jdbc.execute("ANALYZE public.daily_slots");
+    }
+
+    private void close() {
+        dataSource.close();
+        if (embedded != null) {
+            try {
+                embedded.close();
+            } catch (IOException ignored) {
+                // JVM is exiting
+            }
+        }
+    }
+}
@@ -0,0 +1,354 @@
+package com.powerzone.gym.bench;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Booking throughput of a local cluster, by number of nodes.
+ *
+ * Usage: java -cp target/benchmarks.jar com.powerzone.gym.bench.ClusterBenchmark
+ *            [backend-dir] [max-nodes] [seconds-per-run] [result.json]
+ *
+ * Expects backend-dir (default ../backend) built with package. Starts an
+ * embedded Postgres with the Supabase migrations applied, a local JWKS
+ * and 2,000 members. For 1 … max-nodes nodes it boots that many backend
+ * JVMs with cluster.enabled=true against the same database, waits for
+ * the partitions to settle, then sends POST /bookings round robin over
+ * the nodes (like a load balancer; most requests are forwarded to the
+ * slot's owner) from CLIENTS threads. Each run starts from empty bookings
+ * and slots with room for every member; a warm-up of a third of the run
+ * is not counted.
+ */
+public final class ClusterBenchmark {
+
+    private static final int MEMBERS = 2_000;
+    private static final int CLIENTS = 64;
+    private static final Duration TIMEOUT = Duration.ofMinutes(3);
+
+    private ClusterBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+
+        Path backend = Path.of(args.length > 0 ? args[0] : "../backend").toAbsolutePath().normalize();
+        int maxNodes = args.length > 1 ? Integer.parseInt(args[1]) : 3;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 60;
+        Path result = args.length > 3 ? Path.of(args[3]) : null;
+
+        Path execJar = StartupBenchmark.only(backend.resolve("target"), "-exec.jar");
+        Path logs = Files.createDirectories(Path.of("target", "cluster-logs"));
+
+        StringBuilder json = new StringBuilder("[\n");
+        System.out.printf(Locale.ROOT, "%-6s %12s %10s %10s %10s%n", "nodes", "bookings/s", "409", "429", "503");
+
+        try (EmbeddedPostgres postgres = EmbeddedPostgres.start(); LocalJwks jwks = new LocalJwks()) {
+
+            String jdbcUrl = postgres.getJdbcUrl("postgres", "postgres");
+            StartupBenchmark.migrate(jdbcUrl, backend.getParent().resolve("supabase").resolve("migrations"));
+
+            List<String> tokens = new ArrayList<>(MEMBERS);
+            for (String userId : seedMembers(jdbcUrl)) {
+                tokens.add(jwks.mint(userId));
+            }
+
+            // Daemon threads: the JVM exits once main returns
+            HttpClient http = HttpClient.newBuilder()
+                    .connectTimeout(Duration.ofSeconds(2))
+                    .executor(Executors.newFixedThreadPool(8, runnable -> {
+                        Thread thread = new Thread(runnable, "bench-http");
+                        thread.setDaemon(true);
+                        return thread;
+                    }))
+                    .build();
+
+            for (int nodes = 1; nodes <= maxNodes; nodes++) {
+
+                List<Process> processes = new ArrayList<>();
+                List<String> urls = new ArrayList<>();
+
+                try {
+                    for (int node = 1; node <= nodes; node++) {
+                        int port = StartupBenchmark.freePort();
+                        urls.add("http://127.0.0.1:" + port);
+                        processes.add(launch(execJar, backend, port, "node-" + node, jdbcUrl, jwks,
+                                logs.resolve(nodes + "-nodes-node-" + node + ".log")));
+                    }
+
+                    for (int node = 0; node < nodes; node++) {
+                        awaitReady(http, processes.get(node), urls.get(node));
+                    }
+
+                    // Membership converges within a heartbeat, handovers one round later
+                    Thread.sleep(5_000);
+
+                    // Slots exist once the first node has materialized them; counters load on first use
+                    resetBookings(jdbcUrl);
+
+                    List<String> slotIds = slotIds(jdbcUrl);
+                    Run run = load(http, urls, slotIds, tokens, seconds);
+
+                    System.out.printf(Locale.ROOT, "%-6d %12.0f %10d %10d %10d%n",
+                            nodes, run.throughput(), run.conflicts.sum(), run.throttled.sum(), run.unavailable.sum());
+
+                    json.append(String.format(Locale.ROOT,
+                            "  {\"nodes\": %d, \"clients\": %d, \"seconds\": %d, \"bookingsPerSecond\": %.1f, \"conflicts\": %d, \"throttled\": %d, \"unavailable\": %d, \"errors\": %d},%n",
+                            nodes, CLIENTS, seconds, run.throughput(), run.conflicts.sum(), run.throttled.sum(), run.unavailable.sum(), run.errors.sum()));
+                } finally {
+                    for (Process process : processes) {
+                        process.destroy();
+                    }
+                    for (Process process : processes) {
+                        process.waitFor();
+                    }
+                }
+            }
+        }
+
+        json.setLength(json.length() - 2);
+        json.append("\n]\n");
+
+        if (result != null) {
+            Files.writeString(result, json);
+        }
+    }
+
+    /* =========================
+       Internal helpers
+       ========================= */
+
+    private static Process launch(
+            Path execJar,
+            Path backend,
+            int port,
+            String nodeId,
+            String jdbcUrl,
+            LocalJwks jwks,
+            Path log
+    ) throws IOException {
+
+        List<String> command = List.of(
+                Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                "-Xmx512m",
+                "-jar", execJar.toString(),
+                "--spring.config.additional-location=file:" + backend.resolve("src/main/application.yml"),
+                "--server.port=" + port,
+                "--management.server.port=" + StartupBenchmark.freePort(),
+                "--spring.datasource.url=" + jdbcUrl,
+                "--spring.datasource.username=postgres",
+                "--spring.datasource.password=postgres",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.org.hibernate.SQL=INFO",
+                "--supabase.url=" + jwks.jwksUrl(),
+                "--supabase.service-role-key=bench",
+                "--supabase.jwt.issuer=" + LocalJwks.ISSUER,
+                "--supabase.jwt.jwks-url=" + jwks.jwksUrl(),
+                "--cluster.enabled=true",
+                "--cluster.node-id=" + nodeId,
+                "--cluster.advertised-url=http://127.0.0.1:" + port,
+                // One client stands in for every member: no per-member rate limit
+                "--booking.admission.user-rate-per-second=1000000",
+                "--booking.admission.user-burst=1000000"
+        );
+
+        return new ProcessBuilder(command)
+                .directory(backend.toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+    }
+
+    private static void awaitReady(HttpClient http, Process process, String url) throws InterruptedException {
+
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url + "/readyz"))
+                .timeout(Duration.ofSeconds(5))
+                .build();
+
+        long deadline = System.nanoTime() + TIMEOUT.toNanos();
+
+        while (System.nanoTime() < deadline) {
+
+            if (!process.isAlive()) {
+                throw new IllegalStateException("Node " + url + " exited with " + process.exitValue());
+            }
+
+            try {
+                if (http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException ex) {
+                // Not listening yet
+            }
+
+            Thread.sleep(100);
+        }
+
+        throw new IllegalStateException("Node " + url + " not ready within " + TIMEOUT);
+    }
+
+    /**
+     * CLIENTS threads booking random (member, slot) pairs; counts only the measured part
+     */
+    private static Run load(
+            HttpClient http,
+            List<String> urls,
+            List<String> slotIds,
+            List<String> tokens,
+            int seconds
+    ) throws InterruptedException {
+
+        Run run = new Run();
+        AtomicBoolean measuring = new AtomicBoolean(false);
+        AtomicBoolean stopped = new AtomicBoolean(false);
+        AtomicInteger next = new AtomicInteger();
+
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+
+        for (int i = 0; i < CLIENTS; i++) {
+            clients.submit(() -> {
+                while (!stopped.get()) {
+
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    String url = urls.get(Math.floorMod(next.getAndIncrement(), urls.size()));
+
+                    HttpRequest request = HttpRequest.newBuilder(URI.create(url + "/bookings"))
+                            .timeout(Duration.ofSeconds(10))
+                            .header("Content-Type", "application/json")
+                            .header("Authorization", "Bearer " + tokens.get(random.nextInt(tokens.size())))
+                            .header("Idempotency-Key", UUID.randomUUID().toString())
+                            .POST(HttpRequest.BodyPublishers.ofString(
+                                    "{\"slotId\":\"" + slotIds.get(random.nextInt(slotIds.size())) + "\"}"))
+                            .build();
+
+                    int status;
+                    try {
+                        status = http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                    } catch (IOException ex) {
+                        status = -1;
+                    } catch (InterruptedException ex) {
+                        return;
+                    }
+
+                    if (measuring.get()) {
+                        run.record(status);
+                    }
+                }
+            });
+        }
+
+        Thread.sleep(TimeUnit.SECONDS.toMillis(seconds) / 3);
+        measuring.set(true);
+        long started = System.nanoTime();
+
+        Thread.sleep(TimeUnit.SECONDS.toMillis(seconds));
+        measuring.set(false);
+        run.nanos = System.nanoTime() - started;
+
+        stopped.set(true);
+        clients.shutdownNow();
+        clients.awaitTermination(30, TimeUnit.SECONDS);
+
+        return run;
+    }
+
+    private static List<String> seedMembers(String jdbcUrl) throws SQLException {
+
+        List<String> userIds = new ArrayList<>(MEMBERS);
+
+        try (Connection connection = DriverManager.getConnection(jdbcUrl);
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("""
+                 INSERT INTO auth.users (email)
+                 SELECT 'member' || n || '@bench.local' FROM generate_series(1, %d) n
+                 RETURNING id
+             """.formatted(MEMBERS))) {
+
+            while (rs.next()) {
+                userIds.add(rs.getString(1));
+            }
+        }
+
+        return userIds;
+    }
+
+    /**
+     * Empty bookings and room for every member in every slot
+     */
+    private static void resetBookings(String jdbcUrl) throws SQLException {
+
+        try (Connection connection = DriverManager.getConnection(jdbcUrl);
+             Statement statement = connection.createStatement()) {
+
+            statement.execute("TRUNCATE public.bookings CASCADE");
+            statement.execute("UPDATE public.daily_slots SET current_bookings = 0, max_capacity = " + MEMBERS);
+        }
+    }
+
+    private static List<String> slotIds(String jdbcUrl) throws SQLException {
+
+        List<String> slotIds = new ArrayList<>();
+
+        try (Connection connection = DriverManager.getConnection(jdbcUrl);
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(
+                     "SELECT id FROM public.daily_slots WHERE slot_date > CURRENT_DATE")) {
+
+            while (rs.next()) {
+                slotIds.add(rs.getString(1));
+            }
+        }
+
+        if (slotIds.isEmpty()) {
+            throw new IllegalStateException("No upcoming slots: the slot materializer did not run");
+        }
+
+        return slotIds;
+    }
+
+    private static final class Run {
+
+        final LongAdder booked = new LongAdder();
+        final LongAdder conflicts = new LongAdder();
+        final LongAdder throttled = new LongAdder();
+        final LongAdder unavailable = new LongAdder();
+        final LongAdder errors = new LongAdder();
+        long nanos;
+
+        void record(int status) {
+            switch (status) {
+                case 201 -> booked.increment();
+                case 409 -> conflicts.increment();
+                case 429 -> throttled.increment();
+                case 503 -> unavailable.increment();
+                default -> errors.increment();
+            }
+        }
+
+        double throughput() {
+            return booked.sum() * 1e9 / nanos;
+        }
+    }
+}
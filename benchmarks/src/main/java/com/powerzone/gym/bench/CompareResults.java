@@ -0,0 +1,127 @@
+package com.powerzone.gym.bench;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Diffs two JMH JSON result files (-rf json), e.g. a release against the baseline.
+ *
+ * Usage: java -cp target/benchmarks.jar com.powerzone.gym.bench.CompareResults
+ *            baseline.json current.json [threshold-percent]
+ *
+ * Prints score and allocation per benchmark/params and exits with 1 when
+ * any score regresses by more than the threshold (default 10%).
+ */
+public final class CompareResults {
+
+    private CompareResults() {
+    }
+
+    public static void main(String[] args) throws IOException {
+
+        if (args.length < 2) {
+            System.err.println("Usage: CompareResults <baseline.json> <current.json> [threshold-percent]");
+            System.exit(2);
+        }
+
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 10.0;
+
+        Map<String, JsonNode> baseline = load(new File(args[0]));
+        Map<String, JsonNode> current = load(new File(args[1]));
+
+        boolean regressed = false;
+
+        System.out.printf("%-70s %16s %16s %9s %12s %12s%n",
+                "benchmark", "baseline", "current", "delta", "B/op before", "B/op after");
+
+        for (Map.Entry<String, JsonNode> entry : current.entrySet()) {
+
+            JsonNode now = entry.getValue();
+            JsonNode before = baseline.get(entry.getKey());
+
+            double score = now.at("/primaryMetric/score").asDouble();
+            String unit = now.at("/primaryMetric/scoreUnit").asText();
+
+            if (before == null) {
+                System.out.printf("%-70s %16s %16s %9s %12s %12s%n",
+                        entry.getKey(), "-", format(score, unit), "new", "-", allocation(now));
+                continue;
+            }
+
+            double previous = before.at("/primaryMetric/score").asDouble();
+            double delta = previous == 0 ? 0 : (score - previous) / previous * 100;
+
+            // Throughput modes: higher is better
+            boolean higherIsBetter = "thrpt".equals(now.path("mode").asText());
+            double worse = higherIsBetter ? -delta : delta;
+
+            if (worse > threshold) {
+                regressed = true;
+            }
+
+            System.out.printf("%-70s %16s %16s %+8.1f%% %12s %12s%s%n",
+                    entry.getKey(),
+                    format(previous, unit),
+                    format(score, unit),
+                    delta,
+                    allocation(before),
+                    allocation(now),
+                    worse > threshold ? "  REGRESSION" : "");
+        }
+
+        System.exit(regressed ? 1 : 0);
+    }
+
+    /* =========================
+       Internal helpers
+       ========================= */
+
+    private static Map<String, JsonNode> load(File file) throws IOException {
+
+        Map<String, JsonNode> results = new LinkedHashMap<>();
+
+        for (JsonNode result : new ObjectMapper().readTree(file)) {
+            results.put(key(result), result);
+        }
+
+        return results;
+    }
+
+    private static String key(JsonNode result) {
+
+        String name = result.path("benchmark").asText().replace("com.powerzone.gym.bench.", "");
+        StringBuilder key = new StringBuilder(name);
+
+        Iterator<Map.Entry<String, JsonNode>> params = result.path("params").fields();
+        while (params.hasNext()) {
+            Map.Entry<String, JsonNode> param = params.next();
+            key.append(' ').append(param.getKey()).append('=').append(param.getValue().asText());
+        }
+
+        return key.toString();
+    }
+
+    private static String allocation(JsonNode result) {
+
+        // "gc.alloc.rate.norm", present when run with -prof gc
+        Iterator<Map.Entry<String, JsonNode>> metrics = result.path("secondaryMetrics").fields();
+        while (metrics.hasNext()) {
+            Map.Entry<String, JsonNode> metric = metrics.next();
+            if (metric.getKey().endsWith("gc.alloc.rate.norm")) {
+                return String.format("%.0f", metric.getValue().path("score").asDouble());
+            }
+        }
+
+        return "-";
+    }
+
+    private static String format(double score, String unit) {
+        return String.format("%.3f %s", score, unit);
+    }
+}
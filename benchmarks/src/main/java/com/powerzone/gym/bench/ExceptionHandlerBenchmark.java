@@ -0,0 +1,58 @@
+package com.powerzone.gym.bench;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.powerzone.gym.exception.ForbiddenException;
+import com.powerzone.gym.exception.GlobalExceptionHandler;
+import com.powerzone.gym.exception.TooManyRequestsException;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.ResponseEntity;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GlobalExceptionHandler response building, up to the serialized body.
+ * The exception is constructed inside the benchmark, as on a real
+ * request (stack trace capture included).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(3)
+@State(Scope.Benchmark)
+public class ExceptionHandlerBenchmark {
+
+    private GlobalExceptionHandler handler;
+    private ObjectMapper objectMapper;
+
+    @Setup
+    public void setUp() {
+        handler = new GlobalExceptionHandler();
+        objectMapper = new ObjectMapper().findAndRegisterModules();
+    }
+
+    @Benchmark
+    public byte[] forbidden() throws Exception {
+        return serialize(handler.handleForbidden(new ForbiddenException("Admin privileges required")));
+    }
+
+    @Benchmark
+    public byte[] tooManyRequests() throws Exception {
+        return serialize(handler.handleTooManyRequests(
+                new TooManyRequestsException("Too many booking attempts, retry later", 2)));
+    }
+
+    @Benchmark
+    public byte[] badRequest() throws Exception {
+        return serialize(handler.handleBadRequest(new IllegalArgumentException("Invalid slot id")));
+    }
+
+    @Benchmark
+    public byte[] generic() throws Exception {
+        return serialize(handler.handleGeneric(new IllegalStateException("boom")));
+    }
+
+    private byte[] serialize(ResponseEntity<?> response) throws Exception {
+        return objectMapper.writeValueAsBytes(response.getBody());
+    }
+}
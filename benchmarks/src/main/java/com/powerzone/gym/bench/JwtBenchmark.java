@@ -0,0 +1,43 @@
+package com.powerzone.gym.bench;
+
+import com.powerzone.gym.config.JwtUtil;
+import io.micrometer.prometheus.PrometheusConfig;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JwtUtil.extractUserId: parse, RS256 signature check, claim validation
+ * (the cost of every token cache miss)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(3)
+@State(Scope.Benchmark)
+public class JwtBenchmark {
+
+    private LocalJwks jwks;
+    private JwtUtil jwtUtil;
+    private String token;
+
+    @Setup
+    public void setUp() throws Exception {
+        jwks = new LocalJwks();
+        jwtUtil = jwks.jwtUtil(new PrometheusMeterRegistry(PrometheusConfig.DEFAULT));
+        token = jwks.mint(UUID.randomUUID().toString());
+    }
+
+    @TearDown
+    public void tearDown() {
+        jwks.close();
+    }
+
+    @Benchmark
+    public String extractUserId() throws Exception {
+        return jwtUtil.extractUserId(token);
+    }
+}
@@ -0,0 +1,67 @@
+package com.powerzone.gym.bench;
+
+import com.powerzone.gym.config.JwtAuthenticationFilter;
+import com.powerzone.gym.config.VerifiedTokenCache;
+import io.micrometer.prometheus.PrometheusConfig;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JwtAuthenticationFilter per request, with and without the verified-token
+ * cache (supabase.jwt.token-cache.enabled)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(3)
+@State(Scope.Benchmark)
+public class JwtFilterBenchmark {
+
+    @Param({"true", "false"})
+    public boolean tokenCache;
+
+    private LocalJwks jwks;
+    private JwtAuthenticationFilter filter;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+    private FilterChain chain;
+
+    @Setup
+    public void setUp() throws Exception {
+
+        PrometheusMeterRegistry meterRegistry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+
+        jwks = new LocalJwks();
+        VerifiedTokenCache cache = new VerifiedTokenCache(
+                jwks.jwtUtil(meterRegistry), tokenCache, 100_000, 30_000, 10_000, meterRegistry);
+        filter = new JwtAuthenticationFilter(cache, meterRegistry);
+
+        // OncePerRequestFilter clears its "already filtered" marker, so one request is reusable
+        request = new MockHttpServletRequest("GET", "/bookings/me");
+        request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + jwks.mint(UUID.randomUUID().toString()));
+        response = new MockHttpServletResponse();
+        chain = (req, res) -> { };
+    }
+
+    @TearDown
+    public void tearDown() {
+        jwks.close();
+    }
+
+    @Benchmark
+    public Object doFilter() throws Exception {
+        filter.doFilter(request, response, chain);
+        Object principal = SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        SecurityContextHolder.clearContext();
+        return principal;
+    }
+}
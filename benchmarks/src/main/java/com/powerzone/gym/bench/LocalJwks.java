@@ -0,0 +1,100 @@
+package com.powerzone.gym.bench;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import com.powerzone.gym.config.JwksKeyCache;
+import com.powerzone.gym.config.JwtUtil;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+
+/**
+ * Local RSA test key served as a JWKS from an in-process HTTP server,
+ * so JwksKeyCache / JwtUtil run their real code without touching Supabase.
+ */
+public final class LocalJwks implements AutoCloseable {
+
+    public static final String ISSUER = "https://bench.local/auth/v1";
+
+    private final RSAKey key;
+    private final HttpServer server;
+
+    public LocalJwks() throws JOSEException, IOException {
+
+        this.key = new RSAKeyGenerator(2048)
+                .keyID("bench-key")
+                .generate();
+
+        byte[] jwks = new JWKSet(key.toPublicJWK()).toString().getBytes(StandardCharsets.UTF_8);
+
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/jwks", exchange -> {
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, jwks.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(jwks);
+            }
+        });
+        server.start();
+    }
+
+    public String jwksUrl() {
+        return "http://" + server.getAddress().getHostString() + ':' + server.getAddress().getPort() + "/jwks";
+    }
+
+    /**
+     * Signed access token for a user, valid for a day (longer than any run)
+     */
+    public String mint(String userId) throws JOSEException {
+
+        JWTClaimsSet claims = new JWTClaimsSet.Builder()
+                .subject(userId)
+                .issuer(ISSUER)
+                .issueTime(new Date())
+                .expirationTime(Date.from(Instant.now().plus(Duration.ofDays(1))))
+                .claim("role", "authenticated")
+                .build();
+
+        SignedJWT jwt = new SignedJWT(
+                new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(key.getKeyID()).build(),
+                claims
+        );
+        jwt.sign(new RSASSASigner(key));
+
+        return jwt.serialize();
+    }
+
+    /**
+     * JwtUtil wired to this JWKS, keys already loaded
+     */
+    public JwtUtil jwtUtil(MeterRegistry meterRegistry) {
+
+        JwksKeyCache keyCache = new JwksKeyCache(jwksUrl(), 30_000, 2_000, 2_000, meterRegistry);
+        keyCache.scheduledRefresh();
+
+        JwtUtil jwtUtil = new JwtUtil(keyCache, meterRegistry);
+        ReflectionTestUtils.setField(jwtUtil, "issuer", ISSUER);
+        return jwtUtil;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
@@ -0,0 +1,52 @@
+package com.powerzone.gym.bench;
+
+import com.powerzone.gym.repository.QueryMetrics;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.prometheus.PrometheusConfig;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Cost of the instrumentation itself: QueryMetrics.time and a counter
+ * increment on the Prometheus registry, against the bare call
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(3)
+@State(Scope.Benchmark)
+public class MetricsOverheadBenchmark {
+
+    private QueryMetrics queryMetrics;
+    private Counter counter;
+    private Supplier<Integer> work;
+
+    @Setup
+    public void setUp() {
+        PrometheusMeterRegistry meterRegistry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        queryMetrics = new QueryMetrics(meterRegistry);
+        counter = meterRegistry.counter("gym.bench.counter", "outcome", "success");
+        work = () -> 42;
+    }
+
+    @Benchmark
+    public void baseline(Blackhole blackhole) {
+        blackhole.consume(work.get());
+    }
+
+    @Benchmark
+    public void timedQuery(Blackhole blackhole) {
+        blackhole.consume(queryMetrics.time("bench.query", work));
+    }
+
+    @Benchmark
+    public void counterIncrement(Blackhole blackhole) {
+        counter.increment();
+        blackhole.consume(work.get());
+    }
+}
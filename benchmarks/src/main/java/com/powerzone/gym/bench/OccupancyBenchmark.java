@@ -0,0 +1,88 @@
+package com.powerzone.gym.bench;
+
+import com.powerzone.gym.dto.OccupancyResponse;
+import com.powerzone.gym.event.BookingCancelledEvent;
+import com.powerzone.gym.event.BookingCreatedEvent;
+import com.powerzone.gym.repository.BookingRepository;
+import com.powerzone.gym.repository.QueryMetrics;
+import com.powerzone.gym.repository.SlotRepository;
+import com.powerzone.gym.service.OccupancyAnalytics;
+import com.powerzone.gym.service.SlotCapacityCounters;
+import io.micrometer.prometheus.PrometheusConfig;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * OccupancyAnalytics: admin queries over the precomputed arrays, the
+ * per-event update, and the parallel chunked rebuild from daily_slots
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(3)
+@State(Scope.Benchmark)
+public class OccupancyBenchmark {
+
+    private OccupancyAnalytics analytics;
+    private LocalDate today;
+    private BookingCreatedEvent created;
+    private BookingCancelledEvent cancelled;
+
+    @Setup
+    public void setUp() {
+
+        BenchDatabase database = BenchDatabase.get();
+        PrometheusMeterRegistry meterRegistry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        QueryMetrics queryMetrics = new QueryMetrics(meterRegistry);
+
+        SlotRepository slotRepository = new SlotRepository(database.jdbcTemplate(), queryMetrics);
+        SlotCapacityCounters counters = new SlotCapacityCounters(
+                slotRepository, new BookingRepository(database.jdbcTemplate(), queryMetrics));
+
+        analytics = new OccupancyAnalytics(slotRepository, counters, meterRegistry, 365, 30, 30, 31, 4);
+        analytics.rebuild();
+
+        today = LocalDate.now();
+
+        String slotId = UUID.randomUUID().toString();
+        LocalTime start = LocalTime.of(18, 0);
+        created = new BookingCreatedEvent(UUID.randomUUID().toString(), UUID.randomUUID().toString(),
+                slotId, "ABC123", today, start, start.plusHours(2));
+        cancelled = new BookingCancelledEvent(created.bookingId(), created.userId(),
+                slotId, "ABC123", today, start, start.plusHours(2));
+    }
+
+    @Benchmark
+    public OccupancyResponse wholeWindow() {
+        return analytics.occupancy(null, null);
+    }
+
+    @Benchmark
+    public OccupancyResponse last90Days() {
+        return analytics.occupancy(today.minusDays(90), today);
+    }
+
+    /**
+     * One booking and its cancellation, net zero so the arrays stay stable
+     */
+    @Benchmark
+    public void bookingEvents() {
+        analytics.onBookingCreated(created);
+        analytics.onBookingCancelled(cancelled);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 2, batchSize = 1)
+    @Measurement(iterations = 5, batchSize = 1)
+    @BenchmarkMode(Mode.SingleShotTime)
+    public void rebuild() {
+        analytics.rebuild();
+    }
+}
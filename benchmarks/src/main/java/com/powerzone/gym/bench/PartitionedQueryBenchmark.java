@@ -0,0 +1,289 @@
+package com.powerzone.gym.bench;
+
+import com.powerzone.gym.repository.BookingRepository;
+import com.powerzone.gym.repository.BookingRepository.BookingRow;
+import com.powerzone.gym.repository.ExportRepository;
+import com.powerzone.gym.repository.QueryMetrics;
+import com.powerzone.gym.repository.SlotRepository;
+import com.powerzone.gym.repository.SlotRepository.SlotRow;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.prometheus.PrometheusConfig;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Booking and slot reads through the repositories, unpartitioned vs.
+ * monthly slot_date partitions, at several bookings table sizes.
+ *
+ * Both layouts have the same columns and indexes, so the difference is
+ * the partitioning alone. Each fork seeds its own embedded Postgres
+ * (four years of nine slots a day, bookings spread evenly); 10M rows
+ * take minutes to load, 50M rows about ten minutes and 15 GB of disk.
+ * With -Dbench.jdbc.url the tables are dropped and re-created there.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PartitionedQueryBenchmark {
+
+    private static final int HISTORY_DAYS = 4 * 365;
+    private static final int FUTURE_DAYS = 30;
+    private static final int SAMPLE = 1_000;
+
+    @Param({"1000000", "10000000", "50000000"})
+    public int bookings;
+
+    @Param({"flat", "partitioned"})
+    public String layout;
+
+    private EmbeddedPostgres embedded;
+    private HikariDataSource dataSource;
+
+    private SlotRepository slotRepository;
+    private BookingRepository bookingRepository;
+    private ExportRepository exportRepository;
+    private TransactionTemplate readOnlyTransaction;
+
+    private LocalDate today;
+    private List<String> upcomingSlotIds;
+    private List<String> upcomingBookingIds;
+    private List<String> pastBookingIds;
+    private int nextUpcoming;
+    private int nextPast;
+
+    @Setup
+    public void setUp() throws IOException {
+
+        String url = System.getProperty("bench.jdbc.url");
+
+        embedded = url == null ? EmbeddedPostgres.start() : null;
+
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl(url != null ? url : embedded.getJdbcUrl("postgres", "postgres"));
+        config.setUsername(System.getProperty("bench.jdbc.user", "postgres"));
+        config.setPassword(System.getProperty("bench.jdbc.password", "postgres"));
+        config.setMaximumPoolSize(1);   // the seeding SETs below stay on the one session
+        config.setPoolName("bench-partitions");
+
+        dataSource = new HikariDataSource(config);
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+
+        createSchema(jdbc, "partitioned".equals(layout));
+        seed(jdbc);
+
+        QueryMetrics queryMetrics = new QueryMetrics(new PrometheusMeterRegistry(PrometheusConfig.DEFAULT));
+        slotRepository = new SlotRepository(jdbc, queryMetrics);
+        bookingRepository = new BookingRepository(jdbc, queryMetrics);
+        exportRepository = new ExportRepository(jdbc);
+
+        readOnlyTransaction = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        readOnlyTransaction.setReadOnly(true);
+
+        today = LocalDate.now();
+        upcomingSlotIds = jdbc.queryForList("""
+            SELECT id::text FROM public.daily_slots
+            WHERE slot_date BETWEEN CURRENT_DATE AND CURRENT_DATE + 1
+        """, String.class);
+        upcomingBookingIds = jdbc.queryForList("""
+            SELECT id::text FROM public.bookings
+            WHERE slot_date BETWEEN CURRENT_DATE AND CURRENT_DATE + 6
+            LIMIT ?
+        """, String.class, SAMPLE);
+        pastBookingIds = jdbc.queryForList("""
+            SELECT id::text FROM public.bookings TABLESAMPLE SYSTEM (1)
+            WHERE slot_date < CURRENT_DATE - 30
+            LIMIT ?
+        """, String.class, SAMPLE);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        dataSource.close();
+        if (embedded != null) {
+            embedded.close();
+        }
+    }
+
+    /**
+     * Member dashboard: one day's slots
+     */
+    @Benchmark
+    public List<SlotRow> slotsByDate() {
+        return slotRepository.findByDate(today);
+    }
+
+    /**
+     * SlotCapacityCounters cold load: holders of today's and tomorrow's slots
+     */
+    @Benchmark
+    public Map<String, List<String>> holdersOfUpcomingSlots() {
+        return bookingRepository.findUserIdsBySlotIds(upcomingSlotIds, today, today.plusDays(1));
+    }
+
+    /**
+     * Cancel / check-in lookup of an upcoming booking
+     */
+    @Benchmark
+    public Optional<BookingRow> upcomingBookingById() {
+        String id = upcomingBookingIds.get(nextUpcoming);
+        nextUpcoming = (nextUpcoming + 1) % upcomingBookingIds.size();
+        return bookingRepository.findById(id);
+    }
+
+    /**
+     * Lookup of an old booking (partitioned: the upcoming probe misses first)
+     */
+    @Benchmark
+    public Optional<BookingRow> pastBookingById() {
+        String id = pastBookingIds.get(nextPast);
+        nextPast = (nextPast + 1) % pastBookingIds.size();
+        return bookingRepository.findById(id);
+    }
+
+    /**
+     * Admin export of last month (range scan, streamed through a cursor)
+     */
+    @Benchmark
+    public long exportLastMonth() {
+
+        LocalDate from = today.minusMonths(1).withDayOfMonth(1);
+        LongAdder rows = new LongAdder();
+
+        readOnlyTransaction.executeWithoutResult(status ->
+                exportRepository.streamBookings(from, from.plusMonths(1).minusDays(1), 1000, row -> rows.increment()));
+
+        return rows.sum();
+    }
+
+    /* =========================
+       Internal helpers
+       ========================= */
+
+    private static void createSchema(JdbcTemplate jdbc, boolean partitioned) {
+
+        jdbc.execute("DROP TABLE IF EXISTS public.bookings, public.daily_slots CASCADE");
+
+        // Export joins profiles; empty is enough for the plan shape
+        jdbc.execute("""
+            CREATE TABLE IF NOT EXISTS public.profiles (
+                user_id UUID PRIMARY KEY,
+                username TEXT,
+                full_name TEXT
+            )
+        """);
+
+        String partitionBy = partitioned ? " PARTITION BY RANGE (slot_date)" : "";
+
+        jdbc.execute("""
+            CREATE TABLE public.daily_slots (
+                id UUID NOT NULL DEFAULT gen_random_uuid(),
+                slot_date DATE NOT NULL,
+                slot_start_time TIME NOT NULL,
+                slot_end_time TIME NOT NULL,
+                max_capacity INTEGER NOT NULL DEFAULT 20,
+                current_bookings INTEGER NOT NULL DEFAULT 0,
+                created_at TIMESTAMP WITH TIME ZONE DEFAULT NOW() NOT NULL,
+                PRIMARY KEY (id, slot_date),
+                UNIQUE (slot_date, slot_start_time)
+            )""" + partitionBy);
+
+        jdbc.execute("""
+            CREATE TABLE public.bookings (
+                id UUID NOT NULL DEFAULT gen_random_uuid(),
+                user_id UUID NOT NULL,
+                slot_id UUID NOT NULL,
+                slot_date DATE NOT NULL,
+                booking_code TEXT NOT NULL,
+                created_at TIMESTAMP WITH TIME ZONE DEFAULT NOW() NOT NULL
+            )""" + partitionBy);
+
+        if (!partitioned) {
+            return;
+        }
+
+        // Same names and bounds as partitions.ensure_month
+        jdbc.execute("CREATE SCHEMA IF NOT EXISTS partitions");
+        jdbc.execute("""
+            DO $$
+            DECLARE
+              month DATE := date_trunc('month', CURRENT_DATE - %d)::DATE;
+              parent TEXT;
+            BEGIN
+              WHILE month <= CURRENT_DATE + %d LOOP
+                FOREACH parent IN ARRAY ARRAY['daily_slots', 'bookings'] LOOP
+                  EXECUTE format(
+                    'CREATE TABLE partitions.%%I PARTITION OF public.%%I FOR VALUES FROM (%%L) TO (%%L)',
+                    parent || '_' || to_char(month, 'YYYY_MM'), parent, month, (month + INTERVAL '1 month')::DATE
+                  );
+                END LOOP;
+                month := (month + INTERVAL '1 month')::DATE;
+              END LOOP;
+            END $$
+        """.formatted(HISTORY_DAYS, FUTURE_DAYS));
+    }
+
+    private void seed(JdbcTemplate jdbc) {
+
+        jdbc.execute("SET synchronous_commit = off");
+        jdbc.execute("SET maintenance_work_mem = '512MB'");
+
+        // Nine two-hour slots a day, 05:00 → 23:00
+        int slots = jdbc.update("""
+            INSERT INTO public.daily_slots (slot_date, slot_start_time, slot_end_time)
+            SELECT d::date, make_time(h, 0, 0), make_time(h + 2, 0, 0)
+            FROM generate_series(CURRENT_DATE - ?, CURRENT_DATE + ?, INTERVAL '1 day') AS d,
+                 generate_series(5, 21, 2) AS h
+        """, HISTORY_DAYS, FUTURE_DAYS);
+
+        int perSlot = (bookings + slots - 1) / slots;
+
+        // Member n of every slot: user ids repeat across slots, codes are unique
+        jdbc.update("""
+            INSERT INTO public.bookings (user_id, slot_id, slot_date, booking_code)
+            SELECT lpad(to_hex(n), 32, '0')::uuid,
+                   s.id,
+                   s.slot_date,
+                   'GYM-' || upper(to_hex(s.ordinal * ? + n))
+            FROM (SELECT id, slot_date, row_number() OVER (ORDER BY slot_date, slot_start_time) AS ordinal
+                  FROM public.daily_slots) s,
+                 generate_series(1, ?) AS n
+            WHERE (s.ordinal - 1) * ? + n <= ?
+        """, perSlot, perSlot, perSlot, bookings);
+
+        // Production keys and indexes (see the slot_date partitioning migration)
+        jdbc.execute("ALTER TABLE public.bookings ADD PRIMARY KEY (id, slot_date)");
+        jdbc.execute("ALTER TABLE public.bookings ADD UNIQUE (user_id, slot_id, slot_date)");
+        jdbc.execute("ALTER TABLE public.bookings ADD UNIQUE (booking_code, slot_date)");
+        jdbc.execute("""
+            ALTER TABLE public.bookings
+            ADD FOREIGN KEY (slot_id, slot_date) REFERENCES public.daily_slots (id, slot_date) ON DELETE CASCADE
+        """);
+        jdbc.execute("CREATE INDEX idx_bookings_slot_id ON public.bookings (slot_id)");
+
+        jdbc.execute("""
+            UPDATE public.daily_slots s
+            SET current_bookings = b.count
+            FROM (SELECT slot_id, slot_date, count(*) AS count FROM public.bookings GROUP BY 1, 2) b
+            WHERE b.slot_id = s.id AND b.slot_date = s.slot_date
+        """);
+
+        jdbc.execute("VACUUM ANALYZE public.daily_slots");
+        jdbc.execute("VACUUM ANALYZE public.bookings");
+    }
+}
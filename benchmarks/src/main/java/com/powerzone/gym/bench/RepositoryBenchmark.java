@@ -0,0 +1,56 @@
+package com.powerzone.gym.bench;
+
+import com.powerzone.gym.repository.QueryMetrics;
+import com.powerzone.gym.repository.SlotRepository;
+import com.powerzone.gym.repository.SlotRepository.SlotRow;
+import com.powerzone.gym.repository.UserRoleRepository;
+import io.micrometer.prometheus.PrometheusConfig;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Round trips of the hottest repository reads against the Postgres stand-in
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(3)
+@State(Scope.Benchmark)
+public class RepositoryBenchmark {
+
+    private UserRoleRepository userRoleRepository;
+    private SlotRepository slotRepository;
+    private List<String> userIds;
+    private LocalDate today;
+    private int next;
+
+    @Setup
+    public void setUp() {
+
+        BenchDatabase database = BenchDatabase.get();
+        QueryMetrics queryMetrics = new QueryMetrics(new PrometheusMeterRegistry(PrometheusConfig.DEFAULT));
+
+        userRoleRepository = new UserRoleRepository(database.jdbcTemplate(), event -> { }, queryMetrics);
+        slotRepository = new SlotRepository(database.jdbcTemplate(), queryMetrics);
+        userIds = database.userIds();
+        today = LocalDate.now();
+    }
+
+    @Benchmark
+    public Set<String> findRolesByUserId() {
+        String userId = userIds.get(next);
+        next = (next + 1) % userIds.size();
+        return userRoleRepository.findRolesByUserId(userId);
+    }
+
+    @Benchmark
+    public List<SlotRow> findSlotsByDate() {
+        return slotRepository.findByDate(today);
+    }
+}
@@ -0,0 +1,66 @@
+package com.powerzone.gym.bench;
+
+import com.powerzone.gym.event.PgNotificationListener;
+import com.powerzone.gym.repository.QueryMetrics;
+import com.powerzone.gym.repository.UserRoleRepository;
+import com.powerzone.gym.service.RoleCache;
+import com.powerzone.gym.service.RoleService;
+import io.micrometer.prometheus.PrometheusConfig;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * RoleService.isAdmin served from RoleCache (hit) or loaded from
+ * user_roles on every call (miss)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(3)
+@State(Scope.Benchmark)
+public class RoleServiceBenchmark {
+
+    @Param({"hit", "miss"})
+    public String cache;
+
+    private RoleCache roleCache;
+    private RoleService roleService;
+    private List<String> userIds;
+    private int next;
+
+    @Setup
+    public void setUp() {
+
+        BenchDatabase database = BenchDatabase.get();
+        PrometheusMeterRegistry meterRegistry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+
+        UserRoleRepository repository = new UserRoleRepository(
+                database.jdbcTemplate(), event -> { }, new QueryMetrics(meterRegistry));
+
+        // Listener never started: the fallback max age applies, set long enough for a run
+        PgNotificationListener listener = new PgNotificationListener(database.dataSource(), 500, 2_000);
+
+        roleCache = new RoleCache(repository, listener, 50_000, 600_000, 600_000, meterRegistry);
+        roleService = new RoleService(repository, roleCache, meterRegistry);
+        userIds = database.userIds();
+
+        userIds.forEach(roleService::isAdmin);
+    }
+
+    @Benchmark
+    public boolean isAdmin() {
+
+        String userId = userIds.get(next);
+        next = (next + 1) % userIds.size();
+
+        if ("miss".equals(cache)) {
+            roleCache.invalidate(userId);
+        }
+
+        return roleService.isAdmin(userId);
+    }
+}
@@ -0,0 +1,248 @@
+package com.powerzone.gym.bench;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Cold-start time of the backend, per startup mode.
+ *
+ * Usage: java -cp target/benchmarks.jar com.powerzone.gym.bench.StartupBenchmark
+ *            [backend-dir] [runs-per-mode] [result.json]
+ *
+ * Expects backend-dir (default ../backend) built with -Pfast-startup.
+ * Starts an embedded Postgres with the Supabase migrations applied and a
+ * local JWKS, then boots the backend runs-per-mode times in each mode, the
+ * modes taking turns. Per boot it records the time from launching the JVM
+ * to the first answered request (/livez) and to readiness (/readyz
+ * returns 200), both on server.port.
+ */
+public final class StartupBenchmark {
+
+    private static final Duration TIMEOUT = Duration.ofMinutes(2);
+    private static final long POLL_MS = 5;
+
+    private StartupBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+
+        Path backend = Path.of(args.length > 0 ? args[0] : "../backend").toAbsolutePath().normalize();
+        int runs = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        Path result = args.length > 2 ? Path.of(args[2]) : null;
+
+        Path target = backend.resolve("target");
+        Path execJar = only(target, "-exec.jar");
+        Path thinJar = target.resolve(execJar.getFileName().toString().replace("-exec.jar", ".jar"));
+        Path archive = target.resolve("app.jsa");
+
+        if (!Files.exists(archive) || !Files.isDirectory(target.resolve("lib"))) {
+            System.err.println("Build the backend with: mvn -f backend/pom.xml -Pfast-startup package -DskipTests");
+            System.exit(2);
+        }
+
+        Map<String, List<String>> modes = new LinkedHashMap<>();
+        modes.put("exec-jar", List.of("-jar", execJar.toString()));
+        modes.put("exec-jar+deferred", List.of("-jar", execJar.toString(), "--startup.deferred-init=true"));
+        modes.put("thin-jar+aot+cds+deferred", List.of(
+                "-XX:SharedArchiveFile=" + archive, "-Dspring.aot.enabled=true",
+                "-jar", thinJar.toString(), "--startup.deferred-init=true"));
+
+        Map<String, List<long[]>> samples = new LinkedHashMap<>();
+        modes.keySet().forEach(mode -> samples.put(mode, new ArrayList<>()));
+
+        Path logs = Files.createDirectories(Path.of("target", "startup-logs"));
+
+        try (EmbeddedPostgres postgres = EmbeddedPostgres.start(); LocalJwks jwks = new LocalJwks()) {
+
+            String jdbcUrl = postgres.getJdbcUrl("postgres", "postgres");
+            migrate(jdbcUrl, backend.getParent().resolve("supabase").resolve("migrations"));
+
+            HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofMillis(200)).build();
+
+            // One unmeasured boot: materializes slots and seeds roles like any node after the first
+            boot(http, modes.get("exec-jar"), backend, jdbcUrl, jwks, logs.resolve("warmup.log"));
+
+            for (int run = 1; run <= runs; run++) {
+                for (Map.Entry<String, List<String>> mode : modes.entrySet()) {
+                    long[] sample = boot(http, mode.getValue(), backend, jdbcUrl, jwks,
+                            logs.resolve(mode.getKey() + "-" + run + ".log"));
+                    samples.get(mode.getKey()).add(sample);
+                    System.out.printf(Locale.ROOT, "%-28s run %d: first request %5d ms, ready %5d ms%n",
+                            mode.getKey(), run, sample[0], sample[1]);
+                }
+            }
+        }
+
+        System.out.printf(Locale.ROOT, "%n%-28s %22s %22s%n", "mode", "first request (ms)", "ready (ms)");
+        StringBuilder json = new StringBuilder("[\n");
+
+        for (Map.Entry<String, List<long[]>> entry : samples.entrySet()) {
+
+            long[] first = entry.getValue().stream().mapToLong(sample -> sample[0]).sorted().toArray();
+            long[] ready = entry.getValue().stream().mapToLong(sample -> sample[1]).sorted().toArray();
+
+            System.out.printf(Locale.ROOT, "%-28s %22s %22s%n", entry.getKey(), summary(first), summary(ready));
+
+            json.append(String.format(Locale.ROOT,
+                    "  {\"mode\": \"%s\", \"firstRequestMs\": %s, \"readyMs\": %s, \"medianFirstRequestMs\": %d, \"medianReadyMs\": %d},%n",
+                    entry.getKey(), Arrays.toString(first), Arrays.toString(ready), median(first), median(ready)));
+        }
+
+        json.setLength(json.length() - 2);
+        json.append("\n]\n");
+
+        if (result != null) {
+            Files.writeString(result, json);
+        }
+    }
+
+    /* =========================
+       Internal helpers
+       ========================= */
+
+    /**
+     * Launch one backend JVM; returns {first request, ready} in ms since launch
+     */
+    private static long[] boot(
+            HttpClient http,
+            List<String> mode,
+            Path backend,
+            String jdbcUrl,
+            LocalJwks jwks,
+            Path log
+    ) throws IOException, InterruptedException {
+
+        int port = freePort();
+
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(mode);
+        command.addAll(List.of(
+                "--spring.config.additional-location=file:" + backend.resolve("src/main/application.yml"),
+                "--server.port=" + port,
+                "--management.server.port=" + freePort(),
+                "--spring.datasource.url=" + jdbcUrl,
+                "--spring.datasource.username=postgres",
+                "--spring.datasource.password=postgres",
+                "--supabase.url=" + jwks.jwksUrl(),
+                "--supabase.service-role-key=bench",
+                "--supabase.jwt.issuer=" + LocalJwks.ISSUER,
+                "--supabase.jwt.jwks-url=" + jwks.jwksUrl()
+        ));
+
+        long launched = System.nanoTime();
+
+        Process process = new ProcessBuilder(command)
+                .directory(backend.toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+
+        try {
+            long firstRequest = await(http, process, port, "/livez", launched);
+            long ready = await(http, process, port, "/readyz", launched);
+            return new long[]{firstRequest, ready};
+        } finally {
+            process.destroy();
+            process.waitFor();
+        }
+    }
+
+    private static long await(HttpClient http, Process process, int port, String path, long launched)
+            throws InterruptedException {
+
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + port + path))
+                .timeout(Duration.ofSeconds(5))
+                .build();
+
+        while (System.nanoTime() - launched < TIMEOUT.toNanos()) {
+
+            if (!process.isAlive()) {
+                throw new IllegalStateException("Backend exited with " + process.exitValue() + " before " + path);
+            }
+
+            try {
+                if (http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return (System.nanoTime() - launched) / 1_000_000;
+                }
+            } catch (IOException ex) {
+                // Not listening yet
+            }
+
+            Thread.sleep(POLL_MS);
+        }
+
+        throw new IllegalStateException("No 200 from " + path + " within " + TIMEOUT);
+    }
+
+    /**
+     * Supabase stand-ins the migrations reference, then every migration in order
+     */
+    static void migrate(String jdbcUrl, Path migrations) throws IOException, SQLException {
+
+        try (Connection connection = DriverManager.getConnection(jdbcUrl);
+             Statement statement = connection.createStatement();
+             Stream<Path> files = Files.list(migrations)) {
+
+            statement.execute("""
+                CREATE ROLE authenticated;
+                CREATE ROLE anon;
+                CREATE SCHEMA auth;
+                CREATE TABLE auth.users (id uuid PRIMARY KEY DEFAULT gen_random_uuid(), email text, raw_user_meta_data jsonb);
+                CREATE FUNCTION auth.uid() RETURNS uuid LANGUAGE sql AS $$ SELECT NULL::uuid $$;
+                CREATE PUBLICATION supabase_realtime;
+            """);
+
+            for (Path file : files.filter(path -> path.toString().endsWith(".sql")).sorted().toList()) {
+                statement.execute(Files.readString(file));
+            }
+
+            statement.execute("""
+                INSERT INTO auth.users (email) VALUES ('admin@powerzone.com'), ('member@powerzone.com')
+            """);
+        }
+    }
+
+    static Path only(Path dir, String suffix) throws IOException {
+        File[] files = dir.toFile().listFiles((d, name) -> name.endsWith(suffix));
+        if (files == null || files.length != 1) {
+            throw new IOException("Expected one *" + suffix + " in " + dir);
+        }
+        return files[0].toPath();
+    }
+
+    static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static String summary(long[] sorted) {
+        return String.format(Locale.ROOT, "%d (%d-%d)", median(sorted), sorted[0], sorted[sorted.length - 1]);
+    }
+
+    private static long median(long[] sorted) {
+        return sorted[sorted.length / 2];
+    }
+}
@@ -0,0 +1,312 @@
+package com.powerzone.gym.bench;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Read-path throughput and latency with platform vs virtual request threads.
+ *
+ * Usage: java -cp target/benchmarks.jar com.powerzone.gym.bench.VirtualThreadsBenchmark
+ *            [backend-dir] [seconds-per-mode] [clients] [result.json]
+ *
+ * Java counterpart of backend/load-test/slots.js that needs no Supabase
+ * project. Expects backend-dir (default ../backend) built with -Pjdk21 and
+ * is itself run on that JDK: the backend JVMs use this JVM's java. Starts
+ * an embedded Postgres with the Supabase migrations applied and a local
+ * JWKS, then per mode boots the backend with spring.threads.virtual.enabled
+ * off or on and has `clients` threads alternate GET /slots?date=today and
+ * GET /me/stats?range=30d as one member. A warm-up of a third of the run
+ * is not counted.
+ */
+public final class VirtualThreadsBenchmark {
+
+    private static final Duration TIMEOUT = Duration.ofMinutes(3);
+
+    private VirtualThreadsBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+
+        Path backend = Path.of(args.length > 0 ? args[0] : "../backend").toAbsolutePath().normalize();
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 60;
+        int clients = args.length > 2 ? Integer.parseInt(args[2]) : 200;
+        Path result = args.length > 3 ? Path.of(args[3]) : null;
+
+        if (Runtime.version().feature() < 21) {
+            System.err.println("Run on JDK 21+ with the backend built with: mvn -f backend/pom.xml -Pjdk21 package -DskipTests");
+            System.exit(2);
+        }
+
+        Path execJar = StartupBenchmark.only(backend.resolve("target"), "-exec.jar");
+        Path logs = Files.createDirectories(Path.of("target", "virtual-threads-logs"));
+
+        StringBuilder json = new StringBuilder("[\n");
+        System.out.printf(Locale.ROOT, "%-10s %10s %10s %10s %10s  %s%n",
+                "mode", "req/s", "p50 (ms)", "p99 (ms)", "max (ms)", "errors");
+
+        try (EmbeddedPostgres postgres = EmbeddedPostgres.start(); LocalJwks jwks = new LocalJwks()) {
+
+            String jdbcUrl = postgres.getJdbcUrl("postgres", "postgres");
+            StartupBenchmark.migrate(jdbcUrl, backend.getParent().resolve("supabase").resolve("migrations"));
+
+            String token = jwks.mint(memberId(jdbcUrl));
+
+            // Daemon threads: the JVM exits once main returns
+            HttpClient http = HttpClient.newBuilder()
+                    .connectTimeout(Duration.ofSeconds(2))
+                    .executor(Executors.newFixedThreadPool(8, runnable -> {
+                        Thread thread = new Thread(runnable, "bench-http");
+                        thread.setDaemon(true);
+                        return thread;
+                    }))
+                    .build();
+
+            for (String mode : List.of("platform", "virtual")) {
+
+                int port = StartupBenchmark.freePort();
+                String url = "http://127.0.0.1:" + port;
+                Process process = launch(execJar, backend, port, mode.equals("virtual"), jdbcUrl, jwks,
+                        logs.resolve(mode + ".log"));
+
+                try {
+                    awaitReady(http, process, url);
+                    Run run = load(http, url, token, clients, seconds);
+
+                    System.out.printf(Locale.ROOT, "%-10s %10.0f %10.1f %10.1f %10.1f  %s%n",
+                            mode, run.throughput(), run.percentileMs(0.50), run.percentileMs(0.99),
+                            run.percentileMs(1.0), run.errors());
+
+                    json.append(String.format(Locale.ROOT,
+                            "  {\"mode\": \"%s\", \"clients\": %d, \"seconds\": %d, \"requestsPerSecond\": %.1f, \"p50Ms\": %.2f, \"p99Ms\": %.2f, \"maxMs\": %.2f, \"errors\": %s},%n",
+                            mode, clients, seconds, run.throughput(), run.percentileMs(0.50),
+                            run.percentileMs(0.99), run.percentileMs(1.0), run.errors()));
+                } finally {
+                    process.destroy();
+                    process.waitFor();
+                }
+            }
+        }
+
+        json.setLength(json.length() - 2);
+        json.append("\n]\n");
+
+        if (result != null) {
+            Files.writeString(result, json);
+        }
+    }
+
+    /* =========================
+       Internal helpers
+       ========================= */
+
+    private static Process launch(
+            Path execJar,
+            Path backend,
+            int port,
+            boolean virtualThreads,
+            String jdbcUrl,
+            LocalJwks jwks,
+            Path log
+    ) throws IOException {
+
+        List<String> command = List.of(
+                Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                "-Xmx512m",
+                "-jar", execJar.toString(),
+                "--spring.config.additional-location=file:" + backend.resolve("src/main/application.yml"),
+                "--server.port=" + port,
+                "--management.server.port=" + StartupBenchmark.freePort(),
+                "--spring.threads.virtual.enabled=" + virtualThreads,
+                "--spring.datasource.url=" + jdbcUrl,
+                "--spring.datasource.username=postgres",
+                "--spring.datasource.password=postgres",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.org.hibernate.SQL=INFO",
+                "--supabase.url=" + jwks.jwksUrl(),
+                "--supabase.service-role-key=bench",
+                "--supabase.jwt.issuer=" + LocalJwks.ISSUER,
+                "--supabase.jwt.jwks-url=" + jwks.jwksUrl()
+        );
+
+        return new ProcessBuilder(command)
+                .directory(backend.toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+    }
+
+    private static void awaitReady(HttpClient http, Process process, String url) throws InterruptedException {
+
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url + "/readyz"))
+                .timeout(Duration.ofSeconds(5))
+                .build();
+
+        long deadline = System.nanoTime() + TIMEOUT.toNanos();
+
+        while (System.nanoTime() < deadline) {
+
+            if (!process.isAlive()) {
+                throw new IllegalStateException("Backend exited with " + process.exitValue());
+            }
+
+            try {
+                if (http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException ex) {
+                // Not listening yet
+            }
+
+            Thread.sleep(100);
+        }
+
+        throw new IllegalStateException("Backend not ready within " + TIMEOUT);
+    }
+
+    /**
+     * Closed loop: each client sends its next request when the last one answered
+     */
+    private static Run load(HttpClient http, String url, String token, int clients, int seconds)
+            throws Exception {
+
+        List<HttpRequest> requests = List.of(
+                HttpRequest.newBuilder(URI.create(url + "/slots?date=" + LocalDate.now()))
+                        .timeout(Duration.ofSeconds(30))
+                        .header("Authorization", "Bearer " + token)
+                        .build(),
+                HttpRequest.newBuilder(URI.create(url + "/me/stats?range=30d"))
+                        .timeout(Duration.ofSeconds(30))
+                        .header("Authorization", "Bearer " + token)
+                        .build()
+        );
+
+        Run run = new Run();
+        AtomicBoolean measuring = new AtomicBoolean(false);
+        AtomicBoolean stopped = new AtomicBoolean(false);
+
+        ExecutorService executor = Executors.newFixedThreadPool(clients);
+        List<Future<long[]>> latencies = new ArrayList<>(clients);
+
+        for (int i = 0; i < clients; i++) {
+            int first = i;
+            latencies.add(executor.submit(() -> {
+
+                long[] samples = new long[1024];
+                int count = 0;
+
+                for (int n = first; !stopped.get(); n++) {
+
+                    long started = System.nanoTime();
+                    int status;
+                    try {
+                        status = http.send(requests.get(n % requests.size()),
+                                HttpResponse.BodyHandlers.discarding()).statusCode();
+                    } catch (IOException ex) {
+                        status = -1;
+                    }
+                    long elapsed = System.nanoTime() - started;
+
+                    if (!measuring.get()) {
+                        continue;
+                    }
+
+                    if (status != 200) {
+                        run.errors.computeIfAbsent(status, code -> new LongAdder()).increment();
+                        continue;
+                    }
+
+                    if (count == samples.length) {
+                        samples = Arrays.copyOf(samples, count * 2);
+                    }
+                    samples[count++] = elapsed;
+                }
+
+                return Arrays.copyOf(samples, count);
+            }));
+        }
+
+        Thread.sleep(TimeUnit.SECONDS.toMillis(seconds) / 3);
+        measuring.set(true);
+        long started = System.nanoTime();
+
+        Thread.sleep(TimeUnit.SECONDS.toMillis(seconds));
+        measuring.set(false);
+        run.nanos = System.nanoTime() - started;
+
+        stopped.set(true);
+
+        List<long[]> all = new ArrayList<>(clients);
+        for (Future<long[]> future : latencies) {
+            all.add(future.get(1, TimeUnit.MINUTES));
+        }
+        executor.shutdown();
+
+        run.sorted = all.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+        return run;
+    }
+
+    private static String memberId(String jdbcUrl) throws SQLException {
+
+        try (Connection connection = DriverManager.getConnection(jdbcUrl);
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(
+                     "SELECT id FROM auth.users WHERE email = 'member@powerzone.com'")) {
+
+            rs.next();
+            return rs.getString(1);
+        }
+    }
+
+    private static final class Run {
+
+        // Non-200 responses by status (-1: I/O error)
+        final Map<Integer, LongAdder> errors = new ConcurrentSkipListMap<>();
+        long nanos;
+        long[] sorted;
+
+        String errors() {
+            StringBuilder json = new StringBuilder("{");
+            errors.forEach((status, count) -> json.append(json.length() > 1 ? ", " : "")
+                    .append('"').append(status).append("\": ").append(count.sum()));
+            return json.append('}').toString();
+        }
+
+        double throughput() {
+            return sorted.length * 1e9 / nanos;
+        }
+
+        double percentileMs(double percentile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(percentile * sorted.length) - 1;
+            return sorted[Math.max(0, index)] / 1e6;
+        }
+    }
+}
@@ -1,3 +1,4 @@
+import { useRef } from "react";
 import { useBookings } from "@/hooks/useBookings";
 import { format, parseISO } from "date-fns";
 import { Calendar, Clock, Hash, Trash2, History } from "lucide-react";
@@ -7,8 +8,17 @@ import { toast } from "sonner";
 export function BookingHistory() {
   const { bookings, loading, cancelBooking } = useBookings();
 
+  // One Idempotency-Key per cancel intent, reused if the member tries again
+  const cancelKeys = useRef(new Map<string, string>());
+
   const handleCancel = async (bookingId: string, bookingCode: string) => {
-    const { error } = await cancelBooking(bookingId);
+    let key = cancelKeys.current.get(bookingId);
+    if (!key) {
+      key = crypto.randomUUID();
+      cancelKeys.current.set(bookingId, key);
+    }
+
+    const { error } = await cancelBooking(bookingId, key);
     if (error) {
       toast.error("Failed to cancel booking");
     } else {
@@ -1,7 +1,7 @@
 import { useState, useEffect } from "react";
-import { supabase } from "@/integrations/supabase/client";
 import { useAuth } from "@/lib/auth";
-import { format, subDays, parseISO, startOfDay, differenceInDays } from "date-fns";
+import { apiFetch } from "@/lib/api";
+import { format, parseISO } from "date-fns";
 import {
   Dialog,
   DialogContent,
@@ -21,6 +21,14 @@ interface StatsData {
   chartData: { date: string; workouts: number; hours: number }[];
 }
 
+// GET /me/stats body (chartData dates are yyyy-MM-dd)
+interface StatsResponse {
+  totalWorkouts: number;
+  totalHours: number;
+  avgPerWeek: number;
+  chartData: { date: string; workouts: number; hours: number }[];
+}
+
 export function WorkoutStats() {
   const { user } = useAuth();
   const [open, setOpen] = useState(false);
@@ -28,77 +36,33 @@ export function WorkoutStats() {
   const [stats30, setStats30] = useState<StatsData | null>(null);
   const [stats365, setStats365] = useState<StatsData | null>(null);
 
-  const fetchStats = async (days: number): Promise<StatsData> => {
-    const startDate = format(subDays(new Date(), days), "yyyy-MM-dd");
-    
-    const { data: bookings } = await supabase
-      .from("bookings")
-      .select(`
-        id,
-        created_at,
-        slot:daily_slots(slot_date, slot_start_time, slot_end_time)
-      `)
-      .eq("user_id", user?.id)
-      .gte("created_at", startDate)
-      .order("created_at", { ascending: true });
+  // Aggregated by the backend: the payload is one bucket per day/week, not the booking history
+  const fetchStats = async (range: "30d" | "365d"): Promise<StatsData> => {
+    const { data, error } = await apiFetch<StatsResponse>(`/me/stats?range=${range}`);
 
-    if (!bookings || bookings.length === 0) {
-      return {
-        totalWorkouts: 0,
-        totalHours: 0,
-        avgPerWeek: 0,
-        chartData: [],
-      };
-    }
-
-    const totalWorkouts = bookings.length;
-    const totalHours = totalWorkouts * 2; // Each slot is 2 hours
-    const weeks = days / 7;
-    const avgPerWeek = Math.round((totalWorkouts / weeks) * 10) / 10;
-
-    // Group by date for chart
-    const groupedByDate: Record<string, number> = {};
-    
-    bookings.forEach((booking) => {
-      const slot = booking.slot as { slot_date: string } | null;
-      if (slot) {
-        const date = slot.slot_date;
-        groupedByDate[date] = (groupedByDate[date] || 0) + 1;
-      }
-    });
-
-    // Create chart data with proper intervals
-    const chartData: { date: string; workouts: number; hours: number }[] = [];
-    const interval = days > 60 ? 7 : 1; // Weekly for 365 days, daily for 30 days
-    
-    for (let i = days; i >= 0; i -= interval) {
-      const date = format(subDays(new Date(), i), "yyyy-MM-dd");
-      let workouts = 0;
-      
-      if (interval === 1) {
-        workouts = groupedByDate[date] || 0;
-      } else {
-        // Sum up the week
-        for (let j = 0; j < 7; j++) {
-          const checkDate = format(subDays(new Date(), i + j), "yyyy-MM-dd");
-          workouts += groupedByDate[checkDate] || 0;
-        }
-      }
-      
-      chartData.push({
-        date: days > 60 ? format(subDays(new Date(), i), "MMM d") : format(subDays(new Date(), i), "MMM d"),
-        workouts,
-        hours: workouts * 2,
-      });
+    if (error || !data) {
+      console.error("Error fetching stats:", error);
+      return { totalWorkouts: 0, totalHours: 0, avgPerWeek: 0, chartData: [] };
     }
 
-    return { totalWorkouts, totalHours, avgPerWeek, chartData };
+    return {
+      totalWorkouts: data.totalWorkouts,
+      totalHours: data.totalHours,
+      avgPerWeek: data.avgPerWeek,
+      chartData: data.totalWorkouts === 0
+        ? []
+        : data.chartData.map((point) => ({
+            date: format(parseISO(point.date), "MMM d"),
+            workouts: point.workouts,
+            hours: point.hours,
+          })),
+    };
   };
 
   useEffect(() => {
     if (open && user) {
       setLoading(true);
-      Promise.all([fetchStats(30), fetchStats(365)]).then(([s30, s365]) => {
+      Promise.all([fetchStats("30d"), fetchStats("365d")]).then(([s30, s365]) => {
         setStats30(s30);
         setStats365(s365);
         setLoading(false);
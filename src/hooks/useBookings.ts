@@ -1,6 +1,9 @@
 import { useState, useEffect } from "react";
 import { supabase } from "@/integrations/supabase/client";
 import { useAuth } from "@/lib/auth";
+import { apiFetch } from "@/lib/api";
+
+const MAX_ATTEMPTS = 3;
 
 export interface Booking {
   id: string;
@@ -50,14 +53,33 @@ export function useBookings() {
     setLoading(false);
   };
 
-  const bookSlot = async (slotId: string) => {
+  // Same key on every attempt: the backend replays a request it already completed
+  const sendWithRetry = async (path: string, init: RequestInit, idempotencyKey: string) => {
+    for (let attempt = 1; ; attempt++) {
+      const result = await apiFetch(path, {
+        ...init,
+        headers: { "Idempotency-Key": idempotencyKey },
+      });
+
+      // Retry only when no answer arrived (fetch rejects with a TypeError)
+      if (!(result.error instanceof TypeError) || attempt === MAX_ATTEMPTS) {
+        return result;
+      }
+
+      await new Promise((resolve) => setTimeout(resolve, 500 * attempt));
+    }
+  };
+
+  // Bookings go through the backend: it enforces capacity and writes the row.
+  // idempotencyKey belongs to the user's action: pass the same one when it is retried.
+  const bookSlot = async (slotId: string, idempotencyKey: string) => {
     if (!user) return { error: new Error("Not authenticated") };
 
-    const { error } = await supabase.from("bookings").insert([{
-      user_id: user.id,
-      slot_id: slotId,
-      booking_code: "",
-    }]);
+    const { error } = await sendWithRetry(
+      "/bookings",
+      { method: "POST", body: JSON.stringify({ slotId }) },
+      idempotencyKey
+    );
 
     if (!error) {
       await fetchBookings();
@@ -66,11 +88,8 @@ export function useBookings() {
     return { error };
   };
 
-  const cancelBooking = async (bookingId: string) => {
-    const { error } = await supabase
-      .from("bookings")
-      .delete()
-      .eq("id", bookingId);
+  const cancelBooking = async (bookingId: string, idempotencyKey: string) => {
+    const { error } = await sendWithRetry(`/bookings/${bookingId}`, { method: "DELETE" }, idempotencyKey);
 
     // Refetch both bookings list and trigger slot updates
     if (!error) {
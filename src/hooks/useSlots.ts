@@ -1,5 +1,5 @@
-import { useState, useEffect } from "react";
-import { supabase } from "@/integrations/supabase/client";
+import { useState, useEffect, useCallback } from "react";
+import { apiFetchCached, apiStream } from "@/lib/api";
 import { format } from "date-fns";
 
 export interface Slot {
@@ -11,96 +11,115 @@ export interface Slot {
   max_capacity: number;
 }
 
+// GET /slots body (camelCase)
+interface SlotResponse {
+  id: string;
+  slotDate: string;
+  slotStartTime: string;
+  slotEndTime: string;
+  currentBookings: number;
+  maxCapacity: number;
+}
+
+// /slots/stream "delta" entry
+interface SlotDelta {
+  slotId: string;
+  currentBookings: number;
+  maxCapacity: number;
+}
+
+const toSlot = (slot: SlotResponse): Slot => ({
+  id: slot.id,
+  slot_date: slot.slotDate,
+  slot_start_time: slot.slotStartTime,
+  slot_end_time: slot.slotEndTime,
+  current_bookings: slot.currentBookings,
+  max_capacity: slot.maxCapacity,
+});
+
+// Last answer per date, revalidated with If-None-Match (304 → reuse)
+const cache = new Map<string, { etag: string | null; slots: Slot[] }>();
+
+// Stream updates keep the ETag only while the list still matches it
+const remember = (dateStr: string, slots: Slot[]) => {
+  const cached = cache.get(dateStr);
+  const unchanged = cached !== undefined && JSON.stringify(cached.slots) === JSON.stringify(slots);
+  cache.set(dateStr, { etag: unchanged ? cached.etag : null, slots });
+};
+
 export function useSlots(date: Date) {
-  const [slots, setSlots] = useState<Slot[]>([]);
-  const [loading, setLoading] = useState(true);
-
-  const fetchSlots = async () => {
-    const dateStr = format(date, "yyyy-MM-dd");
-    
-    const { data, error } = await supabase
-      .from("daily_slots")
-      .select("*")
-      .eq("slot_date", dateStr)
-      .order("slot_start_time");
+  const dateStr = format(date, "yyyy-MM-dd");
+  const [slots, setSlots] = useState<Slot[]>(() => cache.get(dateStr)?.slots ?? []);
+  const [loading, setLoading] = useState(!cache.has(dateStr));
+
+  const fetchSlots = useCallback(async () => {
+    const cached = cache.get(dateStr);
+
+    const { data, etag, notModified, error } = await apiFetchCached<SlotResponse[]>(
+      `/slots?date=${dateStr}`,
+      cached?.etag ?? null
+    );
 
     if (error) {
       console.error("Error fetching slots:", error);
       return;
     }
 
-    if (data && data.length > 0) {
-      setSlots(data);
-    } else {
-      // Create slots for today if they don't exist
-      await createDailySlots(dateStr);
-    }
-    
+    // Slots are pre-created by the backend materializer
+    const next = notModified && cached ? cached.slots : (data ?? []).map(toSlot);
+    cache.set(dateStr, { etag, slots: next });
+    setSlots(next);
     setLoading(false);
-  };
-
-  const createDailySlots = async (dateStr: string) => {
-    const slotTimes = [
-      { start: "05:00:00", end: "07:00:00" },
-      { start: "07:00:00", end: "09:00:00" },
-      { start: "09:00:00", end: "11:00:00" },
-      { start: "11:00:00", end: "13:00:00" },
-      { start: "13:00:00", end: "15:00:00" },
-      { start: "15:00:00", end: "17:00:00" },
-      { start: "17:00:00", end: "19:00:00" },
-      { start: "19:00:00", end: "21:00:00" },
-      { start: "21:00:00", end: "23:00:00" },
-    ];
-
-    const slotsToInsert = slotTimes.map((time) => ({
-      slot_date: dateStr,
-      slot_start_time: time.start,
-      slot_end_time: time.end,
-      current_bookings: 0,
-      max_capacity: 50,
-    }));
-
-    const { data, error } = await supabase
-      .from("daily_slots")
-      .insert(slotsToInsert)
-      .select();
-
-    if (error) {
-      console.error("Error creating slots:", error);
-    } else if (data) {
-      setSlots(data);
-    }
-  };
+  }, [dateStr]);
 
   useEffect(() => {
-    fetchSlots();
-
-    // Subscribe to realtime updates
-    const channel = supabase
-      .channel("slots-changes")
-      .on(
-        "postgres_changes",
-        {
-          event: "*",
-          schema: "public",
-          table: "daily_slots",
-        },
-        (payload) => {
-          if (payload.eventType === "UPDATE") {
-            setSlots((prev) =>
-              prev.map((slot) =>
-                slot.id === payload.new.id ? { ...slot, ...payload.new } : slot
-              )
-            );
-          }
+    setSlots(cache.get(dateStr)?.slots ?? []);
+
+    // Live availability: "snapshot" once per connection, then "delta" (changed slots only)
+    const controller = new AbortController();
+
+    const onEvent = (event: string, data: string) => {
+      if (event === "snapshot") {
+        const next = (JSON.parse(data) as SlotResponse[]).map(toSlot);
+        remember(dateStr, next);
+        setSlots(next);
+        setLoading(false);
+      } else if (event === "delta") {
+        const deltas = new Map((JSON.parse(data) as SlotDelta[]).map((delta) => [delta.slotId, delta]));
+        setSlots((prev) => {
+          const next = prev.map((slot) => {
+            const delta = deltas.get(slot.id);
+            return delta
+              ? { ...slot, current_bookings: delta.currentBookings, max_capacity: delta.maxCapacity }
+              : slot;
+          });
+          remember(dateStr, next);
+          return next;
+        });
+      }
+    };
+
+    (async () => {
+      // Revalidated list first (often a 304); the stream's snapshot then supersedes it
+      await fetchSlots();
+
+      for (let attempt = 0; !controller.signal.aborted; attempt++) {
+        try {
+          await apiStream(`/slots/stream?date=${dateStr}`, onEvent, controller.signal);
+          attempt = 0;
+        } catch (error) {
+          if (controller.signal.aborted) return;
+          console.error("Slot stream interrupted:", error);
         }
-      )
-      .subscribe();
+        // Back off, then reconnect (the new connection starts with a fresh snapshot)
+        await new Promise((resolve) => setTimeout(resolve, Math.min(30_000, 1_000 * 2 ** attempt)));
+      }
+    })();
 
     return () => {
-      supabase.removeChannel(channel);
+      controller.abort();
     };
-  }, [date]);
+  }, [dateStr, fetchSlots]);
 
   return { slots, loading, refetch: fetchSlots };
 }
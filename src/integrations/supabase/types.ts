@@ -19,6 +19,7 @@ export type Database = {
           booking_code: string
           created_at: string
           id: string
+          slot_date: string
           slot_id: string
           user_id: string
         }
@@ -26,6 +27,7 @@ export type Database = {
           booking_code: string
           created_at?: string
           id?: string
+          slot_date: string
           slot_id: string
           user_id: string
         }
@@ -33,16 +35,17 @@ export type Database = {
           booking_code?: string
           created_at?: string
           id?: string
+          slot_date?: string
           slot_id?: string
           user_id?: string
         }
         Relationships: [
           {
-            foreignKeyName: "bookings_slot_id_fkey"
-            columns: ["slot_id"]
+            foreignKeyName: "bookings_slot_id_slot_date_fkey"
+            columns: ["slot_id", "slot_date"]
             isOneToOne: false
             referencedRelation: "daily_slots"
-            referencedColumns: ["id"]
+            referencedColumns: ["id", "slot_date"]
           },
         ]
       }
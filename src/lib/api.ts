@@ -0,0 +1,153 @@
+import { supabase } from "@/integrations/supabase/client";
+
+const API_URL = import.meta.env.VITE_API_URL ?? "http://localhost:8080";
+
+async function accessToken(): Promise<string | null> {
+  const { data: { session } } = await supabase.auth.getSession();
+  return session?.access_token ?? null;
+}
+
+/**
+ * Call the Spring backend with the current Supabase access token.
+ * Non-2xx responses come back as an Error carrying the backend's message.
+ */
+export async function apiFetch<T>(
+  path: string,
+  init: RequestInit = {}
+): Promise<{ data: T | null; error: Error | null }> {
+  const token = await accessToken();
+
+  if (!token) {
+    return { data: null, error: new Error("Not authenticated") };
+  }
+
+  try {
+    const response = await fetch(`${API_URL}${path}`, {
+      ...init,
+      headers: {
+        "Content-Type": "application/json",
+        Authorization: `Bearer ${token}`,
+        ...init.headers,
+      },
+    });
+
+    const body = await response.json().catch(() => null);
+
+    if (!response.ok) {
+      return { data: null, error: new Error(body?.message ?? `Request failed (${response.status})`) };
+    }
+
+    return { data: body as T, error: null };
+  } catch (error) {
+    return { data: null, error: error as Error };
+  }
+}
+
+/**
+ * GET revalidated with a previous ETag.
+ * A 304 comes back as notModified with no data: keep what you have.
+ */
+export async function apiFetchCached<T>(
+  path: string,
+  etag: string | null
+): Promise<{ data: T | null; etag: string | null; notModified: boolean; error: Error | null }> {
+  const token = await accessToken();
+
+  if (!token) {
+    return { data: null, etag: null, notModified: false, error: new Error("Not authenticated") };
+  }
+
+  try {
+    const response = await fetch(`${API_URL}${path}`, {
+      headers: {
+        Authorization: `Bearer ${token}`,
+        ...(etag ? { "If-None-Match": etag } : {}),
+      },
+    });
+
+    if (response.status === 304) {
+      return { data: null, etag, notModified: true, error: null };
+    }
+
+    const body = await response.json().catch(() => null);
+
+    if (!response.ok) {
+      return {
+        data: null,
+        etag: null,
+        notModified: false,
+        error: new Error(body?.message ?? `Request failed (${response.status})`),
+      };
+    }
+
+    return { data: body as T, etag: response.headers.get("ETag"), notModified: false, error: null };
+  } catch (error) {
+    return { data: null, etag: null, notModified: false, error: error as Error };
+  }
+}
+
+/**
+ * Read a Server-Sent Events endpoint with the access token.
+ * EventSource cannot send an Authorization header, so the stream is
+ * read through fetch. Resolves when the server closes the stream,
+ * rejects on a non-2xx answer or a dropped connection.
+ */
+export async function apiStream(
+  path: string,
+  onEvent: (event: string, data: string) => void,
+  signal: AbortSignal
+): Promise<void> {
+  const token = await accessToken();
+
+  if (!token) {
+    throw new Error("Not authenticated");
+  }
+
+  const response = await fetch(`${API_URL}${path}`, {
+    headers: {
+      Accept: "text/event-stream",
+      Authorization: `Bearer ${token}`,
+    },
+    signal,
+  });
+
+  if (!response.ok || !response.body) {
+    throw new Error(`Stream failed (${response.status})`);
+  }
+
+  const reader = response.body.pipeThrough(new TextDecoderStream()).getReader();
+  let buffer = "";
+
+  for (;;) {
+    const { value, done } = await reader.read();
+
+    if (done) {
+      return;
+    }
+
+    buffer += value.replace(/\r\n?/g, "\n");
+
+    // Events end with a blank line; a partial one waits for the next chunk
+    let end;
+    while ((end = buffer.indexOf("\n\n")) >= 0) {
+      const block = buffer.slice(0, end);
+      buffer = buffer.slice(end + 2);
+
+      let event = "message";
+      const data: string[] = [];
+
+      for (const line of block.split("\n")) {
+        if (line.startsWith("event:")) {
+          event = line.slice(6).trim();
+        } else if (line.startsWith("data:")) {
+          data.push(line.slice(5).replace(/^ /, ""));
+        }
+        // ":" lines are keep-alive comments
+      }
+
+      if (data.length > 0) {
+        onEvent(event, data.join("\n"));
+      }
+    }
+  }
+}
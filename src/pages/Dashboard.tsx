@@ -1,4 +1,4 @@
-import { useState } from "react";
+import { useRef, useState } from "react";
 import { format } from "date-fns";
 import { Header } from "@/components/Header";
 import Footer from "@/components/Footer";
@@ -16,17 +16,25 @@ export default function Dashboard() {
   const { userSlotIds, bookSlot, refetch } = useBookings();
   const [bookingSlotId, setBookingSlotId] = useState<string | null>(null);
 
+  // One Idempotency-Key per booking intent, kept until it succeeds so a retry is deduplicated
+  const bookingKeys = useRef(new Map<string, string>());
+
   const handleBook = async (slotId: string) => {
     setBookingSlotId(slotId);
-    const { error } = await bookSlot(slotId);
+
+    let key = bookingKeys.current.get(slotId);
+    if (!key) {
+      key = crypto.randomUUID();
+      bookingKeys.current.set(slotId, key);
+    }
+
+    const { error } = await bookSlot(slotId, key);
 
     if (error) {
-      if (error.message.includes("duplicate")) {
-        toast.error("You have already booked this slot");
-      } else {
-        toast.error("Failed to book slot. Please try again.");
-      }
+      // Backend message: already booked, slot full, join the waitlist, ...
+      toast.error(error.message || "Failed to book slot. Please try again.");
     } else {
+      bookingKeys.current.delete(slotId);
       toast.success("Slot booked successfully!");
       refetch();
     }
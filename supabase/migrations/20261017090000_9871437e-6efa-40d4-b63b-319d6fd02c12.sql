@@ -0,0 +1,25 @@
+-- Notify backend role caches whenever user_roles changes
+-- Payload is the affected user_id; listeners invalidate that user
+CREATE OR REPLACE FUNCTION public.notify_user_roles_changed()
+RETURNS TRIGGER
+LANGUAGE plpgsql
+SECURITY DEFINER
+SET search_path = public
+AS $$
+BEGIN
+  IF TG_OP = 'DELETE' THEN
+    PERFORM pg_notify('user_roles_changed', OLD.user_id::text);
+  ELSE
+    PERFORM pg_notify('user_roles_changed', NEW.user_id::text);
+    IF TG_OP = 'UPDATE' AND OLD.user_id IS DISTINCT FROM NEW.user_id THEN
+      PERFORM pg_notify('user_roles_changed', OLD.user_id::text);
+    END IF;
+  END IF;
+  RETURN NULL;
+END;
+$$;
+
+CREATE TRIGGER trigger_notify_user_roles_changed
+  AFTER INSERT OR UPDATE OR DELETE ON public.user_roles
+  FOR EACH ROW
+  EXECUTE FUNCTION public.notify_user_roles_changed();
@@ -0,0 +1,28 @@
+-- Notify the backend availability feed when a slot's capacity view changes
+-- One shared LISTEN connection per node replaces a realtime channel per client
+CREATE OR REPLACE FUNCTION public.notify_daily_slots_changed()
+RETURNS TRIGGER
+LANGUAGE plpgsql
+SECURITY DEFINER
+SET search_path = public
+AS $$
+BEGIN
+  PERFORM pg_notify(
+    'daily_slots_changed',
+    json_build_object(
+      'id', NEW.id,
+      'slot_date', NEW.slot_date,
+      'current_bookings', NEW.current_bookings,
+      'max_capacity', NEW.max_capacity
+    )::text
+  );
+  RETURN NULL;
+END;
+$$;
+
+CREATE TRIGGER trigger_notify_daily_slots_changed
+  AFTER UPDATE OF current_bookings, max_capacity ON public.daily_slots
+  FOR EACH ROW
+  WHEN (OLD.current_bookings IS DISTINCT FROM NEW.current_bookings
+        OR OLD.max_capacity IS DISTINCT FROM NEW.max_capacity)
+  EXECUTE FUNCTION public.notify_daily_slots_changed();
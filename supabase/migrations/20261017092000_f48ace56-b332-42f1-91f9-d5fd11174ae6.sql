@@ -0,0 +1,9 @@
+-- Indexes for the backend admin user directory (GET /admin/users)
+
+-- Keyset pagination: ORDER BY created_at DESC, id DESC
+CREATE INDEX IF NOT EXISTS idx_profiles_created_at_id
+  ON public.profiles (created_at DESC, id DESC);
+
+-- Prefix search: username LIKE 'abc%'
+CREATE INDEX IF NOT EXISTS idx_profiles_username_prefix
+  ON public.profiles (username text_pattern_ops);
@@ -0,0 +1,78 @@
+-- Per-user daily workout rollup, read by the backend GET /me/stats
+-- Maintained incrementally on booking insert / delete, so stats cost
+-- O(days in range) instead of O(bookings ever made)
+CREATE TABLE public.workout_daily_stats (
+  user_id UUID REFERENCES auth.users(id) ON DELETE CASCADE NOT NULL,
+  day DATE NOT NULL,
+  sessions INTEGER DEFAULT 0 NOT NULL,
+  minutes INTEGER DEFAULT 0 NOT NULL,
+  PRIMARY KEY (user_id, day)
+);
+
+ALTER TABLE public.workout_daily_stats ENABLE ROW LEVEL SECURITY;
+
+CREATE POLICY "Users can view own workout stats"
+  ON public.workout_daily_stats FOR SELECT
+  TO authenticated
+  USING (auth.uid() = user_id OR public.has_role(auth.uid(), 'admin'));
+
+CREATE OR REPLACE FUNCTION public.rollup_workout_stats()
+RETURNS TRIGGER
+LANGUAGE plpgsql
+SECURITY DEFINER
+SET search_path = public
+AS $$
+DECLARE
+  slot RECORD;
+  slot_minutes INTEGER;
+BEGIN
+  IF TG_OP = 'INSERT' THEN
+    SELECT slot_date, slot_start_time, slot_end_time INTO slot
+    FROM public.daily_slots WHERE id = NEW.slot_id;
+
+    IF FOUND THEN
+      slot_minutes := (EXTRACT(EPOCH FROM (slot.slot_end_time - slot.slot_start_time)) / 60)::INTEGER;
+
+      INSERT INTO public.workout_daily_stats (user_id, day, sessions, minutes)
+      VALUES (NEW.user_id, slot.slot_date, 1, slot_minutes)
+      ON CONFLICT (user_id, day) DO UPDATE
+      SET sessions = workout_daily_stats.sessions + 1,
+          minutes = workout_daily_stats.minutes + EXCLUDED.minutes;
+    END IF;
+
+    RETURN NEW;
+  END IF;
+
+  -- DELETE (slot may already be gone when the slot itself is deleted)
+  SELECT slot_date, slot_start_time, slot_end_time INTO slot
+  FROM public.daily_slots WHERE id = OLD.slot_id;
+
+  IF FOUND THEN
+    slot_minutes := (EXTRACT(EPOCH FROM (slot.slot_end_time - slot.slot_start_time)) / 60)::INTEGER;
+
+    UPDATE public.workout_daily_stats
+    SET sessions = GREATEST(0, sessions - 1),
+        minutes = GREATEST(0, minutes - slot_minutes)
+    WHERE user_id = OLD.user_id
+      AND day = slot.slot_date;
+  END IF;
+
+  RETURN OLD;
+END;
+$$;
+
+CREATE TRIGGER trigger_rollup_workout_stats
+  AFTER INSERT OR DELETE ON public.bookings
+  FOR EACH ROW
+  EXECUTE FUNCTION public.rollup_workout_stats();
+
+-- Backfill from existing bookings
+INSERT INTO public.workout_daily_stats (user_id, day, sessions, minutes)
+SELECT b.user_id,
+       s.slot_date,
+       COUNT(*),
+       SUM(EXTRACT(EPOCH FROM (s.slot_end_time - s.slot_start_time)) / 60)::INTEGER
+FROM public.bookings b
+JOIN public.daily_slots s ON s.id = b.slot_id
+GROUP BY b.user_id, s.slot_date
+ON CONFLICT (user_id, day) DO NOTHING;
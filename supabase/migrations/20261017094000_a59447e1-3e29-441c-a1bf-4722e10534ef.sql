@@ -0,0 +1,19 @@
+-- Turnstile / front-desk check-ins, written in batches by the backend
+-- (POST /checkin/{code}); one row per booking
+CREATE TABLE public.checkins (
+  id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+  booking_id UUID REFERENCES public.bookings(id) ON DELETE CASCADE NOT NULL UNIQUE,
+  user_id UUID REFERENCES auth.users(id) ON DELETE CASCADE NOT NULL,
+  slot_id UUID REFERENCES public.daily_slots(id) ON DELETE CASCADE NOT NULL,
+  checked_in_at TIMESTAMP WITH TIME ZONE DEFAULT NOW() NOT NULL,
+  checked_in_by UUID REFERENCES auth.users(id) ON DELETE SET NULL
+);
+
+CREATE INDEX idx_checkins_slot_id ON public.checkins (slot_id);
+
+ALTER TABLE public.checkins ENABLE ROW LEVEL SECURITY;
+
+CREATE POLICY "Users can view own check-ins"
+  ON public.checkins FOR SELECT
+  TO authenticated
+  USING (auth.uid() = user_id OR public.has_role(auth.uid(), 'admin'));
@@ -0,0 +1,20 @@
+-- Per-slot waitlist, mirrored in memory by the backend (WaitlistService)
+-- Served in (priority DESC, created_at, id) order; a row is deleted when
+-- its member is promoted into a freed place or leaves the list
+CREATE TABLE public.waitlist (
+  id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+  slot_id UUID REFERENCES public.daily_slots(id) ON DELETE CASCADE NOT NULL,
+  user_id UUID REFERENCES auth.users(id) ON DELETE CASCADE NOT NULL,
+  priority INTEGER DEFAULT 0 NOT NULL,
+  created_at TIMESTAMP WITH TIME ZONE DEFAULT NOW() NOT NULL,
+  UNIQUE (slot_id, user_id)
+);
+
+CREATE INDEX idx_waitlist_slot_order ON public.waitlist (slot_id, priority DESC, created_at, id);
+
+ALTER TABLE public.waitlist ENABLE ROW LEVEL SECURITY;
+
+CREATE POLICY "Users can view own waitlist entries"
+  ON public.waitlist FOR SELECT
+  TO authenticated
+  USING (auth.uid() = user_id OR public.has_role(auth.uid(), 'admin'));
@@ -0,0 +1,17 @@
+-- Durable fallback of the backend's Idempotency-Key response cache
+-- (booking / cancellation); read on an in-memory miss, purged after expiry
+CREATE TABLE public.idempotency_keys (
+  user_id UUID REFERENCES auth.users(id) ON DELETE CASCADE NOT NULL,
+  idempotency_key TEXT NOT NULL,
+  request_fingerprint TEXT NOT NULL,
+  status_code INTEGER NOT NULL,
+  response_body TEXT,
+  created_at TIMESTAMP WITH TIME ZONE DEFAULT NOW() NOT NULL,
+  expires_at TIMESTAMP WITH TIME ZONE NOT NULL,
+  PRIMARY KEY (user_id, idempotency_key)
+);
+
+CREATE INDEX idx_idempotency_keys_expires_at ON public.idempotency_keys (expires_at);
+
+-- Backend only (no client policies)
+ALTER TABLE public.idempotency_keys ENABLE ROW LEVEL SECURITY;
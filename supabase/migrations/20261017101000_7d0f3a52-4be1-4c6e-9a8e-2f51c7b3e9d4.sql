@@ -0,0 +1,15 @@
+-- Backend cluster membership: each replica upserts its row every heartbeat;
+-- rows whose heartbeat is older than the lease TTL are treated as dead.
+-- Slot partitions are assigned over the live rows by consistent hashing
+-- and fenced with session advisory locks (pg_try_advisory_lock).
+CREATE TABLE public.cluster_nodes (
+  node_id TEXT PRIMARY KEY,
+  base_url TEXT NOT NULL,
+  started_at TIMESTAMP WITH TIME ZONE DEFAULT NOW() NOT NULL,
+  heartbeat_at TIMESTAMP WITH TIME ZONE DEFAULT NOW() NOT NULL
+);
+
+CREATE INDEX idx_cluster_nodes_heartbeat_at ON public.cluster_nodes (heartbeat_at);
+
+-- Backend only (no client policies)
+ALTER TABLE public.cluster_nodes ENABLE ROW LEVEL SECURITY;
@@ -0,0 +1,320 @@
+-- Monthly range partitions on slot_date for daily_slots and bookings
+--
+-- Partitions live in schema "partitions", which the API does not expose;
+-- access goes through the parents and their RLS policies. The backend
+-- (PartitionMaintenance) creates months ahead of time with
+-- partitions.ensure_month and moves months past the retention window
+-- into public.partition_archive.
+--
+-- Every key has to include the partition key, so bookings, checkins and
+-- waitlist now carry slot_date and reference (id, slot_date).
+
+CREATE SCHEMA IF NOT EXISTS partitions;
+
+-- Create the partition of one month, no-op if it exists
+CREATE OR REPLACE FUNCTION partitions.ensure_month(parent TEXT, month DATE)
+RETURNS BOOLEAN
+LANGUAGE plpgsql
+SET search_path = public
+AS $$
+DECLARE
+  first_day DATE := date_trunc('month', month)::DATE;
+  partition_name TEXT := parent || '_' || to_char(first_day, 'YYYY_MM');
+BEGIN
+  IF to_regclass('partitions.' || partition_name) IS NOT NULL THEN
+    RETURN FALSE;
+  END IF;
+
+  EXECUTE format(
+    'CREATE TABLE partitions.%I PARTITION OF public.%I FOR VALUES FROM (%L) TO (%L)',
+    partition_name, parent, first_day, (first_day + INTERVAL '1 month')::DATE
+  );
+
+  RETURN TRUE;
+END;
+$$;
+
+-- ---------------------------------------------------------------
+-- Move the unpartitioned tables aside (keeps their constraint names free)
+-- ---------------------------------------------------------------
+CREATE SCHEMA partition_migration;
+
+ALTER PUBLICATION supabase_realtime DROP TABLE public.daily_slots, public.bookings;
+
+ALTER TABLE public.checkins
+  DROP CONSTRAINT checkins_booking_id_fkey,
+  DROP CONSTRAINT checkins_slot_id_fkey;
+
+ALTER TABLE public.waitlist
+  DROP CONSTRAINT waitlist_slot_id_fkey;
+
+ALTER TABLE public.bookings SET SCHEMA partition_migration;
+ALTER TABLE public.daily_slots SET SCHEMA partition_migration;
+
+-- ---------------------------------------------------------------
+-- Partitioned tables
+-- ---------------------------------------------------------------
+CREATE TABLE public.daily_slots (
+  id UUID DEFAULT gen_random_uuid() NOT NULL,
+  slot_date DATE NOT NULL,
+  slot_start_time TIME NOT NULL,
+  slot_end_time TIME NOT NULL,
+  current_bookings INTEGER DEFAULT 0 NOT NULL,
+  max_capacity INTEGER DEFAULT 50 NOT NULL,
+  created_at TIMESTAMP WITH TIME ZONE DEFAULT NOW() NOT NULL,
+  PRIMARY KEY (id, slot_date),
+  UNIQUE (slot_date, slot_start_time)
+) PARTITION BY RANGE (slot_date);
+
+CREATE TABLE public.bookings (
+  id UUID DEFAULT gen_random_uuid() NOT NULL,
+  user_id UUID REFERENCES auth.users(id) ON DELETE CASCADE NOT NULL,
+  slot_id UUID NOT NULL,
+  slot_date DATE NOT NULL,
+  booking_code TEXT NOT NULL,
+  created_at TIMESTAMP WITH TIME ZONE DEFAULT NOW() NOT NULL,
+  PRIMARY KEY (id, slot_date),
+  UNIQUE (user_id, slot_id, slot_date),
+  UNIQUE (booking_code, slot_date),
+  FOREIGN KEY (slot_id, slot_date) REFERENCES public.daily_slots (id, slot_date) ON DELETE CASCADE
+) PARTITION BY RANGE (slot_date);
+
+-- Holders of a slot (capacity state); was a sequential scan before
+CREATE INDEX idx_bookings_slot_id ON public.bookings (slot_id);
+
+-- Every month with data, plus seven ahead (longest booking series is 182 days)
+DO $$
+DECLARE
+  month DATE := date_trunc('month', LEAST(
+    CURRENT_DATE,
+    COALESCE((SELECT MIN(slot_date) FROM partition_migration.daily_slots), CURRENT_DATE)
+  ))::DATE;
+  last_month DATE := date_trunc('month', GREATEST(
+    CURRENT_DATE + INTERVAL '7 months',
+    COALESCE((SELECT MAX(slot_date) FROM partition_migration.daily_slots), CURRENT_DATE)
+  ))::DATE;
+BEGIN
+  WHILE month <= last_month LOOP
+    PERFORM partitions.ensure_month('daily_slots', month);
+    PERFORM partitions.ensure_month('bookings', month);
+    month := (month + INTERVAL '1 month')::DATE;
+  END LOOP;
+END;
+$$;
+
+-- Copy before creating triggers, so counters and stats are not applied twice
+INSERT INTO public.daily_slots
+  (id, slot_date, slot_start_time, slot_end_time, current_bookings, max_capacity, created_at)
+SELECT id, slot_date, slot_start_time, slot_end_time, current_bookings, max_capacity, created_at
+FROM partition_migration.daily_slots;
+
+INSERT INTO public.bookings
+  (id, user_id, slot_id, slot_date, booking_code, created_at)
+SELECT b.id, b.user_id, b.slot_id, s.slot_date, b.booking_code, b.created_at
+FROM partition_migration.bookings b
+JOIN partition_migration.daily_slots s ON s.id = b.slot_id;
+
+-- ---------------------------------------------------------------
+-- Dependents reference (id, slot_date)
+-- ---------------------------------------------------------------
+ALTER TABLE public.checkins ADD COLUMN slot_date DATE;
+
+UPDATE public.checkins c
+SET slot_date = s.slot_date
+FROM partition_migration.daily_slots s
+WHERE s.id = c.slot_id;
+
+DELETE FROM public.checkins WHERE slot_date IS NULL;
+
+ALTER TABLE public.checkins
+  ALTER COLUMN slot_date SET NOT NULL,
+  ADD FOREIGN KEY (booking_id, slot_date) REFERENCES public.bookings (id, slot_date) ON DELETE CASCADE,
+  ADD FOREIGN KEY (slot_id, slot_date) REFERENCES public.daily_slots (id, slot_date) ON DELETE CASCADE;
+
+CREATE INDEX idx_checkins_slot_date ON public.checkins (slot_date);
+
+ALTER TABLE public.waitlist ADD COLUMN slot_date DATE;
+
+UPDATE public.waitlist w
+SET slot_date = s.slot_date
+FROM partition_migration.daily_slots s
+WHERE s.id = w.slot_id;
+
+DELETE FROM public.waitlist WHERE slot_date IS NULL;
+
+ALTER TABLE public.waitlist
+  ALTER COLUMN slot_date SET NOT NULL,
+  ADD FOREIGN KEY (slot_id, slot_date) REFERENCES public.daily_slots (id, slot_date) ON DELETE CASCADE;
+
+CREATE INDEX idx_waitlist_slot_date ON public.waitlist (slot_date);
+
+DROP SCHEMA partition_migration CASCADE;
+
+-- ---------------------------------------------------------------
+-- Triggers (functions now prune on slot_date)
+-- ---------------------------------------------------------------
+CREATE OR REPLACE FUNCTION public.increment_slot_bookings()
+RETURNS TRIGGER
+LANGUAGE plpgsql
+SECURITY DEFINER
+SET search_path = public
+AS $$
+BEGIN
+  UPDATE public.daily_slots
+  SET current_bookings = current_bookings + 1
+  WHERE id = NEW.slot_id
+    AND slot_date = NEW.slot_date;
+  RETURN NEW;
+END;
+$$;
+
+CREATE OR REPLACE FUNCTION public.decrement_slot_bookings()
+RETURNS TRIGGER
+LANGUAGE plpgsql
+SECURITY DEFINER
+SET search_path = public
+AS $$
+BEGIN
+  UPDATE public.daily_slots
+  SET current_bookings = GREATEST(0, current_bookings - 1)
+  WHERE id = OLD.slot_id
+    AND slot_date = OLD.slot_date;
+  RETURN OLD;
+END;
+$$;
+
+CREATE OR REPLACE FUNCTION public.rollup_workout_stats()
+RETURNS TRIGGER
+LANGUAGE plpgsql
+SECURITY DEFINER
+SET search_path = public
+AS $$
+DECLARE
+  slot RECORD;
+  slot_minutes INTEGER;
+BEGIN
+  IF TG_OP = 'INSERT' THEN
+    SELECT slot_start_time, slot_end_time INTO slot
+    FROM public.daily_slots
+    WHERE id = NEW.slot_id
+      AND slot_date = NEW.slot_date;
+
+    IF FOUND THEN
+      slot_minutes := (EXTRACT(EPOCH FROM (slot.slot_end_time - slot.slot_start_time)) / 60)::INTEGER;
+
+      INSERT INTO public.workout_daily_stats (user_id, day, sessions, minutes)
+      VALUES (NEW.user_id, NEW.slot_date, 1, slot_minutes)
+      ON CONFLICT (user_id, day) DO UPDATE
+      SET sessions = workout_daily_stats.sessions + 1,
+          minutes = workout_daily_stats.minutes + EXCLUDED.minutes;
+    END IF;
+
+    RETURN NEW;
+  END IF;
+
+  -- DELETE (slot may already be gone when the slot itself is deleted)
+  SELECT slot_start_time, slot_end_time INTO slot
+  FROM public.daily_slots
+  WHERE id = OLD.slot_id
+    AND slot_date = OLD.slot_date;
+
+  IF FOUND THEN
+    slot_minutes := (EXTRACT(EPOCH FROM (slot.slot_end_time - slot.slot_start_time)) / 60)::INTEGER;
+
+    UPDATE public.workout_daily_stats
+    SET sessions = GREATEST(0, sessions - 1),
+        minutes = GREATEST(0, minutes - slot_minutes)
+    WHERE user_id = OLD.user_id
+      AND day = OLD.slot_date;
+  END IF;
+
+  RETURN OLD;
+END;
+$$;
+
+CREATE TRIGGER trigger_set_booking_code
+  BEFORE INSERT ON public.bookings
+  FOR EACH ROW
+  EXECUTE FUNCTION public.set_booking_code();
+
+CREATE TRIGGER trigger_increment_bookings
+  AFTER INSERT ON public.bookings
+  FOR EACH ROW
+  EXECUTE FUNCTION public.increment_slot_bookings();
+
+CREATE TRIGGER trigger_decrement_bookings
+  AFTER DELETE ON public.bookings
+  FOR EACH ROW
+  EXECUTE FUNCTION public.decrement_slot_bookings();
+
+CREATE TRIGGER trigger_rollup_workout_stats
+  AFTER INSERT OR DELETE ON public.bookings
+  FOR EACH ROW
+  EXECUTE FUNCTION public.rollup_workout_stats();
+
+CREATE TRIGGER trigger_notify_daily_slots_changed
+  AFTER UPDATE OF current_bookings, max_capacity ON public.daily_slots
+  FOR EACH ROW
+  WHEN (OLD.current_bookings IS DISTINCT FROM NEW.current_bookings
+        OR OLD.max_capacity IS DISTINCT FROM NEW.max_capacity)
+  EXECUTE FUNCTION public.notify_daily_slots_changed();
+
+-- ---------------------------------------------------------------
+-- RLS and realtime, as before
+-- ---------------------------------------------------------------
+ALTER TABLE public.daily_slots ENABLE ROW LEVEL SECURITY;
+ALTER TABLE public.bookings ENABLE ROW LEVEL SECURITY;
+
+CREATE POLICY "Anyone can view slots"
+  ON public.daily_slots FOR SELECT
+  TO authenticated
+  USING (true);
+
+CREATE POLICY "Admins can insert slots"
+  ON public.daily_slots FOR INSERT
+  TO authenticated
+  WITH CHECK (public.has_role(auth.uid(), 'admin'));
+
+CREATE POLICY "Admins can update slots"
+  ON public.daily_slots FOR UPDATE
+  TO authenticated
+  USING (public.has_role(auth.uid(), 'admin'));
+
+CREATE POLICY "Users can view own bookings"
+  ON public.bookings FOR SELECT
+  TO authenticated
+  USING (auth.uid() = user_id OR public.has_role(auth.uid(), 'admin'));
+
+CREATE POLICY "Users can create own bookings"
+  ON public.bookings FOR INSERT
+  TO authenticated
+  WITH CHECK (auth.uid() = user_id);
+
+CREATE POLICY "Users can delete own bookings"
+  ON public.bookings FOR DELETE
+  TO authenticated
+  USING (auth.uid() = user_id OR public.has_role(auth.uid(), 'admin'));
+
+-- Changes of a partition are published as changes of its parent
+ALTER PUBLICATION supabase_realtime SET (publish_via_partition_root = true);
+ALTER PUBLICATION supabase_realtime ADD TABLE public.daily_slots, public.bookings;
+
+-- ---------------------------------------------------------------
+-- Archive of months past the retention window
+-- ---------------------------------------------------------------
+-- One row per (table, month): the rows as COPY ... (FORMAT csv, HEADER),
+-- gzip-compressed by the backend. Restore with gunzip | COPY ... FROM STDIN.
+CREATE TABLE public.partition_archive (
+  table_name TEXT NOT NULL,
+  month DATE NOT NULL,
+  row_count BIGINT NOT NULL,
+  content BYTEA NOT NULL,
+  archived_at TIMESTAMP WITH TIME ZONE DEFAULT NOW() NOT NULL,
+  PRIMARY KEY (table_name, month)
+);
+
+-- Already compressed: store out of line without a second compression pass
+ALTER TABLE public.partition_archive ALTER COLUMN content SET STORAGE EXTERNAL;
+
+-- Backend only (no client policies)
+ALTER TABLE public.partition_archive ENABLE ROW LEVEL SECURITY;
@@ -0,0 +1,5 @@
+-- Bookings are created and cancelled through the backend only
+-- (POST / DELETE /bookings), which admits against the in-memory
+-- capacity counters. Direct client writes bypassed them.
+DROP POLICY IF EXISTS "Users can create own bookings" ON public.bookings;
+DROP POLICY IF EXISTS "Users can delete own bookings" ON public.bookings;